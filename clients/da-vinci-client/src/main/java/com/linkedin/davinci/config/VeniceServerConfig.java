@@ -65,14 +65,18 @@ import static com.linkedin.venice.ConfigKeys.PUBSUB_TOPIC_MANAGER_METADATA_FETCH
 import static com.linkedin.venice.ConfigKeys.ROUTER_PRINCIPAL_NAME;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_INGESTION_STORAGE_LOOKUP_THREAD_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_LEADER_QUOTA_RECORDS_PER_SECOND;
+import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_BATCH_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_WORKLOAD_PIPELINED_PRODUCE_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_AA_WORKLOAD_BATCHED_STORAGE_LOOKUP_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_ADAPTIVE_THROTTLER_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_ADAPTIVE_THROTTLER_MULTI_GET_LATENCY_THRESHOLD;
 import static com.linkedin.venice.ConfigKeys.SERVER_ADAPTIVE_THROTTLER_READ_COMPUTE_GET_LATENCY_THRESHOLD;
 import static com.linkedin.venice.ConfigKeys.SERVER_ADAPTIVE_THROTTLER_SIGNAL_IDLE_THRESHOLD;
 import static com.linkedin.venice.ConfigKeys.SERVER_ADAPTIVE_THROTTLER_SIGNAL_REFRESH_INTERVAL_IN_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_ADAPTIVE_THROTTLER_SINGLE_GET_LATENCY_THRESHOLD;
+import static com.linkedin.venice.ConfigKeys.SERVER_BATCH_GET_STORAGE_MULTI_GET_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_BATCH_REPORT_END_OF_INCREMENTAL_PUSH_STATUS_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_BLOB_TRANSFER_ADAPTIVE_THROTTLER_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_BLOB_TRANSFER_ADAPTIVE_THROTTLER_UPDATE_PERCENTAGE;
@@ -81,6 +85,7 @@ import static com.linkedin.venice.ConfigKeys.SERVER_CHANNEL_OPTION_WRITE_BUFFER_
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_FAST_AVRO_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_QUEUE_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_THREAD_NUM;
+import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_CURRENT_VERSION_FIRST_DISPATCH_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POLL_TRACKER_STALE_THRESHOLD_IN_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_ALLOCATION_STRATEGY;
 import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_SIZE_FOR_CURRENT_VERSION_AA_WC_LEADER;
@@ -132,6 +137,8 @@ import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_SERVICE_
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_MODE;
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_TASK_MAX_IDLE_COUNT;
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_TASK_REUSABLE_OBJECTS_STRATEGY;
+import static com.linkedin.venice.ConfigKeys.SERVER_KAFKA_ADAPTIVE_POLL_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_KAFKA_ADAPTIVE_POLL_MAX_FACTOR;
 import static com.linkedin.venice.ConfigKeys.SERVER_KAFKA_CONSUMER_OFFSET_COLLECTION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_KAFKA_MAX_POLL_RECORDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_LAG_BASED_REPLICA_AUTO_RESUBSCRIBE_ENABLED;
@@ -166,8 +173,13 @@ import static com.linkedin.venice.ConfigKeys.SERVER_NUM_SCHEMA_FAST_CLASS_WARMUP
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_FOR_BACKUP_VERSION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_FOR_BACKUP_VERSION_NO_READ_THRESHOLD_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_SERVICE_SCHEDULE_INTERNAL_SECONDS;
+import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_BATCH_GET_ADAPTIVE_CHUNK_SIZE_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_BATCH_GET_TARGET_CHUNK_LATENCY_US;
 import static com.linkedin.venice.ConfigKeys.SERVER_PARALLEL_RESOURCE_SHUTDOWN_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_PARTITION_AFFINITY_READ_EXECUTOR_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_PARTITION_AFFINITY_READ_EXECUTOR_THREADS_PER_SHARD;
+import static com.linkedin.venice.ConfigKeys.SERVER_PARTITION_AFFINITY_READ_EXECUTOR_WORK_STEALING_THRESHOLD;
 import static com.linkedin.venice.ConfigKeys.SERVER_PARTITION_GRACEFUL_DROP_DELAY_IN_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_PROMOTION_TO_LEADER_REPLICA_DELAY_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_PUBSUB_CONSUMER_POLL_RETRY_BACKOFF_MS;
@@ -197,7 +209,10 @@ import static com.linkedin.venice.ConfigKeys.SERVER_SOURCE_TOPIC_OFFSET_CHECK_IN
 import static com.linkedin.venice.ConfigKeys.SERVER_SSL_HANDSHAKE_QUEUE_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.SERVER_SSL_HANDSHAKE_THREAD_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_STOP_CONSUMPTION_TIMEOUT_IN_SECONDS;
+import static com.linkedin.venice.ConfigKeys.SERVER_STORE_BUFFER_CURRENT_VERSION_RESERVED_RATIO;
+import static com.linkedin.venice.ConfigKeys.SERVER_STORE_BUFFER_DYNAMIC_DRAINER_ASSIGNMENT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_STORE_TO_EARLY_TERMINATION_THRESHOLD_MS_MAP;
+import static com.linkedin.venice.ConfigKeys.SERVER_STREAMING_BATCH_GET_EARLY_FLUSH_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_STUCK_CONSUMER_REPAIR_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_STUCK_CONSUMER_REPAIR_INTERVAL_SECOND;
 import static com.linkedin.venice.ConfigKeys.SERVER_STUCK_CONSUMER_REPAIR_THRESHOLD_SECOND;
@@ -209,9 +224,15 @@ import static com.linkedin.venice.ConfigKeys.SERVER_THROTTLER_FACTORS_FOR_CURREN
 import static com.linkedin.venice.ConfigKeys.SERVER_THROTTLER_FACTORS_FOR_NON_CURRENT_VERSION_AA_WC_LEADER;
 import static com.linkedin.venice.ConfigKeys.SERVER_THROTTLER_FACTORS_FOR_NON_CURRENT_VERSION_NON_AA_WC_LEADER;
 import static com.linkedin.venice.ConfigKeys.SERVER_THROTTLER_FACTORS_FOR_SEP_RT_LEADER;
+import static com.linkedin.venice.ConfigKeys.SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_PER_PARTITION_IN_BYTES;
+import static com.linkedin.venice.ConfigKeys.SERVER_TRANSIENT_RECORD_RETAINED_RMD_CAPACITY_PER_PARTITION_IN_BYTES;
 import static com.linkedin.venice.ConfigKeys.SERVER_UNSUB_AFTER_BATCHPUSH;
 import static com.linkedin.venice.ConfigKeys.SERVER_USE_HEARTBEAT_LAG_FOR_READY_TO_SERVE_CHECK_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_USE_METRICS_BASED_POSITION_IN_LAG_COMPUTATION;
+import static com.linkedin.venice.ConfigKeys.SERVER_VALUE_CACHE_CAPACITY_IN_BYTES;
+import static com.linkedin.venice.ConfigKeys.SERVER_VALUE_CACHE_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_VALUE_CACHE_MAX_VALUE_SIZE_IN_BYTES;
+import static com.linkedin.venice.ConfigKeys.SERVER_VALUE_CACHE_STORES;
 import static com.linkedin.venice.ConfigKeys.SERVER_ZSTD_DICT_COMPRESSION_LEVEL;
 import static com.linkedin.venice.ConfigKeys.SEVER_CALCULATE_QUOTA_USAGE_BASED_ON_PARTITIONS_ASSIGNMENT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SORTED_INPUT_DRAINER_SIZE;
@@ -260,8 +281,10 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
@@ -428,6 +451,8 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final long nodeCapacityInRcu;
 
   private final int kafkaMaxPollRecords;
+  private final boolean kafkaAdaptivePollEnabled;
+  private final int kafkaAdaptivePollMaxFactor;
 
   private final int pubSubConsumerPollRetryTimes;
 
@@ -472,6 +497,19 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final boolean enableParallelBatchGet;
 
   private final int parallelBatchGetChunkSize;
+  private final boolean parallelBatchGetAdaptiveChunkSizeEnabled;
+  private final long parallelBatchGetTargetChunkLatencyUs;
+  private final boolean batchGetStorageMultiGetEnabled;
+  private final boolean streamingBatchGetEarlyFlushEnabled;
+
+  private final boolean partitionAffinityReadExecutorEnabled;
+  private final int partitionAffinityReadExecutorThreadsPerShard;
+  private final int partitionAffinityReadExecutorWorkStealingThreshold;
+
+  private final boolean valueCacheEnabled;
+  private final long valueCacheCapacityInBytes;
+  private final int valueCacheMaxValueSizeInBytes;
+  private final Set<String> valueCacheStores;
 
   private final boolean keyValueProfilingEnabled;
 
@@ -523,6 +561,9 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
   private final boolean enableKafkaConsumerOffsetCollection;
   private final boolean dedicatedDrainerQueueEnabled;
+  private final boolean storeBufferDynamicDrainerAssignmentEnabled;
+  private final double storeBufferCurrentVersionReservedRatio;
+  private final boolean consumerCurrentVersionFirstDispatchEnabled;
 
   private final boolean debugLoggingEnabled;
 
@@ -648,6 +689,11 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final int channelOptionWriteBufferHighBytes;
   private final boolean aaWCWorkloadParallelProcessingEnabled;
   private final int aaWCWorkloadParallelProcessingThreadPoolSize;
+  private final int aaWCWorkloadParallelProcessingBatchSize;
+  private final boolean aaWCWorkloadPipelinedProduceEnabled;
+  private final boolean aaWorkloadBatchedStorageLookupEnabled;
+  private final long transientRecordOffHeapCapacityPerPartitionInBytes;
+  private final long transientRecordRetainedRmdCapacityPerPartitionInBytes;
   private final boolean isGlobalRtDivEnabled;
   private final boolean nearlineWorkloadProducerThroughputOptimizationEnabled;
   private final int zstdDictCompressionLevel;
@@ -834,6 +880,8 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
     nodeCapacityInRcu = serverProperties.getLong(SERVER_NODE_CAPACITY_RCU, 100000);
     kafkaMaxPollRecords = serverProperties.getInt(SERVER_KAFKA_MAX_POLL_RECORDS, 100);
+    kafkaAdaptivePollEnabled = serverProperties.getBoolean(SERVER_KAFKA_ADAPTIVE_POLL_ENABLED, false);
+    kafkaAdaptivePollMaxFactor = serverProperties.getInt(SERVER_KAFKA_ADAPTIVE_POLL_MAX_FACTOR, 8);
     pubSubConsumerPollRetryTimes = serverProperties.getInt(SERVER_PUBSUB_CONSUMER_POLL_RETRY_TIMES, 100);
     pubSubConsumerPollRetryBackoffMs = serverProperties.getInt(SERVER_PUBSUB_CONSUMER_POLL_RETRY_BACKOFF_MS, 0);
     diskHealthCheckIntervalInMS =
@@ -853,6 +901,25 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
     enableParallelBatchGet = serverProperties.getBoolean(SERVER_ENABLE_PARALLEL_BATCH_GET, false);
     parallelBatchGetChunkSize = serverProperties.getInt(SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE, 5);
+    parallelBatchGetAdaptiveChunkSizeEnabled =
+        serverProperties.getBoolean(SERVER_PARALLEL_BATCH_GET_ADAPTIVE_CHUNK_SIZE_ENABLED, false);
+    parallelBatchGetTargetChunkLatencyUs =
+        serverProperties.getLong(SERVER_PARALLEL_BATCH_GET_TARGET_CHUNK_LATENCY_US, 200);
+    batchGetStorageMultiGetEnabled = serverProperties.getBoolean(SERVER_BATCH_GET_STORAGE_MULTI_GET_ENABLED, false);
+    streamingBatchGetEarlyFlushEnabled =
+        serverProperties.getBoolean(SERVER_STREAMING_BATCH_GET_EARLY_FLUSH_ENABLED, false);
+    partitionAffinityReadExecutorEnabled =
+        serverProperties.getBoolean(SERVER_PARTITION_AFFINITY_READ_EXECUTOR_ENABLED, false);
+    partitionAffinityReadExecutorThreadsPerShard =
+        serverProperties.getInt(SERVER_PARTITION_AFFINITY_READ_EXECUTOR_THREADS_PER_SHARD, 2);
+    partitionAffinityReadExecutorWorkStealingThreshold =
+        serverProperties.getInt(SERVER_PARTITION_AFFINITY_READ_EXECUTOR_WORK_STEALING_THRESHOLD, 4);
+    valueCacheEnabled = serverProperties.getBoolean(SERVER_VALUE_CACHE_ENABLED, false);
+    valueCacheCapacityInBytes =
+        serverProperties.getSizeInBytes(SERVER_VALUE_CACHE_CAPACITY_IN_BYTES, 256 * 1024 * 1024);
+    valueCacheMaxValueSizeInBytes =
+        (int) serverProperties.getSizeInBytes(SERVER_VALUE_CACHE_MAX_VALUE_SIZE_IN_BYTES, 64 * 1024);
+    valueCacheStores = new HashSet<>(serverProperties.getList(SERVER_VALUE_CACHE_STORES, Collections.emptyList()));
 
     keyValueProfilingEnabled = serverProperties.getBoolean(KEY_VALUE_PROFILING_ENABLED, false);
     enableDatabaseMemoryStats = serverProperties.getBoolean(SERVER_DATABASE_MEMORY_STATS_ENABLED, true);
@@ -953,6 +1020,17 @@ public class VeniceServerConfig extends VeniceClusterConfig {
         serverProperties.getBoolean(SERVER_KAFKA_CONSUMER_OFFSET_COLLECTION_ENABLED, true);
     dedicatedDrainerQueueEnabled =
         serverProperties.getBoolean(SERVER_DEDICATED_DRAINER_FOR_SORTED_INPUT_ENABLED, false);
+    storeBufferDynamicDrainerAssignmentEnabled =
+        serverProperties.getBoolean(SERVER_STORE_BUFFER_DYNAMIC_DRAINER_ASSIGNMENT_ENABLED, false);
+    storeBufferCurrentVersionReservedRatio =
+        serverProperties.getDouble(SERVER_STORE_BUFFER_CURRENT_VERSION_RESERVED_RATIO, 0d);
+    if (storeBufferCurrentVersionReservedRatio < 0 || storeBufferCurrentVersionReservedRatio >= 1) {
+      throw new VeniceException(
+          SERVER_STORE_BUFFER_CURRENT_VERSION_RESERVED_RATIO + " should be in [0, 1), but got: "
+              + storeBufferCurrentVersionReservedRatio);
+    }
+    consumerCurrentVersionFirstDispatchEnabled =
+        serverProperties.getBoolean(SERVER_CONSUMER_CURRENT_VERSION_FIRST_DISPATCH_ENABLED, false);
     debugLoggingEnabled = serverProperties.getBoolean(SERVER_DEBUG_LOGGING_ENABLED, false);
     numSchemaFastClassWarmup = serverProperties.getInt(SERVER_NUM_SCHEMA_FAST_CLASS_WARMUP, 10);
     fastClassSchemaWarmupTimeout =
@@ -1112,6 +1190,16 @@ public class VeniceServerConfig extends VeniceClusterConfig {
         serverProperties.getBoolean(SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_ENABLED, false);
     aaWCWorkloadParallelProcessingThreadPoolSize =
         serverProperties.getInt(SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE, 8);
+    aaWCWorkloadParallelProcessingBatchSize = serverProperties
+        .getInt(SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_BATCH_SIZE, aaWCWorkloadParallelProcessingThreadPoolSize);
+    aaWCWorkloadPipelinedProduceEnabled =
+        serverProperties.getBoolean(SERVER_AA_WC_WORKLOAD_PIPELINED_PRODUCE_ENABLED, false);
+    aaWorkloadBatchedStorageLookupEnabled =
+        serverProperties.getBoolean(SERVER_AA_WORKLOAD_BATCHED_STORAGE_LOOKUP_ENABLED, false);
+    transientRecordOffHeapCapacityPerPartitionInBytes =
+        serverProperties.getSizeInBytes(SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_PER_PARTITION_IN_BYTES, 0);
+    transientRecordRetainedRmdCapacityPerPartitionInBytes =
+        serverProperties.getSizeInBytes(SERVER_TRANSIENT_RECORD_RETAINED_RMD_CAPACITY_PER_PARTITION_IN_BYTES, 0);
     nearlineWorkloadProducerThroughputOptimizationEnabled =
         serverProperties.getBoolean(SERVER_NEARLINE_WORKLOAD_PRODUCER_THROUGHPUT_OPTIMIZATION_ENABLED, true);
     zstdDictCompressionLevel =
@@ -1412,6 +1500,14 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return kafkaMaxPollRecords;
   }
 
+  public boolean isKafkaAdaptivePollEnabled() {
+    return kafkaAdaptivePollEnabled;
+  }
+
+  public int getKafkaAdaptivePollMaxFactor() {
+    return kafkaAdaptivePollMaxFactor;
+  }
+
   public int getPubSubConsumerPollRetryTimes() {
     return pubSubConsumerPollRetryTimes;
   }
@@ -1468,6 +1564,50 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return parallelBatchGetChunkSize;
   }
 
+  public boolean isParallelBatchGetAdaptiveChunkSizeEnabled() {
+    return parallelBatchGetAdaptiveChunkSizeEnabled;
+  }
+
+  public long getParallelBatchGetTargetChunkLatencyUs() {
+    return parallelBatchGetTargetChunkLatencyUs;
+  }
+
+  public boolean isBatchGetStorageMultiGetEnabled() {
+    return batchGetStorageMultiGetEnabled;
+  }
+
+  public boolean isStreamingBatchGetEarlyFlushEnabled() {
+    return streamingBatchGetEarlyFlushEnabled;
+  }
+
+  public boolean isPartitionAffinityReadExecutorEnabled() {
+    return partitionAffinityReadExecutorEnabled;
+  }
+
+  public int getPartitionAffinityReadExecutorThreadsPerShard() {
+    return partitionAffinityReadExecutorThreadsPerShard;
+  }
+
+  public int getPartitionAffinityReadExecutorWorkStealingThreshold() {
+    return partitionAffinityReadExecutorWorkStealingThreshold;
+  }
+
+  public boolean isValueCacheEnabled() {
+    return valueCacheEnabled;
+  }
+
+  public long getValueCacheCapacityInBytes() {
+    return valueCacheCapacityInBytes;
+  }
+
+  public int getValueCacheMaxValueSizeInBytes() {
+    return valueCacheMaxValueSizeInBytes;
+  }
+
+  public Set<String> getValueCacheStores() {
+    return valueCacheStores;
+  }
+
   public boolean isKeyValueProfilingEnabled() {
     return keyValueProfilingEnabled;
   }
@@ -1608,6 +1748,18 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return dedicatedDrainerQueueEnabled;
   }
 
+  public boolean isStoreBufferDynamicDrainerAssignmentEnabled() {
+    return storeBufferDynamicDrainerAssignmentEnabled;
+  }
+
+  public double getStoreBufferCurrentVersionReservedRatio() {
+    return storeBufferCurrentVersionReservedRatio;
+  }
+
+  public boolean isConsumerCurrentVersionFirstDispatchEnabled() {
+    return consumerCurrentVersionFirstDispatchEnabled;
+  }
+
   public int getDrainerPoolSizeSortedInput() {
     return drainerPoolSizeSortedInput;
   }
@@ -1992,6 +2144,26 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return aaWCWorkloadParallelProcessingThreadPoolSize;
   }
 
+  public int getAAWCWorkloadParallelProcessingBatchSize() {
+    return aaWCWorkloadParallelProcessingBatchSize;
+  }
+
+  public boolean isAAWCWorkloadPipelinedProduceEnabled() {
+    return aaWCWorkloadPipelinedProduceEnabled;
+  }
+
+  public boolean isAAWorkloadBatchedStorageLookupEnabled() {
+    return aaWorkloadBatchedStorageLookupEnabled;
+  }
+
+  public long getTransientRecordOffHeapCapacityPerPartitionInBytes() {
+    return transientRecordOffHeapCapacityPerPartitionInBytes;
+  }
+
+  public long getTransientRecordRetainedRmdCapacityPerPartitionInBytes() {
+    return transientRecordRetainedRmdCapacityPerPartitionInBytes;
+  }
+
   public boolean isGlobalRtDivEnabled() {
     return isGlobalRtDivEnabled;
   }
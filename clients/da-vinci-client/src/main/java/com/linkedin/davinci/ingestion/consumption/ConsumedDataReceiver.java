@@ -30,5 +30,13 @@ public interface ConsumedDataReceiver<MESSAGE> {
    */
   PubSubTopic destinationIdentifier();
 
+  /**
+   * @return whether the data is going to a current version, whose data is handed over before the others' when the
+   *         receivers share a consumer.
+   */
+  default boolean isDestinationCurrentVersion() {
+    return false;
+  }
+
   void notifyOfTopicDeletion(String topicName);
 }
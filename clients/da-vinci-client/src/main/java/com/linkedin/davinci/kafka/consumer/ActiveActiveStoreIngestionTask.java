@@ -18,6 +18,7 @@ import com.linkedin.davinci.replication.merge.StringAnnotatedStoreSchemaCache;
 import com.linkedin.davinci.stats.AggVersionedIngestionStats;
 import com.linkedin.davinci.storage.StorageService;
 import com.linkedin.davinci.storage.chunking.ChunkedValueManifestContainer;
+import com.linkedin.davinci.storage.chunking.ChunkingUtils;
 import com.linkedin.davinci.storage.chunking.RawBytesChunkingAdapter;
 import com.linkedin.davinci.storage.chunking.SingleGetChunkingAdapter;
 import com.linkedin.davinci.store.cache.backend.ObjectCacheBackend;
@@ -53,6 +54,7 @@ import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.Time;
 import com.linkedin.venice.utils.Utils;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import com.linkedin.venice.utils.lazy.Lazy;
 import com.linkedin.venice.writer.ChunkAwareCallback;
 import com.linkedin.venice.writer.DeleteMetadata;
@@ -62,6 +64,7 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -97,6 +100,12 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
 
   private final Supplier<IngestionTaskReusableObjects> reusableObjectsSupplier;
 
+  /**
+   * The storage lookups of the keys of the batches being processed, see {@link #prefetchStorageLookups}. A key only
+   * belongs to one partition, so the keys of all the partitions can share the same map.
+   */
+  private final Map<ByteArrayKey, PrefetchedStorageLookup> prefetchedStorageLookups = new VeniceConcurrentHashMap<>();
+
   public ActiveActiveStoreIngestionTask(
       StorageService storageService,
       StoreIngestionTaskFactory.Builder builder,
@@ -165,7 +174,9 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
           isWriteComputationEnabled,
           isActiveActiveReplicationEnabled(),
           aggVersionedIngestionStats,
-          getHostLevelIngestionStats());
+          getHostLevelIngestionStats(),
+          serverConfig.isAAWCWorkloadPipelinedProduceEnabled(),
+          serverConfig.isAAWorkloadBatchedStorageLookupEnabled() ? this::prefetchStorageLookups : null);
     });
   }
 
@@ -386,8 +397,14 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
           cachedRecord.getRmdManifest());
     }
     ChunkedValueManifestContainer rmdManifestContainer = new ChunkedValueManifestContainer();
-    byte[] replicationMetadataWithValueSchemaBytes =
-        getRmdWithValueSchemaByteBufferFromStorage(partition, key, rmdManifestContainer, currentTimeForMetricsMs);
+    // The RMD retained once persisted is never chunked, so it does not come with a manifest
+    byte[] replicationMetadataWithValueSchemaBytes = partitionConsumptionState.getRetainedReplicationMetadata(key);
+    if (replicationMetadataWithValueSchemaBytes != null) {
+      getHostLevelIngestionStats().recordIngestionReplicationMetadataCacheHitCount(currentTimeForMetricsMs);
+    } else {
+      replicationMetadataWithValueSchemaBytes =
+          getRmdWithValueSchemaByteBufferFromStorage(partition, key, rmdManifestContainer, currentTimeForMetricsMs);
+    }
     if (replicationMetadataWithValueSchemaBytes == null) {
       return null; // No RMD for this key
     }
@@ -413,8 +430,15 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
       ChunkedValueManifestContainer rmdManifestContainer,
       long currentTimeForMetricsMs) {
     final long lookupStartTimeInNS = System.nanoTime();
+    PrefetchedStorageLookup prefetchedLookup = prefetchedStorageLookups.get(ByteArrayKey.wrap(key));
     ValueRecord result = databaseLookupWithConcurrencyLimit(
-        () -> getRmdWithValueSchemaByteBufferFromStorageInternal(partition, key, rmdManifestContainer));
+        () -> prefetchedLookup == null
+            ? getRmdWithValueSchemaByteBufferFromStorageInternal(partition, key, rmdManifestContainer)
+            : SingleGetChunkingAdapter.getReplicationMetadataFromTopLevelValue(
+                getStorageEngine(),
+                partition,
+                prefetchedLookup.replicationMetadata,
+                rmdManifestContainer));
     getHostLevelIngestionStats().recordIngestionReplicationMetadataLookUpLatency(
         LatencyUtils.getElapsedTimeFromNSToMS(lookupStartTimeInNS),
         currentTimeForMetricsMs);
@@ -433,6 +457,74 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
         .getReplicationMetadata(getStorageEngine(), partition, key, isChunked(), rmdManifestContainer);
   }
 
+  /**
+   * Looks up the value and the RMD of the keys of a batch with a single
+   * {@code StorageEngine#multiGetWithReplicationMetadata} call, so that the merge of each key does not have to look
+   * them up one at a time. Only the top-level values are prefetched, and the chunks of the large ones are still fetched
+   * while assembling them.
+   *
+   * The keys with a transient record are skipped. The transient record map must be checked before the storage engine,
+   * since a record removed from it in between has already been persisted, while the opposite order could miss one
+   * persisted right after the lookup.
+   */
+  Runnable prefetchStorageLookups(
+      Collection<ByteArrayKey> keys,
+      PartitionConsumptionState partitionConsumptionState,
+      int partition) {
+    List<ByteArrayKey> keysToLookUp = new ArrayList<>(keys.size());
+    for (ByteArrayKey key: keys) {
+      if (partitionConsumptionState.getTransientRecord(key.getContent()) == null) {
+        keysToLookUp.add(key);
+      }
+    }
+    if (keysToLookUp.isEmpty()) {
+      return () -> {};
+    }
+    List<byte[]> storageKeys = new ArrayList<>(keysToLookUp.size());
+    for (ByteArrayKey key: keysToLookUp) {
+      storageKeys.add(
+          isChunked
+              ? ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(key.getContent())
+              : key.getContent());
+    }
+    long lookupStartTimeInNS = System.nanoTime();
+    List<byte[]> valuesAndRmds = databaseLookupWithConcurrencyLimit(
+        () -> storageEngine.multiGetWithReplicationMetadata(partition, storageKeys));
+    getHostLevelIngestionStats()
+        .recordBatchProcessingStorageLookupLatency(LatencyUtils.getElapsedTimeFromNSToMS(lookupStartTimeInNS));
+
+    int keyCount = keysToLookUp.size();
+    PrefetchedStorageLookup[] prefetchedLookups = new PrefetchedStorageLookup[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      prefetchedLookups[i] = new PrefetchedStorageLookup(valuesAndRmds.get(i), valuesAndRmds.get(i + keyCount));
+      prefetchedStorageLookups.put(keysToLookUp.get(i), prefetchedLookups[i]);
+    }
+    return () -> {
+      for (int i = 0; i < keyCount; i++) {
+        // Leave alone the lookup of a later batch of the same key
+        prefetchedStorageLookups.remove(keysToLookUp.get(i), prefetchedLookups[i]);
+      }
+    };
+  }
+
+  // For testing purpose
+  PrefetchedStorageLookup getPrefetchedStorageLookup(byte[] key) {
+    return prefetchedStorageLookups.get(ByteArrayKey.wrap(key));
+  }
+
+  /**
+   * The top-level value and RMD of a key as found in the storage engine, either of which is null if not found.
+   */
+  static final class PrefetchedStorageLookup {
+    final byte[] value;
+    final byte[] replicationMetadata;
+
+    PrefetchedStorageLookup(byte[] value, byte[] replicationMetadata) {
+      this.value = value;
+      this.replicationMetadata = replicationMetadata;
+    }
+  }
+
   @Override
   protected IngestionBatchProcessor getIngestionBatchProcessor() {
     return ingestionBatchProcessorLazy.get();
@@ -591,11 +683,21 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
       final ByteBuffer updatedRmdBytes =
           rmdSerDe.serializeRmdRecord(mergeConflictResult.getValueSchemaId(), mergeConflictResult.getRmdRecord());
 
+      // The lookup prefetched for this key is stale from now on, even once the transient record is gone
+      prefetchedStorageLookups.remove(ByteArrayKey.wrap(keyBytes));
       if (updatedValueBytes == null) {
         hostLevelIngestionStats.recordTombstoneCreatedDCR();
         aggVersionedIngestionStats.recordTombStoneCreationDCR(storeName, versionNumber);
-        partitionConsumptionState
-            .setTransientRecord(kafkaClusterId, consumerRecord.getPosition(), keyBytes, valueSchemaId, rmdRecord);
+        partitionConsumptionState.setTransientRecord(
+            kafkaClusterId,
+            consumerRecord.getPosition(),
+            keyBytes,
+            null,
+            -1,
+            -1,
+            valueSchemaId,
+            rmdRecord,
+            updatedRmdBytes);
       } else {
         int valueLen = updatedValueBytes.remaining();
         partitionConsumptionState.setTransientRecord(
@@ -606,7 +708,8 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
             updatedValueBytes.position(),
             valueLen,
             valueSchemaId,
-            rmdRecord);
+            rmdRecord,
+            updatedRmdBytes);
       }
       return new PubSubMessageProcessedResult(
           new MergeConflictResultWrapper(
@@ -783,18 +886,29 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
       IngestionTaskReusableObjects reusableObjects = reusableObjectsSupplier.get();
       ByteBuffer reusedRawValue = reusableObjects.getReusedByteBuffer();
       BinaryDecoder binaryDecoder = reusableObjects.getBinaryDecoder();
+      PrefetchedStorageLookup prefetchedLookup = prefetchedStorageLookups.get(ByteArrayKey.wrap(key));
 
       originalValue = databaseLookupWithConcurrencyLimit(
-          () -> RawBytesChunkingAdapter.INSTANCE.getWithSchemaId(
-              storageEngine,
-              topicPartition.getPartitionNumber(),
-              ByteBuffer.wrap(key),
-              isChunked,
-              reusedRawValue,
-              binaryDecoder,
-              RawBytesStoreDeserializerCache.getInstance(),
-              compressor.get(),
-              valueManifestContainer));
+          () -> prefetchedLookup == null
+              ? RawBytesChunkingAdapter.INSTANCE.getWithSchemaId(
+                  storageEngine,
+                  topicPartition.getPartitionNumber(),
+                  ByteBuffer.wrap(key),
+                  isChunked,
+                  reusedRawValue,
+                  binaryDecoder,
+                  RawBytesStoreDeserializerCache.getInstance(),
+                  compressor.get(),
+                  valueManifestContainer)
+              : RawBytesChunkingAdapter.INSTANCE.getWithSchemaIdFromTopLevelValue(
+                  storageEngine,
+                  topicPartition.getPartitionNumber(),
+                  prefetchedLookup.value,
+                  reusedRawValue,
+                  binaryDecoder,
+                  RawBytesStoreDeserializerCache.getInstance(),
+                  compressor.get(),
+                  valueManifestContainer));
       hostLevelIngestionStats.recordIngestionValueBytesLookUpLatency(
           LatencyUtils.getElapsedTimeFromNSToMS(lookupStartTimeInNS),
           currentTimeForMetricsMs);
@@ -12,6 +12,7 @@ import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.tehuti.metrics.MetricConfig;
 import io.tehuti.metrics.stats.Rate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -38,6 +39,10 @@ import org.apache.logging.log4j.Logger;
  * 1. Invoking the functions in {@link ConsumerSubscriptionCleaner} to ensure the consumer's subscriptions are valid.
  * 2. Invoking two throttlers, for bandwidth and records throughput.
  * 3. Recording some stats.
+ *
+ * When current version first dispatch is enabled, the polled records of the current versions are handed over before
+ * the ones of the other versions, so that a push sharing the consumer does not delay the nearline writes of the current
+ * versions, see {@link #getCurrentVersionFirstEntries}.
  */
 class ConsumptionTask implements Runnable {
   private static final MetricConfig DEFAULT_METRIC_CONFIG = new MetricConfig();
@@ -55,6 +60,7 @@ class ConsumptionTask implements Runnable {
   private final AggKafkaConsumerServiceStats aggStats;
   private final ConsumerSubscriptionCleaner cleaner;
   private final ConsumerPollTracker consumerPollTracker;
+  private final boolean currentVersionFirstDispatchEnabled;
 
   /**
    * Maintain rate counter with default window size to calculate the message and bytes rate at topic partition level.
@@ -85,7 +91,8 @@ class ConsumptionTask implements Runnable {
       final IntConsumer recordsThrottler,
       final AggKafkaConsumerServiceStats aggStats,
       final ConsumerSubscriptionCleaner cleaner,
-      final ConsumerPollTracker consumerPollTracker) {
+      final ConsumerPollTracker consumerPollTracker,
+      final boolean currentVersionFirstDispatchEnabled) {
     this.readCycleDelayMs = readCycleDelayMs;
     this.pollFunction = pollFunction;
     this.bandwidthThrottler = bandwidthThrottler;
@@ -93,6 +100,7 @@ class ConsumptionTask implements Runnable {
     this.aggStats = aggStats;
     this.cleaner = cleaner;
     this.consumerPollTracker = consumerPollTracker;
+    this.currentVersionFirstDispatchEnabled = currentVersionFirstDispatchEnabled;
     this.taskId = taskId;
     this.consumptionTaskIdStr = Utils.getSanitizedStringForLogger(consumerNamePrefix) + " - " + taskId;
     this.LOGGER = LogManager.getLogger(getClass().getSimpleName() + "[ " + consumptionTaskIdStr + " ]");
@@ -112,9 +120,11 @@ class ConsumptionTask implements Runnable {
     int msgCount;
     int payloadBytesConsumedInOnePoll;
     int polledPubSubMessagesCount;
+    int currentVersionPolledPubSubMessagesCount;
     int payloadSizePerTopicPartition;
     KafkaConsumerServiceStats storeStats;
     Map<String, StorePollCounter> storePollCounterMap = new HashMap<>();
+    List<Map.Entry<PubSubTopicPartition, List<DefaultPubSubMessage>>> currentVersionFirstEntries = new ArrayList<>();
     try {
       while (running) {
         try {
@@ -152,9 +162,12 @@ class ConsumptionTask implements Runnable {
           if (!polledPubSubMessages.isEmpty()) {
             payloadBytesConsumedInOnePoll = 0;
             polledPubSubMessagesCount = 0;
+            currentVersionPolledPubSubMessagesCount = 0;
             beforeProducingToWriteBufferTimestamp = System.currentTimeMillis();
             storePollCounterMap.clear();
-            for (Map.Entry<PubSubTopicPartition, List<DefaultPubSubMessage>> entry: polledPubSubMessages.entrySet()) {
+            for (Map.Entry<PubSubTopicPartition, List<DefaultPubSubMessage>> entry: currentVersionFirstDispatchEnabled
+                ? getCurrentVersionFirstEntries(polledPubSubMessages, currentVersionFirstEntries)
+                : polledPubSubMessages.entrySet()) {
               PubSubTopicPartition pubSubTopicPartition = entry.getKey();
               consumedDataReceiver = dataReceiverMap.get(pubSubTopicPartition);
               if (consumedDataReceiver == null) {
@@ -172,6 +185,9 @@ class ConsumptionTask implements Runnable {
               consumerPollTracker.recordMessageReceived(pubSubTopicPartition);
               msgCount = topicPartitionMessages.size();
               polledPubSubMessagesCount += msgCount;
+              if (consumedDataReceiver.isDestinationCurrentVersion()) {
+                currentVersionPolledPubSubMessagesCount += msgCount;
+              }
               payloadSizePerTopicPartition = 0;
               for (DefaultPubSubMessage pubSubMessage: topicPartitionMessages) {
                 payloadSizePerTopicPartition += pubSubMessage.getPayloadSize();
@@ -188,6 +204,9 @@ class ConsumptionTask implements Runnable {
             aggStats.recordTotalConsumerRecordsProducingToWriterBufferLatency(
                 LatencyUtils.getElapsedTimeFromMsToMs(beforeProducingToWriteBufferTimestamp));
             aggStats.recordTotalNonZeroPollResultNum(polledPubSubMessagesCount);
+            aggStats.recordTotalCurrentVersionPollResultNum(currentVersionPolledPubSubMessagesCount);
+            aggStats.recordTotalNonCurrentVersionPollResultNum(
+                polledPubSubMessagesCount - currentVersionPolledPubSubMessagesCount);
             for (Map.Entry<String, StorePollCounter> entry: storePollCounterMap.entrySet()) {
               storeStats = aggStats.getStoreStats(entry.getKey());
               storeStats.recordPollResultNum(entry.getValue().msgCount);
@@ -223,6 +242,32 @@ class ConsumptionTask implements Runnable {
     }
   }
 
+  /**
+   * @return the polled entries, with the ones going to a current version first, in {@param entries}, which is reused
+   *         across polls.
+   */
+  private List<Map.Entry<PubSubTopicPartition, List<DefaultPubSubMessage>>> getCurrentVersionFirstEntries(
+      Map<PubSubTopicPartition, List<DefaultPubSubMessage>> polledPubSubMessages,
+      List<Map.Entry<PubSubTopicPartition, List<DefaultPubSubMessage>>> entries) {
+    entries.clear();
+    for (Map.Entry<PubSubTopicPartition, List<DefaultPubSubMessage>> entry: polledPubSubMessages.entrySet()) {
+      if (isDestinationCurrentVersion(entry.getKey())) {
+        entries.add(entry);
+      }
+    }
+    for (Map.Entry<PubSubTopicPartition, List<DefaultPubSubMessage>> entry: polledPubSubMessages.entrySet()) {
+      if (!isDestinationCurrentVersion(entry.getKey())) {
+        entries.add(entry);
+      }
+    }
+    return entries;
+  }
+
+  private boolean isDestinationCurrentVersion(PubSubTopicPartition topicPartition) {
+    ConsumedDataReceiver<List<DefaultPubSubMessage>> dataReceiver = dataReceiverMap.get(topicPartition);
+    return dataReceiver != null && dataReceiver.isDestinationCurrentVersion();
+  }
+
   void stop() {
     running = false;
     synchronized (this) {
@@ -8,6 +8,7 @@ import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
 import com.linkedin.venice.utils.LatencyUtils;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -39,6 +40,19 @@ public class IngestionBatchProcessor {
         long beforeProcessingBatchRecordsTimestampMs);
   }
 
+  interface StorageLookupPrefetchFunction {
+    /**
+     * Looks up, ahead of the {@link ProcessingFunction}, what it would otherwise look up one key at a time in the
+     * storage engine. The keys are locked while this runs.
+     *
+     * @return the action dropping what got prefetched, which runs once the batch is no longer being processed.
+     */
+    Runnable prefetch(
+        Collection<ByteArrayKey> keys,
+        PartitionConsumptionState partitionConsumptionState,
+        int partition);
+  }
+
   private final String storeVersionName;
   private final String storeName;
   private final int version;
@@ -49,6 +63,8 @@ public class IngestionBatchProcessor {
   private final ProcessingFunction processingFunction;
   private final AggVersionedIngestionStats aggVersionedIngestionStats;
   private final HostLevelIngestionStats hostLevelIngestionStats;
+  private final boolean pipelinedProduceEnabled;
+  private final StorageLookupPrefetchFunction storageLookupPrefetchFunction;
 
   public IngestionBatchProcessor(
       String storeVersionName,
@@ -59,6 +75,61 @@ public class IngestionBatchProcessor {
       boolean isActiveActiveReplicationEnabled,
       AggVersionedIngestionStats aggVersionedIngestionStats,
       HostLevelIngestionStats hostLevelIngestionStats) {
+    this(
+        storeVersionName,
+        batchProcessingThreadPool,
+        lockManager,
+        processingFunction,
+        isWriteComputationEnabled,
+        isActiveActiveReplicationEnabled,
+        aggVersionedIngestionStats,
+        hostLevelIngestionStats,
+        false);
+  }
+
+  public IngestionBatchProcessor(
+      String storeVersionName,
+      ExecutorService batchProcessingThreadPool,
+      KeyLevelLocksManager lockManager,
+      ProcessingFunction processingFunction,
+      boolean isWriteComputationEnabled,
+      boolean isActiveActiveReplicationEnabled,
+      AggVersionedIngestionStats aggVersionedIngestionStats,
+      HostLevelIngestionStats hostLevelIngestionStats,
+      boolean pipelinedProduceEnabled) {
+    this(
+        storeVersionName,
+        batchProcessingThreadPool,
+        lockManager,
+        processingFunction,
+        isWriteComputationEnabled,
+        isActiveActiveReplicationEnabled,
+        aggVersionedIngestionStats,
+        hostLevelIngestionStats,
+        pipelinedProduceEnabled,
+        null);
+  }
+
+  /**
+   * @param pipelinedProduceEnabled when enabled, {@link #process} returns as soon as the records have been handed
+   *                                over to {@link #batchProcessingThreadPool}, and each returned wrapper completes
+   *                                on its own, so that the caller can produce the records in order while the
+   *                                remaining ones are still being merged.
+   *                                Check {@link PubSubMessageProcessedResultWrapper#waitForProcessedResult()}.
+   * @param storageLookupPrefetchFunction when not null, it is called once per batch with all its keys, before they are
+   *                                      handed over to {@link #batchProcessingThreadPool}.
+   */
+  public IngestionBatchProcessor(
+      String storeVersionName,
+      ExecutorService batchProcessingThreadPool,
+      KeyLevelLocksManager lockManager,
+      ProcessingFunction processingFunction,
+      boolean isWriteComputationEnabled,
+      boolean isActiveActiveReplicationEnabled,
+      AggVersionedIngestionStats aggVersionedIngestionStats,
+      HostLevelIngestionStats hostLevelIngestionStats,
+      boolean pipelinedProduceEnabled,
+      StorageLookupPrefetchFunction storageLookupPrefetchFunction) {
     this.storeVersionName = storeVersionName;
     this.batchProcessingThreadPool = batchProcessingThreadPool;
     this.lockManager = lockManager;
@@ -67,6 +138,8 @@ public class IngestionBatchProcessor {
     this.isActiveActiveReplicationEnabled = isActiveActiveReplicationEnabled;
     this.aggVersionedIngestionStats = aggVersionedIngestionStats;
     this.hostLevelIngestionStats = hostLevelIngestionStats;
+    this.pipelinedProduceEnabled = pipelinedProduceEnabled;
+    this.storageLookupPrefetchFunction = storageLookupPrefetchFunction;
 
     this.storeName = Version.parseStoreFromKafkaTopicName(storeVersionName);
     this.version = Version.parseVersionFromKafkaTopicName(storeVersionName);
@@ -77,6 +150,10 @@ public class IngestionBatchProcessor {
     return this.lockManager;
   }
 
+  public boolean isPipelinedProduceEnabled() {
+    return pipelinedProduceEnabled;
+  }
+
   /**
    * When {@link #lockManager} is not null, this function will try to lock all the keys
    * (except Control Messages) passed by the params.
@@ -162,37 +239,103 @@ public class IngestionBatchProcessor {
         .recordBatchProcessingRequest(storeName, version, totalNumOfRecords, System.currentTimeMillis());
     hostLevelIngestionStats.recordBatchProcessingRequest(totalNumOfRecords);
 
+    Runnable prefetchedLookupsRelease = storageLookupPrefetchFunction == null
+        ? null
+        : storageLookupPrefetchFunction.prefetch(keyGroupMap.keySet(), partitionConsumptionState, partition);
     List<CompletableFuture<Void>> futureList = new ArrayList<>(keyGroupMap.size());
-    keyGroupMap.forEach((ignored, recordsWithTheSameKey) -> {
-      futureList.add(CompletableFuture.runAsync(() -> {
-        recordsWithTheSameKey.forEach(recordWithTheSameKey -> {
-          recordWithTheSameKey.setProcessedResult(
-              processingFunction.apply(
-                  recordWithTheSameKey.getMessage(),
-                  partitionConsumptionState,
-                  partition,
-                  kafkaUrl,
-                  kafkaClusterId,
-                  beforeProcessingRecordTimestampNs,
-                  beforeProcessingBatchRecordsTimestampMs));
-        });
-      }, batchProcessingThreadPool));
-    });
+    CompletableFuture<Void> allFutures;
+    try {
+      keyGroupMap.forEach((ignored, recordsWithTheSameKey) -> {
+        if (pipelinedProduceEnabled) {
+          recordsWithTheSameKey.forEach(r -> r.setProcessedResultFuture(new CompletableFuture<>()));
+        }
+        futureList.add(CompletableFuture.runAsync(() -> {
+          for (PubSubMessageProcessedResultWrapper recordWithTheSameKey: recordsWithTheSameKey) {
+            try {
+              recordWithTheSameKey.setProcessedResult(
+                  processingFunction.apply(
+                      recordWithTheSameKey.getMessage(),
+                      partitionConsumptionState,
+                      partition,
+                      kafkaUrl,
+                      kafkaClusterId,
+                      beforeProcessingRecordTimestampNs,
+                      beforeProcessingBatchRecordsTimestampMs));
+            } catch (Throwable t) {
+              /**
+               * Fail all the remaining records of this key, since the following ones depend on the result of the
+               * failed one.
+               */
+              recordsWithTheSameKey.forEach(r -> r.completeProcessedResultExceptionally(t));
+              throw t;
+            }
+            recordWithTheSameKey.completeProcessedResult();
+          }
+        }, batchProcessingThreadPool));
+      });
+      allFutures = CompletableFuture.allOf(futureList.toArray(new CompletableFuture[0]));
+    } catch (RuntimeException e) {
+      // Nothing may be left prefetched once the keys get unlocked, since it would go stale
+      if (prefetchedLookupsRelease != null) {
+        CompletableFuture.allOf(futureList.toArray(new CompletableFuture[0]))
+            .whenComplete((ignored, throwable) -> prefetchedLookupsRelease.run());
+      }
+      throw e;
+    }
+    if (pipelinedProduceEnabled) {
+      /**
+       * The caller is responsible for waiting for each record before producing it, so the stats are recorded
+       * once the whole batch is done.
+       */
+      allFutures.whenComplete((ignored, throwable) -> {
+        if (prefetchedLookupsRelease != null) {
+          prefetchedLookupsRelease.run();
+        }
+        if (throwable == null) {
+          recordBatchProcessingLatency(currentTimestampInNs);
+        } else {
+          recordBatchProcessingError();
+        }
+      });
+      return resultList;
+    }
     try {
-      CompletableFuture.allOf(futureList.toArray(new CompletableFuture[0])).get();
-      double requestLatency = LatencyUtils.getElapsedTimeFromNSToMS(currentTimestampInNs);
-      aggVersionedIngestionStats
-          .recordBatchProcessingLatency(storeName, version, requestLatency, System.currentTimeMillis());
-      hostLevelIngestionStats.recordBatchProcessingRequestLatency(requestLatency);
+      allFutures.get();
+      recordBatchProcessingLatency(currentTimestampInNs);
     } catch (Exception e) {
-      aggVersionedIngestionStats.recordBatchProcessingRequestError(storeName, version);
-      hostLevelIngestionStats.recordBatchProcessingRequestError();
+      recordBatchProcessingError();
       throw new VeniceException(
           "Failed to execute the batch processing for " + storeVersionName + " partition: "
               + partitionConsumptionState.getPartition(),
           e);
+    } finally {
+      if (prefetchedLookupsRelease != null) {
+        prefetchedLookupsRelease.run();
+      }
     }
 
     return resultList;
   }
+
+  /**
+   * Waits until all the records returned by {@link #process} are no longer being processed, regardless of the
+   * outcome, so that their keys can be safely unlocked.
+   */
+  public static void waitForProcessingToFinish(List<PubSubMessageProcessedResultWrapper> processedResults) {
+    for (PubSubMessageProcessedResultWrapper processedResult: processedResults) {
+      processedResult.waitForProcessedResultQuietly();
+    }
+  }
+
+  private void recordBatchProcessingLatency(long startTimeInNs) {
+    double requestLatency = LatencyUtils.getElapsedTimeFromNSToMS(startTimeInNs);
+    aggVersionedIngestionStats
+        .recordBatchProcessingLatency(storeName, version, requestLatency, System.currentTimeMillis());
+    hostLevelIngestionStats.recordBatchProcessingRequestLatency(requestLatency);
+  }
+
+  private void recordBatchProcessingError() {
+    aggVersionedIngestionStats.recordBatchProcessingRequestError(storeName, version);
+    hostLevelIngestionStats.recordBatchProcessingRequestError();
+  }
 }
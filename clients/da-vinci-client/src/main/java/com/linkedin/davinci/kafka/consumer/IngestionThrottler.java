@@ -40,6 +40,8 @@ public class IngestionThrottler implements Closeable {
 
   private final EnumMap<ConsumerPoolType, EventThrottler> poolTypeRecordThrottlerMap;
 
+  private final EnumMap<ConsumerPoolType, VeniceAdaptiveConsumerPollSizer> poolTypeConsumerPollSizerMap;
+
   public IngestionThrottler(
       boolean isDaVinciClient,
       VeniceServerConfig serverConfig,
@@ -217,6 +219,22 @@ public class IngestionThrottler implements Closeable {
                 false,
                 EventThrottler.BLOCK_STRATEGY));
 
+    this.poolTypeConsumerPollSizerMap = new EnumMap<>(ConsumerPoolType.class);
+    if (isAdaptiveThrottlerEnabled && serverConfig.isKafkaAdaptivePollEnabled()) {
+      for (ConsumerPoolType poolType: ConsumerPoolType.values()) {
+        VeniceAdaptiveConsumerPollSizer consumerPollSizer = new VeniceAdaptiveConsumerPollSizer(
+            "kafka_consumer_poll_records" + poolType.getStatSuffix(),
+            serverConfig.getKafkaMaxPollRecords(),
+            serverConfig.getKafkaAdaptivePollMaxFactor(),
+            adaptiveThrottlerSignalService.getAdaptiveThrottlingServiceStats());
+        registerConsumerPollSizerSignals(consumerPollSizer, poolType, adaptiveThrottlerSignalService);
+        adaptiveThrottlerSignalService.registerThrottler(consumerPollSizer);
+        adaptiveThrottlerSignalService.getAdaptiveThrottlingServiceStats()
+            .registerCurrentLimitGaugeForThrottler(consumerPollSizer);
+        poolTypeConsumerPollSizerMap.put(poolType, consumerPollSizer);
+      }
+    }
+
     if (isDaVinciClient && serverConfig.isDaVinciCurrentVersionBootstrappingSpeedupEnabled()) {
       EventThrottler speedupRecordThrottler = new EventThrottler(
           serverConfig.getDaVinciCurrentVersionBootstrappingQuotaRecordsPerSecond(),
@@ -272,6 +290,56 @@ public class IngestionThrottler implements Closeable {
         isAdaptiveThrottlerEnabled ? globalBandwidthAdaptiveIngestionThrottler : globalBandwidthThrottler;
   }
 
+  /**
+   * The consumers of a pool hosting lagging replicas poll more records per cycle, to catch up faster, while the ones
+   * hosting caught-up replicas go back to the steady-state poll size. The non-current versions also yield to the
+   * current version, as their throttlers do.
+   */
+  private static void registerConsumerPollSizerSignals(
+      VeniceAdaptiveConsumerPollSizer consumerPollSizer,
+      ConsumerPoolType poolType,
+      AdaptiveThrottlerSignalService adaptiveThrottlerSignalService) {
+    consumerPollSizer.registerLimiterSignal(adaptiveThrottlerSignalService::isReadLatencySignalActive);
+    switch (poolType) {
+      case CURRENT_VERSION_AA_WC_LEADER_POOL:
+      case CURRENT_VERSION_SEP_RT_LEADER_POOL:
+      case CURRENT_VERSION_NON_AA_WC_LEADER_POOL:
+        consumerPollSizer
+            .registerBoosterSignal(adaptiveThrottlerSignalService::isCurrentLeaderMaxHeartbeatLagSignalActive);
+        consumerPollSizer
+            .registerBoosterSignal(adaptiveThrottlerSignalService::isCurrentFollowerMaxHeartbeatLagSignalActive);
+        break;
+      case NON_CURRENT_VERSION_AA_WC_LEADER_POOL:
+      case NON_CURRENT_VERSION_NON_AA_WC_LEADER_POOL:
+        consumerPollSizer
+            .registerLimiterSignal(adaptiveThrottlerSignalService::isCurrentLeaderMaxHeartbeatLagSignalActive);
+        consumerPollSizer
+            .registerLimiterSignal(adaptiveThrottlerSignalService::isCurrentFollowerMaxHeartbeatLagSignalActive);
+        consumerPollSizer
+            .registerBoosterSignal(adaptiveThrottlerSignalService::isNonCurrentLeaderMaxHeartbeatLagSignalActive);
+        consumerPollSizer
+            .registerBoosterSignal(adaptiveThrottlerSignalService::isNonCurrentFollowerMaxHeartbeatLagSignalActive);
+        break;
+      default:
+        // The pools of the default strategy mix all the versions
+        consumerPollSizer
+            .registerBoosterSignal(adaptiveThrottlerSignalService::isCurrentLeaderMaxHeartbeatLagSignalActive);
+        consumerPollSizer
+            .registerBoosterSignal(adaptiveThrottlerSignalService::isCurrentFollowerMaxHeartbeatLagSignalActive);
+        consumerPollSizer
+            .registerBoosterSignal(adaptiveThrottlerSignalService::isNonCurrentLeaderMaxHeartbeatLagSignalActive);
+        consumerPollSizer
+            .registerBoosterSignal(adaptiveThrottlerSignalService::isNonCurrentFollowerMaxHeartbeatLagSignalActive);
+    }
+  }
+
+  /**
+   * @return the poll sizer of the consumers of the given pool, or null if the poll size is static.
+   */
+  public VeniceAdaptiveConsumerPollSizer getConsumerPollSizer(ConsumerPoolType poolType) {
+    return poolTypeConsumerPollSizerMap.get(poolType);
+  }
+
   public void maybeThrottleRecordRate(ConsumerPoolType poolType, int count) {
     EventThrottler poolTypeRecordThrottler = poolTypeRecordThrottlerMap.get(poolType);
     if (poolTypeRecordThrottler != null) {
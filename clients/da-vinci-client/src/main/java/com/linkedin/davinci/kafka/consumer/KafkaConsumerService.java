@@ -160,6 +160,7 @@ public abstract class KafkaConsumerService extends AbstractKafkaConsumerService
           aggStats,
           this::recordPartitionsPerConsumerSensor,
           this::handleUnsubscription);
+      pubSubConsumer.setPollSizer(ingestionThrottler.getConsumerPollSizer(poolType));
 
       Supplier<Map<PubSubTopicPartition, List<DefaultPubSubMessage>>> pollFunction =
           liveConfigBasedKafkaThrottlingEnabled
@@ -189,7 +190,8 @@ public abstract class KafkaConsumerService extends AbstractKafkaConsumerService
           recordsThrottlerFunction,
           this.aggStats,
           cleaner,
-          consumerPollTracker);
+          consumerPollTracker,
+          serverConfig.isConsumerCurrentVersionFirstDispatchEnabled());
       consumerToConsumptionTask.putByIndex(pubSubConsumer, consumptionTask, i);
       consumerToLocks.put(pubSubConsumer, new ReentrantLock());
     }
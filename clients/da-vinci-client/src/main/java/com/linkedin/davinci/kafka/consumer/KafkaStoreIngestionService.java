@@ -30,10 +30,12 @@ import com.linkedin.davinci.stats.AggHostLevelIngestionStats;
 import com.linkedin.davinci.stats.AggVersionedDIVStats;
 import com.linkedin.davinci.stats.AggVersionedDaVinciRecordTransformerStats;
 import com.linkedin.davinci.stats.AggVersionedIngestionStats;
+import com.linkedin.davinci.stats.OffHeapValueCacheStats;
 import com.linkedin.davinci.stats.ParticipantStoreConsumptionStats;
 import com.linkedin.davinci.stats.ingestion.heartbeat.HeartbeatMonitoringService;
 import com.linkedin.davinci.storage.StorageMetadataService;
 import com.linkedin.davinci.storage.StorageService;
+import com.linkedin.davinci.store.cache.OffHeapValueCache;
 import com.linkedin.davinci.store.cache.backend.ObjectCacheBackend;
 import com.linkedin.davinci.store.view.VeniceViewWriterFactory;
 import com.linkedin.venice.SSLConfig;
@@ -48,6 +50,7 @@ import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.kafka.protocol.state.PartitionState;
 import com.linkedin.venice.meta.AsyncStoreChangeNotifier;
 import com.linkedin.venice.meta.ClusterInfoProvider;
+import com.linkedin.venice.meta.IngestionMode;
 import com.linkedin.venice.meta.ReadOnlyLiveClusterConfigRepository;
 import com.linkedin.venice.meta.ReadOnlySchemaRepository;
 import com.linkedin.venice.meta.ReadOnlyStoreRepository;
@@ -224,6 +227,11 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
 
   private final HeartbeatMonitoringService heartbeatMonitoringService;
 
+  /**
+   * The cache of the hottest values served by this server, which the ingestion tasks invalidate as they write.
+   */
+  private final Optional<OffHeapValueCache> valueCache;
+
   public KafkaStoreIngestionService(
       StorageService storageService,
       VeniceConfigLoader veniceConfigLoader,
@@ -430,7 +438,9 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
           serverConfig.isStoreWriterBufferAfterLeaderLogicEnabled(),
           serverConfig.getLogContext(),
           metricsRepository,
-          true);
+          true,
+          serverConfig.isStoreBufferDynamicDrainerAssignmentEnabled(),
+          serverConfig.getStoreBufferCurrentVersionReservedRatio());
     }
     this.kafkaMessageEnvelopeSchemaReader = kafkaMessageEnvelopeSchemaReader;
 
@@ -514,6 +524,22 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
     Supplier<IngestionTaskReusableObjects> reusableObjectsSupplier =
         serverConfig.getIngestionTaskReusableObjectsStrategy().supplier();
 
+    /**
+     * The cache is only consistent if every write goes through the ingestion tasks of this process, which is not the
+     * case when ingestion is isolated in a child process.
+     */
+    if (serverConfig.isValueCacheEnabled() && !isDaVinciClient && !isIsolatedIngestion
+        && serverConfig.getIngestionMode() != IngestionMode.ISOLATED) {
+      OffHeapValueCache cache = new OffHeapValueCache(
+          serverConfig.getValueCacheCapacityInBytes(),
+          serverConfig.getValueCacheMaxValueSizeInBytes(),
+          serverConfig.getValueCacheStores());
+      new OffHeapValueCacheStats(metricsRepository, cache, "off_heap_value_cache");
+      this.valueCache = Optional.of(cache);
+    } else {
+      this.valueCache = Optional.empty();
+    }
+
     ingestionTaskFactory = StoreIngestionTaskFactory.builder()
         .setPubSubContext(pubSubContext)
         .setVeniceWriterFactory(veniceWriterFactory)
@@ -538,6 +564,7 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
         .setAAWCWorkLoadProcessingThreadPool(aaWCWorkLoadProcessingThreadPool)
         .setAAWCIngestionStorageLookupThreadPool(aaWCIngestionStorageLookupThreadPool)
         .setReusableObjectsSupplier(reusableObjectsSupplier)
+        .setValueCache(valueCache.orElse(null))
         .build();
   }
 
@@ -714,9 +741,17 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
     // close drainer service at the very end as it does not depend on any other service.
     Utils.closeQuietlyWithErrorLogged(storeBufferService);
     Utils.closeQuietlyWithErrorLogged(topicManagerRepository);
+    valueCache.ifPresent(Utils::closeQuietlyWithErrorLogged);
     topicLockManager.removeAllLocks();
   }
 
+  /**
+   * @return the cache which read requests should consult before the storage engine, if enabled.
+   */
+  public Optional<OffHeapValueCache> getValueCache() {
+    return valueCache;
+  }
+
   @Override
   public Optional<PubSubPosition> getPubSubPosition(
       VeniceStoreVersionConfig veniceStore,
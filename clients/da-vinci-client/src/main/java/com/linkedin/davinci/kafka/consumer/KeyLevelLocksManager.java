@@ -3,9 +3,9 @@ package com.linkedin.davinci.kafka.consumer;
 import com.linkedin.davinci.utils.ByteArrayKey;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
-import java.util.ArrayDeque;
-import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 
@@ -27,6 +27,10 @@ import java.util.concurrent.locks.ReentrantLock;
  * real-time topic partitions from different source regions --- let's assume the number of RT source regions is x, the number
  * of topic partitions are y, the Active/Active write-path could at most handle x * y different keys at the same time.
  *
+ * The manager itself does not hold any lock across keys, since all the leader ingestion threads go through it for every
+ * record: the reference count of the lock of a key is only updated within {@link VeniceConcurrentHashMap#compute},
+ * which locks the bin of the key rather than the whole map, and the free locks pool is a lock-free queue.
+ *
  * If there are more use cases that could leverage this key level lock manager in future, feel free to do so, and extend/update
  * the class if necessary.
  */
@@ -34,57 +38,68 @@ public class KeyLevelLocksManager {
   private final String storeVersion;
   private final int initialPoolSize;
   private final int maxPoolSize;
-  private final Map<ByteArrayKey, LockWithReferenceCount> keyToLockMap;
+  private final VeniceConcurrentHashMap<ByteArrayKey, LockWithReferenceCount> keyToLockMap;
   // Free locks pool
   private final Queue<LockWithReferenceCount> locksPool;
-  private int currentPoolSize;
+  private final AtomicInteger currentPoolSize;
 
-  protected KeyLevelLocksManager(String storeVersion, int initialPoolSize, int maxPoolSize) {
+  public KeyLevelLocksManager(String storeVersion, int initialPoolSize, int maxPoolSize) {
     this.storeVersion = storeVersion;
     this.initialPoolSize = initialPoolSize;
-    this.currentPoolSize = initialPoolSize;
+    this.currentPoolSize = new AtomicInteger(initialPoolSize);
     this.maxPoolSize = maxPoolSize;
     this.keyToLockMap = new VeniceConcurrentHashMap<>();
-    this.locksPool = new ArrayDeque<>(initialPoolSize);
+    this.locksPool = new ConcurrentLinkedQueue<>();
     for (int i = 0; i < initialPoolSize; i++) {
       this.locksPool.offer(LockWithReferenceCount.wrap(new ReentrantLock()));
     }
   }
 
-  synchronized ReentrantLock acquireLockByKey(ByteArrayKey key) {
-    LockWithReferenceCount lockWrapper = keyToLockMap.computeIfAbsent(key, k -> {
-      LockWithReferenceCount nextAvailableLock = locksPool.poll();
-      if (nextAvailableLock == null) {
-        if (currentPoolSize < maxPoolSize) {
-          currentPoolSize++;
-          return LockWithReferenceCount.wrap(new ReentrantLock());
-        } else {
-          throw new VeniceException(
-              "Store version: " + storeVersion + ". Key level locks pool is empty and current pool "
-                  + "size is approaching the maximum pool size: " + maxPoolSize + ", which shouldn't happen. "
-                  + "Initial pool size = " + initialPoolSize);
-        }
+  public ReentrantLock acquireLockByKey(ByteArrayKey key) {
+    // The reference count is only ever mutated while the bin of the key is locked by the map
+    return keyToLockMap.compute(key, (k, lockWrapper) -> {
+      if (lockWrapper == null) {
+        lockWrapper = pollOrCreateLock();
       }
-      return nextAvailableLock;
-    });
-    lockWrapper.referenceCount++;
-    return lockWrapper.lock;
+      lockWrapper.referenceCount++;
+      return lockWrapper;
+    }).lock;
   }
 
   /**
    * If no other thread is using the lock, return the lock back to the pool, and remove the key from keyToLock map
    * so that we only keep a very small footprint, instead of caching the whole key space in memory.
    */
-  synchronized void releaseLock(ByteArrayKey key) {
-    LockWithReferenceCount lockWrapper = keyToLockMap.get(key);
-    if (lockWrapper == null) {
+  public void releaseLock(ByteArrayKey key) {
+    // The caller still holds a reference to the lock, so it cannot be removed concurrently
+    if (!keyToLockMap.containsKey(key)) {
       throw new VeniceException("Store version: " + storeVersion + " .Key to lock is not being maintained correctly.");
     }
-    lockWrapper.referenceCount--;
-    if (lockWrapper.referenceCount == 0) {
-      locksPool.offer(lockWrapper);
-      keyToLockMap.remove(key);
+    keyToLockMap.computeIfPresent(key, (k, lockWrapper) -> {
+      if (--lockWrapper.referenceCount == 0) {
+        locksPool.offer(lockWrapper);
+        return null;
+      }
+      return lockWrapper;
+    });
+  }
+
+  private LockWithReferenceCount pollOrCreateLock() {
+    LockWithReferenceCount nextAvailableLock = locksPool.poll();
+    if (nextAvailableLock != null) {
+      return nextAvailableLock;
     }
+    int poolSize;
+    do {
+      poolSize = currentPoolSize.get();
+      if (poolSize >= maxPoolSize) {
+        throw new VeniceException(
+            "Store version: " + storeVersion + ". Key level locks pool is empty and current pool "
+                + "size is approaching the maximum pool size: " + maxPoolSize + ", which shouldn't happen. "
+                + "Initial pool size = " + initialPoolSize);
+      }
+    } while (!currentPoolSize.compareAndSet(poolSize, poolSize + 1));
+    return LockWithReferenceCount.wrap(new ReentrantLock());
   }
 
   // For testing only
@@ -93,7 +108,7 @@ public class KeyLevelLocksManager {
   }
 
   private static class LockWithReferenceCount {
-    ReentrantLock lock;
+    final ReentrantLock lock;
     int referenceCount;
 
     private LockWithReferenceCount(ReentrantLock lock) {
@@ -345,7 +345,8 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
           isWriteComputationEnabled,
           isActiveActiveReplicationEnabled(),
           builder.getVersionedStorageIngestionStats(),
-          getHostLevelIngestionStats());
+          getHostLevelIngestionStats(),
+          serverConfig.isAAWCWorkloadPipelinedProduceEnabled());
     });
     this.aaWCIngestionStorageLookupThreadPool = builder.getAaWCIngestionStorageLookupThreadPool();
     this.globalRtDivKeyBytesCache = new VeniceConcurrentHashMap<>();
@@ -29,6 +29,7 @@ import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import com.linkedin.venice.utils.lazy.Lazy;
 import com.linkedin.venice.writer.LeaderCompleteState;
 import com.linkedin.venice.writer.VeniceWriter;
+import io.netty.buffer.ByteBuf;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
@@ -186,6 +187,12 @@ public class PartitionConsumptionState {
    */
   private final ConcurrentMap<ByteArrayKey, TransientRecord> transientRecordMap = new VeniceConcurrentHashMap<>();
 
+  /**
+   * When present, the values of {@link #transientRecordMap} are held off-heap.
+   * See {@link TransientRecordOffHeapBuffer}.
+   */
+  private TransientRecordOffHeapBuffer transientRecordOffHeapBuffer;
+
   /**
    * This field is used to track whether the last queued record has been fully processed or not.
    * For Leader role, it is redundant from {@literal ProducedRecord#persistedToDBFuture} since it is tracking
@@ -429,6 +436,7 @@ public class PartitionConsumptionState {
 
   public void unsubscribe() {
     this.isSubscribed = false;
+    releaseTransientRecordOffHeapBuffer();
   }
 
   public boolean isLatchCreated() {
@@ -647,17 +655,116 @@ public class PartitionConsumptionState {
       int valueLen,
       int valueSchemaId,
       GenericRecord replicationMetadataRecord) {
-    TransientRecord transientRecord =
-        new TransientRecord(value, valueOffset, valueLen, valueSchemaId, kafkaClusterId, consumedPosition);
+    setTransientRecord(
+        kafkaClusterId,
+        consumedPosition,
+        key,
+        value,
+        valueOffset,
+        valueLen,
+        valueSchemaId,
+        replicationMetadataRecord,
+        null);
+  }
+
+  /**
+   * @param replicationMetadataBytes the serialized {@param replicationMetadataRecord}, which is only needed to retain
+   *                                 the RMD once the record is persisted, see {@link TransientRecordOffHeapBuffer}.
+   */
+  public void setTransientRecord(
+      int kafkaClusterId,
+      PubSubPosition consumedPosition,
+      byte[] key,
+      byte[] value,
+      int valueOffset,
+      int valueLen,
+      int valueSchemaId,
+      GenericRecord replicationMetadataRecord,
+      ByteBuffer replicationMetadataBytes) {
+    TransientRecordOffHeapBuffer offHeapBuffer = this.transientRecordOffHeapBuffer;
+    ByteBuf offHeapValue = null;
+    if (offHeapBuffer != null && value != null) {
+      offHeapValue = offHeapBuffer.copyValue(value, valueOffset, valueLen);
+    }
+    TransientRecord transientRecord = offHeapValue == null
+        ? new TransientRecord(value, valueOffset, valueLen, valueSchemaId, kafkaClusterId, consumedPosition)
+        : new TransientRecord(offHeapValue, valueSchemaId, kafkaClusterId, consumedPosition);
     if (replicationMetadataRecord != null) {
       transientRecord.setReplicationMetadataRecord(replicationMetadataRecord);
     }
+    if (offHeapBuffer != null && offHeapBuffer.isRmdRetentionEnabled()) {
+      transientRecord.replicationMetadataBytes = replicationMetadataBytes;
+    }
 
-    transientRecordMap.put(ByteArrayKey.wrap(key), transientRecord);
+    TransientRecord previousRecord = transientRecordMap.put(ByteArrayKey.wrap(key), transientRecord);
+    if (previousRecord != null) {
+      previousRecord.releaseOffHeapValue(offHeapBuffer);
+    }
   }
 
+  /**
+   * When the value of the record is held off-heap, the returned record holds a copy of it, and shares the rest of its
+   * state with the record in the map.
+   */
   public TransientRecord getTransientRecord(byte[] key) {
-    return transientRecordMap.get(ByteArrayKey.wrap(key));
+    ByteArrayKey byteArrayKey = ByteArrayKey.wrap(key);
+    while (true) {
+      TransientRecord transientRecord = transientRecordMap.get(byteArrayKey);
+      if (transientRecord == null || transientRecord.offHeapValue == null) {
+        return transientRecord;
+      }
+      TransientRecord onHeapRecord = transientRecord.copyToHeap();
+      if (onHeapRecord != null) {
+        return onHeapRecord;
+      }
+      // The record got persisted or replaced, and its value released, meanwhile, so look the key up again
+    }
+  }
+
+  /**
+   * @return the RMD of the key retained once persisted, prefixed with its value schema id as in the storage engine,
+   *         or null if it is not retained. This must only be consulted when {@link #getTransientRecord} returns null.
+   */
+  public byte[] getRetainedReplicationMetadata(byte[] key) {
+    TransientRecordOffHeapBuffer offHeapBuffer = this.transientRecordOffHeapBuffer;
+    return offHeapBuffer == null ? null : offHeapBuffer.getRetainedRmd(key);
+  }
+
+  /**
+   * Must be called for every persisted write of a key which did not go through {@link #mayRemoveTransientRecord}, so
+   * that the retained RMD of the key does not go stale.
+   */
+  public void invalidateRetainedReplicationMetadata(byte[] key) {
+    TransientRecordOffHeapBuffer offHeapBuffer = this.transientRecordOffHeapBuffer;
+    if (offHeapBuffer != null) {
+      offHeapBuffer.invalidateRetainedRmd(key);
+    }
+  }
+
+  public void setTransientRecordOffHeapBuffer(TransientRecordOffHeapBuffer transientRecordOffHeapBuffer) {
+    this.transientRecordOffHeapBuffer = transientRecordOffHeapBuffer;
+  }
+
+  public TransientRecordOffHeapBuffer getTransientRecordOffHeapBuffer() {
+    return transientRecordOffHeapBuffer;
+  }
+
+  /**
+   * Releases the off-heap values of the transient records, which are dropped along with the retained RMDs, since the
+   * partition is no longer consumed.
+   */
+  private void releaseTransientRecordOffHeapBuffer() {
+    TransientRecordOffHeapBuffer offHeapBuffer = this.transientRecordOffHeapBuffer;
+    if (offHeapBuffer == null) {
+      return;
+    }
+    for (ByteArrayKey key: transientRecordMap.keySet()) {
+      TransientRecord removedRecord = transientRecordMap.remove(key);
+      if (removedRecord != null) {
+        removedRecord.releaseOffHeapValue(offHeapBuffer);
+      }
+    }
+    offHeapBuffer.invalidateAllRetainedRmds();
   }
 
   /**
@@ -669,8 +776,13 @@ public class PartitionConsumptionState {
    * @return
    */
   public TransientRecord mayRemoveTransientRecord(int kafkaClusterId, PubSubPosition recordPosition, byte[] key) {
+    TransientRecordOffHeapBuffer offHeapBuffer = this.transientRecordOffHeapBuffer;
     return transientRecordMap.computeIfPresent(ByteArrayKey.wrap(key), (k, v) -> {
       if (v.kafkaClusterId == kafkaClusterId && v.consumedPosition == recordPosition) {
+        if (offHeapBuffer != null) {
+          v.releaseOffHeapValue(offHeapBuffer);
+          v.mayRetainReplicationMetadata(key, offHeapBuffer);
+        }
         return null;
       } else {
         return v;
@@ -730,6 +842,18 @@ public class PartitionConsumptionState {
     private ChunkedValueManifest valueManifest;
     private ChunkedValueManifest rmdManifest;
 
+    /**
+     * Only present for the records in the map whose value is held by {@link TransientRecordOffHeapBuffer}, in which
+     * case {@link #value} is null.
+     */
+    private final ByteBuf offHeapValue;
+    /**
+     * Only present for the on-heap copies of such records, which share the rest of their state with the record in the
+     * map, since it gets updated by the producer callback.
+     */
+    private final TransientRecord sourceRecord;
+    private ByteBuffer replicationMetadataBytes;
+
     public TransientRecord(
         byte[] value,
         int valueOffset,
@@ -737,36 +861,108 @@ public class PartitionConsumptionState {
         int valueSchemaId,
         int kafkaClusterId,
         PubSubPosition consumedPosition) {
+      this(value, valueOffset, valueLen, valueSchemaId, kafkaClusterId, consumedPosition, null, null);
+    }
+
+    TransientRecord(ByteBuf offHeapValue, int valueSchemaId, int kafkaClusterId, PubSubPosition consumedPosition) {
+      this(
+          null,
+          0,
+          offHeapValue.readableBytes(),
+          valueSchemaId,
+          kafkaClusterId,
+          consumedPosition,
+          offHeapValue,
+          null);
+    }
+
+    private TransientRecord(
+        byte[] value,
+        int valueOffset,
+        int valueLen,
+        int valueSchemaId,
+        int kafkaClusterId,
+        PubSubPosition consumedPosition,
+        ByteBuf offHeapValue,
+        TransientRecord sourceRecord) {
       this.value = value;
       this.valueOffset = valueOffset;
       this.valueLen = valueLen;
       this.valueSchemaId = valueSchemaId;
       this.kafkaClusterId = kafkaClusterId;
       this.consumedPosition = consumedPosition;
+      this.offHeapValue = offHeapValue;
+      this.sourceRecord = sourceRecord;
+    }
+
+    /**
+     * @return a copy of this record with its value on the heap, or null if the value got released concurrently.
+     */
+    private TransientRecord copyToHeap() {
+      byte[] onHeapValue = TransientRecordOffHeapBuffer.copyToHeap(offHeapValue);
+      if (onHeapValue == null) {
+        return null;
+      }
+      return new TransientRecord(
+          onHeapValue,
+          0,
+          onHeapValue.length,
+          valueSchemaId,
+          kafkaClusterId,
+          consumedPosition,
+          null,
+          this);
+    }
+
+    private void releaseOffHeapValue(TransientRecordOffHeapBuffer offHeapBuffer) {
+      if (offHeapValue != null) {
+        offHeapBuffer.releaseValue(offHeapValue);
+      }
+    }
+
+    private void mayRetainReplicationMetadata(byte[] key, TransientRecordOffHeapBuffer offHeapBuffer) {
+      if (replicationMetadataBytes == null || rmdManifest != null) {
+        // A chunked RMD is looked up in the storage engine along with its manifest
+        offHeapBuffer.invalidateRetainedRmd(key);
+      } else {
+        offHeapBuffer.retainRmd(key, valueSchemaId, replicationMetadataBytes);
+      }
     }
 
     public ChunkedValueManifest getRmdManifest() {
-      return rmdManifest;
+      return sourceRecord == null ? rmdManifest : sourceRecord.getRmdManifest();
     }
 
     public void setRmdManifest(ChunkedValueManifest rmdManifest) {
-      this.rmdManifest = rmdManifest;
+      if (sourceRecord == null) {
+        this.rmdManifest = rmdManifest;
+      } else {
+        sourceRecord.setRmdManifest(rmdManifest);
+      }
     }
 
     public ChunkedValueManifest getValueManifest() {
-      return valueManifest;
+      return sourceRecord == null ? valueManifest : sourceRecord.getValueManifest();
     }
 
     public void setValueManifest(ChunkedValueManifest valueManifest) {
-      this.valueManifest = valueManifest;
+      if (sourceRecord == null) {
+        this.valueManifest = valueManifest;
+      } else {
+        sourceRecord.setValueManifest(valueManifest);
+      }
     }
 
     public void setReplicationMetadataRecord(GenericRecord replicationMetadataRecord) {
-      this.replicationMetadataRecord = replicationMetadataRecord;
+      if (sourceRecord == null) {
+        this.replicationMetadataRecord = replicationMetadataRecord;
+      } else {
+        sourceRecord.setReplicationMetadataRecord(replicationMetadataRecord);
+      }
     }
 
     public GenericRecord getReplicationMetadataRecord() {
-      return replicationMetadataRecord;
+      return sourceRecord == null ? replicationMetadataRecord : sourceRecord.getReplicationMetadataRecord();
     }
 
     public byte[] getValue() {
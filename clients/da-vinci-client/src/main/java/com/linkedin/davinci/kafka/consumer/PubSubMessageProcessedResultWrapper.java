@@ -1,11 +1,18 @@
 package com.linkedin.davinci.kafka.consumer;
 
 import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 
 public class PubSubMessageProcessedResultWrapper {
   private final DefaultPubSubMessage message;
   private PubSubMessageProcessedResult processedResult;
+  /**
+   * Only present when the message is processed asynchronously by {@link IngestionBatchProcessor}, in which case
+   * {@link #processedResult} is only visible after this future completes.
+   */
+  private CompletableFuture<Void> processedResultFuture;
 
   public PubSubMessageProcessedResultWrapper(DefaultPubSubMessage message) {
     this.message = message;
@@ -22,4 +29,37 @@ public class PubSubMessageProcessedResultWrapper {
   public void setProcessedResult(PubSubMessageProcessedResult processedResult) {
     this.processedResult = processedResult;
   }
+
+  void setProcessedResultFuture(CompletableFuture<Void> processedResultFuture) {
+    this.processedResultFuture = processedResultFuture;
+  }
+
+  void completeProcessedResult() {
+    if (processedResultFuture != null) {
+      processedResultFuture.complete(null);
+    }
+  }
+
+  void completeProcessedResultExceptionally(Throwable t) {
+    if (processedResultFuture != null) {
+      processedResultFuture.completeExceptionally(t);
+    }
+  }
+
+  /**
+   * Blocks until {@link #getProcessedResult()} is ready, which is immediately the case unless the message is being
+   * processed asynchronously.
+   */
+  public void waitForProcessedResult() throws InterruptedException, ExecutionException {
+    if (processedResultFuture != null) {
+      processedResultFuture.get();
+    }
+  }
+
+  void waitForProcessedResultQuietly() {
+    if (processedResultFuture != null) {
+      // Only the completion matters here, the failure is surfaced by waitForProcessedResult()
+      processedResultFuture.handle((ignored, throwable) -> null).join();
+    }
+  }
 }
@@ -34,7 +34,9 @@ public class SeparatedStoreBufferService extends AbstractStoreBufferService {
             serverConfig.isStoreWriterBufferAfterLeaderLogicEnabled(),
             serverConfig.getLogContext(),
             metricsRepository,
-            true),
+            true,
+            serverConfig.isStoreBufferDynamicDrainerAssignmentEnabled(),
+            serverConfig.getStoreBufferCurrentVersionReservedRatio()),
         new StoreBufferService(
             serverConfig.getDrainerPoolSizeUnsortedInput(),
             serverConfig.getStoreWriterBufferMemoryCapacity(),
@@ -42,7 +44,9 @@ public class SeparatedStoreBufferService extends AbstractStoreBufferService {
             serverConfig.isStoreWriterBufferAfterLeaderLogicEnabled(),
             serverConfig.getLogContext(),
             metricsRepository,
-            false));
+            false,
+            serverConfig.isStoreBufferDynamicDrainerAssignmentEnabled(),
+            serverConfig.getStoreBufferCurrentVersionReservedRatio()));
     LOGGER.info(
         "Created separated store buffer service with {} sorted drainers and {} unsorted drainers queues with capacity of {}",
         sortedPoolSize,
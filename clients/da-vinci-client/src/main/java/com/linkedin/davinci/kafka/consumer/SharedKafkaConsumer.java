@@ -17,8 +17,10 @@ import com.linkedin.venice.utils.Time;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -96,6 +98,11 @@ class SharedKafkaConsumer implements PubSubConsumerAdapter {
    */
   private volatile long pollTimes = 0;
 
+  /**
+   * When set, a poll keeps polling the delegate while it comes back full, see {@link #pollUpToMaxPollRecords}.
+   */
+  private volatile VeniceAdaptiveConsumerPollSizer pollSizer;
+
   public SharedKafkaConsumer(
       PubSubConsumerAdapter delegate,
       AggKafkaConsumerServiceStats stats,
@@ -312,7 +319,54 @@ class SharedKafkaConsumer implements PubSubConsumerAdapter {
       throw new VeniceException("Shared Consumer poll sleep got interrupted", e);
     }
 
-    return this.delegate.poll(timeoutMs);
+    Map<PubSubTopicPartition, List<DefaultPubSubMessage>> polledMessages = this.delegate.poll(timeoutMs);
+    VeniceAdaptiveConsumerPollSizer currentPollSizer = this.pollSizer;
+    return currentPollSizer == null ? polledMessages : pollUpToMaxPollRecords(polledMessages, currentPollSizer);
+  }
+
+  /**
+   * A full poll of the delegate means that more records are likely already fetched, so keep polling them, until the
+   * current poll size of {@param currentPollSizer} is reached. This all happens within a single {@link #poll}, so that
+   * an unsubscription still waits for all the records returned by it to be processed.
+   */
+  private Map<PubSubTopicPartition, List<DefaultPubSubMessage>> pollUpToMaxPollRecords(
+      Map<PubSubTopicPartition, List<DefaultPubSubMessage>> polledMessages,
+      VeniceAdaptiveConsumerPollSizer currentPollSizer) {
+    int lastPolledRecords = getRecordCount(polledMessages);
+    int polledRecords = lastPolledRecords;
+    int maxPollRecords = currentPollSizer.getMaxPollRecords();
+    Map<PubSubTopicPartition, List<DefaultPubSubMessage>> mergedMessages = null;
+    while (lastPolledRecords >= currentPollSizer.getBaseMaxPollRecords() && polledRecords < maxPollRecords) {
+      Map<PubSubTopicPartition, List<DefaultPubSubMessage>> nextPolledMessages = this.delegate.poll(0);
+      lastPolledRecords = getRecordCount(nextPolledMessages);
+      if (lastPolledRecords == 0) {
+        break;
+      }
+      if (mergedMessages == null) {
+        mergedMessages = new HashMap<>(polledMessages.size());
+        for (Map.Entry<PubSubTopicPartition, List<DefaultPubSubMessage>> entry: polledMessages.entrySet()) {
+          mergedMessages.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+      }
+      for (Map.Entry<PubSubTopicPartition, List<DefaultPubSubMessage>> entry: nextPolledMessages.entrySet()) {
+        mergedMessages.computeIfAbsent(entry.getKey(), ignored -> new ArrayList<>()).addAll(entry.getValue());
+      }
+      polledRecords += lastPolledRecords;
+    }
+    currentPollSizer.recordPolledRecords(polledRecords);
+    return mergedMessages == null ? polledMessages : mergedMessages;
+  }
+
+  private static int getRecordCount(Map<PubSubTopicPartition, List<DefaultPubSubMessage>> polledMessages) {
+    int recordCount = 0;
+    for (List<DefaultPubSubMessage> messages: polledMessages.values()) {
+      recordCount += messages.size();
+    }
+    return recordCount;
+  }
+
+  void setPollSizer(VeniceAdaptiveConsumerPollSizer pollSizer) {
+    this.pollSizer = pollSizer;
   }
 
   @Override
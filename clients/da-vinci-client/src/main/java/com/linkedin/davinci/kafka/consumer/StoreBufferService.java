@@ -38,6 +38,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -52,6 +53,9 @@ import org.apache.logging.log4j.Logger;
  * 2. For each {@link StoreBufferDrainer}, there is a corresponding {@link BlockingQueue}, which will buffer {@link QueueNode};
  * 3. All the records belonging to the same topic+partition will be allocated to the same drainer thread, otherwise DIV will fail;
  * 4. The logic to assign topic+partition to drainer, please check {@link #getDrainerIndexForConsumerRecord(PubSubMessage, int)};
+ *    when dynamic drainer assignment is enabled, this is only the initial assignment, and a topic+partition could be
+ *    moved to a less loaded drainer whenever it has no record left in flight, please check
+ *    {@link #acquireDrainerIndex(DefaultPubSubMessage, int)};
  * 5. There is still a thread executing {@link StoreIngestionTask} for each topic, which will handle admin actions, such
  * as subscribe, unsubscribe, kill and so on, and also poll consumer records from Kafka and put them into {@link #blockingQueueArr}
  * maintained by {@link StoreBufferService};
@@ -74,6 +78,21 @@ public class StoreBufferService extends AbstractStoreBufferService {
 
   private final boolean isSorted;
 
+  /**
+   * The minimum difference of memory usage between the current drainer of a topic+partition and the least loaded one
+   * to move the topic+partition, so that a slightly uneven load doesn't keep moving partitions around.
+   */
+  private final long drainerRebalanceThreshold;
+  /**
+   * Only populated when dynamic drainer assignment is enabled.
+   */
+  private final ConcurrentMap<PubSubTopicPartition, DrainerAssignment> drainerAssignments;
+  /**
+   * The memory of each drainer buffer which the records of the non-current versions leave to the ones of the current
+   * versions, so that a push landing on the host does not delay the nearline writes of the current versions.
+   */
+  private final long nonCurrentVersionReservedMemoryPerDrainer;
+
   private volatile boolean isStarted = false;
   private final LogContext logContext;
 
@@ -85,6 +104,48 @@ public class StoreBufferService extends AbstractStoreBufferService {
       LogContext logContext,
       MetricsRepository metricsRepository,
       boolean sorted) {
+    this(
+        drainerNum,
+        bufferCapacityPerDrainer,
+        bufferNotifyDelta,
+        queueLeaderWrites,
+        logContext,
+        metricsRepository,
+        sorted,
+        false);
+  }
+
+  public StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      boolean queueLeaderWrites,
+      LogContext logContext,
+      MetricsRepository metricsRepository,
+      boolean sorted,
+      boolean dynamicDrainerAssignment) {
+    this(
+        drainerNum,
+        bufferCapacityPerDrainer,
+        bufferNotifyDelta,
+        queueLeaderWrites,
+        logContext,
+        metricsRepository,
+        sorted,
+        dynamicDrainerAssignment,
+        0);
+  }
+
+  public StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      boolean queueLeaderWrites,
+      LogContext logContext,
+      MetricsRepository metricsRepository,
+      boolean sorted,
+      boolean dynamicDrainerAssignment,
+      double currentVersionReservedBufferRatio) {
     this(
         drainerNum,
         bufferCapacityPerDrainer,
@@ -93,7 +154,9 @@ public class StoreBufferService extends AbstractStoreBufferService {
         null,
         logContext,
         metricsRepository,
-        sorted);
+        sorted,
+        dynamicDrainerAssignment,
+        currentVersionReservedBufferRatio);
   }
 
   /**
@@ -106,7 +169,54 @@ public class StoreBufferService extends AbstractStoreBufferService {
       boolean queueLeaderWrites,
       StoreBufferServiceStats stats,
       LogContext logContext) {
-    this(drainerNum, bufferCapacityPerDrainer, bufferNotifyDelta, queueLeaderWrites, stats, logContext, null, true);
+    this(drainerNum, bufferCapacityPerDrainer, bufferNotifyDelta, queueLeaderWrites, stats, logContext, false);
+  }
+
+  /**
+   * Package-private constructor for testing
+   */
+  StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      boolean queueLeaderWrites,
+      StoreBufferServiceStats stats,
+      LogContext logContext,
+      boolean dynamicDrainerAssignment) {
+    this(
+        drainerNum,
+        bufferCapacityPerDrainer,
+        bufferNotifyDelta,
+        queueLeaderWrites,
+        stats,
+        logContext,
+        dynamicDrainerAssignment,
+        0);
+  }
+
+  /**
+   * Package-private constructor for testing
+   */
+  StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      boolean queueLeaderWrites,
+      StoreBufferServiceStats stats,
+      LogContext logContext,
+      boolean dynamicDrainerAssignment,
+      double currentVersionReservedBufferRatio) {
+    this(
+        drainerNum,
+        bufferCapacityPerDrainer,
+        bufferNotifyDelta,
+        queueLeaderWrites,
+        stats,
+        logContext,
+        null,
+        true,
+        dynamicDrainerAssignment,
+        currentVersionReservedBufferRatio);
   }
 
   /**
@@ -124,7 +234,13 @@ public class StoreBufferService extends AbstractStoreBufferService {
       StoreBufferServiceStats stats,
       LogContext logContext,
       MetricsRepository metricsRepository,
-      boolean sorted) {
+      boolean sorted,
+      boolean dynamicDrainerAssignment,
+      double currentVersionReservedBufferRatio) {
+    if (currentVersionReservedBufferRatio < 0 || currentVersionReservedBufferRatio >= 1) {
+      throw new IllegalArgumentException(
+          "Current version reserved buffer ratio should be in [0, 1), but got: " + currentVersionReservedBufferRatio);
+    }
     this.logContext = logContext;
     this.drainerNum = drainerNum;
     this.blockingQueueArr = new ArrayList<>();
@@ -149,6 +265,17 @@ public class StoreBufferService extends AbstractStoreBufferService {
      * the same drainer handling both topics would help with concurrency. Normalizing the topic name fixes this issue.
      */
     this.hashCodeCache = Caffeine.newBuilder().maximumSize(2000).build(Utils::calculateTopicHashCode);
+    this.drainerRebalanceThreshold = bufferNotifyDelta;
+    this.drainerAssignments = dynamicDrainerAssignment ? new ConcurrentHashMap<>() : null;
+    /**
+     * The freed memory of a drainer buffer is only given back by {@param bufferNotifyDelta}, so the non-current
+     * versions must be left at least twice as much, or they could wait forever on an empty buffer.
+     */
+    this.nonCurrentVersionReservedMemoryPerDrainer = Math.max(
+        0,
+        Math.min(
+            (long) (bufferCapacityPerDrainer * currentVersionReservedBufferRatio),
+            bufferCapacityPerDrainer - 2 * bufferNotifyDelta));
   }
 
   protected MemoryBoundBlockingQueue<QueueNode> getDrainerForConsumerRecord(
@@ -172,6 +299,114 @@ public class StoreBufferService extends AbstractStoreBufferService {
     return Math.abs((topicHash + partition) % this.drainerNum);
   }
 
+  private void putIntoDrainerQueue(QueueNode node, int partition) throws InterruptedException {
+    DefaultPubSubMessage consumerRecord = node.getConsumerRecord();
+    long reservedMemory = getReservedMemory(node.getIngestionTask());
+    if (drainerAssignments == null) {
+      getDrainerForConsumerRecord(consumerRecord, partition).put(node, reservedMemory);
+      return;
+    }
+    int drainerIndex = acquireDrainerIndex(consumerRecord, partition);
+    boolean queued = false;
+    try {
+      blockingQueueArr.get(drainerIndex).put(node, reservedMemory);
+      queued = true;
+    } finally {
+      if (!queued) {
+        releaseDrainerAssignment(node);
+      }
+    }
+  }
+
+  /**
+   * @return the memory of the drainer buffer which the records of {@param ingestionTask} must leave to the others.
+   */
+  private long getReservedMemory(StoreIngestionTask ingestionTask) {
+    if (nonCurrentVersionReservedMemoryPerDrainer == 0 || ingestionTask.isCurrentVersion()) {
+      return 0;
+    }
+    return nonCurrentVersionReservedMemoryPerDrainer;
+  }
+
+  /**
+   * Returns the drainer for the next record of the given topic+partition and accounts for it as in flight until the
+   * drainer is done with it, see {@link #releaseDrainerAssignment(QueueNode)}.
+   *
+   * A topic+partition with records in flight always stays with its current drainer, which keeps its records processed
+   * in order by a single thread. Once all of them have been processed, it is free to move to the least loaded drainer,
+   * so that the partitions sharing a drainer with a hot partition don't have to wait behind its backlog.
+   */
+  private int acquireDrainerIndex(DefaultPubSubMessage consumerRecord, int partition) {
+    PubSubTopicPartition topicPartition = consumerRecord.getTopicPartition();
+    while (true) {
+      DrainerAssignment assignment = drainerAssignments.get(topicPartition);
+      if (assignment == null) {
+        assignment = drainerAssignments.computeIfAbsent(
+            topicPartition,
+            k -> new DrainerAssignment(getDrainerIndexForConsumerRecord(consumerRecord, partition)));
+      }
+      synchronized (assignment) {
+        if (assignment.removed) {
+          // Raced with drainBufferedRecordsFromTopicPartition, so the assignment needs to be recreated
+          continue;
+        }
+        if (assignment.inFlightNodes == 0) {
+          assignment.drainerIndex = getLeastLoadedDrainerIndex(assignment.drainerIndex);
+        }
+        assignment.inFlightNodes++;
+        return assignment.drainerIndex;
+      }
+    }
+  }
+
+  private int getLeastLoadedDrainerIndex(int currentDrainerIndex) {
+    long currentMemoryUsage = blockingQueueArr.get(currentDrainerIndex).getMemoryUsage();
+    int leastLoadedDrainerIndex = currentDrainerIndex;
+    long leastMemoryUsage = currentMemoryUsage;
+    for (int cur = 0; cur < drainerNum; ++cur) {
+      long memoryUsage = blockingQueueArr.get(cur).getMemoryUsage();
+      if (memoryUsage < leastMemoryUsage) {
+        leastMemoryUsage = memoryUsage;
+        leastLoadedDrainerIndex = cur;
+      }
+    }
+    return currentMemoryUsage - leastMemoryUsage > drainerRebalanceThreshold
+        ? leastLoadedDrainerIndex
+        : currentDrainerIndex;
+  }
+
+  private void releaseDrainerAssignment(QueueNode node) {
+    DrainerAssignment assignment = drainerAssignments.get(node.getConsumerRecord().getTopicPartition());
+    if (assignment != null) {
+      synchronized (assignment) {
+        assignment.inFlightNodes--;
+      }
+    }
+  }
+
+  private void removeIdleDrainerAssignment(PubSubTopicPartition topicPartition) {
+    DrainerAssignment assignment = drainerAssignments.get(topicPartition);
+    if (assignment != null) {
+      synchronized (assignment) {
+        if (assignment.inFlightNodes == 0) {
+          assignment.removed = true;
+          drainerAssignments.remove(topicPartition, assignment);
+        }
+      }
+    }
+  }
+
+  int getCurrentDrainerIndex(PubSubTopicPartition topicPartition) {
+    DrainerAssignment assignment = drainerAssignments == null ? null : drainerAssignments.get(topicPartition);
+    if (assignment == null) {
+      DefaultPubSubMessage fakeRecord = new FakePubSubMessage(topicPartition);
+      return getDrainerIndexForConsumerRecord(fakeRecord, topicPartition.getPartitionNumber());
+    }
+    synchronized (assignment) {
+      return assignment.drainerIndex;
+    }
+  }
+
   @Override
   public void putConsumerRecord(
       DefaultPubSubMessage consumerRecord,
@@ -187,13 +422,14 @@ public class StoreBufferService extends AbstractStoreBufferService {
        * end-to-end completeness when producing to local Kafka is needed.
        */
       CompletableFuture<Void> recordFuture = new CompletableFuture<>();
-      getDrainerForConsumerRecord(consumerRecord, partition).put(
+      putIntoDrainerQueue(
           new FollowerQueueNode(
               consumerRecord,
               ingestionTask,
               kafkaUrl,
               beforeProcessingRecordTimestampNs,
-              recordFuture));
+              recordFuture),
+          partition);
 
       // Setup the last queued record's future
       PartitionConsumptionState partitionConsumptionState =
@@ -229,13 +465,14 @@ public class StoreBufferService extends AbstractStoreBufferService {
       int partition,
       String kafkaUrl,
       long beforeProcessingRecordTimestamp) throws InterruptedException {
-    getDrainerForConsumerRecord(consumerRecord, partition).put(
+    putIntoDrainerQueue(
         new LeaderQueueNode(
             consumerRecord,
             ingestionTask,
             kafkaUrl,
             beforeProcessingRecordTimestamp,
-            leaderProducedRecordContext));
+            leaderProducedRecordContext),
+        partition);
   }
 
   private static void processRecord(
@@ -297,7 +534,11 @@ public class StoreBufferService extends AbstractStoreBufferService {
       int retryNum,
       int sleepIntervalInMS) throws InterruptedException {
     DefaultPubSubMessage fakeRecord = new FakePubSubMessage(topicPartition);
-    int workerIndex = getDrainerIndexForConsumerRecord(fakeRecord, topicPartition.getPartitionNumber());
+    /**
+     * With dynamic drainer assignment, the topic+partition cannot move while any of its records is still buffered, so
+     * its current drainer is the only one to check.
+     */
+    int workerIndex = getCurrentDrainerIndex(topicPartition);
     BlockingQueue<QueueNode> blockingQueue = blockingQueueArr.get(workerIndex);
     if (!drainerList.get(workerIndex).isRunning.get()) {
       throw new VeniceException(
@@ -314,6 +555,9 @@ public class StoreBufferService extends AbstractStoreBufferService {
             "The blocking queue of store writer thread: {} doesn't contain any record for: {}",
             workerIndex,
             topicPartition);
+        if (drainerAssignments != null) {
+          removeIdleDrainerAssignment(topicPartition);
+        }
         return;
       }
       Thread.sleep(sleepIntervalInMS);
@@ -332,7 +576,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
     DefaultPubSubMessage fakeRecord = new FakePubSubMessage(topicPartition);
     CommandQueueNode syncOffsetCmd =
         new CommandQueueNode(CommandQueueNode.CommandType.SYNC_OFFSET, fakeRecord, ingestionTask);
-    getDrainerForConsumerRecord(fakeRecord, topicPartition.getPartitionNumber()).put(syncOffsetCmd);
+    putIntoDrainerQueue(syncOffsetCmd, topicPartition.getPartitionNumber());
     return syncOffsetCmd.getCmdExecutedFuture();
   }
 
@@ -349,7 +593,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
       StoreIngestionTask ingestionTask) throws InterruptedException {
     DefaultPubSubMessage fakeRecord = new FakePubSubMessage(topicPartition);
     SyncVtDivNode syncDivNode = new SyncVtDivNode(fakeRecord, vtDivSnapshot, lastRecordPersistedFuture, ingestionTask);
-    getDrainerForConsumerRecord(fakeRecord, topicPartition.getPartitionNumber()).put(syncDivNode);
+    putIntoDrainerQueue(syncDivNode, topicPartition.getPartitionNumber());
   }
 
   @Override
@@ -360,7 +604,11 @@ public class StoreBufferService extends AbstractStoreBufferService {
 
     // Submit all the buffer drainers
     for (int cur = 0; cur < drainerNum; ++cur) {
-      StoreBufferDrainer drainer = new StoreBufferDrainer(this.blockingQueueArr.get(cur), cur, storeBufferServiceStats);
+      StoreBufferDrainer drainer = new StoreBufferDrainer(
+          this.blockingQueueArr.get(cur),
+          cur,
+          storeBufferServiceStats,
+          drainerAssignments == null ? null : this::releaseDrainerAssignment);
       this.executorService.submit(drainer);
       drainerList.add(drainer);
     }
@@ -738,6 +986,20 @@ public class StoreBufferService extends AbstractStoreBufferService {
     }
   }
 
+  /**
+   * The drainer currently assigned to a topic+partition, along with the number of its records which are buffered or
+   * being processed by that drainer. All the fields are guarded by the instance monitor.
+   */
+  private static class DrainerAssignment {
+    private int drainerIndex;
+    private int inFlightNodes = 0;
+    private boolean removed = false;
+
+    DrainerAssignment(int drainerIndex) {
+      this.drainerIndex = drainerIndex;
+    }
+  }
+
   /**
    * Worker thread, which will invoke {@link StoreIngestionTask#processConsumerRecord}
    * to process each {@link PubSubMessage} buffered in {@link BlockingQueue}.
@@ -749,11 +1011,20 @@ public class StoreBufferService extends AbstractStoreBufferService {
     private final int drainerIndex;
     private final ConcurrentMap<PubSubTopicPartition, Long> topicToTimeSpent = new ConcurrentHashMap<>();
     private final StoreBufferServiceStats stats;
+    /**
+     * Invoked once the drainer is done with a node, only when dynamic drainer assignment is enabled.
+     */
+    private final Consumer<QueueNode> nodeDoneCallback;
 
-    public StoreBufferDrainer(BlockingQueue<QueueNode> blockingQueue, int drainerIndex, StoreBufferServiceStats stats) {
+    public StoreBufferDrainer(
+        BlockingQueue<QueueNode> blockingQueue,
+        int drainerIndex,
+        StoreBufferServiceStats stats,
+        Consumer<QueueNode> nodeDoneCallback) {
       this.blockingQueue = blockingQueue;
       this.drainerIndex = drainerIndex;
       this.stats = stats;
+      this.nodeDoneCallback = nodeDoneCallback;
     }
 
     public void stop() {
@@ -857,6 +1128,11 @@ public class StoreBufferService extends AbstractStoreBufferService {
           } else {
             break;
           }
+        } finally {
+          if (node != null && nodeDoneCallback != null) {
+            nodeDoneCallback.accept(node);
+          }
+          node = null;
         }
       }
       LOGGER.info("Current StoreBufferDrainer {} stopped", drainerIndex);
@@ -46,6 +46,7 @@ import com.linkedin.davinci.store.DelegatingStorageEngine;
 import com.linkedin.davinci.store.StorageEngine;
 import com.linkedin.davinci.store.StoragePartitionAdjustmentTrigger;
 import com.linkedin.davinci.store.StoragePartitionConfig;
+import com.linkedin.davinci.store.cache.OffHeapValueCache;
 import com.linkedin.davinci.store.cache.backend.ObjectCacheBackend;
 import com.linkedin.davinci.store.memory.InMemoryStorageEngine;
 import com.linkedin.davinci.store.record.ByteBufferValueRecord;
@@ -166,6 +167,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeoutException;
@@ -367,6 +369,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
 
   protected final InMemoryChunkAssembler chunkAssembler;
   private final Optional<ObjectCacheBackend> cacheBackend;
+  private final Optional<OffHeapValueCache> valueCache;
   private final DaVinciRecordTransformerConfig recordTransformerConfig;
   private final Schema recordTransformerInputValueSchema;
   private final RecordDeserializer recordTransformerKeyDeserializer;
@@ -571,6 +574,10 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
         new IngestionNotificationDispatcher(notifiers, kafkaVersionTopic, isCurrentVersion);
     this.missingSOPCheckExecutor.execute(() -> waitForStateVersion(kafkaVersionTopic));
     this.cacheBackend = cacheBackend;
+    OffHeapValueCache serverValueCache = builder.getValueCache();
+    this.valueCache = serverValueCache != null && serverValueCache.isEnabledForStore(storeName)
+        ? Optional.of(serverValueCache)
+        : Optional.empty();
 
     if (internalRecordTransformerConfig != null) {
       this.recordTransformerConfig = internalRecordTransformerConfig.getRecordTransformerConfig();
@@ -890,6 +897,9 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     LOGGER.info("Removing storage utilization manager for replica: {}", topicPartition);
     storageUtilizationManager.removePartition(partition);
     this.storageService.dropStorePartition(storeVersionConfig, partition, true);
+    if (valueCache.isPresent()) {
+      valueCache.get().invalidatePartition(kafkaVersionTopic, partition);
+    }
     LOGGER.info("Dropped replica: {}", topicPartition);
   }
 
@@ -1447,7 +1457,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     /**
      * Split the records into mini batches.
      */
-    int batchSize = serverConfig.getAAWCWorkloadParallelProcessingThreadPoolSize();
+    int batchSize = serverConfig.getAAWCWorkloadParallelProcessingBatchSize();
     List<List<DefaultPubSubMessage>> batches = new ArrayList<>();
     List<DefaultPubSubMessage> ongoingBatch = new ArrayList<>(batchSize);
     Iterator<DefaultPubSubMessage> iter = records.iterator();
@@ -1482,9 +1492,10 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
      */
     for (List<DefaultPubSubMessage> batch: batches) {
       NavigableMap<ByteArrayKey, ReentrantLock> keyLockMap = ingestionBatchProcessor.lockKeys(batch);
+      List<PubSubMessageProcessedResultWrapper> processedResults = Collections.emptyList();
       try {
         long beforeProcessingPerRecordTimestampNs = System.nanoTime();
-        List<PubSubMessageProcessedResultWrapper> processedResults = ingestionBatchProcessor.process(
+        processedResults = ingestionBatchProcessor.process(
             batch,
             partitionConsumptionState,
             topicPartition.getPartitionNumber(),
@@ -1494,6 +1505,25 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
             beforeProcessingBatchRecordsTimestampMs);
 
         for (PubSubMessageProcessedResultWrapper processedRecord: processedResults) {
+          if (ingestionBatchProcessor.isPipelinedProduceEnabled()) {
+            /**
+             * Produce the records in order as soon as each of them is merged, while the following ones are
+             * still being merged by the batch processing thread pool.
+             */
+            long beforeWaitingTimestampNs = System.nanoTime();
+            try {
+              processedRecord.waitForProcessedResult();
+            } catch (ExecutionException e) {
+              throw new VeniceException(
+                  "Failed to execute the batch processing for " + kafkaVersionTopic + " partition: "
+                      + topicPartition.getPartitionNumber(),
+                  e.getCause());
+            }
+            if (metricsEnabled) {
+              hostLevelIngestionStats.recordBatchProcessingProduceWaitLatency(
+                  LatencyUtils.getElapsedTimeFromNSToMS(beforeWaitingTimestampNs));
+            }
+          }
           totalBytesRead += handleSingleMessage(
               processedRecord,
               topicPartition,
@@ -1506,6 +1536,8 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
               elapsedTimeForPuttingIntoQueue);
         }
       } finally {
+        // The keys can only be unlocked once none of them is still being merged
+        IngestionBatchProcessor.waitForProcessingToFinish(processedResults);
         ingestionBatchProcessor.unlockKeys(keyLockMap);
       }
     }
@@ -2288,6 +2320,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
             hybridStoreConfig.isPresent(),
             schemaRepository.getKeySchema(storeName).getSchema());
         newPartitionConsumptionState.setCurrentVersionSupplier(isCurrentVersion);
+        newPartitionConsumptionState.setTransientRecordOffHeapBuffer(createTransientRecordOffHeapBuffer());
 
         boolean isFutureVersionReady = isFutureVersionReady(kafkaVersionTopic, storeRepository);
         if (isCurrentVersion.getAsBoolean() || isFutureVersionReady) {
@@ -2478,6 +2511,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
           hybridStoreConfig.isPresent(),
           schemaRepository.getKeySchema(storeName).getSchema());
       consumptionState.setCurrentVersionSupplier(isCurrentVersion);
+      consumptionState.setTransientRecordOffHeapBuffer(createTransientRecordOffHeapBuffer());
       partitionConsumptionStateMap.put(partition, consumptionState);
       storageUtilizationManager.initPartition(partition);
       // Reset the error partition tracking
@@ -3805,6 +3839,9 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
 
   private void writeToStorageEngine(int partition, byte[] keyBytes, Put put) {
     putInStorageEngine(partition, keyBytes, put);
+    if (valueCache.isPresent()) {
+      valueCache.get().invalidate(kafkaVersionTopic, partition, keyBytes);
+    }
     if (cacheBackend.isPresent()) {
       if (cacheBackend.get().getStorageEngine(kafkaVersionTopic) != null) {
         cacheBackend.get().getStorageEngine(kafkaVersionTopic).put(partition, keyBytes, put.putValue);
@@ -3814,6 +3851,9 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
 
   private void deleteFromStorageEngine(int partition, byte[] keyBytes, Delete delete) {
     removeFromStorageEngine(partition, keyBytes, delete);
+    if (valueCache.isPresent()) {
+      valueCache.get().invalidate(kafkaVersionTopic, partition, keyBytes);
+    }
     if (cacheBackend.isPresent()) {
       if (cacheBackend.get().getStorageEngine(kafkaVersionTopic) != null) {
         cacheBackend.get().getStorageEngine(kafkaVersionTopic).delete(partition, keyBytes);
@@ -4232,6 +4272,9 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
           leaderProducedRecordContext.getConsumedKafkaClusterId(),
           leaderProducedRecordContext.getConsumedPosition(),
           kafkaKey.getKey());
+    } else {
+      // This write did not go through the transient record map, so the RMD retained for the key, if any, is now stale
+      partitionConsumptionState.invalidateRetainedReplicationMetadata(kafkaKey.getKey());
     }
 
     if (emitRecordLevelMetrics) {
@@ -4839,6 +4882,42 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     // && !this.isDataRecovery; TODO: Decide if this extra condition is useful...
   }
 
+  /**
+   * @return the buffer holding the transient records of a new partition off-heap, or null if they stay on the heap.
+   */
+  private TransientRecordOffHeapBuffer createTransientRecordOffHeapBuffer() {
+    long capacityInBytes = serverConfig.getTransientRecordOffHeapCapacityPerPartitionInBytes();
+    if (capacityInBytes <= 0 || !(isWriteComputationEnabled || isActiveActiveReplicationEnabled)) {
+      return null;
+    }
+    // Only Active/Active records come with an RMD to retain
+    long retainedRmdCapacityInBytes =
+        isActiveActiveReplicationEnabled ? serverConfig.getTransientRecordRetainedRmdCapacityPerPartitionInBytes() : 0;
+    return new TransientRecordOffHeapBuffer(capacityInBytes, retainedRmdCapacityInBytes);
+  }
+
+  public long getTransientRecordOffHeapBytes() {
+    long offHeapBytes = 0;
+    for (PartitionConsumptionState pcs: partitionConsumptionStateMap.values()) {
+      TransientRecordOffHeapBuffer offHeapBuffer = pcs.getTransientRecordOffHeapBuffer();
+      if (offHeapBuffer != null) {
+        offHeapBytes += offHeapBuffer.getUsedBytes() + offHeapBuffer.getRetainedRmdBytes();
+      }
+    }
+    return offHeapBytes;
+  }
+
+  public long getTransientRecordOffHeapOverflowCount() {
+    long overflowCount = 0;
+    for (PartitionConsumptionState pcs: partitionConsumptionStateMap.values()) {
+      TransientRecordOffHeapBuffer offHeapBuffer = pcs.getTransientRecordOffHeapBuffer();
+      if (offHeapBuffer != null) {
+        overflowCount += offHeapBuffer.getOverflowCount();
+      }
+    }
+    return overflowCount;
+  }
+
   // Visible for unit test.
   protected void setPartitionConsumptionState(int partition, PartitionConsumptionState pcs) {
     partitionConsumptionStateMap.put(partition, pcs);
@@ -12,6 +12,7 @@ import com.linkedin.davinci.stats.AggVersionedIngestionStats;
 import com.linkedin.davinci.stats.ingestion.heartbeat.HeartbeatMonitoringService;
 import com.linkedin.davinci.storage.StorageMetadataService;
 import com.linkedin.davinci.storage.StorageService;
+import com.linkedin.davinci.store.cache.OffHeapValueCache;
 import com.linkedin.davinci.store.cache.backend.ObjectCacheBackend;
 import com.linkedin.davinci.store.view.VeniceViewWriterFactory;
 import com.linkedin.venice.kafka.protocol.state.PartitionState;
@@ -125,6 +126,7 @@ public class StoreIngestionTaskFactory {
     private ExecutorService aaWCWorkLoadProcessingThreadPool;
     private ExecutorService aaWCIngestionStorageLookupThreadPool;
     private Supplier<IngestionTaskReusableObjects> reusableObjectsSupplier;
+    private OffHeapValueCache valueCache;
 
     private interface Setter {
       void apply();
@@ -327,5 +329,13 @@ public class StoreIngestionTaskFactory {
     public Supplier<IngestionTaskReusableObjects> getReusableObjectsSupplier() {
       return this.reusableObjectsSupplier;
     }
+
+    public Builder setValueCache(OffHeapValueCache valueCache) {
+      return set(() -> this.valueCache = valueCache);
+    }
+
+    public OffHeapValueCache getValueCache() {
+      return this.valueCache;
+    }
   }
 }
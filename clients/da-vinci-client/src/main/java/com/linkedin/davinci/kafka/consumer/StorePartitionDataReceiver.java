@@ -83,6 +83,11 @@ public class StorePartitionDataReceiver implements ConsumedDataReceiver<List<Def
     return storeIngestionTask.getVersionTopic();
   }
 
+  @Override
+  public boolean isDestinationCurrentVersion() {
+    return storeIngestionTask.isCurrentVersion();
+  }
+
   @Override
   public void notifyOfTopicDeletion(String topicName) {
     storeIngestionTask.setLastConsumerException(new VeniceException("Topic " + topicName + " got deleted."));
@@ -0,0 +1,163 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.linkedin.davinci.utils.ByteArrayKey;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.IllegalReferenceCountException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Holds the values of the transient records of a partition, see {@link PartitionConsumptionState#getTransientRecord},
+ * in direct buffers rather than on the heap, so that a write burst on a leader does not fill the old generation with
+ * values which only live until the drainer persists them.
+ *
+ * Unlike a cache, the transient records cannot be evicted before being persisted without breaking the consistency of
+ * the leader, so the capacity only bounds the off-heap memory: once it is reached, the following values stay on the
+ * heap, as when this buffer is not used, and are counted by {@link #getOverflowCount()}.
+ *
+ * Optionally, the RMDs of the Active/Active records are retained once persisted, in a cache bounded by
+ * {@code retainedRmdCapacityInBytes}, so that the merge of a hot key does not have to look its RMD up in the storage
+ * engine after the transient record is gone. The retained RMD of a key must be invalidated by every write of the key
+ * which does not go through the transient record map, see {@link #invalidateRetainedRmd}.
+ */
+public class TransientRecordOffHeapBuffer {
+  private final ByteBufAllocator allocator;
+  private final long capacityInBytes;
+  private final AtomicLong usedBytes = new AtomicLong();
+  private final LongAdder overflowCount = new LongAdder();
+  private final Cache<ByteArrayKey, ByteBuf> retainedRmdCache;
+  private final LongAdder retainedRmdBytes = new LongAdder();
+
+  public TransientRecordOffHeapBuffer(long capacityInBytes, long retainedRmdCapacityInBytes) {
+    /**
+     * The buffers must not be pooled, for the same reason as in
+     * {@link com.linkedin.davinci.store.cache.OffHeapValueCache}, and are backed by a cleaner, so that the ones still
+     * held by a partition which is dropped without being unsubscribed are eventually freed by the GC.
+     */
+    this(capacityInBytes, retainedRmdCapacityInBytes, new UnpooledByteBufAllocator(true, false, false));
+  }
+
+  TransientRecordOffHeapBuffer(long capacityInBytes, long retainedRmdCapacityInBytes, ByteBufAllocator allocator) {
+    this.allocator = allocator;
+    this.capacityInBytes = capacityInBytes;
+    if (retainedRmdCapacityInBytes > 0) {
+      this.retainedRmdCache = Caffeine.newBuilder()
+          .maximumWeight(retainedRmdCapacityInBytes)
+          .weigher((ByteArrayKey key, ByteBuf rmd) -> key.getContent().length + rmd.readableBytes())
+          // Release the evicted RMDs right away, rather than asynchronously in the common pool
+          .executor(Runnable::run)
+          .removalListener(this::onRetainedRmdRemoval)
+          .build();
+    } else {
+      this.retainedRmdCache = null;
+    }
+  }
+
+  /**
+   * @return a direct buffer holding a copy of the value, or null if it does not fit in the remaining capacity.
+   */
+  ByteBuf copyValue(byte[] value, int valueOffset, int valueLen) {
+    if (usedBytes.addAndGet(valueLen) > capacityInBytes) {
+      usedBytes.addAndGet(-valueLen);
+      overflowCount.increment();
+      return null;
+    }
+    ByteBuf offHeapValue = allocator.directBuffer(valueLen, valueLen);
+    offHeapValue.writeBytes(value, valueOffset, valueLen);
+    return offHeapValue;
+  }
+
+  /**
+   * Releases a value returned by {@link #copyValue}, which must only be called once, by whoever removed the record
+   * holding it from the transient record map.
+   */
+  void releaseValue(ByteBuf offHeapValue) {
+    usedBytes.addAndGet(-offHeapValue.capacity());
+    offHeapValue.release();
+  }
+
+  /**
+   * @return a copy of the value, or null if it got released concurrently.
+   */
+  static byte[] copyToHeap(ByteBuf offHeapValue) {
+    try {
+      offHeapValue.retain();
+    } catch (IllegalReferenceCountException e) {
+      return null;
+    }
+    try {
+      byte[] value = new byte[offHeapValue.readableBytes()];
+      offHeapValue.getBytes(offHeapValue.readerIndex(), value);
+      return value;
+    } finally {
+      offHeapValue.release();
+    }
+  }
+
+  boolean isRmdRetentionEnabled() {
+    return retainedRmdCache != null;
+  }
+
+  /**
+   * Retains the RMD of a key which has just been persisted, replacing the previous one.
+   */
+  void retainRmd(byte[] key, int valueSchemaId, ByteBuffer rmdBytes) {
+    ByteBuf rmd = allocator.directBuffer(Integer.BYTES + rmdBytes.remaining());
+    rmd.writeInt(valueSchemaId);
+    rmd.writeBytes(rmdBytes.duplicate());
+    retainedRmdBytes.add(rmd.readableBytes());
+    retainedRmdCache.put(ByteArrayKey.wrap(key.clone()), rmd);
+  }
+
+  /**
+   * @return a copy of the retained RMD of the key, prefixed with its value schema id as in the storage engine, or null
+   *         if it is not retained.
+   */
+  byte[] getRetainedRmd(byte[] key) {
+    if (retainedRmdCache == null) {
+      return null;
+    }
+    ByteBuf rmd = retainedRmdCache.getIfPresent(ByteArrayKey.wrap(key));
+    // A null copy means that the RMD got evicted, and released, between the lookup and now
+    return rmd == null ? null : copyToHeap(rmd);
+  }
+
+  void invalidateRetainedRmd(byte[] key) {
+    if (retainedRmdCache != null) {
+      retainedRmdCache.invalidate(ByteArrayKey.wrap(key));
+    }
+  }
+
+  void invalidateAllRetainedRmds() {
+    if (retainedRmdCache != null) {
+      retainedRmdCache.invalidateAll();
+      retainedRmdCache.cleanUp();
+    }
+  }
+
+  public long getUsedBytes() {
+    return usedBytes.get();
+  }
+
+  public long getOverflowCount() {
+    return overflowCount.sum();
+  }
+
+  public long getRetainedRmdBytes() {
+    return retainedRmdBytes.sum();
+  }
+
+  private void onRetainedRmdRemoval(ByteArrayKey key, ByteBuf rmd, RemovalCause cause) {
+    if (rmd != null) {
+      retainedRmdBytes.add(-rmd.readableBytes());
+      rmd.release();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.linkedin.davinci.stats.AdaptiveThrottlingServiceStats;
+import com.linkedin.venice.throttle.VeniceAdaptiveThrottler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Adjusts the number of records the consumers of a pool hand over to the ingestion tasks per poll, based on the
+ * registered limiter and booster signals, see {@link SharedKafkaConsumer#poll(long)}.
+ *
+ * The fetch sizes of a Kafka consumer cannot be changed once it is created, so the consumers are created with the
+ * steady-state {@link com.linkedin.venice.ConfigKeys#SERVER_KAFKA_MAX_POLL_RECORDS}, and a consumer keeps polling
+ * within the same cycle while each poll comes back full, up to {@link #getMaxPollRecords()} records in total.
+ *
+ * The heuristic behavior rules are defined as:
+ * (1) If any limiter signal found, it will go back to the base poll size right away.
+ * (2) If no limiter signal found, but there is booster signal found, it will double the poll size, up to
+ *     {@code maxFactor} times the base poll size.
+ * (3) If none of the above rule applies, the replicas have caught up, so it will halve the poll size, down to the base
+ *     poll size.
+ */
+public class VeniceAdaptiveConsumerPollSizer implements VeniceAdaptiveThrottler {
+  private static final Logger LOGGER = LogManager.getLogger(VeniceAdaptiveConsumerPollSizer.class);
+  private final List<BooleanSupplier> limiterSuppliers = new ArrayList<>();
+  private final List<BooleanSupplier> boosterSuppliers = new ArrayList<>();
+  private final String throttlerName;
+  private final int baseMaxPollRecords;
+  private final int maxFactor;
+  private final AdaptiveThrottlingServiceStats adaptiveThrottlingServiceStats;
+  private volatile int currentFactor = 1;
+
+  public VeniceAdaptiveConsumerPollSizer(
+      String throttlerName,
+      int baseMaxPollRecords,
+      int maxFactor,
+      AdaptiveThrottlingServiceStats adaptiveThrottlingServiceStats) {
+    if (baseMaxPollRecords <= 0 || maxFactor < 1) {
+      throw new IllegalArgumentException(
+          "Invalid base max poll records: " + baseMaxPollRecords + " or max factor: " + maxFactor);
+    }
+    this.throttlerName = throttlerName;
+    this.baseMaxPollRecords = baseMaxPollRecords;
+    this.maxFactor = maxFactor;
+    this.adaptiveThrottlingServiceStats = adaptiveThrottlingServiceStats;
+  }
+
+  @Override
+  public void registerLimiterSignal(BooleanSupplier supplier) {
+    limiterSuppliers.add(supplier);
+  }
+
+  @Override
+  public void registerBoosterSignal(BooleanSupplier supplier) {
+    boosterSuppliers.add(supplier);
+  }
+
+  @Override
+  public void checkSignalAndAdjustThrottler() {
+    int newFactor;
+    if (isAnySignalActive(limiterSuppliers)) {
+      newFactor = 1;
+    } else if (isAnySignalActive(boosterSuppliers)) {
+      newFactor = Math.min(maxFactor, currentFactor * 2);
+    } else {
+      newFactor = Math.max(1, currentFactor / 2);
+    }
+    if (newFactor != currentFactor) {
+      currentFactor = newFactor;
+      LOGGER.info(
+          "Adjusted the poll size factor of: {} to: {} with max poll records: {}",
+          throttlerName,
+          newFactor,
+          getMaxPollRecords());
+    }
+  }
+
+  private static boolean isAnySignalActive(List<BooleanSupplier> suppliers) {
+    for (BooleanSupplier supplier: suppliers) {
+      if (supplier.getAsBoolean()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the number of records a single poll of the underlying consumer returns at most.
+   */
+  public int getBaseMaxPollRecords() {
+    return baseMaxPollRecords;
+  }
+
+  /**
+   * @return the number of records a consumer of this pool may return per poll cycle.
+   */
+  public int getMaxPollRecords() {
+    return baseMaxPollRecords * currentFactor;
+  }
+
+  public void recordPolledRecords(int polledRecords) {
+    adaptiveThrottlingServiceStats.recordRateForAdaptiveThrottler(this, polledRecords);
+  }
+
+  @Override
+  public long getCurrentThrottlerRate() {
+    return getMaxPollRecords();
+  }
+
+  @Override
+  public String getThrottlerName() {
+    return throttlerName;
+  }
+}
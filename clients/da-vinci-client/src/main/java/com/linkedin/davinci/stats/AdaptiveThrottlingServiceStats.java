@@ -4,6 +4,7 @@ import com.linkedin.venice.stats.AbstractVeniceStats;
 import com.linkedin.venice.throttle.VeniceAdaptiveThrottler;
 import io.tehuti.metrics.MetricsRepository;
 import io.tehuti.metrics.Sensor;
+import io.tehuti.metrics.stats.AsyncGauge;
 import io.tehuti.metrics.stats.Rate;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +23,16 @@ public class AdaptiveThrottlingServiceStats extends AbstractVeniceStats {
     sensors.put(throttlerName, registerSensorIfAbsent(throttlerName, new Rate()));
   }
 
+  /**
+   * Reports the current limit of the throttler, for the ones whose limit is not a rate.
+   */
+  public void registerCurrentLimitGaugeForThrottler(VeniceAdaptiveThrottler throttler) {
+    registerSensorIfAbsent(
+        new AsyncGauge(
+            (ignored, ignored2) -> throttler.getCurrentThrottlerRate(),
+            throttler.getThrottlerName() + "_current_limit"));
+  }
+
   public void recordRateForAdaptiveThrottler(VeniceAdaptiveThrottler throttler, int rate) {
     Sensor sensor = sensors.get(throttler.getThrottlerName());
     if (sensor != null) {
@@ -44,6 +44,14 @@ public class AggKafkaConsumerServiceStats extends AbstractVeniceAggStoreStats<Ka
     totalStats.recordNonZeroPollResultNum(count);
   }
 
+  public void recordTotalCurrentVersionPollResultNum(int count) {
+    totalStats.recordCurrentVersionPollResultNum(count);
+  }
+
+  public void recordTotalNonCurrentVersionPollResultNum(int count) {
+    totalStats.recordNonCurrentVersionPollResultNum(count);
+  }
+
   public void recordTotalConsumerRecordsProducingToWriterBufferLatency(double latency) {
     totalStats.recordConsumerRecordsProducingToWriterBufferLatency(latency);
   }
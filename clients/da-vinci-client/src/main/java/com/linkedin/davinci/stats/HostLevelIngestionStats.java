@@ -1,5 +1,7 @@
 package com.linkedin.davinci.stats;
 
+import static com.linkedin.davinci.stats.IngestionStats.BATCH_PROCESSING_PRODUCE_WAIT_LATENCY;
+import static com.linkedin.davinci.stats.IngestionStats.BATCH_PROCESSING_STORAGE_LOOKUP_LATENCY;
 import static com.linkedin.davinci.stats.IngestionStats.BATCH_PROCESSING_REQUEST;
 import static com.linkedin.davinci.stats.IngestionStats.BATCH_PROCESSING_REQUEST_ERROR;
 import static com.linkedin.davinci.stats.IngestionStats.BATCH_PROCESSING_REQUEST_LATENCY;
@@ -151,6 +153,16 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
   private final LongAdderRateGauge batchProcessingRequestRecordsSensor;
   private final Sensor batchProcessingRequestLatencySensor;
   private final LongAdderRateGauge batchProcessingRequestErrorSensor;
+  /**
+   * Measure the time the leader spends waiting for the merge of the next record before producing it when the
+   * pipelined produce is enabled.
+   */
+  private final Sensor batchProcessingProduceWaitLatencySensor;
+
+  /**
+   * Measure the latency of the batched lookup of the values and RMDs of all the keys of a batch.
+   */
+  private final Sensor batchProcessingStorageLookupLatencySensor;
 
   /**
    * @param totalStats the total stats singleton instance, or null if we are constructing the total stats
@@ -267,6 +279,24 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
                 t -> t.getStorageEngine().getStats().getCachedRMDSizeInBytes(),
                 t -> t.getStorageEngine().getStats().getRMDSizeInBytes()),
             "rmd_disk_usage_in_bytes"));
+
+    // Register aggregate metrics for the transient records held off-heap by the leaders
+    registerSensor(
+        new AsyncGauge(
+            measurable(
+                ingestionTaskMap,
+                storeName,
+                StoreIngestionTask::getTransientRecordOffHeapBytes,
+                StoreIngestionTask::getTransientRecordOffHeapBytes),
+            "transient_record_off_heap_bytes"));
+    registerSensor(
+        new AsyncGauge(
+            measurable(
+                ingestionTaskMap,
+                storeName,
+                StoreIngestionTask::getTransientRecordOffHeapOverflowCount,
+                StoreIngestionTask::getTransientRecordOffHeapOverflowCount),
+            "transient_record_off_heap_overflow_count"));
     // Register a metric that records the size of ingestion tasks count
     if (isTotalStats) {
       registerSensor(new AsyncGauge((ignored, ignored2) -> ingestionTaskMap.size(), "ingestion_task_count"));
@@ -477,6 +507,16 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
         totalStats,
         () -> totalStats.batchProcessingRequestLatencySensor,
         avgAndMax());
+    this.batchProcessingProduceWaitLatencySensor = registerOnlyTotalSensor(
+        BATCH_PROCESSING_PRODUCE_WAIT_LATENCY,
+        totalStats,
+        () -> totalStats.batchProcessingProduceWaitLatencySensor,
+        avgAndMax());
+    this.batchProcessingStorageLookupLatencySensor = registerOnlyTotalSensor(
+        BATCH_PROCESSING_STORAGE_LOOKUP_LATENCY,
+        totalStats,
+        () -> totalStats.batchProcessingStorageLookupLatencySensor,
+        avgAndMax());
   }
 
   private Measurable measurable(
@@ -705,4 +745,12 @@ public class HostLevelIngestionStats extends AbstractVeniceStats {
   public void recordBatchProcessingRequestLatency(double latency) {
     batchProcessingRequestLatencySensor.record(latency);
   }
+
+  public void recordBatchProcessingProduceWaitLatency(double latency) {
+    batchProcessingProduceWaitLatencySensor.record(latency);
+  }
+
+  public void recordBatchProcessingStorageLookupLatency(double latency) {
+    batchProcessingStorageLookupLatencySensor.record(latency);
+  }
 }
@@ -56,6 +56,8 @@ public class IngestionStats {
   public static final String BATCH_PROCESSING_REQUEST_RECORDS = "batch_processing_request_records";
   public static final String BATCH_PROCESSING_REQUEST_LATENCY = "batch_processing_request_latency";
   public static final String BATCH_PROCESSING_REQUEST_ERROR = "batch_processing_request_error";
+  public static final String BATCH_PROCESSING_PRODUCE_WAIT_LATENCY = "batch_processing_produce_wait_latency";
+  public static final String BATCH_PROCESSING_STORAGE_LOOKUP_LATENCY = "batch_processing_storage_lookup_latency";
 
   public static final String STORAGE_QUOTA_USED = "storage_quota_used";
 
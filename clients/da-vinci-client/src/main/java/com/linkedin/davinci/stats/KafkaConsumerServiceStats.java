@@ -27,6 +27,8 @@ public class KafkaConsumerServiceStats extends AbstractVeniceStats {
   private final Sensor pollRequestLatencySensor;
   private final Sensor pollResultNumSensor;
   private final LongAdderRateGauge pollNonZeroResultNumSensor;
+  private final LongAdderRateGauge pollCurrentVersionResultNumSensor;
+  private final LongAdderRateGauge pollNonCurrentVersionResultNumSensor;
 
   private final Sensor pollRequestError;
   private final Sensor consumerRecordsProducingToWriterBufferLatencySensor;
@@ -79,6 +81,17 @@ public class KafkaConsumerServiceStats extends AbstractVeniceStats {
         totalStats,
         () -> totalStats.pollNonZeroResultNumSensor,
         time);
+    // the number of polled messages going to the current versions, and to the other versions
+    pollCurrentVersionResultNumSensor = registerOnlyTotalRate(
+        "consumer_poll_current_version_result_num",
+        totalStats,
+        () -> totalStats.pollCurrentVersionResultNumSensor,
+        time);
+    pollNonCurrentVersionResultNumSensor = registerOnlyTotalRate(
+        "consumer_poll_non_current_version_result_num",
+        totalStats,
+        () -> totalStats.pollNonCurrentVersionResultNumSensor,
+        time);
     /**
      * "max_elapsed_time_since_last_successful_poll" is a Gauge metric which calls a function inside KafkaConsumerService,
      *  this metric will still be reported per minute with the latest result from the function even if consumer task
@@ -119,6 +132,14 @@ public class KafkaConsumerServiceStats extends AbstractVeniceStats {
     pollNonZeroResultNumSensor.record(count);
   }
 
+  public void recordCurrentVersionPollResultNum(int count) {
+    pollCurrentVersionResultNumSensor.record(count);
+  }
+
+  public void recordNonCurrentVersionPollResultNum(int count) {
+    pollNonCurrentVersionResultNumSensor.record(count);
+  }
+
   public void recordConsumerRecordsProducingToWriterBufferLatency(double latency) {
     consumerRecordsProducingToWriterBufferLatencySensor.record(latency);
   }
@@ -0,0 +1,27 @@
+package com.linkedin.davinci.stats;
+
+import com.linkedin.davinci.store.cache.OffHeapValueCache;
+import com.linkedin.venice.stats.AbstractVeniceStats;
+import io.tehuti.metrics.MetricsRepository;
+import io.tehuti.metrics.stats.AsyncGauge;
+
+
+/**
+ * {@code OffHeapValueCacheStats} measures the effectiveness of the {@link OffHeapValueCache}, as well as the amount of
+ * off-heap memory it holds.
+ */
+public class OffHeapValueCacheStats extends AbstractVeniceStats {
+  public OffHeapValueCacheStats(MetricsRepository metricsRepository, OffHeapValueCache cache, String name) {
+    super(metricsRepository, name);
+
+    registerSensor(new AsyncGauge((ignored, ignored2) -> cache.getHitCount(), "cache_hit"));
+    registerSensor(new AsyncGauge((ignored, ignored2) -> cache.getMissCount(), "cache_miss"));
+    registerSensor(new AsyncGauge((ignored, ignored2) -> {
+      long hitCount = cache.getHitCount();
+      long lookupCount = hitCount + cache.getMissCount();
+      return lookupCount == 0 ? 0 : (double) hitCount / lookupCount;
+    }, "cache_hit_rate"));
+    registerSensor(new AsyncGauge((ignored, ignored2) -> cache.getEntryCount(), "cache_entry_count"));
+    registerSensor(new AsyncGauge((ignored, ignored2) -> cache.getCachedBytes(), "cache_off_heap_bytes"));
+  }
+}
@@ -16,6 +16,8 @@ import com.linkedin.venice.utils.ByteUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
 
@@ -160,6 +162,30 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
         manifestContainer);
   }
 
+  /**
+   * Same as {@link #getWithSchemaId}, for a top-level value which was already looked up with the non-chunked key.
+   */
+  public ByteBufferValueRecord<T> getWithSchemaIdFromTopLevelValue(
+      StorageEngine store,
+      int partition,
+      byte[] topLevelValue,
+      T reusedValue,
+      BinaryDecoder reusedDecoder,
+      StoreDeserializerCache<T> storeDeserializerCache,
+      VeniceCompressor compressor,
+      ChunkedValueManifestContainer manifestContainer) {
+    return ChunkingUtils.getValueAndSchemaIdFromTopLevelValue(
+        this,
+        store,
+        partition,
+        topLevelValue,
+        reusedValue,
+        reusedDecoder,
+        storeDeserializerCache,
+        compressor,
+        manifestContainer);
+  }
+
   public T get(
       StorageEngine store,
       int partition,
@@ -189,6 +215,38 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
         compressor);
   }
 
+  /**
+   * Batched counterpart of {@link #get(StorageEngine, int, byte[], ByteBuffer, Object, BinaryDecoder, boolean,
+   * ReadResponseStats, int, StoreDeserializerCache, VeniceCompressor)} for keys which all belong to the same partition.
+   * The value of each key is handed to {@param valueConsumer} along with the key's position within {@param keys}, and
+   * is re-used to deserialize the next one, so it must not be retained by the consumer.
+   */
+  public void getInBatch(
+      StorageEngine store,
+      int partition,
+      List<byte[]> keys,
+      T reusedValue,
+      BinaryDecoder reusedDecoder,
+      boolean isChunked,
+      ReadResponseStats responseStats,
+      int readerSchemaId,
+      StoreDeserializerCache<T> storeDeserializerCache,
+      VeniceCompressor compressor,
+      ObjIntConsumer<T> valueConsumer) {
+    ChunkingUtils.getFromStorageInBatch(
+        this,
+        store,
+        partition,
+        isChunked ? ChunkingUtils.serializeNonChunkedKeys(keys) : keys,
+        responseStats,
+        reusedValue,
+        reusedDecoder,
+        readerSchemaId,
+        storeDeserializerCache,
+        compressor,
+        valueConsumer);
+  }
+
   public void getByPartialKey(
       StorageEngine store,
       int userPartition,
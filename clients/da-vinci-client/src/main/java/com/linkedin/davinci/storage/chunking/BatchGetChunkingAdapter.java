@@ -6,6 +6,8 @@ import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
 
 
 /**
@@ -68,4 +70,29 @@ public class BatchGetChunkingAdapter implements ChunkingAdapter<ByteBuffer, Mult
     }
     return ChunkingUtils.getFromStorage(BATCH_GET_CHUNKING_ADAPTER, store, partition, key, response);
   }
+
+  /**
+   * Looks up all the {@param keys}, which must belong to the same {@param partition}, with batched storage engine
+   * lookups, and hands each record found (or null) to {@param recordConsumer} along with the position of its key.
+   */
+  public static void getInBatch(
+      StorageEngine store,
+      int partition,
+      List<byte[]> keys,
+      boolean isChunked,
+      ReadResponseStats response,
+      ObjIntConsumer<MultiGetResponseRecordV1> recordConsumer) {
+    ChunkingUtils.getFromStorageInBatch(
+        BATCH_GET_CHUNKING_ADAPTER,
+        store,
+        partition,
+        isChunked ? ChunkingUtils.serializeNonChunkedKeys(keys) : keys,
+        response,
+        null,
+        null,
+        -1,
+        null,
+        null,
+        recordConsumer);
+  }
 }
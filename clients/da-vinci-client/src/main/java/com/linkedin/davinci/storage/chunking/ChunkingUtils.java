@@ -17,9 +17,15 @@ import com.linkedin.venice.serialization.avro.ChunkedValueManifestSerializer;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.storage.protocol.ChunkedKeySuffix;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.writer.VeniceWriter;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.ObjIntConsumer;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
 
@@ -70,6 +76,17 @@ public class ChunkingUtils {
     byte[] apply(int partition, ByteBuffer key);
   }
 
+  /**
+   * @return a new list holding the top-level (i.e. non-chunk) storage key of each of the {@param keys}.
+   */
+  static List<byte[]> serializeNonChunkedKeys(List<byte[]> keys) {
+    List<byte[]> nonChunkedKeys = new ArrayList<>(keys.size());
+    for (byte[] key: keys) {
+      nonChunkedKeys.add(KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(key));
+    }
+    return nonChunkedKeys;
+  }
+
   /**
    * Fills in default values for the unused parameters of the single get and batch get paths.
    */
@@ -115,6 +132,32 @@ public class ChunkingUtils {
         manifestContainer);
   }
 
+  /**
+   * Same as {@link #getReplicationMetadataFromStorage}, for a top-level RMD which was already looked up.
+   */
+  static <VALUE, ASSEMBLED_VALUE_CONTAINER> VALUE getReplicationMetadataFromTopLevelValue(
+      ChunkingAdapter<ASSEMBLED_VALUE_CONTAINER, VALUE> adapter,
+      StorageEngine store,
+      int partition,
+      byte[] replicationMetadata,
+      ChunkedValueManifestContainer manifestContainer) {
+    return getFromStorage(
+        replicationMetadata,
+        (replicationMetadata == null ? 0 : replicationMetadata.length),
+        0,
+        adapter,
+        store::getReplicationMetadata,
+        store.getStoreVersionName(),
+        partition,
+        NoOpReadResponseStats.SINGLETON,
+        null,
+        null,
+        -1,
+        null,
+        null,
+        manifestContainer);
+  }
+
   static <VALUE, CHUNKS_CONTAINER> VALUE getFromStorage(
       ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
       StorageEngine store,
@@ -237,6 +280,7 @@ public class ChunkingUtils {
     return getFromStorage(
         value,
         (value == null ? 0 : value.length),
+        null,
         databaseLookupStartTimeInNS,
         adapter,
         storageGetFunction,
@@ -261,11 +305,38 @@ public class ChunkingUtils {
       StoreDeserializerCache<VALUE> storeDeserializerCache,
       VeniceCompressor compressor,
       ChunkedValueManifestContainer manifestContainer) {
-    byte[] value = store.get(partition, keyBuffer);
+    return getValueAndSchemaIdFromTopLevelValue(
+        adapter,
+        store,
+        partition,
+        store.get(partition, keyBuffer),
+        reusedValue,
+        reusedDecoder,
+        storeDeserializerCache,
+        compressor,
+        manifestContainer);
+  }
+
+  /**
+   * Same as {@link #getValueAndSchemaIdFromStorage}, for a top-level value which was already looked up, e.g. by
+   * {@link StorageEngine#multiGetWithReplicationMetadata(int, List)}, so that only the chunks of a large value are
+   * fetched from the storage engine.
+   */
+  static <VALUE, CHUNKS_CONTAINER> ByteBufferValueRecord<VALUE> getValueAndSchemaIdFromTopLevelValue(
+      ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
+      StorageEngine store,
+      int partition,
+      byte[] value,
+      VALUE reusedValue,
+      BinaryDecoder reusedDecoder,
+      StoreDeserializerCache<VALUE> storeDeserializerCache,
+      VeniceCompressor compressor,
+      ChunkedValueManifestContainer manifestContainer) {
     int writerSchemaId = value == null ? 0 : ValueRecord.parseSchemaId(value);
     VALUE object = getFromStorage(
         value,
         (value == null ? 0 : value.length),
+        null,
         0,
         adapter,
         store::get,
@@ -286,6 +357,117 @@ public class ChunkingUtils {
     return new ByteBufferValueRecord<>(object, writerSchemaId);
   }
 
+  /**
+   * Batched counterpart of the single key lookup functions above, for keys which all belong to the same partition.
+   *
+   * The top-level keys are fetched with a single {@link StorageEngine#multiGet(int, List)} call, and then the chunks
+   * of all the large values found in the first round are fetched together in a second one, so that the number of
+   * round-trips to the storage engine does not grow with the number of keys.
+   *
+   * Each value is handed to the {@param valueConsumer} along with the position of its key within {@param keys}, in
+   * order. The last non-null value is passed back to the adapter as the reused value of the next key, so callers which
+   * need to hang on to the values must use an adapter which does not re-use them.
+   *
+   * The database lookup latency is recorded once for the whole batch, covering both round-trips, rather than once per
+   * key, and the manifests deserialized while prefetching the chunks are re-used to assemble the large values.
+   */
+  static <VALUE, CHUNKS_CONTAINER> void getFromStorageInBatch(
+      ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
+      StorageEngine store,
+      int partition,
+      List<byte[]> keys,
+      ReadResponseStats responseStats,
+      VALUE reusedValue,
+      BinaryDecoder reusedDecoder,
+      int readerSchemaId,
+      StoreDeserializerCache<VALUE> storeDeserializerCache,
+      VeniceCompressor compressor,
+      ObjIntConsumer<VALUE> valueConsumer) {
+    long databaseLookupStartTimeInNS = responseStats.getCurrentTimeInNanos();
+    List<byte[]> values = store.multiGet(partition, keys);
+    if (values.size() != keys.size()) {
+      throw new VeniceException(
+          "Storage engine returned " + values.size() + " values for " + keys.size() + " keys from "
+              + getExceptionMessageDetails(store.getStoreVersionName(), partition, null));
+    }
+    ChunkedValueManifest[] manifests = new ChunkedValueManifest[values.size()];
+    StorageGetFunction chunkGetFunction = prefetchChunks(store, partition, values, manifests);
+    responseStats.addDatabaseLookupLatency(databaseLookupStartTimeInNS);
+
+    byte[] value;
+    VALUE result;
+    for (int i = 0; i < values.size(); i++) {
+      value = values.get(i);
+      result = getFromStorage(
+          value,
+          (value == null ? 0 : value.length),
+          manifests[i],
+          -1,
+          adapter,
+          chunkGetFunction,
+          store.getStoreVersionName(),
+          partition,
+          responseStats,
+          reusedValue,
+          reusedDecoder,
+          readerSchemaId,
+          storeDeserializerCache,
+          compressor,
+          null);
+      valueConsumer.accept(result, i);
+      if (result != null) {
+        reusedValue = result;
+      }
+    }
+  }
+
+  /**
+   * Fetches, in a single batch, the chunks of all the {@link ChunkedValueManifest} found in {@param topLevelValues}.
+   * Each manifest is stored in {@param manifests} at the same index as the top-level value it was deserialized from.
+   *
+   * @return a {@link StorageGetFunction} serving the prefetched chunks, and falling back to the storage engine for
+   *         anything else.
+   */
+  private static StorageGetFunction prefetchChunks(
+      StorageEngine store,
+      int partition,
+      List<byte[]> topLevelValues,
+      ChunkedValueManifest[] manifests) {
+    List<byte[]> chunkKeys = null;
+    byte[] value;
+    int schemaId;
+    for (int i = 0; i < topLevelValues.size(); i++) {
+      value = topLevelValues.get(i);
+      if (value == null) {
+        continue;
+      }
+      schemaId = ValueRecord.parseSchemaId(value);
+      if (schemaId == AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion()) {
+        ChunkedValueManifest manifest = CHUNKED_VALUE_MANIFEST_SERIALIZER.deserialize(value, schemaId);
+        manifests[i] = manifest;
+        if (chunkKeys == null) {
+          chunkKeys = new ArrayList<>();
+        }
+        for (ByteBuffer chunkKey: manifest.keysWithChunkIdSuffix) {
+          chunkKeys.add(ByteUtils.extractByteArray(chunkKey));
+        }
+      }
+    }
+    if (chunkKeys == null) {
+      return store::get;
+    }
+
+    List<byte[]> chunks = store.multiGet(partition, chunkKeys);
+    Map<ByteBuffer, byte[]> chunkMap = new HashMap<>(chunkKeys.size() * 2);
+    for (int i = 0; i < chunkKeys.size(); i++) {
+      chunkMap.put(ByteBuffer.wrap(chunkKeys.get(i)), chunks.get(i));
+    }
+    return (p, key) -> {
+      byte[] chunk = chunkMap.get(key);
+      return chunk != null ? chunk : store.get(p, key);
+    };
+  }
+
   /**
    * Fetches the value associated with the given key, and potentially re-assembles it, if it is
    * a chunked value.
@@ -297,10 +479,15 @@ public class ChunkingUtils {
    *
    * @see SingleGetChunkingAdapter#get(StorageEngine, int, byte[], boolean, ReadResponseStats)
    * @see BatchGetChunkingAdapter#get(StorageEngine, int, ByteBuffer, boolean, ReadResponseStats)
+   *
+   * @param prefetchedManifest the manifest of {@param value} if it was already deserialized, or null.
+   * @param databaseLookupStartTimeInNS the start time of the lookup, or a negative value if its latency was already
+   *                                    recorded by the caller.
    */
   private static <VALUE, CHUNKS_CONTAINER> VALUE getFromStorage(
       byte[] value,
       int valueLength,
+      ChunkedValueManifest prefetchedManifest,
       long databaseLookupStartTimeInNS,
       ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
       StorageGetFunction storageGetFunction,
@@ -322,7 +509,9 @@ public class ChunkingUtils {
     if (writerSchemaId > 0) {
       // User-defined schema, thus not a chunked value. Early termination.
 
-      responseStats.addDatabaseLookupLatency(databaseLookupStartTimeInNS);
+      if (databaseLookupStartTimeInNS >= 0) {
+        responseStats.addDatabaseLookupLatency(databaseLookupStartTimeInNS);
+      }
       responseStats.addValueSize(valueLength);
       return adapter.constructValue(
           value,
@@ -340,7 +529,9 @@ public class ChunkingUtils {
 
     // End of initial sanity checks. We have a chunked value, so we need to fetch all chunks
 
-    ChunkedValueManifest chunkedValueManifest = CHUNKED_VALUE_MANIFEST_SERIALIZER.deserialize(value, writerSchemaId);
+    ChunkedValueManifest chunkedValueManifest = prefetchedManifest != null
+        ? prefetchedManifest
+        : CHUNKED_VALUE_MANIFEST_SERIALIZER.deserialize(value, writerSchemaId);
     if (manifestContainer != null) {
       manifestContainer.setManifest(chunkedValueManifest);
     }
@@ -378,7 +569,9 @@ public class ChunkingUtils {
               + getExceptionMessageDetails(storeVersionName, partition, null));
     }
 
-    responseStats.addDatabaseLookupLatency(databaseLookupStartTimeInNS);
+    if (databaseLookupStartTimeInNS >= 0) {
+      responseStats.addDatabaseLookupLatency(databaseLookupStartTimeInNS);
+    }
     responseStats.addValueSize(actualSize);
     responseStats.incrementMultiChunkLargeValueCount();
 
@@ -63,4 +63,17 @@ public class SingleGetChunkingAdapter implements ChunkingAdapter<CompositeByteBu
     return ChunkingUtils
         .getReplicationMetadataFromStorage(SINGLE_GET_CHUNKING_ADAPTER, store, partition, keyBuffer, manifestContainer);
   }
+
+  public static ValueRecord getReplicationMetadataFromTopLevelValue(
+      StorageEngine store,
+      int partition,
+      byte[] topLevelReplicationMetadata,
+      ChunkedValueManifestContainer manifestContainer) {
+    return ChunkingUtils.getReplicationMetadataFromTopLevelValue(
+        SINGLE_GET_CHUNKING_ADAPTER,
+        store,
+        partition,
+        topLevelReplicationMetadata,
+        manifestContainer);
+  }
 }
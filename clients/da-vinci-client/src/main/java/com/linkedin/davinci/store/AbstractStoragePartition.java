@@ -4,6 +4,8 @@ import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.store.rocksdb.ReplicationMetadataRocksDBStoragePartition;
 import com.linkedin.venice.exceptions.VeniceUnsupportedOperationException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -60,6 +62,21 @@ public abstract class AbstractStoragePartition {
 
   public abstract byte[] get(ByteBuffer key);
 
+  /**
+   * Get the values of multiple keys from the partition database.
+   * Naive default impl is not optimized... only storage engines that support batched lookups implement it.
+   *
+   * @param keys keys to be retrieved
+   * @return a list of values positionally aligned with {@param keys}, with null for the keys which do not exist.
+   */
+  public List<byte[]> multiGet(List<byte[]> keys) {
+    List<byte[]> values = new ArrayList<>(keys.size());
+    for (byte[] key: keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
   /**
    * Populate provided callback with key-value pairs from the partition database where the keys have provided prefix.
    * If prefix is null, callback will be populated will all key-value pairs from the partition database.
@@ -168,6 +185,20 @@ public abstract class AbstractStoragePartition {
     throw new VeniceUnsupportedOperationException("getReplicationMetadata");
   }
 
+  /**
+   * Looks up the values of the {@param keys} along with their replication metadata, one key at a time by default.
+   *
+   * @return a list holding the values of the {@param keys} followed by their replication metadata.
+   */
+  public List<byte[]> multiGetWithReplicationMetadata(List<byte[]> keys) {
+    List<byte[]> results = new ArrayList<>(2 * keys.size());
+    results.addAll(multiGet(keys));
+    for (byte[] key: keys) {
+      results.add(getReplicationMetadata(ByteBuffer.wrap(key)));
+    }
+    return results;
+  }
+
   /**
    * This API deletes a record from RocksDB but updates the metadata in ByteBuffer format and puts it into RocksDB.
    * Only {@link ReplicationMetadataRocksDBStoragePartition} will execute this method,
@@ -9,6 +9,8 @@ import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.pubsub.PubSubContext;
 import com.linkedin.venice.utils.ByteUtils;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -215,6 +217,18 @@ public class DelegatingStorageEngine<P extends AbstractStoragePartition> impleme
     return this.delegate.get(partitionId, compressKeyIfNeeded(partitionId, keyBuffer, false));
   }
 
+  @Override
+  public List<byte[]> multiGet(int partitionId, List<byte[]> keys) throws VeniceException {
+    if (isKeyUrnCompressionEnabled(partitionId)) {
+      List<byte[]> compressedKeys = new ArrayList<>(keys.size());
+      for (byte[] key: keys) {
+        compressedKeys.add(compressKeyIfNeeded(partitionId, key, false));
+      }
+      return this.delegate.multiGet(partitionId, compressedKeys);
+    }
+    return this.delegate.multiGet(partitionId, keys);
+  }
+
   @Override
   public void getByKeyPrefix(int partitionId, byte[] partialKey, BytesStreamingCallback bytesStreamingCallback) {
     if (getKeyDictCompressionFunction() != null) {
@@ -244,6 +258,18 @@ public class DelegatingStorageEngine<P extends AbstractStoragePartition> impleme
     return this.delegate.getReplicationMetadata(partitionId, compressKeyIfNeeded(partitionId, key, false));
   }
 
+  @Override
+  public List<byte[]> multiGetWithReplicationMetadata(int partitionId, List<byte[]> keys) throws VeniceException {
+    if (isKeyUrnCompressionEnabled(partitionId)) {
+      List<byte[]> compressedKeys = new ArrayList<>(keys.size());
+      for (byte[] key: keys) {
+        compressedKeys.add(compressKeyIfNeeded(partitionId, key, false));
+      }
+      return this.delegate.multiGetWithReplicationMetadata(partitionId, compressedKeys);
+    }
+    return this.delegate.multiGetWithReplicationMetadata(partitionId, keys);
+  }
+
   @Override
   public void putPartitionOffset(int partitionId, OffsetRecord offsetRecord) {
     this.delegate.putPartitionOffset(partitionId, offsetRecord);
@@ -8,6 +8,7 @@ import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.pubsub.PubSubContext;
 import java.io.Closeable;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -111,6 +112,13 @@ public interface StorageEngine<Partition extends AbstractStoragePartition> exten
 
   byte[] get(int partitionId, ByteBuffer keyBuffer) throws VeniceException;
 
+  /**
+   * Look up multiple keys belonging to the same partition in a single batched call to the underlying storage.
+   *
+   * @return a list of values positionally aligned with {@param keys}, with null for the keys which do not exist.
+   */
+  List<byte[]> multiGet(int partitionId, List<byte[]> keys) throws VeniceException;
+
   void getByKeyPrefix(int partitionId, byte[] partialKey, BytesStreamingCallback bytesStreamingCallback);
 
   void delete(int partitionId, byte[] key) throws VeniceException;
@@ -119,6 +127,16 @@ public interface StorageEngine<Partition extends AbstractStoragePartition> exten
 
   byte[] getReplicationMetadata(int partitionId, ByteBuffer key);
 
+  /**
+   * Look up both the value and the replication metadata of multiple keys belonging to the same partition in a single
+   * batched call to the underlying storage.
+   *
+   * @return a list holding the values of the {@param keys} followed by their replication metadata, i.e. the value of
+   *         the i-th key at index i, and its replication metadata at index i + keys.size(), with null for the missing
+   *         ones.
+   */
+  List<byte[]> multiGetWithReplicationMetadata(int partitionId, List<byte[]> keys) throws VeniceException;
+
   /**
    * Put the offset associated with the partitionId into the metadata partition.
    */
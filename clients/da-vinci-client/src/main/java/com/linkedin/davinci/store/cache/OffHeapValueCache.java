@@ -0,0 +1,240 @@
+package com.linkedin.davinci.store.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.linkedin.davinci.store.record.ValueRecord;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.IllegalReferenceCountException;
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A size-bounded cache of the serialized values of the hottest keys, shared by all the store versions hosted by a
+ * server, which read requests consult before going to the storage engine.
+ *
+ * Only the index lives on the heap: the values are held in direct buffers, so that the cache can be large without
+ * adding to the GC pressure of the server. Admission and eviction are driven by Caffeine's W-TinyLFU policy, which
+ * only lets a key in if it is read more frequently than the one it would evict, so that a scan of cold keys does not
+ * flush the hot ones.
+ *
+ * The cache is kept consistent with the storage engine by the ingestion path, which invalidates every key it writes.
+ * Since a read may race with such a write, a reader must call {@link #getInvalidationStamp} before looking up the
+ * storage engine, and hand the stamp over to {@link #put}, which drops the value if the key got invalidated meanwhile:
+ *
+ *  - If the write was invalidated before the stamp was taken, the storage engine lookup sees the new value.
+ *  - If the write was invalidated before the value was put, the stamp changed and {@link #put} discards the value.
+ *  - Otherwise, the invalidation happens after the value was put, and removes it.
+ */
+public class OffHeapValueCache implements Closeable {
+  /**
+   * The number of invalidation counters, each shared by all the keys hashing to it. More stripes make it less likely
+   * that the write of a key prevents caching an unrelated key read at the same time.
+   */
+  private static final int INVALIDATION_STRIPE_COUNT = 1024;
+
+  private final Cache<CacheKey, ByteBuf> cache;
+  private final ByteBufAllocator allocator;
+  private final int maxValueSizeInBytes;
+  private final Set<String> storeNames;
+  private final AtomicLongArray invalidationStamps = new AtomicLongArray(INVALIDATION_STRIPE_COUNT);
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder cachedBytes = new LongAdder();
+
+  /**
+   * @param storeNames of the stores using the cache, or all stores if empty.
+   */
+  public OffHeapValueCache(long capacityInBytes, int maxValueSizeInBytes, Set<String> storeNames) {
+    /**
+     * The buffers must not be pooled: a reader may still hold a reference to a value evicted and released concurrently,
+     * which must then fail to be retained, rather than be recycled for an unrelated allocation.
+     */
+    this(capacityInBytes, maxValueSizeInBytes, storeNames, UnpooledByteBufAllocator.DEFAULT);
+  }
+
+  OffHeapValueCache(
+      long capacityInBytes,
+      int maxValueSizeInBytes,
+      Set<String> storeNames,
+      ByteBufAllocator allocator) {
+    this.allocator = allocator;
+    this.maxValueSizeInBytes = maxValueSizeInBytes;
+    this.storeNames = storeNames;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(capacityInBytes)
+        .weigher((CacheKey key, ByteBuf value) -> key.keyBytes.length + value.readableBytes())
+        // Release the evicted values right away, rather than asynchronously in the common pool
+        .executor(Runnable::run)
+        .removalListener(this::onRemoval)
+        .build();
+  }
+
+  public boolean isEnabledForStore(String storeName) {
+    return storeNames.isEmpty() || storeNames.contains(storeName);
+  }
+
+  /**
+   * @return a copy of the cached value of the key, prefixed with its schema id as in {@link ValueRecord#serialize()},
+   *         or null if it is not cached.
+   */
+  public byte[] get(String storeVersion, int partition, byte[] key) {
+    ByteBuf cachedValue = cache.getIfPresent(new CacheKey(storeVersion, partition, key));
+    if (cachedValue != null) {
+      try {
+        cachedValue.retain();
+      } catch (IllegalReferenceCountException e) {
+        // The value got evicted, and released, between the lookup and now
+        cachedValue = null;
+      }
+    }
+    if (cachedValue == null) {
+      missCount.increment();
+      return null;
+    }
+    try {
+      byte[] serializedValue = new byte[cachedValue.readableBytes()];
+      cachedValue.getBytes(cachedValue.readerIndex(), serializedValue);
+      hitCount.increment();
+      return serializedValue;
+    } finally {
+      cachedValue.release();
+    }
+  }
+
+  /**
+   * @return the stamp to pass to {@link #put} once the value of the key has been read from the storage engine.
+   */
+  public long getInvalidationStamp(byte[] key) {
+    return invalidationStamps.get(getStripe(key));
+  }
+
+  /**
+   * Caches the value of the key, read from the storage engine after calling {@link #getInvalidationStamp}, unless it is
+   * too large or the key got invalidated since. The position of the {@param value} is left unchanged.
+   */
+  public void put(
+      String storeVersion,
+      int partition,
+      byte[] key,
+      int schemaId,
+      ByteBuffer value,
+      long invalidationStamp) {
+    int valueSize = value.remaining();
+    if (valueSize > maxValueSizeInBytes) {
+      return;
+    }
+    int stripe = getStripe(key);
+    if (invalidationStamps.get(stripe) != invalidationStamp) {
+      return;
+    }
+    ByteBuf cachedValue = allocator.directBuffer(ValueRecord.SCHEMA_HEADER_LENGTH + valueSize);
+    cachedValue.writeInt(schemaId);
+    cachedValue.writeBytes(value.duplicate());
+    CacheKey cacheKey = new CacheKey(storeVersion, partition, key.clone());
+    cachedBytes.add(cachedValue.readableBytes());
+    cache.put(cacheKey, cachedValue);
+    if (invalidationStamps.get(stripe) != invalidationStamp) {
+      // The key got invalidated while the value was being put, which might have happened before the value got in
+      cache.invalidate(cacheKey);
+    }
+  }
+
+  /**
+   * Invalidates the key, which must be called after writing it to the storage engine.
+   */
+  public void invalidate(String storeVersion, int partition, byte[] key) {
+    invalidationStamps.incrementAndGet(getStripe(key));
+    cache.invalidate(new CacheKey(storeVersion, partition, key));
+  }
+
+  /**
+   * Invalidates all the keys of the partition, which must be called after dropping it from the storage engine, since
+   * the keys which no longer exist would not be invalidated when it gets ingested again.
+   */
+  public void invalidatePartition(String storeVersion, int partition) {
+    for (int i = 0; i < INVALIDATION_STRIPE_COUNT; i++) {
+      invalidationStamps.incrementAndGet(i);
+    }
+    cache.asMap().keySet().removeIf(key -> key.partition == partition && key.storeVersion.equals(storeVersion));
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEntryCount() {
+    return cache.estimatedSize();
+  }
+
+  public long getCachedBytes() {
+    return cachedBytes.sum();
+  }
+
+  /**
+   * Performs the pending evictions, which otherwise happen in the course of later reads and writes.
+   */
+  void cleanUp() {
+    cache.cleanUp();
+  }
+
+  @Override
+  public void close() {
+    cache.invalidateAll();
+    cache.cleanUp();
+  }
+
+  private void onRemoval(CacheKey key, ByteBuf value, RemovalCause cause) {
+    if (value != null) {
+      cachedBytes.add(-value.readableBytes());
+      value.release();
+    }
+  }
+
+  private static int getStripe(byte[] key) {
+    return Math.floorMod(Arrays.hashCode(key), INVALIDATION_STRIPE_COUNT);
+  }
+
+  private static class CacheKey {
+    private final String storeVersion;
+    private final int partition;
+    private final byte[] keyBytes;
+    private final int hashCode;
+
+    CacheKey(String storeVersion, int partition, byte[] keyBytes) {
+      this.storeVersion = storeVersion;
+      this.partition = partition;
+      this.keyBytes = keyBytes;
+      this.hashCode = 31 * (31 * storeVersion.hashCode() + partition) + Arrays.hashCode(keyBytes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) o;
+      return partition == other.partition && storeVersion.equals(other.storeVersion)
+          && Arrays.equals(keyBytes, other.keyBytes);
+    }
+  }
+}
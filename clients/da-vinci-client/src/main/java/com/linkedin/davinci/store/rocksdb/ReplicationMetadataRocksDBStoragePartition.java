@@ -9,12 +9,15 @@ import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.utils.ByteUtils;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.WriteBatch;
@@ -58,7 +61,9 @@ public class ReplicationMetadataRocksDBStoragePartition extends RocksDBStoragePa
           super.getOptions(),
           fullPathForTempSSTFileDir,
           true,
-          rocksDBServerConfig);
+          rocksDBServerConfig,
+          factory.getSstFileWriterExecutor(),
+          factory.getSstFileWriterSortedRunBudget());
     }
   }
 
@@ -74,6 +79,11 @@ public class ReplicationMetadataRocksDBStoragePartition extends RocksDBStoragePa
       if (deferredWrite) {
         super.put(key, value);
         rocksDBSstFileWriter.put(key, ByteBuffer.wrap(metadata));
+      } else if (isWriteBatchingEnabled()) {
+        writeIntoPendingBatch(writeBatch -> {
+          writeBatch.put(columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX), key, value);
+          writeBatch.put(columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX), key, metadata);
+        }, 2L * key.length + value.length + metadata.length);
       } else {
         try (WriteBatch writeBatch = new WriteBatch()) {
           writeBatch.put(columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX), key, value);
@@ -96,6 +106,11 @@ public class ReplicationMetadataRocksDBStoragePartition extends RocksDBStoragePa
     try {
       if (deferredWrite) {
         rocksDBSstFileWriter.put(key, ByteBuffer.wrap(metadata));
+      } else if (isWriteBatchingEnabled()) {
+        writeIntoPendingBatch(
+            writeBatch -> writeBatch
+                .put(columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX), key, metadata),
+            key.length + metadata.length);
       } else {
         rocksDB.put(columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX), writeOptions, key, metadata);
       }
@@ -131,6 +146,11 @@ public class ReplicationMetadataRocksDBStoragePartition extends RocksDBStoragePa
     readCloseRWLock.readLock().lock();
     try {
       makeSureRocksDBIsStillOpen();
+      if (hasPendingWrites()) {
+        return getFromPendingBatchAndDB(
+            columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX),
+            ByteUtils.extractByteArray(key));
+      }
       return rocksDB.get(
           columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX),
           READ_OPTIONS_DEFAULT,
@@ -144,6 +164,43 @@ public class ReplicationMetadataRocksDBStoragePartition extends RocksDBStoragePa
     }
   }
 
+  /**
+   * Looks up both column families with a single {@link RocksDB#multiGetAsList} call.
+   */
+  @Override
+  public List<byte[]> multiGetWithReplicationMetadata(List<byte[]> keys) {
+    int keyCount = keys.size();
+    List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>(2 * keyCount);
+    List<byte[]> keysOfBothColumnFamilies = new ArrayList<>(2 * keyCount);
+    ColumnFamilyHandle valueColumnFamilyHandle = columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX);
+    ColumnFamilyHandle rmdColumnFamilyHandle = columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX);
+    for (int i = 0; i < keyCount; i++) {
+      columnFamilyHandles.add(valueColumnFamilyHandle);
+    }
+    for (int i = 0; i < keyCount; i++) {
+      columnFamilyHandles.add(rmdColumnFamilyHandle);
+    }
+    keysOfBothColumnFamilies.addAll(keys);
+    keysOfBothColumnFamilies.addAll(keys);
+
+    readCloseRWLock.readLock().lock();
+    try {
+      makeSureRocksDBIsStillOpen();
+      if (hasPendingWrites()) {
+        List<byte[]> values = new ArrayList<>(2 * keyCount);
+        for (int i = 0; i < 2 * keyCount; i++) {
+          values.add(getFromPendingBatchAndDB(columnFamilyHandles.get(i), keysOfBothColumnFamilies.get(i)));
+        }
+        return values;
+      }
+      return rocksDB.multiGetAsList(multiGetReadOptions, columnFamilyHandles, keysOfBothColumnFamilies);
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to get value from RocksDB: " + replicaId, e);
+    } finally {
+      readCloseRWLock.readLock().unlock();
+    }
+  }
+
   /**
    * This API deletes a record from RocksDB but updates the metadata in ByteBuffer format and puts it into RocksDB.
    */
@@ -158,6 +215,12 @@ public class ReplicationMetadataRocksDBStoragePartition extends RocksDBStoragePa
       if (deferredWrite) {
         // Just update the RMD for deletion during repush
         rocksDBSstFileWriter.put(key, ByteBuffer.wrap(replicationMetadata));
+      } else if (isWriteBatchingEnabled()) {
+        writeIntoPendingBatch(writeBatch -> {
+          writeBatch.delete(columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX), key);
+          writeBatch
+              .put(columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX), key, replicationMetadata);
+        }, 2L * key.length + replicationMetadata.length);
       } else {
         try (WriteBatch writeBatch = new WriteBatch()) {
           writeBatch.delete(columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX), key);
@@ -202,6 +202,31 @@ public class RocksDBServerConfig {
 
   public static final String ROCKSDB_PUT_REUSE_BYTE_BUFFER = "rocksdb.put.reuse.byte.buffer";
 
+  /**
+   * Number of threads building the SST files of sorted batch pushes, shared by all the partitions. When positive, the
+   * drainer threads buffer the records in sorted runs of {@link #ROCKSDB_SST_FILE_WRITER_BUFFER_SIZE_IN_BYTES}, and
+   * each run is written to its own SST file by this pool, so that a partition could build several SST files in
+   * parallel. When 0, the drainer threads write the SST files themselves.
+   */
+  public static final String ROCKSDB_SST_FILE_WRITER_THREAD_POOL_SIZE = "rocksdb.sst.file.writer.thread.pool.size";
+  public static final String ROCKSDB_SST_FILE_WRITER_BUFFER_SIZE_IN_BYTES =
+      "rocksdb.sst.file.writer.buffer.size.in.bytes";
+  /**
+   * Bounds the memory held by the sorted runs buffered by all the partitions of the host, in addition to the bound of
+   * each partition. Once the budget is used up, the partitions write their next SST files directly, as if
+   * {@link #ROCKSDB_SST_FILE_WRITER_THREAD_POOL_SIZE} was 0, until some buffered run is written.
+   */
+  public static final String ROCKSDB_SST_FILE_WRITER_MEMORY_BUDGET_IN_BYTES =
+      "rocksdb.sst.file.writer.memory.budget.in.bytes";
+
+  /**
+   * When positive, the writes to a partition which is not ingesting a sorted batch push are accumulated in a single
+   * {@link org.rocksdb.WriteBatchWithIndex}, which is committed once it reaches this size and before every sync,
+   * instead of going through the RocksDB write path one by one. The point lookups read the pending writes from the
+   * batch, while the prefix scans and the iterators only see the committed ones.
+   */
+  public static final String ROCKSDB_WRITE_BATCH_SIZE_IN_BYTES = "rocksdb.write.batch.size.in.bytes";
+
   /**
    * Every time, when RocksDB tries to open a database, it will spin up multiple threads to load the file metadata
    * in parallel, and the application could hit the thread limit issue if there are many RocksDB open operations
@@ -253,6 +278,13 @@ public class RocksDBServerConfig {
    */
   public static final String ROCKSDB_ITERATOR_READ_AHEAD_SIZE_IN_BYTES = "rocksdb.iterator.read.ahead.size.in.bytes";
 
+  /**
+   * Whether batched lookups (see {@link RocksDBStoragePartition#multiGet(java.util.List)}) should let RocksDB issue the
+   * underlying data block reads asynchronously, which allows the IOs of the different keys to overlap.
+   * Check this page to find more details: https://github.com/facebook/rocksdb/wiki/Asynchronous-IO
+   */
+  public static final String ROCKSDB_MULTI_GET_ASYNC_IO_ENABLED = "rocksdb.multi.get.async.io.enabled";
+
   private final boolean rocksDBUseDirectReads;
 
   private final int rocksDBEnvFlushPoolSize;
@@ -315,6 +347,10 @@ public class RocksDBServerConfig {
   private final boolean level0CompactionTuningForReadWriteLeaderEnabled;
 
   private final boolean putReuseByteBufferEnabled;
+  private final int sstFileWriterThreadPoolSize;
+  private final long sstFileWriterBufferSizeInBytes;
+  private final long sstFileWriterMemoryBudgetInBytes;
+  private final long writeBatchSizeInBytes;
   private final boolean atomicFlushEnabled;
   private final boolean separateRMDCacheEnabled;
   private int blockBaseFormatVersion;
@@ -332,6 +368,8 @@ public class RocksDBServerConfig {
 
   private final long iteratorReadAheadSizeInBytes;
 
+  private final boolean multiGetAsyncIoEnabled;
+
   public RocksDBServerConfig(VeniceProperties props) {
     // Do not use Direct IO for reads by default
     this.rocksDBUseDirectReads = props.getBoolean(ROCKSDB_OPTIONS_USE_DIRECT_READS, false);
@@ -443,6 +481,12 @@ public class RocksDBServerConfig {
         props.getBoolean(ROCKSDB_LEVEL0_COMPACTION_TUNING_FOR_READ_WRITE_LEADER_ENABLED, false);
 
     this.putReuseByteBufferEnabled = props.getBoolean(ROCKSDB_PUT_REUSE_BYTE_BUFFER, false);
+    this.sstFileWriterThreadPoolSize = props.getInt(ROCKSDB_SST_FILE_WRITER_THREAD_POOL_SIZE, 0);
+    this.sstFileWriterBufferSizeInBytes =
+        props.getSizeInBytes(ROCKSDB_SST_FILE_WRITER_BUFFER_SIZE_IN_BYTES, 16 * 1024 * 1024L); // 16MB
+    this.sstFileWriterMemoryBudgetInBytes =
+        props.getSizeInBytes(ROCKSDB_SST_FILE_WRITER_MEMORY_BUDGET_IN_BYTES, 256 * 1024 * 1024L); // 256MB
+    this.writeBatchSizeInBytes = props.getSizeInBytes(ROCKSDB_WRITE_BATCH_SIZE_IN_BYTES, 0);
     this.atomicFlushEnabled = props.getBoolean(ROCKSDB_ATOMIC_FLUSH_ENABLED, true);
     this.separateRMDCacheEnabled = props.getBoolean(ROCKSDB_SEPARATE_RMD_CACHE_ENABLED, false);
 
@@ -470,6 +514,8 @@ public class RocksDBServerConfig {
 
     this.iteratorReadAheadSizeInBytes =
         props.getSizeInBytes(ROCKSDB_ITERATOR_READ_AHEAD_SIZE_IN_BYTES, 2 * 1024 * 1024); // default: 2MB
+
+    this.multiGetAsyncIoEnabled = props.getBoolean(ROCKSDB_MULTI_GET_ASYNC_IO_ENABLED, false);
   }
 
   public int getLevel0FileNumCompactionTriggerWriteOnlyVersion() {
@@ -650,6 +696,22 @@ public class RocksDBServerConfig {
     return putReuseByteBufferEnabled;
   }
 
+  public int getSstFileWriterThreadPoolSize() {
+    return sstFileWriterThreadPoolSize;
+  }
+
+  public long getSstFileWriterBufferSizeInBytes() {
+    return sstFileWriterBufferSizeInBytes;
+  }
+
+  public long getSstFileWriterMemoryBudgetInBytes() {
+    return sstFileWriterMemoryBudgetInBytes;
+  }
+
+  public long getWriteBatchSizeInBytes() {
+    return writeBatchSizeInBytes;
+  }
+
   public boolean isAtomicFlushEnabled() {
     return atomicFlushEnabled;
   }
@@ -714,4 +776,8 @@ public class RocksDBServerConfig {
   public long getIteratorReadAheadSizeInBytes() {
     return iteratorReadAheadSizeInBytes;
   }
+
+  public boolean isMultiGetAsyncIoEnabled() {
+    return multiGetAsyncIoEnabled;
+  }
 }
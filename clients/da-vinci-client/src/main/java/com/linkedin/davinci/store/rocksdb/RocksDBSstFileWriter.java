@@ -13,12 +13,19 @@ import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -70,6 +77,11 @@ public class RocksDBSstFileWriter {
   protected static final int DEFAULT_COLUMN_FAMILY_INDEX = 0;
   protected static final int REPLICATION_METADATA_COLUMN_FAMILY_INDEX = 1;
   private static final int REMOVE_ALL_SST_FILES = -1;
+  /**
+   * Bounds the memory held by a partition building its SST files in {@link #sstFileWriterExecutor}: once that many
+   * sorted runs are pending, the drainer thread waits for the oldest one to be written before buffering more records.
+   */
+  private static final int MAX_PENDING_SORTED_RUNS = 4;
   private int lastFinishedSSTFileNo = -1;
   /**
    * Whether the input is sorted or not.
@@ -87,6 +99,31 @@ public class RocksDBSstFileWriter {
   private final boolean isRMD;
   private final RocksDBServerConfig rocksDBServerConfig;
 
+  /**
+   * When present, {@link #put(byte[], ByteBuffer)} only buffers the records in {@link #sortedRun}, and every run of
+   * {@link #sortedRunCapacityInBytes} is written to its own SST file by this executor. Since the input is sorted, each
+   * run covers a distinct key range, so the SST files of a partition could be built in parallel, and still be ingested
+   * with a single {@link RocksDB#ingestExternalFile} call at the end of the push.
+   */
+  private final Optional<ExecutorService> sstFileWriterExecutor;
+  /**
+   * Shared by all the partitions of the host, with one permit per buffered sorted run. When no permit is left, the run
+   * is written by the drainer thread to {@link #directSortedRunWriter} instead of being buffered in {@link #sortedRun}.
+   */
+  private final Semaphore sortedRunBudget;
+  private final long sortedRunCapacityInBytes;
+  private SortedRun sortedRun;
+  private SstFileWriter directSortedRunWriter;
+  private long sortedRunSizeInBytes = 0;
+  private boolean isSortedRunWriteOpen = false;
+  private final Deque<CompletableFuture<Void>> pendingSortedRuns = new ArrayDeque<>();
+  /**
+   * The first SST file number and the record count since the last {@link #sync()}, which are needed to verify the
+   * checksum when a sync covers several SST files.
+   */
+  private int firstSSTFileNoSinceLastSync = 0;
+  private long recordNumSinceLastSync = 0;
+
   @VisibleForTesting
   protected Checkpoint createCheckpoint(RocksDB rocksDB) {
     return Checkpoint.create(rocksDB);
@@ -108,6 +145,30 @@ public class RocksDBSstFileWriter {
       String fullPathForTempSSTFileDir,
       boolean isRMD,
       RocksDBServerConfig rocksDBServerConfig) {
+    this(
+        storeName,
+        partitionId,
+        dbDir,
+        envOptions,
+        options,
+        fullPathForTempSSTFileDir,
+        isRMD,
+        rocksDBServerConfig,
+        Optional.empty(),
+        new Semaphore(0));
+  }
+
+  public RocksDBSstFileWriter(
+      String storeName,
+      int partitionId,
+      String dbDir,
+      EnvOptions envOptions,
+      Options options,
+      String fullPathForTempSSTFileDir,
+      boolean isRMD,
+      RocksDBServerConfig rocksDBServerConfig,
+      Optional<ExecutorService> sstFileWriterExecutor,
+      Semaphore sortedRunBudget) {
     this.storeName = storeName;
     this.partitionId = partitionId;
     this.envOptions = envOptions;
@@ -116,14 +177,28 @@ public class RocksDBSstFileWriter {
     this.isRMD = isRMD;
     this.lastCheckPointedSSTFileNum = isRMD ? ROCKSDB_LAST_FINISHED_RMD_SST_FILE_NO : ROCKSDB_LAST_FINISHED_SST_FILE_NO;
     this.rocksDBServerConfig = rocksDBServerConfig;
+    this.sstFileWriterExecutor = sstFileWriterExecutor;
+    this.sortedRunBudget = sortedRunBudget;
+    this.sortedRunCapacityInBytes = rocksDBServerConfig.getSstFileWriterBufferSizeInBytes();
   }
 
   public void put(byte[] key, ByteBuffer valueBuffer) throws RocksDBException {
+    if (sstFileWriterExecutor.isPresent()) {
+      bufferIntoSortedRun(key, valueBuffer);
+      return;
+    }
     if (currentSSTFileWriter == null) {
       throw new VeniceException(
           "currentSSTFileWriter is null for store: " + storeName + ", partition id: " + partitionId
               + ", 'beginBatchWrite' should be invoked before any write");
     }
+    putIntoSSTFileWriter(currentSSTFileWriter, key, valueBuffer);
+    ++recordNumInCurrentSSTFile;
+    ++recordNumInAllSSTFiles;
+  }
+
+  private void putIntoSSTFileWriter(SstFileWriter sstFileWriter, byte[] key, ByteBuffer valueBuffer)
+      throws RocksDBException {
     if (rocksDBServerConfig.isPutReuseByteBufferEnabled()) {
       ReusableObjects reusableObjects = threadLocalReusableObjects.get();
       reusableObjects.directKeyBuffer.clear();
@@ -140,12 +215,10 @@ public class RocksDBSstFileWriter {
       reusableObjects.directValueBuffer.put(valueBuffer);
       valueBuffer.reset();
       reusableObjects.directValueBuffer.flip();
-      currentSSTFileWriter.put(reusableObjects.directKeyBuffer, reusableObjects.directValueBuffer);
+      sstFileWriter.put(reusableObjects.directKeyBuffer, reusableObjects.directValueBuffer);
     } else {
-      currentSSTFileWriter.put(key, ByteUtils.extractByteArray(valueBuffer));
+      sstFileWriter.put(key, ByteUtils.extractByteArray(valueBuffer));
     }
-    ++recordNumInCurrentSSTFile;
-    ++recordNumInAllSSTFiles;
   }
 
   /**
@@ -215,6 +288,14 @@ public class RocksDBSstFileWriter {
           "Checkpointed info and SST files in " + fullPathForTempSSTFileDir
               + " directory doesn't match for RocksDB store: " + storeName + " partition: " + partitionId);
     }
+    this.expectedChecksumSupplier = expectedChecksumSupplier;
+    this.firstSSTFileNoSinceLastSync = currentSSTFileNo;
+    this.recordNumSinceLastSync = 0;
+    if (sstFileWriterExecutor.isPresent()) {
+      // The sorted runs are only started by the first record written to them, see bufferIntoSortedRun
+      this.isSortedRunWriteOpen = true;
+      return;
+    }
     String fullPathForCurrentSSTFile = composeFullPathForSSTFile(currentSSTFileNo);
     currentSSTFileWriter = new SstFileWriter(envOptions, options);
     try {
@@ -223,13 +304,177 @@ public class RocksDBSstFileWriter {
     } catch (RocksDBException e) {
       throw new VeniceException("Failed to open file: " + fullPathForCurrentSSTFile + " with SstFileWriter");
     }
-    this.expectedChecksumSupplier = expectedChecksumSupplier;
   }
 
   public void close() {
     if (currentSSTFileWriter != null) {
       currentSSTFileWriter.close();
     }
+    if (directSortedRunWriter != null) {
+      directSortedRunWriter.close();
+      directSortedRunWriter = null;
+    }
+    // Make sure no SST file is still being written once the partition is closed
+    for (CompletableFuture<Void> pendingSortedRun: pendingSortedRuns) {
+      try {
+        pendingSortedRun.join();
+      } catch (Exception e) {
+        LOGGER.warn("Failed to write SST file for store: {}, partition id: {}", storeName, partitionId, e);
+      }
+    }
+    pendingSortedRuns.clear();
+    if (sortedRun != null) {
+      sortedRun = null;
+      sortedRunBudget.release();
+    }
+    isSortedRunWriteOpen = false;
+  }
+
+  private void bufferIntoSortedRun(byte[] key, ByteBuffer valueBuffer) throws RocksDBException {
+    if (!isSortedRunWriteOpen) {
+      throw new VeniceException(
+          "Sorted run write is not open for store: " + storeName + ", partition id: " + partitionId
+              + ", 'beginBatchWrite' should be invoked before any write");
+    }
+    if (sortedRun == null && directSortedRunWriter == null) {
+      startSortedRun();
+    }
+    int valueLength = valueBuffer.remaining();
+    if (sortedRun != null) {
+      // Both the key and the value could be reused by the caller once this function returns
+      byte[] value = new byte[valueLength];
+      valueBuffer.duplicate().get(value);
+      sortedRun.add(Arrays.copyOf(key, key.length), value);
+    } else {
+      putIntoSSTFileWriter(directSortedRunWriter, key, valueBuffer);
+    }
+    sortedRunSizeInBytes += key.length + valueLength;
+    ++recordNumInAllSSTFiles;
+    ++recordNumSinceLastSync;
+    if (sortedRunSizeInBytes >= sortedRunCapacityInBytes) {
+      submitSortedRun();
+    }
+  }
+
+  /**
+   * Buffers the next sorted run if the host-wide {@link #sortedRunBudget} allows it, or else writes it directly to the
+   * next SST file, which bounds the heap used by the sorted runs of all the partitions ingesting a push at once.
+   */
+  private void startSortedRun() throws RocksDBException {
+    if (sortedRunBudget.tryAcquire()) {
+      sortedRun = new SortedRun();
+      return;
+    }
+    String fullPathForSSTFile = composeFullPathForSSTFile(currentSSTFileNo);
+    SstFileWriter sstFileWriter = new SstFileWriter(envOptions, options);
+    try {
+      sstFileWriter.open(fullPathForSSTFile);
+    } catch (RocksDBException e) {
+      sstFileWriter.close();
+      throw e;
+    }
+    directSortedRunWriter = sstFileWriter;
+  }
+
+  /**
+   * Hands the current sorted run over to {@link #sstFileWriterExecutor}, which writes it to the next SST file, or
+   * finishes the SST file of the current run if it was written directly. The next record starts a new run.
+   */
+  private void submitSortedRun() {
+    if (directSortedRunWriter != null) {
+      try {
+        directSortedRunWriter.finish();
+      } catch (RocksDBException e) {
+        throw new VeniceException(
+            "Failed to write SST file: " + composeFullPathForSSTFile(currentSSTFileNo) + " for store: " + storeName
+                + ", partition id: " + partitionId,
+            e);
+      } finally {
+        directSortedRunWriter.close();
+        directSortedRunWriter = null;
+      }
+      ++currentSSTFileNo;
+      sortedRunSizeInBytes = 0;
+      return;
+    }
+    if (sortedRun == null) {
+      return;
+    }
+    while (pendingSortedRuns.size() >= MAX_PENDING_SORTED_RUNS
+        || (!pendingSortedRuns.isEmpty() && pendingSortedRuns.peekFirst().isDone())) {
+      // Surface any failure as early as possible
+      waitForSortedRun(pendingSortedRuns.pollFirst());
+    }
+    SortedRun runToWrite = sortedRun;
+    sortedRun = null;
+    sortedRunSizeInBytes = 0;
+    String fullPathForSSTFile = composeFullPathForSSTFile(currentSSTFileNo);
+    ++currentSSTFileNo;
+    CompletableFuture<Void> pendingSortedRun;
+    try {
+      pendingSortedRun =
+          CompletableFuture.runAsync(() -> runToWrite.writeTo(fullPathForSSTFile), sstFileWriterExecutor.get());
+    } catch (Throwable e) {
+      sortedRunBudget.release();
+      throw e;
+    }
+    // Whether the run got written or not, its memory is given back once the SST file writer is done with it
+    pendingSortedRuns.addLast(pendingSortedRun.whenComplete((ignored, throwable) -> sortedRunBudget.release()));
+  }
+
+  private void waitForSortedRun(CompletableFuture<Void> pendingSortedRun) {
+    try {
+      pendingSortedRun.join();
+    } catch (CompletionException e) {
+      throw new VeniceException(
+          "Failed to write SST file for store: " + storeName + ", partition id: " + partitionId,
+          e.getCause());
+    }
+  }
+
+  /**
+   * Finishes writing all the sorted runs buffered since the last sync, and verifies the checksum of the resulting SST
+   * files as a whole, since the checksum supplied by the ingestion covers all the records since the last sync.
+   */
+  private void syncSortedRuns() {
+    submitSortedRun();
+    while (!pendingSortedRuns.isEmpty()) {
+      waitForSortedRun(pendingSortedRuns.pollFirst());
+    }
+    if (currentSSTFileNo == firstSSTFileNoSinceLastSync) {
+      if (!isRMD) {
+        LOGGER.warn(
+            "Sync gets invoked for store: {}, partition id: {}, but no record was written since the last sync",
+            storeName,
+            partitionId);
+      }
+      return;
+    }
+    lastFinishedSSTFileNo = currentSSTFileNo - 1;
+    List<String> finishedSSTFilePaths = new ArrayList<>();
+    for (int sstFileNo = firstSSTFileNoSinceLastSync; sstFileNo <= lastFinishedSSTFileNo; ++sstFileNo) {
+      finishedSSTFilePaths.add(composeFullPathForSSTFile(sstFileNo));
+    }
+    LOGGER.info(
+        "Sync gets invoked for store: {}, partition id: {}, finished sst files: {}",
+        storeName,
+        partitionId,
+        finishedSSTFilePaths);
+    long recordNumInFinishedSSTFiles = recordNumSinceLastSync;
+    firstSSTFileNoSinceLastSync = currentSSTFileNo;
+    recordNumSinceLastSync = 0;
+
+    if (!isRMD && expectedChecksumSupplier.isPresent()) {
+      byte[] checksumToMatch = expectedChecksumSupplier.get().get();
+      long startMs = System.currentTimeMillis();
+      if (!verifyChecksum(finishedSSTFilePaths, recordNumInFinishedSSTFiles, checksumToMatch)) {
+        throw new VeniceChecksumException(
+            "verifyChecksum: failure. last sstFile checksum didn't match for store: " + storeName + ", partition: "
+                + partitionId + ", sstFiles: " + finishedSSTFilePaths + ", records: " + recordNumInFinishedSSTFiles
+                + ", latency(ms): " + LatencyUtils.getElapsedTimeFromMsToMs(startMs),
+            partitionId);
+      }
+    }
   }
 
   /**
@@ -237,6 +482,10 @@ public class RocksDBSstFileWriter {
    * validates checksum on this SST file and return updated checkpointingInfo with this lastCheckPointedSSTFileNum.
    */
   public Map<String, String> sync() {
+    if (sstFileWriterExecutor.isPresent()) {
+      syncSortedRuns();
+      return getCheckpointingInfo();
+    }
     try {
       /**
        * {@link SstFileWriter#finish()} will throw exception if the current SST file is empty.
@@ -261,7 +510,10 @@ public class RocksDBSstFileWriter {
         if (!isRMD && expectedChecksumSupplier.isPresent()) {
           byte[] checksumToMatch = expectedChecksumSupplier.get().get();
           long startMs = System.currentTimeMillis();
-          if (!verifyChecksum(fullPathForLastFinishedSSTFile, recordNumInLastSSTFile, checksumToMatch)) {
+          if (!verifyChecksum(
+              Collections.singletonList(fullPathForLastFinishedSSTFile),
+              recordNumInLastSSTFile,
+              checksumToMatch)) {
             throw new VeniceChecksumException(
                 "verifyChecksum: failure. last sstFile checksum didn't match for store: " + storeName + ", partition: "
                     + partitionId + ", sstFile: " + fullPathForLastFinishedSSTFile + ", records: "
@@ -279,9 +531,13 @@ public class RocksDBSstFileWriter {
     } catch (RocksDBException e) {
       throw new VeniceException("Failed to sync SstFileWriter", e);
     }
-    /**
-     * Return the recovery related info to upper layer to checkpoint.
-     */
+    return getCheckpointingInfo();
+  }
+
+  /**
+   * Return the recovery related info to upper layer to checkpoint.
+   */
+  private Map<String, String> getCheckpointingInfo() {
     Map<String, String> checkpointingInfo = new HashMap<>();
     if (lastFinishedSSTFileNo >= 0) {
       checkpointingInfo.put(lastCheckPointedSSTFileNum, Integer.toString(lastFinishedSSTFileNo));
@@ -361,47 +617,53 @@ public class RocksDBSstFileWriter {
   }
 
   /**
-   * This function calculates checksum of all the key/value pair stored in the input sstFilePath. It then
+   * This function calculates checksum of all the key/value pair stored in the input sstFilePaths, in order. It then
    * verifies if the checksum matches with the input checksumToMatch and return the result.
    * A SstFileReader handle is used to perform bulk scan through the entire SST file. fillCache option is
    * explicitly disabled to not pollute the rocksdb internal block caches. And also implicit checksum verification
    * is disabled to reduce latency of the entire operation.
    *
-   * @param sstFilePath the full absolute path of the SST file
-   * @param expectedRecordNumInSSTFile expected number of key/value pairs in the SST File
+   * @param sstFilePaths the full absolute paths of the SST files
+   * @param expectedRecordNumInSSTFiles expected number of key/value pairs in all the SST Files
    * @param checksumToMatch pre-calculated checksum to match against.
    * @return true if the sstFile checksum matches with the provided checksum.
    */
-  private boolean verifyChecksum(String sstFilePath, long expectedRecordNumInSSTFile, byte[] checksumToMatch) {
+  private boolean verifyChecksum(List<String> sstFilePaths, long expectedRecordNumInSSTFiles, byte[] checksumToMatch) {
     SstFileReader sstFileReader = null;
     SstFileReaderIterator sstFileReaderIterator = null;
 
     try {
-      sstFileReader = new SstFileReader(options);
-      sstFileReader.open(sstFilePath);
       final ReadOptions readOptions = new ReadOptions();
       readOptions.setVerifyChecksums(false);
       readOptions.setFillCache(false);
 
-      long actualRecordCounts = sstFileReader.getTableProperties().getNumEntries();
-      if (actualRecordCounts != expectedRecordNumInSSTFile) {
+      long actualRecordCounts = 0;
+      long recordCount = 0;
+      CheckSum sstFileFinalCheckSum = CheckSum.getInstance(CheckSumType.MD5);
+      for (String sstFilePath: sstFilePaths) {
+        sstFileReader = new SstFileReader(options);
+        sstFileReader.open(sstFilePath);
+        actualRecordCounts += sstFileReader.getTableProperties().getNumEntries();
+        sstFileReaderIterator = sstFileReader.newIterator(readOptions);
+        sstFileReaderIterator.seekToFirst();
+        while (sstFileReaderIterator.isValid()) {
+          sstFileFinalCheckSum.update(sstFileReaderIterator.key());
+          sstFileFinalCheckSum.update(sstFileReaderIterator.value());
+          sstFileReaderIterator.next();
+          recordCount++;
+        }
+        sstFileReaderIterator.close();
+        sstFileReaderIterator = null;
+        sstFileReader.close();
+        sstFileReader = null;
+      }
+      if (actualRecordCounts != expectedRecordNumInSSTFiles) {
         LOGGER.error(
             "verifyChecksum: failure. SSTFile record count does not match expected: {} actual: {}",
-            expectedRecordNumInSSTFile,
+            expectedRecordNumInSSTFiles,
             actualRecordCounts);
         return false;
       }
-
-      long recordCount = 0;
-      CheckSum sstFileFinalCheckSum = CheckSum.getInstance(CheckSumType.MD5);
-      sstFileReaderIterator = sstFileReader.newIterator(readOptions);
-      sstFileReaderIterator.seekToFirst();
-      while (sstFileReaderIterator.isValid()) {
-        sstFileFinalCheckSum.update(sstFileReaderIterator.key());
-        sstFileFinalCheckSum.update(sstFileReaderIterator.value());
-        sstFileReaderIterator.next();
-        recordCount++;
-      }
       final byte[] finalChecksum = sstFileFinalCheckSum.getCheckSum();
       boolean result = Arrays.equals(finalChecksum, checksumToMatch);
       if (!result) {
@@ -515,4 +777,29 @@ public class RocksDBSstFileWriter {
   public long getRecordNumInAllSSTFiles() {
     return recordNumInAllSSTFiles;
   }
+
+  /**
+   * A run of sorted records buffered by the drainer thread, to be written to a single SST file.
+   */
+  private class SortedRun {
+    private final List<byte[]> keys = new ArrayList<>();
+    private final List<byte[]> values = new ArrayList<>();
+
+    void add(byte[] key, byte[] value) {
+      keys.add(key);
+      values.add(value);
+    }
+
+    void writeTo(String fullPathForSSTFile) {
+      try (SstFileWriter sstFileWriter = new SstFileWriter(envOptions, options)) {
+        sstFileWriter.open(fullPathForSSTFile);
+        for (int i = 0; i < keys.size(); i++) {
+          sstFileWriter.put(keys.get(i), values.get(i));
+        }
+        sstFileWriter.finish();
+      } catch (RocksDBException e) {
+        throw new VeniceException("Failed to write SST file: " + fullPathForSSTFile, e);
+      }
+    }
+  }
 }
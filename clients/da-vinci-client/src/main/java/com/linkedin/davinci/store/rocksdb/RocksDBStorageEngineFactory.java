@@ -19,6 +19,7 @@ import com.linkedin.venice.meta.PersistenceType;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
 import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
 import com.linkedin.venice.store.rocksdb.RocksDBUtils;
+import com.linkedin.venice.utils.DaemonThreadFactory;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
@@ -28,6 +29,9 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -101,6 +105,16 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
 
   private final VeniceServerConfig serverConfig;
 
+  /**
+   * Shared by all the partitions to build the SST files of sorted batch pushes off the drainer threads.
+   */
+  private final Optional<ExecutorService> sstFileWriterExecutor;
+  /**
+   * One permit per sorted run buffered by any partition, so that the sorted runs of all the partitions fit in
+   * {@link RocksDBServerConfig#getSstFileWriterMemoryBudgetInBytes()}.
+   */
+  private final Semaphore sstFileWriterSortedRunBudget;
+
   public RocksDBStorageEngineFactory(VeniceServerConfig serverConfig) {
     this(
         serverConfig,
@@ -198,6 +212,16 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
         DEFAULT_FAIRNESS,
         DEFAULT_MODE,
         rocksDBServerConfig.isAutoTunedRateLimiterEnabled());
+    int sstFileWriterThreadPoolSize = rocksDBServerConfig.getSstFileWriterThreadPoolSize();
+    this.sstFileWriterExecutor = sstFileWriterThreadPoolSize > 0
+        ? Optional.of(
+            Executors.newFixedThreadPool(
+                sstFileWriterThreadPoolSize,
+                new DaemonThreadFactory("RocksDB-SST-File-Writer", serverConfig.getLogContext())))
+        : Optional.empty();
+    long maxBufferedSortedRuns = rocksDBServerConfig.getSstFileWriterMemoryBudgetInBytes()
+        / Math.max(1, rocksDBServerConfig.getSstFileWriterBufferSizeInBytes());
+    this.sstFileWriterSortedRunBudget = new Semaphore((int) Math.min(maxBufferedSortedRuns, Integer.MAX_VALUE));
   }
 
   public long getMemtableSize() {
@@ -220,6 +244,14 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
     return sstFileManager;
   }
 
+  public Optional<ExecutorService> getSstFileWriterExecutor() {
+    return sstFileWriterExecutor;
+  }
+
+  public Semaphore getSstFileWriterSortedRunBudget() {
+    return sstFileWriterSortedRunBudget;
+  }
+
   public Env getEnv() {
     return env;
   }
@@ -280,6 +312,7 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
       storageEngine.close();
     });
     storageEngineMap.clear();
+    sstFileWriterExecutor.ifPresent(ExecutorService::shutdownNow);
     sharedCache.close();
     if (sharedRMDCache != null) {
       sharedRMDCache.close();
@@ -11,6 +11,7 @@ import com.linkedin.venice.exceptions.DiskLimitExhaustedException;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.store.rocksdb.RocksDBUtils;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.Utils;
 import java.io.File;
@@ -52,6 +53,7 @@ import org.rocksdb.Slice;
 import org.rocksdb.SstFileWriter;
 import org.rocksdb.Statistics;
 import org.rocksdb.Status;
+import org.rocksdb.WriteBatchWithIndex;
 import org.rocksdb.WriteOptions;
 
 
@@ -79,6 +81,7 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
    */
   protected final WriteOptions writeOptions;
   protected final ReadOptions iteratorReadOptions;
+  protected final ReadOptions multiGetReadOptions;
   private final String fullPathForTempSSTFileDir;
   private final String fullPathForPartitionDBSnapshot;
 
@@ -155,6 +158,32 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
   protected final List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
   private RocksDBSstFileWriter rocksDBSstFileWriter = null;
 
+  /**
+   * When positive, the writes are accumulated in {@link #pendingWriteBatch} and committed to RocksDB at once when the
+   * batch reaches this size, see {@link #writeIntoPendingBatch}. Only enabled for the partitions which are neither in
+   * deferred-write nor read-only mode, and not for the metadata partition which relies on the WAL.
+   *
+   * Since the WAL is disabled for the other partitions, the writes only become durable when {@link #sync()} flushes the
+   * memtables, so buffering them in the batch until then doesn't weaken the offset checkpointing.
+   *
+   * The point lookups read the batch on top of RocksDB with {@link WriteBatchWithIndex#getFromBatchAndDB}, so that the
+   * leaders still read back their own writes once evicted from the transient record cache, without the reads ever
+   * committing the batch or waiting for the monitor of this partition. The prefix scans and the iterators only see the
+   * committed writes.
+   */
+  private final long writeBatchSizeInBytes;
+  private WriteBatchWithIndex pendingWriteBatch = null;
+  private long pendingWriteBatchSizeInBytes = 0;
+  /**
+   * Guards {@link #pendingWriteBatch}, which can't be read while being written. The reads only wait for the write of a
+   * single record into the batch, or for the batch to be cleared once committed.
+   */
+  private final ReentrantReadWriteLock pendingWriteBatchLock = new ReentrantReadWriteLock();
+  /**
+   * Lets the readers skip {@link #pendingWriteBatch} when it's empty without grabbing {@link #pendingWriteBatchLock}.
+   */
+  private volatile boolean hasPendingWrites = false;
+
   protected RocksDBStoragePartition(
       StoragePartitionConfig storagePartitionConfig,
       RocksDBStorageEngineFactory factory,
@@ -198,6 +227,7 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
          * faster iterator closing times.
          */
         .setBackgroundPurgeOnIteratorCleanup(true);
+    this.multiGetReadOptions = new ReadOptions().setAsyncIo(rocksDBServerConfig.isMultiGetAsyncIoEnabled());
 
     // For multiple column family enable atomic flush
     if (columnFamilyNameList.size() > 1 && rocksDBServerConfig.isAtomicFlushEnabled()) {
@@ -214,6 +244,9 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     this.blobTransferInProgress = storagePartitionConfig.isBlobTransferInProgress();
     this.readWriteLeaderForDefaultCF = storagePartitionConfig.isReadWriteLeaderForDefaultCF();
     this.readWriteLeaderForRMDCF = storagePartitionConfig.isReadWriteLeaderForRMDCF();
+    this.writeBatchSizeInBytes = (deferredWrite || readOnly || partitionId == METADATA_PARTITION_ID)
+        ? 0
+        : rocksDBServerConfig.getWriteBatchSizeInBytes();
     this.fullPathForPartitionDB = RocksDBUtils.composePartitionDbDir(dbDir, storeNameAndVersion, partitionId);
     this.options = options;
     /**
@@ -237,7 +270,9 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
           options,
           fullPathForTempSSTFileDir,
           false,
-          rocksDBServerConfig);
+          rocksDBServerConfig,
+          factory.getSstFileWriterExecutor(),
+          factory.getSstFileWriterSortedRunBudget());
     }
 
     /**
@@ -463,6 +498,7 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
   @Override
   public synchronized void createSnapshot() {
     makeSureRocksDBIsStillOpen();
+    commitPendingWrites();
     createSnapshot(rocksDB, fullPathForPartitionDBSnapshot);
   }
 
@@ -496,6 +532,9 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     try {
       if (deferredWrite) {
         rocksDBSstFileWriter.put(key, valueBuffer);
+      } else if (isWriteBatchingEnabled()) {
+        byte[] value = ByteUtils.extractByteArray(valueBuffer);
+        writeIntoPendingBatch(batch -> batch.put(key, value), key.length + valueBuffer.remaining());
       } else {
         rocksDB.put(
             writeOptions,
@@ -517,11 +556,104 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     throw new UnsupportedOperationException("Method not implemented!!");
   }
 
+  protected boolean isWriteBatchingEnabled() {
+    return writeBatchSizeInBytes > 0;
+  }
+
+  @FunctionalInterface
+  protected interface PendingWrite {
+    void writeInto(WriteBatchWithIndex writeBatch) throws RocksDBException;
+  }
+
+  /**
+   * Adds the write to {@link #pendingWriteBatch}, and commits the batch once it reaches {@link #writeBatchSizeInBytes}.
+   * Must be invoked while holding the monitor of this partition.
+   */
+  protected void writeIntoPendingBatch(PendingWrite write, long sizeInBytes) throws RocksDBException {
+    pendingWriteBatchLock.writeLock().lock();
+    try {
+      if (pendingWriteBatch == null) {
+        // Each key is only indexed once, so that the reads find its latest write in the batch
+        pendingWriteBatch = new WriteBatchWithIndex(true);
+      }
+      write.writeInto(pendingWriteBatch);
+    } finally {
+      pendingWriteBatchLock.writeLock().unlock();
+    }
+    pendingWriteBatchSizeInBytes += sizeInBytes;
+    hasPendingWrites = true;
+    if (pendingWriteBatchSizeInBytes >= writeBatchSizeInBytes) {
+      commitPendingWriteBatch();
+    }
+  }
+
+  private synchronized void commitPendingWriteBatch() throws RocksDBException {
+    if (!hasPendingWrites) {
+      return;
+    }
+    /**
+     * The batch is only read by the commit, so the reads keep going through it meanwhile, and they only wait for it to
+     * be cleared. It's only cleared once committed, so that a failed commit will be retried by the next write or sync.
+     */
+    pendingWriteBatchLock.readLock().lock();
+    try {
+      rocksDB.write(writeOptions, pendingWriteBatch);
+    } finally {
+      pendingWriteBatchLock.readLock().unlock();
+    }
+    pendingWriteBatchLock.writeLock().lock();
+    try {
+      pendingWriteBatch.clear();
+      hasPendingWrites = false;
+    } finally {
+      pendingWriteBatchLock.writeLock().unlock();
+    }
+    pendingWriteBatchSizeInBytes = 0;
+  }
+
+  private synchronized void commitPendingWrites() {
+    if (!hasPendingWrites) {
+      return;
+    }
+    makeSureRocksDBIsStillOpen();
+    try {
+      commitPendingWriteBatch();
+    } catch (RocksDBException e) {
+      checkAndThrowDiskLimitException(e);
+      throw new VeniceException("Failed to commit the pending writes to RocksDB: " + replicaId, e);
+    }
+  }
+
+  protected boolean hasPendingWrites() {
+    return hasPendingWrites;
+  }
+
+  /**
+   * Looks up the key in {@link #pendingWriteBatch} first, and then in RocksDB. Must be invoked while holding the read
+   * lock of {@link #readCloseRWLock}, and only if {@link #hasPendingWrites()}.
+   */
+  protected byte[] getFromPendingBatchAndDB(ColumnFamilyHandle columnFamilyHandle, byte[] key)
+      throws RocksDBException {
+    pendingWriteBatchLock.readLock().lock();
+    try {
+      return pendingWriteBatch.getFromBatchAndDB(rocksDB, columnFamilyHandle, READ_OPTIONS_DEFAULT, key);
+    } finally {
+      pendingWriteBatchLock.readLock().unlock();
+    }
+  }
+
+  private byte[] getFromPendingBatchAndDB(byte[] key) throws RocksDBException {
+    return getFromPendingBatchAndDB(columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX), key);
+  }
+
   @Override
   public byte[] get(byte[] key) {
     readCloseRWLock.readLock().lock();
     try {
       makeSureRocksDBIsStillOpen();
+      if (hasPendingWrites) {
+        return getFromPendingBatchAndDB(key);
+      }
       return rocksDB.get(key);
     } catch (RocksDBException e) {
       throw new VeniceException("Failed to get value from RocksDB: " + replicaId, e);
@@ -535,6 +667,19 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     readCloseRWLock.readLock().lock();
     try {
       makeSureRocksDBIsStillOpen();
+      if (hasPendingWrites) {
+        byte[] value = getFromPendingBatchAndDB(key);
+        if (value == null) {
+          return null;
+        }
+        if (value.length > valueToBePopulated.capacity()) {
+          valueToBePopulated = ByteBuffer.allocate(value.length);
+        }
+        System.arraycopy(value, 0, valueToBePopulated.array(), 0, value.length);
+        valueToBePopulated.position(0);
+        valueToBePopulated.limit(value.length);
+        return valueToBePopulated;
+      }
       int size = rocksDB.get(key, valueToBePopulated.array());
       if (size == RocksDB.NOT_FOUND) {
         return null;
@@ -566,6 +711,9 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     readCloseRWLock.readLock().lock();
     try {
       makeSureRocksDBIsStillOpen();
+      if (hasPendingWrites) {
+        return getFromPendingBatchAndDB(ByteUtils.extractByteArray(keyBuffer));
+      }
       return rocksDB.get(keyBuffer.array(), keyBuffer.position(), keyBuffer.remaining());
     } catch (RocksDBException e) {
       throw new VeniceException("Failed to get value from RocksDB: " + replicaId, e);
@@ -574,11 +722,19 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     }
   }
 
+  @Override
   public List<byte[]> multiGet(List<byte[]> keys) {
     readCloseRWLock.readLock().lock();
     try {
       makeSureRocksDBIsStillOpen();
-      return rocksDB.multiGetAsList(keys);
+      if (hasPendingWrites) {
+        List<byte[]> values = new ArrayList<>(keys.size());
+        for (byte[] key: keys) {
+          values.add(getFromPendingBatchAndDB(key));
+        }
+        return values;
+      }
+      return rocksDB.multiGetAsList(multiGetReadOptions, keys);
     } catch (RocksDBException e) {
       throw new VeniceException("Failed to get value from RocksDB: " + replicaId, e);
     } finally {
@@ -591,6 +747,9 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
 
     try {
       makeSureRocksDBIsStillOpen();
+      if (hasPendingWrites) {
+        return multiGetFromPendingBatchAndDB(keys, values);
+      }
       List<ByteBufferGetStatus> statusList = rocksDB.multiGetByteBuffers(keys, values);
       int keyCnt = keys.size();
       int statusCnt = statusList.size();
@@ -653,6 +812,31 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     }
   }
 
+  private List<ByteBuffer> multiGetFromPendingBatchAndDB(List<ByteBuffer> keys, List<ByteBuffer> values)
+      throws RocksDBException {
+    List<ByteBuffer> resultList = new ArrayList<>(keys.size());
+    ListIterator<ByteBuffer> valueIter = values.listIterator();
+    for (ByteBuffer key: keys) {
+      ByteBuffer value = valueIter.next();
+      byte[] keyBytes = new byte[key.remaining()];
+      key.duplicate().get(keyBytes);
+      byte[] newValue = getFromPendingBatchAndDB(keyBytes);
+      if (newValue == null) {
+        resultList.add(null);
+        continue;
+      }
+      if (newValue.length > value.capacity()) {
+        value = ByteBuffer.allocateDirect(newValue.length);
+        valueIter.set(value);
+      }
+      value.clear();
+      value.put(newValue);
+      value.flip();
+      resultList.add(value);
+    }
+    return resultList;
+  }
+
   @Override
   public void getByKeyPrefix(byte[] keyPrefix, BytesStreamingCallback callback) {
     if (keyPrefix != null && rocksDBServerConfig.isRocksDBPlainTableFormatEnabled()) {
@@ -724,6 +908,8 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     try {
       if (deferredWrite) {
         throw new VeniceException("Deletion is unexpected in 'deferredWrite' mode");
+      } else if (isWriteBatchingEnabled()) {
+        writeIntoPendingBatch(batch -> batch.delete(key), key.length);
       } else {
         rocksDB.delete(key);
       }
@@ -751,6 +937,7 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
         LOGGER.debug("Unexpected sync in RocksDB read-only mode");
       } else {
         try {
+          commitPendingWriteBatch();
           // Since Venice RocksDB database disables WAL, flush will be triggered for every 'sync' to
           // avoid data loss during crash recovery
           rocksDB.flush(WAIT_FOR_FLUSH_OPTIONS, columnFamilyHandleList);
@@ -824,6 +1011,13 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
       return;
     }
     long startTimeInMs = System.currentTimeMillis();
+    if (hasPendingWrites) {
+      try {
+        commitPendingWriteBatch();
+      } catch (RocksDBException e) {
+        LOGGER.error("Failed to commit the pending writes before closing RocksDB for replica: {}", replicaId, e);
+      }
+    }
     /**
      * The following operations are used to free up memory.
      */
@@ -847,6 +1041,10 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     if (writeOptions != null) {
       writeOptions.close();
     }
+    if (pendingWriteBatch != null) {
+      pendingWriteBatch.close();
+    }
+    multiGetReadOptions.close();
     LOGGER.info(
         "RocksDB close for replica: {} took {} ms.",
         replicaId,
@@ -858,6 +1056,7 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
    */
   @Override
   public synchronized void reopen() {
+    commitPendingWrites();
     readCloseRWLock.writeLock().lock();
     try {
       long startTimeInMs = System.currentTimeMillis();
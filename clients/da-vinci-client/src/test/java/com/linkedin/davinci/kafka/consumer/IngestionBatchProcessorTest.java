@@ -4,12 +4,14 @@ import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.expectThrows;
 
 import com.linkedin.alpini.base.concurrency.ExecutorService;
@@ -34,6 +36,13 @@ import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import org.testng.annotations.Test;
 
@@ -260,4 +269,161 @@ public class IngestionBatchProcessorTest {
     verify(mockHostLevelIngestionStats).recordBatchProcessingRequestError();
   }
 
+  @Test(timeOut = 60 * 1000)
+  public void pipelinedProcessTest() throws Exception {
+    PubSubTopicPartition rtTopicPartition = new PubSubTopicPartitionImpl(TOPIC_REPOSITORY.getTopic("store_rt"), 1);
+    DefaultPubSubMessage rtMessage1 = new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, "key1".getBytes()),
+        mock(KafkaMessageEnvelope.class),
+        rtTopicPartition,
+        mock(PubSubPosition.class),
+        100,
+        100);
+    DefaultPubSubMessage rtMessage2 = new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, "key2".getBytes()),
+        mock(KafkaMessageEnvelope.class),
+        rtTopicPartition,
+        mock(PubSubPosition.class),
+        101,
+        100);
+    DefaultPubSubMessage rtMessage3 = new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, "key2".getBytes()),
+        mock(KafkaMessageEnvelope.class),
+        rtTopicPartition,
+        mock(PubSubPosition.class),
+        102,
+        100);
+
+    AggVersionedIngestionStats mockAggVersionedIngestionStats = mock(AggVersionedIngestionStats.class);
+    HostLevelIngestionStats mockHostLevelIngestionStats = mock(HostLevelIngestionStats.class);
+    CountDownLatch key2Latch = new CountDownLatch(1);
+
+    IngestionBatchProcessor batchProcessor = new IngestionBatchProcessor(
+        "store_v1",
+        Executors.newFixedThreadPool(2, new DaemonThreadFactory("test")),
+        mock(KeyLevelLocksManager.class),
+        (consumerRecord, ignored2, ignored3, ignored4, ignored5, ignored6, ignored7) -> {
+          if (Arrays.equals(consumerRecord.getKey().getKey(), "key2".getBytes())) {
+            try {
+              key2Latch.await();
+            } catch (InterruptedException e) {
+              throw new VeniceException(e);
+            }
+            if (consumerRecord.getPosition() == rtMessage2.getPosition()) {
+              throw new VeniceException("Fake");
+            }
+          }
+          Put put = new Put();
+          put.setPutValue(ByteBuffer.wrap(consumerRecord.getKey().getKey()));
+          return new PubSubMessageProcessedResult(new WriteComputeResultWrapper(put, null, true));
+        },
+        true,
+        true,
+        mockAggVersionedIngestionStats,
+        mockHostLevelIngestionStats,
+        true);
+    assertTrue(batchProcessor.isPipelinedProduceEnabled());
+
+    // The records are returned before being merged
+    List<PubSubMessageProcessedResultWrapper> result = batchProcessor.process(
+        Arrays.asList(rtMessage1, rtMessage2, rtMessage3),
+        mock(PartitionConsumptionState.class),
+        1,
+        "test_kafka",
+        1,
+        1,
+        1);
+    assertEquals(result.size(), 3);
+
+    // The first record can be consumed while the other key is still being merged
+    result.get(0).waitForProcessedResult();
+    assertEquals(
+        result.get(0).getProcessedResult().getWriteComputeResultWrapper().getNewPut().putValue.array(),
+        "key1".getBytes());
+    assertEquals(key2Latch.getCount(), 1);
+
+    key2Latch.countDown();
+    // A failure fails the following records of the same key too
+    ExecutionException exception = expectThrows(ExecutionException.class, () -> result.get(1).waitForProcessedResult());
+    assertTrue(exception.getCause() instanceof VeniceException);
+    assertThrows(ExecutionException.class, () -> result.get(2).waitForProcessedResult());
+    IngestionBatchProcessor.waitForProcessingToFinish(result);
+
+    verify(mockHostLevelIngestionStats).recordBatchProcessingRequest(3);
+    verify(mockHostLevelIngestionStats, timeout(TimeUnit.SECONDS.toMillis(10))).recordBatchProcessingRequestError();
+    verify(mockAggVersionedIngestionStats, timeout(TimeUnit.SECONDS.toMillis(10)))
+        .recordBatchProcessingRequestError("store", 1);
+  }
+
+  @Test
+  public void storageLookupPrefetchTest() {
+    PubSubTopicPartition rtTopicPartition = new PubSubTopicPartitionImpl(TOPIC_REPOSITORY.getTopic("store_rt"), 1);
+    DefaultPubSubMessage rtMessage1 = new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, "key1".getBytes()),
+        mock(KafkaMessageEnvelope.class),
+        rtTopicPartition,
+        mock(PubSubPosition.class),
+        100,
+        100);
+    DefaultPubSubMessage rtMessage2 = new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, "key2".getBytes()),
+        mock(KafkaMessageEnvelope.class),
+        rtTopicPartition,
+        mock(PubSubPosition.class),
+        101,
+        100);
+    DefaultPubSubMessage rtMessage3 = new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, "key2".getBytes()),
+        mock(KafkaMessageEnvelope.class),
+        rtTopicPartition,
+        mock(PubSubPosition.class),
+        102,
+        100);
+
+    Set<ByteArrayKey> prefetchedKeys = ConcurrentHashMap.newKeySet();
+    AtomicInteger prefetchCount = new AtomicInteger();
+    AtomicBoolean released = new AtomicBoolean();
+    AtomicInteger processedBeforeRelease = new AtomicInteger();
+    IngestionBatchProcessor batchProcessor = new IngestionBatchProcessor(
+        "store_v1",
+        Executors.newFixedThreadPool(2, new DaemonThreadFactory("test")),
+        mock(KeyLevelLocksManager.class),
+        (consumerRecord, ignored2, ignored3, ignored4, ignored5, ignored6, ignored7) -> {
+          if (prefetchedKeys.contains(ByteArrayKey.wrap(consumerRecord.getKey().getKey())) && !released.get()) {
+            processedBeforeRelease.incrementAndGet();
+          }
+          Put put = new Put();
+          put.setPutValue(ByteBuffer.wrap(consumerRecord.getKey().getKey()));
+          return new PubSubMessageProcessedResult(new WriteComputeResultWrapper(put, null, true));
+        },
+        true,
+        true,
+        mock(AggVersionedIngestionStats.class),
+        mock(HostLevelIngestionStats.class),
+        false,
+        (keys, ignored2, partition) -> {
+          assertEquals(partition, 1);
+          prefetchCount.incrementAndGet();
+          prefetchedKeys.addAll(keys);
+          return () -> released.set(true);
+        });
+
+    List<PubSubMessageProcessedResultWrapper> result = batchProcessor.process(
+        Arrays.asList(rtMessage1, rtMessage2, rtMessage3),
+        mock(PartitionConsumptionState.class),
+        1,
+        "test_kafka",
+        1,
+        1,
+        1);
+    assertEquals(result.size(), 3);
+
+    // All the keys are prefetched at once, before any of them is processed, and released once all are processed
+    assertEquals(prefetchCount.get(), 1);
+    assertEquals(prefetchedKeys.size(), 2);
+    assertTrue(prefetchedKeys.contains(ByteArrayKey.wrap("key1".getBytes())));
+    assertTrue(prefetchedKeys.contains(ByteArrayKey.wrap("key2".getBytes())));
+    assertEquals(processedBeforeRelease.get(), 3);
+    assertTrue(released.get());
+  }
 }
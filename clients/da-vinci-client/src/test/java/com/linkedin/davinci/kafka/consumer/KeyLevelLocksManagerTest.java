@@ -2,7 +2,13 @@ package com.linkedin.davinci.kafka.consumer;
 
 import com.linkedin.davinci.utils.ByteArrayKey;
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.Time;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantLock;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -118,4 +124,52 @@ public class KeyLevelLocksManagerTest {
       // expected; if a lock is only acquired by X number of users, only X number of releases should happen
     }
   }
+
+  @Test(timeOut = 60 * Time.MS_PER_SECOND)
+  public void testConcurrentAcquisitionAndRelease() throws Exception {
+    int threadCount = 8;
+    int iterationCount = 10000;
+    int keyCount = 4;
+    KeyLevelLocksManager keyLevelLocksManager = new KeyLevelLocksManager("testStoreVersion", 1, threadCount);
+    ByteArrayKey[] keys = new ByteArrayKey[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      keys[i] = ByteArrayKey.wrap(new byte[] { (byte) i });
+    }
+    // Not thread-safe on purpose, so that lost updates show if two threads ever hold the locks of the same key
+    int[] counters = new int[keyCount];
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+      for (int t = 0; t < threadCount; t++) {
+        int threadIndex = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < iterationCount; i++) {
+            int keyIndex = (threadIndex + i) % keyCount;
+            ReentrantLock lock = keyLevelLocksManager.acquireLockByKey(keys[keyIndex]);
+            lock.lock();
+            try {
+              counters[keyIndex]++;
+            } finally {
+              lock.unlock();
+              keyLevelLocksManager.releaseLock(keys[keyIndex]);
+            }
+          }
+        }));
+      }
+      for (Future<?> future: futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    int total = 0;
+    for (int counter: counters) {
+      total += counter;
+    }
+    Assert.assertEquals(total, threadCount * iterationCount);
+    // All the locks are back in the pool, and there cannot be more of them than keys held at the same time
+    int poolSize = keyLevelLocksManager.getLocksPool().size();
+    Assert.assertTrue(poolSize >= 1 && poolSize <= keyCount, "Unexpected pool size: " + poolSize);
+  }
 }
@@ -5,6 +5,8 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import com.linkedin.venice.kafka.protocol.Put;
@@ -18,6 +20,7 @@ import com.linkedin.venice.pubsub.api.PubSubPosition;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import com.linkedin.venice.schema.rmd.RmdSchemaGenerator;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import com.linkedin.venice.writer.LeaderCompleteState;
 import com.linkedin.venice.writer.WriterChunkingHelper;
 import java.nio.ByteBuffer;
@@ -157,6 +160,64 @@ public class PartitionConsumptionStateTest {
     Assert.assertEquals(pcs.getTransientRecordMapSize(), 1);
   }
 
+  @Test
+  public void testOffHeapTransientRecords() {
+    PartitionConsumptionState pcs = new PartitionConsumptionState(
+        TOPIC_PARTITION,
+        mock(OffsetRecord.class),
+        pubSubContext,
+        false,
+        Schema.create(Schema.Type.STRING));
+    TransientRecordOffHeapBuffer offHeapBuffer = new TransientRecordOffHeapBuffer(5, 1024 * 1024);
+    pcs.setTransientRecordOffHeapBuffer(offHeapBuffer);
+    PubSubPosition consumedPosition1Mock = mock(PubSubPosition.class);
+    PubSubPosition consumedPosition2Mock = mock(PubSubPosition.class);
+
+    byte[] key1 = new byte[] { 65, 66, 67, 68 };
+    byte[] key2 = new byte[] { 65, 66, 67, 69 };
+    byte[] value1 = new byte[] { 0, 97, 98, 99 };
+    byte[] value2 = new byte[] { 97, 98, 99, 100 };
+    byte[] rmdBytes = new byte[] { 1, 2, 3 };
+    GenericRecord rmdRecord = new GenericData.Record(RmdSchemaGenerator.generateMetadataSchema("\"string\"", 1));
+
+    // The value is copied off-heap
+    pcs.setTransientRecord(-1, consumedPosition1Mock, key1, value1, 1, 3, 5, rmdRecord, ByteBuffer.wrap(rmdBytes));
+    assertEquals(offHeapBuffer.getUsedBytes(), 3);
+    PartitionConsumptionState.TransientRecord tr1 = pcs.getTransientRecord(key1);
+    assertEquals(tr1.getValue(), new byte[] { 97, 98, 99 });
+    assertEquals(tr1.getValueOffset(), 0);
+    assertEquals(tr1.getValueLen(), 3);
+    assertEquals(tr1.getValueSchemaId(), 5);
+    assertSame(tr1.getReplicationMetadataRecord(), rmdRecord);
+    // The copy shares the manifests with the record in the map
+    ChunkedValueManifest valueManifest = new ChunkedValueManifest();
+    tr1.setValueManifest(valueManifest);
+    assertSame(pcs.getTransientRecord(key1).getValueManifest(), valueManifest);
+
+    // Once the capacity is reached, the value stays on the heap
+    pcs.setTransientRecord(-1, consumedPosition2Mock, key2, value2, 0, value2.length, 5, null, null);
+    assertEquals(offHeapBuffer.getOverflowCount(), 1);
+    assertSame(pcs.getTransientRecord(key2).getValue(), value2);
+
+    // The RMD is retained once the record is persisted, prefixed with the value schema id
+    assertNull(pcs.getRetainedReplicationMetadata(key1));
+    assertNull(pcs.mayRemoveTransientRecord(-1, consumedPosition1Mock, key1));
+    assertEquals(offHeapBuffer.getUsedBytes(), 0);
+    assertNull(pcs.getTransientRecord(key1));
+    assertEquals(
+        pcs.getRetainedReplicationMetadata(key1),
+        ByteBuffer.allocate(Integer.BYTES + rmdBytes.length).putInt(5).put(rmdBytes).array());
+    pcs.invalidateRetainedReplicationMetadata(key1);
+    assertNull(pcs.getRetainedReplicationMetadata(key1));
+    assertEquals(offHeapBuffer.getRetainedRmdBytes(), 0);
+
+    // Unsubscribing drops the remaining records
+    pcs.setTransientRecord(-1, consumedPosition1Mock, key1, value1, 1, 3, 5, rmdRecord, ByteBuffer.wrap(rmdBytes));
+    pcs.unsubscribe();
+    assertEquals(pcs.getTransientRecordMapSize(), 0);
+    assertEquals(offHeapBuffer.getUsedBytes(), 0);
+  }
+
   @Test
   public void testIsLeaderCompleted() {
     PartitionConsumptionState pcs = new PartitionConsumptionState(
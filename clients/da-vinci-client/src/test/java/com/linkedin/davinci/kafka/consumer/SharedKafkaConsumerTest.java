@@ -7,6 +7,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.linkedin.davinci.stats.AdaptiveThrottlingServiceStats;
 import com.linkedin.davinci.stats.AggKafkaConsumerServiceStats;
 import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
 import com.linkedin.venice.pubsub.PubSubTopicRepository;
@@ -16,6 +17,7 @@ import com.linkedin.venice.pubsub.api.PubSubSymbolicPosition;
 import com.linkedin.venice.pubsub.api.PubSubTopic;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import com.linkedin.venice.utils.SystemTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -23,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
@@ -70,6 +73,57 @@ public class SharedKafkaConsumerTest {
     verify(consumer, times(1)).poll(1000);
   }
 
+  @Test
+  public void testAdaptivePollSize() {
+    PubSubTopic topic = pubSubTopicRepository.getTopic("topic_v1");
+    PubSubTopicPartition topicPartition = new PubSubTopicPartitionImpl(topic, 1);
+    SharedKafkaConsumer sharedConsumer = new SharedKafkaConsumer(consumer, stats, () -> {}, (c, vt, tp) -> {});
+    when(consumer.getAssignment()).thenReturn(Collections.singleton(topicPartition));
+    sharedConsumer.subscribe(topic, topicPartition, PubSubSymbolicPosition.EARLIEST, false);
+
+    AtomicBoolean lagging = new AtomicBoolean(true);
+    AtomicBoolean readLatencySuffering = new AtomicBoolean(false);
+    VeniceAdaptiveConsumerPollSizer pollSizer =
+        new VeniceAdaptiveConsumerPollSizer("test", 2, 4, mock(AdaptiveThrottlingServiceStats.class));
+    pollSizer.registerBoosterSignal(lagging::get);
+    pollSizer.registerLimiterSignal(readLatencySuffering::get);
+    sharedConsumer.setPollSizer(pollSizer);
+    Assert.assertEquals(pollSizer.getMaxPollRecords(), 2);
+    pollSizer.checkSignalAndAdjustThrottler();
+    pollSizer.checkSignalAndAdjustThrottler();
+    pollSizer.checkSignalAndAdjustThrottler();
+    Assert.assertEquals(pollSizer.getMaxPollRecords(), 8);
+
+    // The full polls are followed by more polls within the same cycle, until one is not full
+    when(consumer.poll(1000)).thenReturn(getPolledMessages(topicPartition, 2));
+    when(consumer.poll(0)).thenReturn(getPolledMessages(topicPartition, 2), getPolledMessages(topicPartition, 1));
+    Assert.assertEquals(sharedConsumer.poll(1000).get(topicPartition).size(), 5);
+    verify(consumer, times(2)).poll(0);
+    Assert.assertEquals(sharedConsumer.getPollTimes(), 1);
+
+    // Once caught up, the poll size shrinks back gradually
+    lagging.set(false);
+    pollSizer.checkSignalAndAdjustThrottler();
+    Assert.assertEquals(pollSizer.getMaxPollRecords(), 4);
+
+    // And right away when the reads suffer
+    readLatencySuffering.set(true);
+    pollSizer.checkSignalAndAdjustThrottler();
+    Assert.assertEquals(pollSizer.getMaxPollRecords(), 2);
+    Assert.assertEquals(sharedConsumer.poll(1000).get(topicPartition).size(), 2);
+    verify(consumer, times(2)).poll(0);
+  }
+
+  private static Map<PubSubTopicPartition, List<DefaultPubSubMessage>> getPolledMessages(
+      PubSubTopicPartition topicPartition,
+      int recordCount) {
+    List<DefaultPubSubMessage> messages = new ArrayList<>(recordCount);
+    for (int i = 0; i < recordCount; i++) {
+      messages.add(mock(DefaultPubSubMessage.class));
+    }
+    return Collections.singletonMap(topicPartition, messages);
+  }
+
   private void setUpSharedConsumer() {
     consumerAdapter = mock(PubSubConsumerAdapter.class);
     stats = mock(AggKafkaConsumerServiceStats.class);
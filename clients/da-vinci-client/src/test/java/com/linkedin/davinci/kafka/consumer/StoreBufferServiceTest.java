@@ -9,6 +9,7 @@ import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
@@ -34,6 +35,7 @@ import com.linkedin.venice.pubsub.api.PubSubPosition;
 import com.linkedin.venice.pubsub.api.PubSubTopic;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import com.linkedin.venice.utils.DataProviderUtils;
+import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.Utils;
 import io.tehuti.metrics.MetricsRepository;
 import io.tehuti.metrics.Sensor;
@@ -42,6 +44,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import org.mockito.InOrder;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -294,6 +297,109 @@ public class StoreBufferServiceTest {
     }
   }
 
+  @Test
+  public void testDynamicDrainerAssignment() throws Exception {
+    StoreBufferService bufferService = new StoreBufferService(2, 100000, 1000, true, mockedStats, null, true);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    PubSubTopic pubSubTopic = pubSubTopicRepository.getTopic(Utils.getUniqueString("test_topic") + "_v1");
+    String kafkaUrl = "blah";
+
+    // Pick two partitions which are hashed to the same drainer
+    PubSubTopicPartition hotPartition = new PubSubTopicPartitionImpl(pubSubTopic, 0);
+    int hashedDrainerIndex = bufferService.getCurrentDrainerIndex(hotPartition);
+    PubSubTopicPartition coldPartition = null;
+    for (int partition = 1; coldPartition == null; partition++) {
+      PubSubTopicPartition topicPartition = new PubSubTopicPartitionImpl(pubSubTopic, partition);
+      if (bufferService.getCurrentDrainerIndex(topicPartition) == hashedDrainerIndex) {
+        coldPartition = topicPartition;
+      }
+    }
+
+    // The drainers are not started yet, so the records of the hot partition pile up in its drainer queue
+    List<DefaultPubSubMessage> hotRecords = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      DefaultPubSubMessage cr = new ImmutablePubSubMessage(key, value, hotPartition, mockPosition, i, 0);
+      hotRecords.add(cr);
+      bufferService.putConsumerRecord(cr, mockTask, null, hotPartition.getPartitionNumber(), kafkaUrl, 0L);
+      // A partition with buffered records never moves
+      Assert.assertEquals(bufferService.getCurrentDrainerIndex(hotPartition), hashedDrainerIndex);
+    }
+
+    // A partition without any record in flight moves away from the loaded drainer
+    DefaultPubSubMessage coldRecord = new ImmutablePubSubMessage(key, value, coldPartition, mockPosition, 0, 0);
+    bufferService.putConsumerRecord(coldRecord, mockTask, null, coldPartition.getPartitionNumber(), kafkaUrl, 0L);
+    Assert.assertNotEquals(bufferService.getCurrentDrainerIndex(coldPartition), hashedDrainerIndex);
+
+    bufferService.start();
+    verify(mockTask, timeout(TIMEOUT_IN_MS))
+        .processConsumerRecord(coldRecord, null, coldPartition.getPartitionNumber(), kafkaUrl, 0L);
+    InOrder inOrder = inOrder(mockTask);
+    for (DefaultPubSubMessage cr: hotRecords) {
+      inOrder.verify(mockTask, timeout(TIMEOUT_IN_MS))
+          .processConsumerRecord(cr, null, hotPartition.getPartitionNumber(), kafkaUrl, 0L);
+    }
+    bufferService.drainBufferedRecordsFromTopicPartition(hotPartition);
+    bufferService.drainBufferedRecordsFromTopicPartition(coldPartition);
+    bufferService.stop();
+  }
+
+  @Test
+  public void testCurrentVersionReservedBuffer() throws Exception {
+    long capacity = 10000;
+    StoreBufferService bufferService = new StoreBufferService(1, capacity, 1000, false, mockedStats, null, false, 0.5);
+    StoreIngestionTask currentVersionTask = mock(StoreIngestionTask.class);
+    doReturn(true).when(currentVersionTask).isCurrentVersion();
+    StoreIngestionTask futureVersionTask = mock(StoreIngestionTask.class);
+    String kafkaUrl = "blah";
+    PubSubTopicPartition currentVersionPartition = new PubSubTopicPartitionImpl(
+        pubSubTopicRepository.getTopic(Utils.getUniqueString("test_topic") + "_v1"),
+        0);
+    PubSubTopicPartition futureVersionPartition = new PubSubTopicPartitionImpl(
+        pubSubTopicRepository.getTopic(Utils.getUniqueString("test_topic") + "_v2"),
+        0);
+
+    // The drainer is not started yet, so the records of the future version fill the part of the buffer left to them
+    Thread futureVersionPutThread = new Thread(() -> {
+      try {
+        for (int i = 0; i < 1000; i++) {
+          bufferService.putConsumerRecord(
+              new ImmutablePubSubMessage(key, value, futureVersionPartition, mockPosition, i, 0),
+              futureVersionTask,
+              null,
+              0,
+              kafkaUrl,
+              0L);
+        }
+      } catch (InterruptedException e) {
+        // Expected when the test is done
+      }
+    });
+    futureVersionPutThread.start();
+    try {
+      TestUtils.waitForNonDeterministicAssertion(5, SECONDS, () -> {
+        Assert.assertEquals(futureVersionPutThread.getState(), Thread.State.WAITING);
+        Assert.assertTrue(bufferService.getTotalMemoryUsage() <= capacity / 2);
+      });
+
+      // The records of the current version still get the reserved part of the buffer
+      List<DefaultPubSubMessage> currentVersionRecords = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        DefaultPubSubMessage cr = new ImmutablePubSubMessage(key, value, currentVersionPartition, mockPosition, i, 0);
+        currentVersionRecords.add(cr);
+        bufferService.putConsumerRecord(cr, currentVersionTask, null, 0, kafkaUrl, 0L);
+      }
+      Assert.assertTrue(bufferService.getTotalMemoryUsage() > capacity / 2);
+
+      bufferService.start();
+      for (DefaultPubSubMessage cr: currentVersionRecords) {
+        verify(currentVersionTask, timeout(TIMEOUT_IN_MS)).processConsumerRecord(cr, null, 0, kafkaUrl, 0L);
+      }
+    } finally {
+      TestUtils.shutdownThread(futureVersionPutThread);
+      bufferService.stop();
+    }
+  }
+
   @Test(dataProviderClass = DataProviderUtils.class, dataProvider = "True-and-False")
   public void testRunWhenThrowVeniceCheckSumFailException(boolean queueLeaderWrites) throws Exception {
     StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, queueLeaderWrites, mockedStats, null);
@@ -1,17 +1,27 @@
 package com.linkedin.davinci.storage.chunking;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.github.luben.zstd.Zstd;
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.listener.response.NoOpReadResponseStats;
+import com.linkedin.davinci.listener.response.ReadResponseStats;
 import com.linkedin.davinci.storage.StorageMetadataService;
 import com.linkedin.davinci.store.StorageEngine;
 import com.linkedin.davinci.store.record.ByteBufferValueRecord;
 import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compression.NoopCompressor;
 import com.linkedin.venice.compression.VeniceCompressor;
 import com.linkedin.venice.helix.HelixReadOnlySchemaRepository;
 import com.linkedin.venice.schema.SchemaEntry;
@@ -24,7 +34,10 @@ import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import com.linkedin.venice.utils.ByteUtils;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
@@ -295,4 +308,98 @@ public class ChunkingTest {
       return null;
     }, true);
   }
+
+  @Test
+  public void testGenericRecordChunkingAdapterGetInBatch() {
+    int partition = 9;
+    String storeName = "test";
+    Schema schema = new Schema.Parser().parse(
+        "{\"type\": \"record\", \"name\": \"SomeRecordWithAString\", \"fields\": ["
+            + "{\"name\": \"test\", \"type\": \"string\", \"default\": \"\"}]}");
+    SchemaEntry schemaEntry = new SchemaEntry(SCHEMA_ID, schema);
+    HelixReadOnlySchemaRepository schemaRepository = mock(HelixReadOnlySchemaRepository.class);
+    doReturn(schemaEntry).when(schemaRepository).getValueSchema(storeName, SCHEMA_ID);
+    doReturn(schemaEntry).when(schemaRepository).getSupersetOrLatestValueSchema(storeName);
+
+    GenericRecord smallRecord = new GenericData.Record(schema);
+    smallRecord.put("test", new Utf8("small"));
+    GenericRecord largeRecord = new GenericData.Record(schema);
+    largeRecord.put("test", new Utf8("large value assembled from chunks"));
+    byte[] smallBytes = SerializerDeserializerFactory.getAvroGenericSerializer(schema).serialize(smallRecord);
+    byte[] largeBytes = SerializerDeserializerFactory.getAvroGenericSerializer(schema).serialize(largeRecord);
+
+    // Chunk keys are opaque to the read path, so any distinct bytes will do
+    ByteBuffer firstChunkKey = ByteBuffer.wrap("chunk_0".getBytes());
+    ByteBuffer secondChunkKey = ByteBuffer.wrap("chunk_1".getBytes());
+    int cutOff = largeBytes.length / 2;
+    List<ByteBuffer> chunkKeys = new ArrayList<>(2);
+    chunkKeys.add(firstChunkKey);
+    chunkKeys.add(secondChunkKey);
+    ChunkedValueManifest manifest = new ChunkedValueManifest(chunkKeys, SCHEMA_ID, largeBytes.length);
+    byte[] serializedManifest =
+        SerializerDeserializerFactory.getAvroGenericSerializer(ChunkedValueManifest.SCHEMA$).serialize(manifest);
+
+    byte[] smallKey = "small_key".getBytes();
+    byte[] largeKey = "large_key".getBytes();
+    byte[] missingKey = "missing_key".getBytes();
+    Map<ByteBuffer, byte[]> storage = new HashMap<>();
+    storage.put(
+        ByteBuffer.wrap(ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(smallKey)),
+        ValueRecord.create(SCHEMA_ID, smallBytes).serialize());
+    int manifestSchemaId = AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion();
+    storage.put(
+        ByteBuffer.wrap(ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(largeKey)),
+        ValueRecord.create(manifestSchemaId, serializedManifest).serialize());
+    storage.put(
+        firstChunkKey,
+        ValueRecord
+            .create(AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion(), Arrays.copyOfRange(largeBytes, 0, cutOff))
+            .serialize());
+    storage.put(
+        secondChunkKey,
+        ValueRecord
+            .create(
+                AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion(),
+                Arrays.copyOfRange(largeBytes, cutOff, largeBytes.length))
+            .serialize());
+
+    StorageEngine storageEngine = mock(StorageEngine.class);
+    doAnswer(invocation -> {
+      List<byte[]> keys = invocation.getArgument(1);
+      List<byte[]> values = new ArrayList<>(keys.size());
+      for (byte[] key: keys) {
+        values.add(storage.get(ByteBuffer.wrap(key)));
+      }
+      return values;
+    }).when(storageEngine).multiGet(eq(partition), anyList());
+
+    ReadResponseStats responseStats = mock(ReadResponseStats.class);
+    List<GenericRecord> results = new ArrayList<>();
+    GenericRecordChunkingAdapter.INSTANCE.getInBatch(
+        storageEngine,
+        partition,
+        Arrays.asList(smallKey, missingKey, largeKey),
+        null,
+        null,
+        true,
+        responseStats,
+        SCHEMA_ID,
+        new AvroStoreDeserializerCache<>(schemaRepository, storeName, true),
+        new NoopCompressor(),
+        (value, i) -> {
+          Assert.assertEquals(i, results.size());
+          // The adapter re-uses the record across keys, so a copy needs to be retained
+          results.add(value == null ? null : GenericData.get().deepCopy(schema, value));
+        });
+
+    Assert.assertEquals(results.size(), 3);
+    Assert.assertEquals(results.get(0), smallRecord);
+    Assert.assertNull(results.get(1));
+    Assert.assertEquals(results.get(2), largeRecord);
+    // One batch for the top-level keys, and one for the chunks of the large value
+    verify(storageEngine, times(2)).multiGet(eq(partition), anyList());
+    verify(storageEngine, never()).get(anyInt(), any(ByteBuffer.class));
+    // The latency of the whole batch is recorded once, and not again for each key
+    verify(responseStats, times(1)).addDatabaseLookupLatency(anyLong());
+  }
 }
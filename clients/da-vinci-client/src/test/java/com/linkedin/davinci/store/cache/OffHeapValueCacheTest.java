@@ -0,0 +1,84 @@
+package com.linkedin.davinci.store.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.davinci.store.record.ValueRecord;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import org.testng.annotations.Test;
+
+
+public class OffHeapValueCacheTest {
+  private static final String STORE_VERSION = "test_store_v1";
+  private static final int SCHEMA_ID = 3;
+
+  @Test
+  public void testGetAndInvalidate() {
+    try (OffHeapValueCache cache = new OffHeapValueCache(1024 * 1024, 1024, Collections.emptySet())) {
+      byte[] key = "key".getBytes();
+      assertNull(cache.get(STORE_VERSION, 0, key));
+
+      cache.put(STORE_VERSION, 0, key, SCHEMA_ID, ByteBuffer.wrap("value".getBytes()), cache.getInvalidationStamp(key));
+      ValueRecord valueRecord = ValueRecord.parseAndCreate(cache.get(STORE_VERSION, 0, key));
+      assertEquals(valueRecord.getSchemaId(), SCHEMA_ID);
+      assertEquals(valueRecord.getDataInBytes(), "value".getBytes());
+      // Entries are scoped to their store version and partition
+      assertNull(cache.get(STORE_VERSION, 1, key));
+      assertNull(cache.get("test_store_v2", 0, key));
+      assertEquals(cache.getHitCount(), 1);
+      assertEquals(cache.getMissCount(), 3);
+
+      cache.invalidate(STORE_VERSION, 0, key);
+      assertNull(cache.get(STORE_VERSION, 0, key));
+      assertEquals(cache.getCachedBytes(), 0);
+    }
+  }
+
+  @Test
+  public void testPutAfterConcurrentInvalidationIsDiscarded() {
+    try (OffHeapValueCache cache = new OffHeapValueCache(1024 * 1024, 1024, Collections.emptySet())) {
+      byte[] key = "key".getBytes();
+      long invalidationStamp = cache.getInvalidationStamp(key);
+      // The key gets written, and invalidated, after the stale value was read from the storage engine
+      cache.invalidate(STORE_VERSION, 0, key);
+      cache.put(STORE_VERSION, 0, key, SCHEMA_ID, ByteBuffer.wrap("stale".getBytes()), invalidationStamp);
+      assertNull(cache.get(STORE_VERSION, 0, key));
+    }
+  }
+
+  @Test
+  public void testInvalidatePartition() {
+    try (OffHeapValueCache cache = new OffHeapValueCache(1024 * 1024, 1024, Collections.emptySet())) {
+      byte[] key = "key".getBytes();
+      for (int partition = 0; partition < 2; partition++) {
+        cache.put(STORE_VERSION, partition, key, SCHEMA_ID, ByteBuffer.wrap("v".getBytes()), 0);
+      }
+      cache.invalidatePartition(STORE_VERSION, 0);
+      assertNull(cache.get(STORE_VERSION, 0, key));
+      assertEquals(ValueRecord.parseAndCreate(cache.get(STORE_VERSION, 1, key)).getDataInBytes(), "v".getBytes());
+    }
+  }
+
+  @Test
+  public void testSizeBounds() {
+    int capacity = 64 * 1024;
+    try (OffHeapValueCache cache = new OffHeapValueCache(capacity, 1024, Collections.singleton("test_store"))) {
+      assertTrue(cache.isEnabledForStore("test_store"));
+      assertFalse(cache.isEnabledForStore("other_store"));
+
+      byte[] largeKey = "large".getBytes();
+      cache.put(STORE_VERSION, 0, largeKey, SCHEMA_ID, ByteBuffer.allocate(1025), 0);
+      assertNull(cache.get(STORE_VERSION, 0, largeKey));
+
+      for (int i = 0; i < 1000; i++) {
+        cache.put(STORE_VERSION, 0, ("key" + i).getBytes(), SCHEMA_ID, ByteBuffer.allocate(1000), 0);
+      }
+      cache.cleanUp();
+      assertTrue(cache.getCachedBytes() <= capacity, "Cached bytes: " + cache.getCachedBytes());
+      assertTrue(cache.getEntryCount() < 1000);
+    }
+  }
+}
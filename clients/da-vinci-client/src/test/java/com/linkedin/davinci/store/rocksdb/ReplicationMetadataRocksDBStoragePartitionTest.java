@@ -31,7 +31,9 @@ import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -210,6 +212,24 @@ public class ReplicationMetadataRocksDBStoragePartitionTest extends AbstractStor
       Assert.assertEquals(replicationMetadataWithValueSchema, ByteBuffer.wrap(entry.getValue().getSecond().getBytes()));
     }
 
+    // The values and the RMDs can be looked up together, and the missing keys get nulls in both halves
+    List<byte[]> keys = new ArrayList<>();
+    for (String key: inputRecords.keySet()) {
+      keys.add(key.getBytes());
+    }
+    keys.add("missing_key".getBytes());
+    List<byte[]> valuesAndMetadata = storagePartition.multiGetWithReplicationMetadata(keys);
+    Assert.assertEquals(valuesAndMetadata.size(), 2 * keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      byte[] key = keys.get(i);
+      Assert.assertEquals(valuesAndMetadata.get(i), storagePartition.get(key));
+      Assert.assertEquals(
+          valuesAndMetadata.get(i + keys.size()),
+          storagePartition.getReplicationMetadata(ByteBuffer.wrap(key)));
+    }
+    Assert.assertNull(valuesAndMetadata.get(keys.size() - 1));
+    Assert.assertNull(valuesAndMetadata.get(2 * keys.size() - 1));
+
     for (Map.Entry<String, Pair<String, String>> entry: inputRecords.entrySet()) {
       byte[] updatedMetadataBytes = "updated_metadata".getBytes();
       byte[] key = entry.getKey().getBytes();
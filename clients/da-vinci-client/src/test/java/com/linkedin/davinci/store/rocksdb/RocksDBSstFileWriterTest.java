@@ -11,6 +11,10 @@ import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import org.apache.commons.io.FileUtils;
 import org.rocksdb.EnvOptions;
 import org.rocksdb.Options;
@@ -385,6 +389,71 @@ public class RocksDBSstFileWriterTest {
     }
   }
 
+  @Test
+  public void testSyncWithSstFileWriterExecutor() throws IOException, RocksDBException {
+    testSyncWithSstFileWriterExecutor(100);
+  }
+
+  @Test
+  public void testSyncWithExhaustedSortedRunBudget() throws IOException, RocksDBException {
+    // Some of the sorted runs get written directly while the single permit is in use, and all of them without any
+    testSyncWithSstFileWriterExecutor(1);
+    testSyncWithSstFileWriterExecutor(0);
+  }
+
+  private void testSyncWithSstFileWriterExecutor(int maxBufferedSortedRuns) throws IOException, RocksDBException {
+    Properties properties = new Properties();
+    // Small enough for every few records to go into their own SST file
+    properties.put(RocksDBServerConfig.ROCKSDB_SST_FILE_WRITER_BUFFER_SIZE_IN_BYTES, "100");
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(new VeniceProperties(properties));
+    ExecutorService sstFileWriterExecutor = Executors.newFixedThreadPool(2);
+    Semaphore sortedRunBudget = new Semaphore(maxBufferedSortedRuns);
+    RocksDBSstFileWriter rocksDBSstFileWriter = null;
+    try {
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          rocksDBServerConfig,
+          Optional.of(sstFileWriterExecutor),
+          sortedRunBudget);
+      CheckSum expectedCheckSum = CheckSum.getInstance(CheckSumType.MD5);
+      rocksDBSstFileWriter.open(new HashMap<>(), Optional.of(expectedCheckSum::getCheckSum));
+      // No SST file is created until a sorted run is full
+      Assert.assertEquals(getNumberOfFilesInTempDirectory(), 0);
+
+      int recordCount = 50;
+      for (int i = 0; i < recordCount; i++) {
+        byte[] key = String.format("key_%03d", i).getBytes();
+        byte[] value = String.format("value_%03d", i).getBytes();
+        expectedCheckSum.update(key);
+        expectedCheckSum.update(value);
+        rocksDBSstFileWriter.put(key, ByteBuffer.wrap(value));
+      }
+      // sync waits for all the SST files, and verifies the checksum across all of them
+      Map<String, String> checkpointingInfo = rocksDBSstFileWriter.sync();
+
+      int sstFileCount = getNumberOfFilesInTempDirectory();
+      Assert.assertTrue(sstFileCount > 1, "Expected the records to be split across several SST files");
+      Assert.assertEquals(
+          checkpointingInfo.get(rocksDBSstFileWriter.getLastCheckPointedSSTFileNum()),
+          Integer.toString(sstFileCount - 1));
+      Assert.assertEquals(rocksDBSstFileWriter.getRecordNumInAllSSTFiles(), recordCount);
+      // The memory of all the sorted runs is given back once they are written
+      Assert.assertEquals(sortedRunBudget.availablePermits(), maxBufferedSortedRuns);
+    } finally {
+      if (rocksDBSstFileWriter != null) {
+        rocksDBSstFileWriter.close();
+      }
+      sstFileWriterExecutor.shutdownNow();
+      deleteTempDatabaseDir();
+    }
+  }
+
   private String getTempDatabaseDir() {
     File storeDir = new File(DB_DIR).getAbsoluteFile();
     if (!storeDir.mkdirs()) {
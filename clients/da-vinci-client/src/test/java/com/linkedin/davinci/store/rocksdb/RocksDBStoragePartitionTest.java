@@ -17,6 +17,7 @@ import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEV
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_MEMTABLE_SIZE_IN_BYTES;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_MIN_BLOB_SIZE_IN_BYTES;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_PLAIN_TABLE_FORMAT_ENABLED;
+import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_WRITE_BATCH_SIZE_IN_BYTES;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_MANAGER_ENABLED;
 import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
 import static org.mockito.Mockito.mock;
@@ -24,6 +25,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 import static org.testng.AssertJUnit.assertFalse;
 
+import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.config.VeniceStoreVersionConfig;
 import com.linkedin.davinci.store.AbstractStorageEngineTest;
@@ -50,6 +52,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.RandomStringUtils;
@@ -107,6 +110,21 @@ public class RocksDBStoragePartitionTest {
     return records;
   }
 
+  private int countRecordsByKeyPrefix(RocksDBStoragePartition storagePartition, byte[] keyPrefix) {
+    AtomicInteger recordCount = new AtomicInteger();
+    storagePartition.getByKeyPrefix(keyPrefix, new BytesStreamingCallback() {
+      @Override
+      public void onRecordReceived(byte[] key, byte[] value) {
+        recordCount.incrementAndGet();
+      }
+
+      @Override
+      public void onCompletion() {
+      }
+    });
+    return recordCount.get();
+  }
+
   private String getTempDatabaseDir(String storeName) {
     File storeDir = new File(DATA_BASE_DIR, storeName).getAbsoluteFile();
     if (!storeDir.mkdirs()) {
@@ -786,6 +804,75 @@ public class RocksDBStoragePartitionTest {
     removeDir(storeDir);
   }
 
+  @Test
+  public void testWriteBatching() {
+    String storeName = Version.composeKafkaTopic(Utils.getUniqueString("test_store"), 1);
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    partitionConfig.setDeferredWrite(false);
+    Properties properties = new Properties();
+    properties.put(ROCKSDB_WRITE_BATCH_SIZE_IN_BYTES, "1024");
+    VeniceProperties veniceServerProperties =
+        AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB, properties);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    Map<String, String> inputRecords = generateInput(100, false, 0);
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      storagePartition.put(entry.getKey().getBytes(), entry.getValue().getBytes());
+      // The point lookups read the pending writes, so every write is visible right away
+      Assert.assertEquals(storagePartition.get(entry.getKey().getBytes()), entry.getValue().getBytes());
+    }
+    storagePartition.delete((KEY_PREFIX + 10).getBytes());
+    Assert.assertNull(storagePartition.get((KEY_PREFIX + 10).getBytes()));
+
+    // The reads never commit the pending writes, which the prefix scans only see once committed
+    storagePartition.sync();
+    byte[] pendingKey = "pending_key".getBytes();
+    storagePartition.put(pendingKey, "pending_value".getBytes());
+    Assert.assertEquals(storagePartition.get(pendingKey), "pending_value".getBytes());
+    List<byte[]> values = storagePartition.multiGet(Arrays.asList(pendingKey, (KEY_PREFIX + 10).getBytes()));
+    Assert.assertEquals(values.get(0), "pending_value".getBytes());
+    Assert.assertNull(values.get(1));
+    Assert.assertEquals(countRecordsByKeyPrefix(storagePartition, pendingKey), 0);
+    storagePartition.sync();
+    Assert.assertEquals(countRecordsByKeyPrefix(storagePartition, pendingKey), 1);
+
+    // Writes which are neither read back nor followed by enough other writes to fill the batch are committed by sync
+    storagePartition.put((KEY_PREFIX + 10).getBytes(), (VALUE_PREFIX + 10).getBytes());
+    storagePartition.delete((KEY_PREFIX + 11).getBytes());
+    storagePartition.sync();
+    storagePartition.close();
+
+    storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      byte[] value = storagePartition.get(entry.getKey().getBytes());
+      if (entry.getKey().equals(KEY_PREFIX + 11)) {
+        Assert.assertNull(value);
+      } else {
+        Assert.assertEquals(value, entry.getValue().getBytes());
+      }
+    }
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
   @Test
   public void testRocksDBValidityCheck() {
     String storeName = Version.composeKafkaTopic(Utils.getUniqueString("test_store"), 1);
@@ -120,6 +120,12 @@ public class ClientConfig<K, V, T extends SpecificRecord> {
    */
   private final Optional<DeserializerFactory<V>> valueDeserializerFactory;
 
+  /**
+   * The time after which the caller gives up on the requests to the servers, which is passed to them so that they drop
+   * the requests, or the rest of them, that they could not answer in time. Not passed if not positive.
+   */
+  private final int serverRequestTimeoutInMs;
+
   private ClientConfig(ClientConfigBuilder builder) {
     if (builder.storeName == null || builder.storeName.isEmpty()) {
       throw new VeniceClientException("storeName param shouldn't be empty");
@@ -236,6 +242,7 @@ public class ClientConfig<K, V, T extends SpecificRecord> {
         builder.longTailRangeBasedRetryThresholdForComputeInMilliSeconds;
     this.keySerializerFactory = Optional.ofNullable(builder.keySerializerFactory);
     this.valueDeserializerFactory = Optional.ofNullable(builder.valueDeserializerFactory);
+    this.serverRequestTimeoutInMs = builder.serverRequestTimeoutInMs;
   }
 
   public String getStoreName() {
@@ -416,6 +423,10 @@ public class ClientConfig<K, V, T extends SpecificRecord> {
     return valueDeserializerFactory;
   }
 
+  public int getServerRequestTimeoutInMs() {
+    return serverRequestTimeoutInMs;
+  }
+
   public static class ClientConfigBuilder<K, V, T extends SpecificRecord> {
     private MetricsRepository metricsRepository;
     private String statsPrefix = "";
@@ -479,6 +490,8 @@ public class ClientConfig<K, V, T extends SpecificRecord> {
     private SerializerFactory<K> keySerializerFactory = null;
     private DeserializerFactory<V> valueDeserializerFactory = null;
 
+    private int serverRequestTimeoutInMs = -1;
+
     public ClientConfigBuilder<K, V, T> setStoreName(String storeName) {
       this.storeName = storeName;
       return this;
@@ -768,7 +781,13 @@ public class ClientConfig<K, V, T extends SpecificRecord> {
               longTailRangeBasedRetryThresholdForComputeInMilliSeconds)
           .setStoreLoadControllerAcceptMultiplier(storeLoadControllerAcceptMultiplier)
           .setKeySerializerFactory(keySerializerFactory)
-          .setValueDeserializerFactory(valueDeserializerFactory);
+          .setValueDeserializerFactory(valueDeserializerFactory)
+          .setServerRequestTimeoutInMs(serverRequestTimeoutInMs);
+    }
+
+    public ClientConfigBuilder<K, V, T> setServerRequestTimeoutInMs(int serverRequestTimeoutInMs) {
+      this.serverRequestTimeoutInMs = serverRequestTimeoutInMs;
+      return this;
     }
 
     public ClientConfig<K, V, T> build() {
@@ -0,0 +1,49 @@
+package com.linkedin.venice.fastclient;
+
+import com.linkedin.venice.client.store.ComputeGenericRecord;
+import com.linkedin.venice.client.store.streaming.DelegatingTrackingCallback;
+import com.linkedin.venice.client.store.streaming.StreamingCallback;
+import com.linkedin.venice.compute.ComputeResultMerger;
+import com.linkedin.venice.utils.Pair;
+import java.util.Optional;
+
+
+/**
+ * Merges the partial results of a compute request, which each storage node returns for the keys it serves, before
+ * passing them to the inner callback, in the same way as the router does for the thin client, see
+ * {@link ComputeResultMerger}.
+ *
+ * The merged records are only known once all the routes have completed, so they are passed to the inner callback upon
+ * completion, while the records left out are reported as non-existing as soon as they are.
+ */
+class ComputeResultMergingCallback<K> extends DelegatingTrackingCallback<K, ComputeGenericRecord> {
+  private final ComputeResultMerger<Pair<K, ComputeGenericRecord>> merger;
+
+  ComputeResultMergingCallback(
+      StreamingCallback<K, ComputeGenericRecord> inner,
+      ComputeResultMerger<Pair<K, ComputeGenericRecord>> merger) {
+    super(inner);
+    this.merger = merger;
+  }
+
+  @Override
+  public void onRecordReceived(K key, ComputeGenericRecord value) {
+    if (value != null) {
+      Pair<K, ComputeGenericRecord> leftOutRecord = merger.add(new Pair<>(key, value), value);
+      if (leftOutRecord == null) {
+        return;
+      }
+      key = leftOutRecord.getFirst();
+      value = null;
+    }
+    super.onRecordReceived(key, value);
+  }
+
+  @Override
+  public void onCompletion(Optional<Exception> exception) {
+    for (Pair<K, ComputeGenericRecord> record: merger.getResult()) {
+      super.onRecordReceived(record.getFirst(), record.getSecond());
+    }
+    super.onCompletion(exception);
+  }
+}
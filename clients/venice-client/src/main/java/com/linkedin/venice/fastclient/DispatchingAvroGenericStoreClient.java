@@ -20,6 +20,7 @@ import com.linkedin.venice.client.store.transport.TransportClientResponse;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.VeniceCompressor;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.compute.ComputeResultMerger;
 import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
 import com.linkedin.venice.fastclient.meta.StoreMetadata;
 import com.linkedin.venice.fastclient.transport.GrpcTransportClient;
@@ -39,11 +40,13 @@ import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.utils.EncodingUtils;
 import com.linkedin.venice.utils.LatencyUtils;
+import com.linkedin.venice.utils.Pair;
 import com.linkedin.venice.utils.RedundantExceptionFilter;
 import com.linkedin.venice.utils.concurrent.ChainedCompletableFuture;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +78,10 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
   private final ClientConfig config;
   private final TransportClient transportClient;
   private final Executor deserializationExecutor;
+  /**
+   * The value of the {@link HttpConstants#VENICE_REQUEST_TIMEOUT_MS} header, or null if it is not sent.
+   */
+  private final String serverRequestTimeoutHeader;
 
   // Key serializer
   private RecordSerializer<K> keySerializer;
@@ -112,6 +119,8 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
     this.transportClient = transportClient;
     this.deserializationExecutor = Optional.ofNullable(config.getDeserializationExecutor())
         .orElseGet(AbstractAvroStoreClient::getDefaultDeserializationExecutor);
+    this.serverRequestTimeoutHeader =
+        config.getServerRequestTimeoutInMs() > 0 ? Integer.toString(config.getServerRequestTimeoutInMs()) : null;
     String storeName = metadata.getStoreName();
     BATCH_GET_TRANSPORT_EXCEPTION_FILTER_MESSAGE = "BatchGet Transport Exception for " + storeName;
     COMPUTE_TRANSPORT_EXCEPTION_FILTER_MESSAGE = "Compute Transport Exception for " + storeName;
@@ -216,7 +225,9 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
     try {
       requestContext.requestSentTimestampNS = System.nanoTime();
       String url = requestContext.route + composeURIForSingleGet(requestContext);
-      CompletableFuture<TransportClientResponse> transportFuture = transportClient.get(url);
+      CompletableFuture<TransportClientResponse> transportFuture = serverRequestTimeoutHeader == null
+          ? transportClient.get(url)
+          : transportClient.get(url, withServerRequestTimeout(new HashMap<>(1)));
       routeRequestFuture =
           metadata
               .trackHealthBasedOnRequestToInstance(
@@ -299,7 +310,7 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
         keys,
         callback,
         requestContext,
-        RequestHeadersProvider.getStreamingBatchGetHeaders(keys.size()),
+        withServerRequestTimeout(RequestHeadersProvider.getStreamingBatchGetHeaders(keys.size())),
         this::serializeMultiGetRequest,
         (MultiKeyStreamingRouteResponseHandler<K>) (
             keysForRoutes,
@@ -307,6 +318,13 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
             throwable) -> batchGetTransportRequestCompletionHandler(requestContext, response, throwable, callback));
   }
 
+  private Map<String, String> withServerRequestTimeout(Map<String, String> headers) {
+    if (serverRequestTimeoutHeader != null) {
+      headers.put(HttpConstants.VENICE_REQUEST_TIMEOUT_MS, serverRequestTimeoutHeader);
+    }
+    return headers;
+  }
+
   private interface MultiKeyStreamingRouteResponseHandler<K> {
     /**
      * Multi-key requests might be routed to different server hosts and this class offers a way to handle the response
@@ -528,14 +546,25 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
 
     RecordDeserializer<GenericRecord> computeResultRecordDeserializer =
         getComputeResultRecordDeserializer(resultSchema);
+    // The partial results of the routes are merged here, since there is no router to do it. The record carrying the
+    // merged value counts, if any, is updated in place.
+    ComputeResultMerger<Pair<K, ComputeGenericRecord>> merger =
+        ComputeResultMerger.create(computeRequest.getOperations(), resultSchema, (record, resultRecord) -> record);
+    StreamingCallback<K, ComputeGenericRecord> mergingCallback =
+        merger == null ? callback : new ComputeResultMergingCallback<>(callback, merger);
     // TODO: client side compute is not supported for fast-client yet, hence hard coding isRemoteComputationOnly to true
     multiKeyStreamingRequest(
         requestContext,
         RequestType.COMPUTE_STREAMING,
         keys,
-        callback,
+        mergingCallback,
         requestContext,
-        RequestHeadersProvider.getStreamingComputeHeaderMap(keys.size(), computeRequest.getValueSchemaID(), true),
+        withServerRequestTimeout(
+            RequestHeadersProvider.getStreamingComputeHeaderMap(
+                keys.size(),
+                computeRequest.getValueSchemaID(),
+                computeRequest.getComputeRequestVersion(),
+                true)),
         (keysForRoutes) -> serializeComputeRequest(computeRequest, keysForRoutes),
         (MultiKeyStreamingRouteResponseHandler<K>) (keysForRoutes, response, throwable) -> {
           ComputeRecordStreamDecoder decoder = getComputeDecoderForRoute(
@@ -544,7 +573,7 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
               keysForRoutes,
               response,
               computeResultRecordDeserializer,
-              callback);
+              mergingCallback);
           computeTransportRequestCompletionHandler(response, throwable, decoder);
         });
   }
@@ -0,0 +1,70 @@
+package com.linkedin.venice.fastclient;
+
+import static com.linkedin.venice.VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import com.linkedin.venice.client.store.ComputeGenericRecord;
+import com.linkedin.venice.client.store.streaming.StreamingCallback;
+import com.linkedin.venice.compute.ComputeResultMerger;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.TopK;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.utils.Pair;
+import java.util.Collections;
+import java.util.Optional;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.mockito.InOrder;
+import org.testng.annotations.Test;
+
+
+public class ComputeResultMergingCallbackTest {
+  private static final Schema RESULT_SCHEMA = SchemaBuilder.record("Result")
+      .fields()
+      .name("score")
+      .type()
+      .doubleType()
+      .noDefault()
+      .name(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME)
+      .type()
+      .map()
+      .values()
+      .stringType()
+      .noDefault()
+      .endRecord();
+
+  @Test
+  public void testTopKMerge() {
+    ComputeOperation topK = new ComputeOperation();
+    topK.setOperationType(ComputeOperationType.TOP_K.getValue());
+    topK.setOperation(new TopK("score", 1));
+    ComputeResultMerger<Pair<String, ComputeGenericRecord>> merger =
+        ComputeResultMerger.create(Collections.singletonList(topK), RESULT_SCHEMA, (record, resultRecord) -> record);
+    StreamingCallback<String, ComputeGenericRecord> inner = mock(StreamingCallback.class);
+    ComputeResultMergingCallback<String> callback = new ComputeResultMergingCallback<>(inner, merger);
+
+    ComputeGenericRecord record1 = newComputeRecord(1);
+    ComputeGenericRecord record2 = newComputeRecord(2);
+    callback.onRecordReceived("key1", record1);
+    callback.onRecordReceived("key2", record2);
+    callback.onRecordReceived("key3", null);
+    callback.onCompletion(Optional.empty());
+
+    InOrder inOrder = inOrder(inner);
+    inOrder.verify(inner).onRecordReceived("key1", null);
+    inOrder.verify(inner).onRecordReceived("key3", null);
+    inOrder.verify(inner).onRecordReceived("key2", record2);
+    inOrder.verify(inner).onCompletion(Optional.empty());
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  private static ComputeGenericRecord newComputeRecord(double score) {
+    GenericRecord resultRecord = new GenericData.Record(RESULT_SCHEMA);
+    resultRecord.put("score", score);
+    resultRecord.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, Collections.emptyMap());
+    return new ComputeGenericRecord(resultRecord, RESULT_SCHEMA);
+  }
+}
@@ -3,23 +3,32 @@ package com.linkedin.venice.client.store;
 import static com.linkedin.venice.VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COSINE_SIMILARITY;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COUNT;
+import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COUNT_GROUP_BY_VALUE;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.DOT_PRODUCT;
+import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.FILTER;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.HADAMARD_PRODUCT;
+import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.TOP_K;
 
 import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.schema.SchemaAndToString;
 import com.linkedin.venice.client.stats.ClientStats;
+import com.linkedin.venice.client.store.predicate.ComputeFilterPredicates;
+import com.linkedin.venice.client.store.predicate.Predicate;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.client.store.streaming.VeniceResponseCompletableFuture;
 import com.linkedin.venice.client.store.streaming.VeniceResponseMap;
 import com.linkedin.venice.client.store.streaming.VeniceResponseMapImpl;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.ValueCountAggregator;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
+import com.linkedin.venice.compute.protocol.request.CountGroupByValue;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.Filter;
 import com.linkedin.venice.compute.protocol.request.HadamardProduct;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
 import com.linkedin.venice.exceptions.InvalidVeniceSchemaException;
 import com.linkedin.venice.schema.SchemaData;
@@ -42,6 +51,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
 
 
 /**
@@ -57,6 +67,7 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
   protected static final String DOT_PRODUCT_SPEC = "dotProduct_spec";
   protected static final String COSINE_SIMILARITY_SPEC = "cosineSimilarity_spec";
   protected static final String HADAMARD_PRODUCT_SPEC = "hadamardProduct_spec";
+  protected static final String COUNT_GROUP_BY_VALUE_SPEC = "countGroupByValue_spec";
 
   protected static final Schema HADAMARD_PRODUCT_RESULT_SCHEMA = Schema.createUnion(
       Arrays.asList(Schema.create(Schema.Type.NULL), Schema.createArray(Schema.create(Schema.Type.FLOAT))));
@@ -79,6 +90,9 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
   private List<DotProduct> dotProducts = new LinkedList<>();
   private List<CosineSimilarity> cosineSimilarities = new LinkedList<>();
   private List<HadamardProduct> hadamardProducts = new LinkedList<>();
+  private List<Filter> filters = new LinkedList<>();
+  private TopK topK;
+  private List<CountGroupByValue> countGroupByValues = new LinkedList<>();
   private SchemaReader schemaReader;
 
   public AbstractAvroComputeRequestBuilder(AvroGenericReadComputeStoreClient storeClient, SchemaReader schemaReader) {
@@ -156,6 +170,46 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
     return this;
   }
 
+  @Override
+  public ComputeRequestBuilder<K> filter(String fieldName, Predicate predicate) throws VeniceClientException {
+    filters.add(ComputeFilterPredicates.toFilter(fieldName, predicate));
+    return this;
+  }
+
+  @Override
+  public ComputeRequestBuilder<K> topK(String fieldName, int k) throws VeniceClientException {
+    if (k <= 0) {
+      throw new VeniceClientException("The k of the " + TOP_K + " operation must be positive, got: " + k);
+    }
+    if (topK != null) {
+      throw new VeniceClientException(TOP_K + " operation has been specified more than once");
+    }
+    topK = (TopK) TOP_K.getNewInstance();
+    topK.field = fieldName;
+    topK.k = k;
+    return this;
+  }
+
+  /**
+   * Counts the distinct values of the field on the storage nodes, whose partial counts are merged by the router, or by
+   * the fast client, so that a single record carrying the counts is returned rather than the field of every record,
+   * see {@link FacetCountingUtils#getValueToCount}. The field must be projected as well, since the records which are
+   * not aggregated remotely, e.g. computed by Da Vinci, are counted by the client.
+   */
+  AbstractAvroComputeRequestBuilder<K> countGroupByValue(String fieldName) {
+    String resultFieldName = FacetCountingUtils.getValueCountsFieldName(fieldName);
+    for (CountGroupByValue countGroupByValue: countGroupByValues) {
+      if (countGroupByValue.resultFieldName.equals(resultFieldName)) {
+        return this;
+      }
+    }
+    CountGroupByValue countGroupByValue = (CountGroupByValue) COUNT_GROUP_BY_VALUE.getNewInstance();
+    countGroupByValue.field = fieldName;
+    countGroupByValue.resultFieldName = resultFieldName;
+    countGroupByValues.add(countGroupByValue);
+    return this;
+  }
+
   /**
    * Generate compute spec for projections, dot-product and cosine-similarity.
    * @return common compute spec
@@ -178,6 +232,11 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
       hadamardProductPairs.add(Pair.create(hadamardProduct.field, hadamardProduct.resultFieldName));
     });
     computeSpec.put(HADAMARD_PRODUCT_SPEC, hadamardProductPairs);
+    List<Pair<CharSequence, CharSequence>> countGroupByValuePairs = new LinkedList<>();
+    countGroupByValues.forEach(countGroupByValue -> {
+      countGroupByValuePairs.add(Pair.create(countGroupByValue.field, countGroupByValue.resultFieldName));
+    });
+    computeSpec.put(COUNT_GROUP_BY_VALUE_SPEC, countGroupByValuePairs);
     return computeSpec;
   }
 
@@ -259,6 +318,14 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
           .createSchemaField(hadamardProduct.resultFieldName.toString(), HADAMARD_PRODUCT_RESULT_SCHEMA, "", null);
       resultSchemaFields.add(hadamardProductField);
     });
+    countGroupByValues.forEach(countGroupByValue -> {
+      Schema.Field countGroupByValueField = AvroCompatibilityHelper.createSchemaField(
+          countGroupByValue.resultFieldName.toString(),
+          ValueCountAggregator.RESULT_SCHEMA,
+          "",
+          null);
+      resultSchemaFields.add(countGroupByValueField);
+    });
     /**
      * Error map field can not be a static variable; after setting the error map field in a schema, the position of the
      * field will be updated, so the next time when we set the field in a new schema, it would fail because
@@ -297,9 +364,97 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
       computeOperation.operation = hadamardProduct;
       operations.add(computeOperation);
     });
+    filters.forEach(filter -> {
+      ComputeOperation computeOperation = new ComputeOperation();
+      computeOperation.operationType = FILTER.getValue();
+      computeOperation.operation = filter;
+      operations.add(computeOperation);
+    });
+    if (topK != null) {
+      ComputeOperation computeOperation = new ComputeOperation();
+      computeOperation.operationType = TOP_K.getValue();
+      computeOperation.operation = topK;
+      operations.add(computeOperation);
+    }
+    countGroupByValues.forEach(countGroupByValue -> {
+      ComputeOperation computeOperation = new ComputeOperation();
+      computeOperation.operationType = COUNT_GROUP_BY_VALUE.getValue();
+      computeOperation.operation = countGroupByValue;
+      operations.add(computeOperation);
+    });
     return operations;
   }
 
+  /**
+   * Checks that the fields which the filter and top-k operations select the records by are part of the result schema,
+   * with a compatible type.
+   */
+  protected void checkResultSelectionValidity(Schema resultSchema) {
+    for (Filter filter: filters) {
+      Schema fieldSchema = getResultSelectionFieldSchema(resultSchema, filter.field.toString(), FILTER);
+      if (!ComputeFilterPredicates.isCompatibleWithSchema(filter, fieldSchema)) {
+        throw new InvalidVeniceSchemaException(
+            FILTER + " field: " + filter.field + " of type: " + fieldSchema.getType()
+                + " is not compatible with the predicate");
+      }
+    }
+    if (topK != null) {
+      Schema fieldSchema = getResultSelectionFieldSchema(resultSchema, topK.field.toString(), TOP_K);
+      switch (fieldSchema.getType()) {
+        case INT:
+        case LONG:
+        case FLOAT:
+        case DOUBLE:
+          break;
+        default:
+          throw new InvalidVeniceSchemaException(
+              TOP_K + " field: " + topK.field + " isn't a numeric type. Got: " + fieldSchema.getType());
+      }
+    }
+  }
+
+  /**
+   * @return the schema of the field, or of its non-null branch if it is nullable, as the results of the other
+   *         operations are.
+   */
+  private static Schema getResultSelectionFieldSchema(
+      Schema resultSchema,
+      String fieldName,
+      ComputeOperationType computeType) {
+    Schema.Field field = resultSchema.getField(fieldName);
+    if (field == null) {
+      throw new InvalidVeniceSchemaException(
+          "Unknown " + computeType + " field: " + fieldName
+              + ", which must be either a projected field or the result field of another operation");
+    }
+    Schema fieldSchema = field.schema();
+    if (fieldSchema.getType() == Schema.Type.UNION && fieldSchema.getTypes().size() == 2) {
+      for (Schema branch: fieldSchema.getTypes()) {
+        if (branch.getType() != Schema.Type.NULL) {
+          return branch;
+        }
+      }
+    }
+    return fieldSchema;
+  }
+
+  /**
+   * @return the callback applying the filter and top-k operations to the received records, or the given callback if
+   *         there are none.
+   */
+  protected <KEY, V extends GenericRecord> StreamingCallback<KEY, V> wrapWithResultSelection(
+      StreamingCallback<KEY, V> callback,
+      Schema resultSchema) {
+    if (filters.isEmpty() && topK == null) {
+      return callback;
+    }
+    return new ResultSelectingStreamingCallback<>(
+        callback,
+        ComputeFilterPredicates.getResultRecordPredicate(getComputeRequestOperations()),
+        topK == null ? null : resultSchema.getField(topK.field.toString()),
+        topK == null ? 0 : topK.k);
+  }
+
   @Override
   public CompletableFuture<Map<K, ComputeGenericRecord>> execute(Set<K> keys) throws VeniceClientException {
     CompletableFuture<Map<K, ComputeGenericRecord>> resultFuture = new CompletableFuture<>();
@@ -400,9 +555,15 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
       this.latestValueSchema = schemaReader.getValueSchema(latestValueSchemaId);
       resultSchema = getResultSchema();
     }
+    checkResultSelectionValidity(resultSchema.getSchema());
     // Generate ComputeRequest object
     ComputeRequestWrapper computeRequestWrapper = generateComputeRequest(resultSchema, originallyStreaming);
-    storeClient.compute(computeRequestWrapper, keys, resultSchema.getSchema(), callback, preRequestTimeInNS);
+    storeClient.compute(
+        computeRequestWrapper,
+        keys,
+        resultSchema.getSchema(),
+        wrapWithResultSelection(callback, resultSchema.getSchema()),
+        preRequestTimeInNS);
   }
 
   protected void checkComputeFieldValidity(
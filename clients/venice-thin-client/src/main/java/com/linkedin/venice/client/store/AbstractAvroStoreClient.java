@@ -514,6 +514,7 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
         RequestHeadersProvider.getStreamingComputeHeaderMap(
             keyList.size(),
             computeRequest.getValueSchemaID(),
+            computeRequest.getComputeRequestVersion(),
             clientConfig.isRemoteComputationOnly()),
         serializedRequest,
         callback,
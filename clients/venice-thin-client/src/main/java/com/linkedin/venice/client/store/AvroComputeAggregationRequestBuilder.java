@@ -97,10 +97,11 @@ public class AvroComputeAggregationRequestBuilder<K> implements ComputeAggregati
     // Validate fields exist in schema
     validateFieldNames(fieldNames);
 
-    // Store topK value for each field and project the field
+    // Store topK value for each field, project the field and count its values on the storage nodes
     for (String fieldName: fieldNames) {
       fieldTopKMap.put(fieldName, topK);
       delegate.project(fieldName);
+      delegate.countGroupByValue(fieldName);
     }
     return this;
   }
@@ -130,7 +131,7 @@ public class AvroComputeAggregationRequestBuilder<K> implements ComputeAggregati
     // Validate predicate types match field schema types
     validatePredicateTypes(bucketNameToPredicate, fieldNames);
 
-    // Store bucket predicates for each field and project the field
+    // Store bucket predicates for each field, project the field and count its values on the storage nodes
     for (String fieldName: fieldNames) {
       Map<String, Predicate> existingBuckets = fieldBucketMap.get(fieldName);
       if (existingBuckets == null) {
@@ -144,6 +145,8 @@ public class AvroComputeAggregationRequestBuilder<K> implements ComputeAggregati
       }
 
       delegate.project(fieldName);
+      // The bucket counts are derived from the value counts
+      delegate.countGroupByValue(fieldName);
     }
     return this;
   }
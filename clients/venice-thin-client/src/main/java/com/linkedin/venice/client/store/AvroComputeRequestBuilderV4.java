@@ -35,8 +35,12 @@ public class AvroComputeRequestBuilderV4<K> extends AvroComputeRequestBuilderV3<
       StreamingCallback<GenericRecord, GenericRecord> callback) {
     byte[] prefixBytes = extractKeyPrefixBytesFromPredicate(requiredPrefixFields, storeClient.getKeySchema());
     SchemaAndToString resultSchema = getResultSchema();
+    checkResultSelectionValidity(resultSchema.getSchema());
     ComputeRequestWrapper computeRequestWrapper = generateComputeRequest(resultSchema, true);
-    storeClient.computeWithKeyPrefixFilter(prefixBytes, computeRequestWrapper, callback);
+    storeClient.computeWithKeyPrefixFilter(
+        prefixBytes,
+        computeRequestWrapper,
+        wrapWithResultSelection(callback, resultSchema.getSchema()));
   }
 
   private byte[] extractKeyPrefixBytesFromPredicate(Predicate<GenericRecord> requiredPrefixFields, Schema keySchema) {
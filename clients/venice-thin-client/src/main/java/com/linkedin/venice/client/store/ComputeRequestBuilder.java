@@ -69,6 +69,43 @@ public interface ComputeRequestBuilder<K> extends ExecutableRequestBuilder<K, Ma
       List<Float> hadamardProductParam,
       String resultFieldName);
 
+  /**
+   * Only returns the records whose field satisfies the predicate, which is evaluated by the storage nodes so that the
+   * other records are not sent back. The keys of the records left out are reported as non-existing.
+   *
+   * This experimental feature is subject to backwards-incompatible changes in the future.
+   *
+   * @param fieldName : top-level field in the response record, either a projected field or the result field of another
+   *                    operation
+   * @param predicate : int, float or double predicate comparing the field to a threshold, e.g.
+   *                    {@link com.linkedin.venice.client.store.predicate.FloatPredicate#greaterThan(float)}
+   * @return
+   */
+  @Experimental
+  default ComputeRequestBuilder<K> filter(String fieldName, Predicate predicate) {
+    throw new VeniceClientException(
+        "Please use AvroGenericStoreClient#compute() to generate a Compute Request Builder");
+  }
+
+  /**
+   * Only returns the k records with the highest values of the given field, which each storage node selects among the
+   * keys it serves, so that the other records are not sent back. The keys of the records left out are reported as
+   * non-existing. Since the final selection requires all the records, the selected ones are only passed to the
+   * {@link StreamingCallback} once the request completes.
+   *
+   * This experimental feature is subject to backwards-incompatible changes in the future.
+   *
+   * @param fieldName : numeric top-level field in the response record, either a projected field or the result field of
+   *                    another operation
+   * @param k : the maximum number of records to return
+   * @return
+   */
+  @Experimental
+  default ComputeRequestBuilder<K> topK(String fieldName, int k) {
+    throw new VeniceClientException(
+        "Please use AvroGenericStoreClient#compute() to generate a Compute Request Builder");
+  }
+
   /**
    * Send compute request to Venice, and this should be the last step of the compute specification.
    * The difference between this function and the previous {@link #execute(Set)} is that this function will return
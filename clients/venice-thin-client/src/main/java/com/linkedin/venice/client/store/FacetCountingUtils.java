@@ -5,8 +5,12 @@ import com.linkedin.venice.client.store.predicate.FloatPredicate;
 import com.linkedin.venice.client.store.predicate.IntPredicate;
 import com.linkedin.venice.client.store.predicate.LongPredicate;
 import com.linkedin.venice.client.store.predicate.Predicate;
+import com.linkedin.venice.compute.ValueCountAggregator;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
@@ -18,6 +22,16 @@ import org.apache.avro.util.Utf8;
  * that can be used by thin-client, fast-client, and server components.
  */
 public class FacetCountingUtils {
+  private static final String VALUE_COUNTS_FIELD_NAME_PREFIX = "__veniceValueCounts_";
+
+  /**
+   * @return the name of the result field carrying the counts of the values of the field, as computed by the storage
+   *         nodes, see {@link ValueCountAggregator}.
+   */
+  public static String getValueCountsFieldName(String fieldName) {
+    return VALUE_COUNTS_FIELD_NAME_PREFIX + fieldName;
+  }
+
   /**
    * Get value counts for a single field with TopK filtering.
    * This is the original logic from AvroComputeAggregationResponse.getValueToCount() moved to Utils.
@@ -29,18 +43,7 @@ public class FacetCountingUtils {
    */
   public static <T> Map<T, Integer> getValueToCount(Iterable<? extends GenericRecord> records, String field, int topK) {
 
-    Map<T, Integer> valueToCount = new HashMap<>();
-
-    for (GenericRecord record: records) {
-      Object value = record.get(field);
-      // Convert Utf8 to String for consistent behavior
-      if (value instanceof Utf8) {
-        value = value.toString();
-      }
-      @SuppressWarnings("unchecked")
-      T key = (T) value;
-      valueToCount.merge(key, 1, Integer::sum);
-    }
+    Map<T, Integer> valueToCount = getAllValueToCount(records, field);
 
     // Sort by count in descending order
     Map<T, Integer> sortedMap = valueToCount.entrySet()
@@ -72,23 +75,14 @@ public class FacetCountingUtils {
       bucketCounts.put(bucketName, 0);
     }
 
-    // Process all records and count bucket matches
-    for (GenericRecord record: records) {
-      if (record == null) {
-        continue;
-      }
-
-      Object fieldValue = record.get(fieldName);
-      if (fieldValue == null) {
+    // Process all distinct values and count bucket matches
+    Map<Object, Integer> valueToCount = getAllValueToCount(records, fieldName);
+    for (Map.Entry<Object, Integer> valueEntry: valueToCount.entrySet()) {
+      Object convertedValue = valueEntry.getKey();
+      if (convertedValue == null) {
         continue;
       }
 
-      // Convert field value if needed (Utf8 to String)
-      Object convertedValue = fieldValue;
-      if (fieldValue instanceof Utf8) {
-        convertedValue = fieldValue.toString();
-      }
-
       // Check which bucket(s) this value falls into
       for (Map.Entry<String, Predicate> bucketEntry: buckets.entrySet()) {
         String bucketName = bucketEntry.getKey();
@@ -110,7 +104,7 @@ public class FacetCountingUtils {
           if (valueToEvaluate != null) {
             boolean matches = predicate.evaluate(valueToEvaluate);
             if (matches) {
-              bucketCounts.merge(bucketName, 1, Integer::sum);
+              bucketCounts.merge(bucketName, valueEntry.getValue(), Integer::sum);
             }
           }
         } catch (ClassCastException | NumberFormatException e) {
@@ -123,6 +117,45 @@ public class FacetCountingUtils {
     return bucketCounts;
   }
 
+  /**
+   * Counts the occurrences of each distinct value of the field, with {@link Utf8} converted to {@link String}. The
+   * records aggregated remotely are only represented by one of them, which carries their value counts, see
+   * {@link AbstractAvroComputeRequestBuilder#countGroupByValue}, while the others are counted one by one. The counts of
+   * several such records, e.g. when the fast client retries a part of the keys, are summed up.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> Map<T, Integer> getAllValueToCount(Iterable<? extends GenericRecord> records, String field) {
+    Map<T, Integer> valueToCount = new HashMap<>();
+    String valueCountsFieldName = getValueCountsFieldName(field);
+    RecordDeserializer<Object> valueDeserializer = null;
+
+    for (GenericRecord record: records) {
+      if (record == null) {
+        continue;
+      }
+      Schema schema = record.getSchema();
+      Schema.Field valueCountsField = schema == null ? null : schema.getField(valueCountsFieldName);
+      Object valueCounts = valueCountsField == null ? null : record.get(valueCountsField.pos());
+      if (valueCounts != null) {
+        if (valueDeserializer == null) {
+          valueDeserializer = SerializerDeserializerFactory.getAvroGenericDeserializer(schema.getField(field).schema());
+        }
+        ValueCountAggregator.mergeResult((List<GenericRecord>) valueCounts, valueDeserializer, valueToCount);
+        continue;
+      }
+
+      Object value = record.get(field);
+      // Convert Utf8 to String for consistent behavior
+      if (value instanceof Utf8) {
+        value = value.toString();
+      }
+      @SuppressWarnings("unchecked")
+      T key = (T) value;
+      valueToCount.merge(key, 1, Integer::sum);
+    }
+    return valueToCount;
+  }
+
   /**
    * Generic method to convert value to the target type for predicate evaluation.
    * Supports Integer, Long, Float, and Double conversions.
@@ -0,0 +1,78 @@
+package com.linkedin.venice.client.store;
+
+import com.linkedin.venice.client.store.predicate.Predicate;
+import com.linkedin.venice.client.store.streaming.DelegatingTrackingCallback;
+import com.linkedin.venice.client.store.streaming.StreamingCallback;
+import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.TopKSelector;
+import com.linkedin.venice.utils.Pair;
+import java.util.List;
+import java.util.Optional;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * Applies the filter and top-k operations of a compute request to the records received by the client. The records
+ * computed remotely are already filtered by the storage nodes, and their top-k selections are merged by the router, or
+ * by the fast client, so that this is a no-op for them. The records computed locally (e.g. by Da Vinci, or when falling
+ * back to multi-get), however, are neither filtered nor selected before reaching this callback, and neither are the
+ * results of a request whose keys are split in several ones, e.g. by the retries of the fast client.
+ *
+ * Since the top k records are only known once all of them have been received, they are passed to the inner callback
+ * upon completion, while the other records are reported as non-existing as soon as they are left out.
+ */
+class ResultSelectingStreamingCallback<K, V extends GenericRecord> extends DelegatingTrackingCallback<K, V> {
+  private final Predicate<GenericRecord> filter;
+  private final Schema.Field topKField;
+  private final TopKSelector<Pair<K, V>> topKSelector;
+
+  /**
+   * @param filter the predicate which the records must satisfy, or null if there is none.
+   * @param topKField the field which the top-k operation ranks the records by, or null if there is none.
+   */
+  ResultSelectingStreamingCallback(
+      StreamingCallback<K, V> inner,
+      Predicate<GenericRecord> filter,
+      Schema.Field topKField,
+      int k) {
+    super(inner);
+    this.filter = filter;
+    this.topKField = topKField;
+    this.topKSelector = topKField == null ? null : new TopKSelector<>(k);
+  }
+
+  @Override
+  public void onRecordReceived(K key, V value) {
+    if (value != null && filter != null && !filter.evaluate(value)) {
+      value = null;
+    }
+    if (value != null && topKSelector != null) {
+      Pair<K, V> leftOutRecord;
+      // The records could be received in parallel
+      synchronized (topKSelector) {
+        leftOutRecord = topKSelector.offer(new Pair<>(key, value), ComputeUtils.getTopKScore(value, topKField));
+      }
+      if (leftOutRecord == null) {
+        return;
+      }
+      key = leftOutRecord.getFirst();
+      value = null;
+    }
+    super.onRecordReceived(key, value);
+  }
+
+  @Override
+  public void onCompletion(Optional<Exception> exception) {
+    if (topKSelector != null) {
+      List<Pair<K, V>> selectedRecords;
+      synchronized (topKSelector) {
+        selectedRecords = topKSelector.getSelectedItems();
+      }
+      for (Pair<K, V> record: selectedRecords) {
+        super.onRecordReceived(record.getFirst(), record.getSecond());
+      }
+    }
+    super.onCompletion(exception);
+  }
+}
@@ -0,0 +1,134 @@
+package com.linkedin.venice.client.store.predicate;
+
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.Filter;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * Converts the predicates of the filter compute operation to and from their {@link Filter} wire format, so that the
+ * storage nodes evaluate the very same predicate as the one specified by the client.
+ *
+ * Only the comparisons of int, float and double fields with a threshold are supported, which is what filtering the
+ * records on the result of another compute operation requires.
+ */
+public final class ComputeFilterPredicates {
+  private static final int INT_GREATER_THAN = 0;
+  private static final int INT_GREATER_OR_EQUALS = 1;
+  private static final int INT_LOWER_THAN = 2;
+  private static final int INT_LOWER_OR_EQUALS = 3;
+  private static final int FLOAT_GREATER_THAN = 4;
+  private static final int FLOAT_GREATER_OR_EQUALS = 5;
+  private static final int FLOAT_LOWER_THAN = 6;
+  private static final int FLOAT_LOWER_OR_EQUALS = 7;
+  private static final int DOUBLE_GREATER_THAN = 8;
+  private static final int DOUBLE_GREATER_OR_EQUALS = 9;
+  private static final int DOUBLE_LOWER_THAN = 10;
+  private static final int DOUBLE_LOWER_OR_EQUALS = 11;
+
+  private ComputeFilterPredicates() {
+  }
+
+  public static Filter toFilter(String fieldName, Predicate predicate) {
+    Filter filter = (Filter) ComputeOperationType.FILTER.getNewInstance();
+    filter.field = fieldName;
+    if (predicate instanceof IntGreaterThanPredicate) {
+      setPredicate(filter, INT_GREATER_THAN, ((IntGreaterThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof IntGreaterOrEqualsPredicate) {
+      setPredicate(filter, INT_GREATER_OR_EQUALS, ((IntGreaterOrEqualsPredicate) predicate).getThreshold());
+    } else if (predicate instanceof IntLowerThanPredicate) {
+      setPredicate(filter, INT_LOWER_THAN, ((IntLowerThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof IntLowerOrEqualsPredicate) {
+      setPredicate(filter, INT_LOWER_OR_EQUALS, ((IntLowerOrEqualsPredicate) predicate).getThreshold());
+    } else if (predicate instanceof FloatGreaterThanPredicate) {
+      setPredicate(filter, FLOAT_GREATER_THAN, ((FloatGreaterThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof FloatGreaterOrEqualsPredicate) {
+      setPredicate(filter, FLOAT_GREATER_OR_EQUALS, ((FloatGreaterOrEqualsPredicate) predicate).getThreshold());
+    } else if (predicate instanceof FloatLowerThanPredicate) {
+      setPredicate(filter, FLOAT_LOWER_THAN, ((FloatLowerThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof FloatLowerOrEqualsPredicate) {
+      setPredicate(filter, FLOAT_LOWER_OR_EQUALS, ((FloatLowerOrEqualsPredicate) predicate).getThreshold());
+    } else if (predicate instanceof DoubleGreaterThanPredicate) {
+      setPredicate(filter, DOUBLE_GREATER_THAN, ((DoubleGreaterThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof DoubleGreaterOrEqualsPredicate) {
+      setPredicate(filter, DOUBLE_GREATER_OR_EQUALS, ((DoubleGreaterOrEqualsPredicate) predicate).getThreshold());
+    } else if (predicate instanceof DoubleLowerThanPredicate) {
+      setPredicate(filter, DOUBLE_LOWER_THAN, ((DoubleLowerThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof DoubleLowerOrEqualsPredicate) {
+      setPredicate(filter, DOUBLE_LOWER_OR_EQUALS, ((DoubleLowerOrEqualsPredicate) predicate).getThreshold());
+    } else {
+      throw new VeniceClientException(
+          "Unsupported filter predicate: " + predicate
+              + ". Only the int, float and double greater/lower than/or equals predicates are supported");
+    }
+    return filter;
+  }
+
+  /**
+   * @return the predicate which the result records must satisfy, or null if the request has no filter operation.
+   */
+  public static Predicate<GenericRecord> getResultRecordPredicate(List<ComputeOperation> operations) {
+    List<Predicate<GenericRecord>> predicates = new ArrayList<>();
+    for (ComputeOperation operation: operations) {
+      if (ComputeOperationType.valueOf(operation) == ComputeOperationType.FILTER) {
+        predicates.add(toResultRecordPredicate((Filter) operation.operation));
+      }
+    }
+    if (predicates.isEmpty()) {
+      return null;
+    }
+    return predicates.size() == 1 ? predicates.get(0) : Predicate.and(predicates.toArray(new Predicate[0]));
+  }
+
+  public static Predicate<GenericRecord> toResultRecordPredicate(Filter filter) {
+    return Predicate.equalTo(filter.field.toString(), toFieldPredicate(filter));
+  }
+
+  /**
+   * @return whether the predicate of the filter applies to a field of the given schema.
+   */
+  public static boolean isCompatibleWithSchema(Filter filter, Schema fieldSchema) {
+    return toFieldPredicate(filter).isCompatibleWithSchema(fieldSchema);
+  }
+
+  private static Predicate toFieldPredicate(Filter filter) {
+    switch (filter.predicateType) {
+      case INT_GREATER_THAN:
+        return IntPredicate.greaterThan((int) filter.threshold);
+      case INT_GREATER_OR_EQUALS:
+        return IntPredicate.greaterOrEquals((int) filter.threshold);
+      case INT_LOWER_THAN:
+        return IntPredicate.lowerThan((int) filter.threshold);
+      case INT_LOWER_OR_EQUALS:
+        return IntPredicate.lowerOrEquals((int) filter.threshold);
+      case FLOAT_GREATER_THAN:
+        return FloatPredicate.greaterThan((float) filter.threshold);
+      case FLOAT_GREATER_OR_EQUALS:
+        return FloatPredicate.greaterOrEquals((float) filter.threshold);
+      case FLOAT_LOWER_THAN:
+        return FloatPredicate.lowerThan((float) filter.threshold);
+      case FLOAT_LOWER_OR_EQUALS:
+        return FloatPredicate.lowerOrEquals((float) filter.threshold);
+      case DOUBLE_GREATER_THAN:
+        return DoublePredicate.greaterThan(filter.threshold);
+      case DOUBLE_GREATER_OR_EQUALS:
+        return DoublePredicate.greaterOrEquals(filter.threshold);
+      case DOUBLE_LOWER_THAN:
+        return DoublePredicate.lowerThan(filter.threshold);
+      case DOUBLE_LOWER_OR_EQUALS:
+        return DoublePredicate.lowerOrEquals(filter.threshold);
+      default:
+        throw new VeniceClientException("Unsupported filter predicate type: " + filter.predicateType);
+    }
+  }
+
+  private static void setPredicate(Filter filter, int predicateType, double threshold) {
+    filter.predicateType = predicateType;
+    filter.threshold = threshold;
+  }
+}
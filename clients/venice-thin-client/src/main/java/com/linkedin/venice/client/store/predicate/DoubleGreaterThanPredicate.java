@@ -15,6 +15,10 @@ public class DoubleGreaterThanPredicate implements DoublePredicate {
     this.epsilon = epsilon;
   }
 
+  double getThreshold() {
+    return threshold;
+  }
+
   @Override
   public boolean evaluate(double value) {
     return (value - threshold) > epsilon;
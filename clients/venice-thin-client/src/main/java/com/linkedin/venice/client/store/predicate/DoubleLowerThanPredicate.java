@@ -15,6 +15,10 @@ public class DoubleLowerThanPredicate implements DoublePredicate {
     this.epsilon = epsilon;
   }
 
+  double getThreshold() {
+    return threshold;
+  }
+
   @Override
   public boolean evaluate(double value) {
     return (threshold - value) > epsilon;
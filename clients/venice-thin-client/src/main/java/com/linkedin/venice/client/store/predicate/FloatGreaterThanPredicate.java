@@ -15,6 +15,10 @@ public class FloatGreaterThanPredicate implements FloatPredicate {
     this.epsilon = epsilon;
   }
 
+  float getThreshold() {
+    return threshold;
+  }
+
   @Override
   public boolean evaluate(float value) {
     return (value - threshold) > epsilon;
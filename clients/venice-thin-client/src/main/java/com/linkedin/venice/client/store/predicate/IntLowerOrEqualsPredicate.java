@@ -7,6 +7,10 @@ public class IntLowerOrEqualsPredicate implements IntPredicate {
     this.threshold = threshold;
   }
 
+  int getThreshold() {
+    return threshold;
+  }
+
   @Override
   public boolean evaluate(int value) {
     return value <= threshold;
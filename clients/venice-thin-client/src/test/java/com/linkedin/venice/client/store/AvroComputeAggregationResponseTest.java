@@ -8,18 +8,25 @@ import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.expectThrows;
 import static org.testng.Assert.fail;
 
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.venice.client.store.predicate.DoublePredicate;
 import com.linkedin.venice.client.store.predicate.FloatPredicate;
 import com.linkedin.venice.client.store.predicate.IntPredicate;
 import com.linkedin.venice.client.store.predicate.LongPredicate;
 import com.linkedin.venice.client.store.predicate.Predicate;
+import com.linkedin.venice.compute.ValueCountAggregator;
+import com.linkedin.venice.compute.protocol.request.CountGroupByValue;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.util.Utf8;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -246,6 +253,72 @@ public class AvroComputeAggregationResponseTest {
     System.identityHashCode((Integer) firstKey);
   }
 
+  @Test(description = "Should merge the value counts aggregated by the storage nodes with the other records")
+  public void testValueCountsMerging() {
+    String jobTypeCountsField = FacetCountingUtils.getValueCountsFieldName(JOB_TYPE_FIELD);
+    String ageCountsField = FacetCountingUtils.getValueCountsFieldName(AGE_FIELD);
+    Schema resultSchema = Schema.createRecord("Result", "", "", false);
+    resultSchema.setFields(
+        Arrays.asList(
+            AvroCompatibilityHelper.createSchemaField(JOB_TYPE_FIELD, Schema.create(Schema.Type.STRING), "", null),
+            AvroCompatibilityHelper.createSchemaField(AGE_FIELD, Schema.create(Schema.Type.INT), "", null),
+            AvroCompatibilityHelper
+                .createSchemaField(jobTypeCountsField, ValueCountAggregator.RESULT_SCHEMA, "", null),
+            AvroCompatibilityHelper.createSchemaField(ageCountsField, ValueCountAggregator.RESULT_SCHEMA, "", null)));
+
+    // A storage node aggregates three records into the first one
+    ValueCountAggregator jobTypeAggregator =
+        new ValueCountAggregator(createCountGroupByValue(JOB_TYPE_FIELD, jobTypeCountsField), resultSchema);
+    ValueCountAggregator ageAggregator =
+        new ValueCountAggregator(createCountGroupByValue(AGE_FIELD, ageCountsField), resultSchema);
+    GenericRecord carrier = createResultRecord(resultSchema, "full-time", 25);
+    for (GenericRecord record: Arrays.asList(
+        carrier,
+        createResultRecord(resultSchema, "full-time", 30),
+        createResultRecord(resultSchema, "part-time", 25))) {
+      jobTypeAggregator.add(record);
+      ageAggregator.add(record);
+    }
+    jobTypeAggregator.putResult(carrier);
+    ageAggregator.putResult(carrier);
+
+    Map<String, ComputeGenericRecord> data = new HashMap<>();
+    data.put("job1", new ComputeGenericRecord(carrier, resultSchema));
+    // Another record is computed without being aggregated, e.g. by Da Vinci
+    data.put("job4", new ComputeGenericRecord(createResultRecord(resultSchema, "full-time", 40), resultSchema));
+
+    Map<String, Map<String, Predicate>> fieldBucketMap = new HashMap<>();
+    Map<String, Predicate> ageBuckets = new HashMap<>();
+    ageBuckets.put("young", IntPredicate.lowerThan(30));
+    ageBuckets.put("senior", IntPredicate.greaterOrEquals(30));
+    fieldBucketMap.put(AGE_FIELD, ageBuckets);
+    AvroComputeAggregationResponse<String> response =
+        new AvroComputeAggregationResponse<>(data, Collections.singletonMap(JOB_TYPE_FIELD, 10), fieldBucketMap);
+
+    Map<String, Integer> valueToCount = response.getValueToCount(JOB_TYPE_FIELD);
+    assertEquals(valueToCount.size(), 2);
+    assertEquals(valueToCount.get("full-time"), Integer.valueOf(3));
+    assertEquals(valueToCount.get("part-time"), Integer.valueOf(1));
+
+    Map<String, Integer> bucketCounts = response.getBucketNameToCount(AGE_FIELD);
+    assertEquals(bucketCounts.get("young"), Integer.valueOf(2));
+    assertEquals(bucketCounts.get("senior"), Integer.valueOf(2));
+  }
+
+  private static CountGroupByValue createCountGroupByValue(String field, String resultFieldName) {
+    CountGroupByValue countGroupByValue = new CountGroupByValue();
+    countGroupByValue.field = field;
+    countGroupByValue.resultFieldName = resultFieldName;
+    return countGroupByValue;
+  }
+
+  private static GenericRecord createResultRecord(Schema resultSchema, String jobType, int age) {
+    GenericRecord record = new GenericData.Record(resultSchema);
+    record.put(JOB_TYPE_FIELD, new Utf8(jobType));
+    record.put(AGE_FIELD, age);
+    return record;
+  }
+
   // ========== countByBucket Tests ==========
 
   @Test(description = "Should handle all IntPredicate methods correctly")
@@ -2,9 +2,12 @@ package com.linkedin.venice.client.store.predicate;
 
 import static com.linkedin.venice.client.store.predicate.Predicate.and;
 import static com.linkedin.venice.client.store.predicate.Predicate.equalTo;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.compute.protocol.request.Filter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -540,4 +543,28 @@ public class PredicateTest {
     assertTrue(DoublePredicate.equalTo(d1, depsilon).evaluate(d2)); // Exact equality
     assertTrue(DoublePredicate.equalTo(d1, depsilon).evaluate(d3)); // Within epsilon
   }
+
+  @Test
+  public void testComputeFilterPredicatesRoundTrip() {
+    GenericRecord keyRecord = new GenericData.Record(KEY_SCHEMA);
+    keyRecord.put("stringField", STRING_FIELD_VALUE);
+    keyRecord.put("intField", INT_FIELD_VALUE);
+    keyRecord.put("floatArrayField", FLOAT_ARRAY_FIELD_VALUE);
+
+    Filter filter = ComputeFilterPredicates.toFilter("intField", IntPredicate.greaterThan(INT_FIELD_VALUE - 1));
+    assertTrue(ComputeFilterPredicates.toResultRecordPredicate(filter).evaluate(keyRecord));
+    assertTrue(ComputeFilterPredicates.isCompatibleWithSchema(filter, Schema.create(Schema.Type.INT)));
+    assertFalse(ComputeFilterPredicates.isCompatibleWithSchema(filter, Schema.create(Schema.Type.STRING)));
+
+    filter = ComputeFilterPredicates.toFilter("intField", IntPredicate.lowerThan(INT_FIELD_VALUE));
+    assertFalse(ComputeFilterPredicates.toResultRecordPredicate(filter).evaluate(keyRecord));
+
+    filter = ComputeFilterPredicates.toFilter("score", FloatPredicate.greaterOrEquals(0.5f));
+    assertEquals(filter.threshold, 0.5);
+    assertTrue(ComputeFilterPredicates.isCompatibleWithSchema(filter, Schema.create(Schema.Type.FLOAT)));
+
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> ComputeFilterPredicates.toFilter("stringField", Predicate.equalTo("stringField", STRING_FIELD_VALUE)));
+  }
 }
@@ -21,6 +21,12 @@ public class HttpConstants {
   public static final String VENICE_SCHEMA_ID = "X-VENICE-SCHEMA-ID";
   public static final String VENICE_REQUEST_RCU = "X-VENICE-RCU";
   public static final String VENICE_RETRY = "X-VENICE-RETRY";
+  /**
+   * The time in ms after which the sender stops waiting for the response, which the server uses as the deadline of the
+   * request. It is relative to when the server receives the request rather than an absolute timestamp, since the clocks
+   * of the hosts are not synchronized.
+   */
+  public static final String VENICE_REQUEST_TIMEOUT_MS = "X-VENICE-REQUEST-TIMEOUT-MS";
 
   public static final String VENICE_COMPRESSION_STRATEGY = "X-VENICE-COMPRESSION-STRATEGY";
   /**
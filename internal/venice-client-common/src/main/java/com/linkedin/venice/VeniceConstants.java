@@ -34,6 +34,11 @@ public class VeniceConstants {
    */
   public static final int COMPUTE_REQUEST_VERSION_V4 = 4;
 
+  /**
+   * V5 contains all V3 operators + topK, filter and countGroupByValue
+   */
+  public static final int COMPUTE_REQUEST_VERSION_V5 = 5;
+
   /**
    * The default SSL factory class name; this class is mostly used in test cases; products that uses Venice lib
    * should override the SSL factory class.
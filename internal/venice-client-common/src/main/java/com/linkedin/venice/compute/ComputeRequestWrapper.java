@@ -1,9 +1,13 @@
 package com.linkedin.venice.compute;
 
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V3;
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V5;
 import static com.linkedin.venice.serializer.FastSerializerDeserializerFactory.getFastAvroGenericSerializer;
 
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV3;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV5;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
 import com.linkedin.venice.serializer.RecordSerializer;
 import java.util.List;
 import org.apache.avro.Schema;
@@ -13,17 +17,22 @@ import org.apache.avro.Schema;
  * This class is used by the client to encapsulate the information it needs about a compute request.
  *
  * N.B.: This class used to contain multiple versions of the {@link ComputeRequestV3} but it was not necessary
- * since all the versions were anyway compatible with one another. We are now keeping only the latest version
- * used on the wire, which is 3 (version 4 was never used as a wire protocol). We can always revisit this if
- * the need to evolve read compute comes into play.
+ * since all the versions were anyway compatible with one another. Requests are sent with version 3 (version 4 was
+ * never used as a wire protocol), unless they use one of the operations only found in {@link ComputeRequestV5}, see
+ * {@link ComputeOperationType#getComputeRequestVersion()}. This way, only the requests using these operations depend
+ * on the routers and servers being able to decode version 5.
  */
 public class ComputeRequestWrapper {
-  public static final int LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST = 3;
+  public static final int LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST = COMPUTE_REQUEST_VERSION_V5;
 
-  private static final RecordSerializer<ComputeRequestV3> SERIALIZER =
+  private static final RecordSerializer<ComputeRequestV3> SERIALIZER_V3 =
       getFastAvroGenericSerializer(ComputeRequestV3.SCHEMA$);
+  private static final RecordSerializer<ComputeRequestV5> SERIALIZER_V5 =
+      getFastAvroGenericSerializer(ComputeRequestV5.SCHEMA$);
 
-  private final ComputeRequestV3 computeRequest;
+  private final CharSequence resultSchemaStr;
+  private final List<ComputeOperation> operations;
+  private final int computeRequestVersion;
   private final int valueSchemaId;
   private final Schema valueSchema;
   private final List<Schema.Field> operationResultFields;
@@ -36,9 +45,13 @@ public class ComputeRequestWrapper {
       String resultSchemaString,
       List<ComputeOperation> operations,
       boolean originallyStreaming) {
-    this.computeRequest = new ComputeRequestV3();
-    this.computeRequest.setResultSchemaStr(resultSchemaString);
-    this.computeRequest.setOperations((List) operations);
+    this.resultSchemaStr = resultSchemaString;
+    this.operations = operations;
+    int version = COMPUTE_REQUEST_VERSION_V3;
+    for (ComputeOperation operation: operations) {
+      version = Math.max(version, ComputeOperationType.valueOf(operation).getComputeRequestVersion());
+    }
+    this.computeRequestVersion = version;
     this.valueSchemaId = valueSchemaId;
     this.valueSchema = valueSchema;
     this.operationResultFields = ComputeUtils.getOperationResultFields(operations, resultSchema);
@@ -46,11 +59,28 @@ public class ComputeRequestWrapper {
   }
 
   public byte[] serialize() {
-    return SERIALIZER.serialize(this.computeRequest);
+    if (this.computeRequestVersion == COMPUTE_REQUEST_VERSION_V5) {
+      ComputeRequestV5 computeRequest = new ComputeRequestV5();
+      computeRequest.setResultSchemaStr(this.resultSchemaStr);
+      computeRequest.setOperations((List) this.operations);
+      return SERIALIZER_V5.serialize(computeRequest);
+    }
+    ComputeRequestV3 computeRequest = new ComputeRequestV3();
+    computeRequest.setResultSchemaStr(this.resultSchemaStr);
+    computeRequest.setOperations((List) this.operations);
+    return SERIALIZER_V3.serialize(computeRequest);
   }
 
   public CharSequence getResultSchemaStr() {
-    return this.computeRequest.getResultSchemaStr();
+    return this.resultSchemaStr;
+  }
+
+  /**
+   * @return the version of the compute request protocol which {@link #serialize()} encodes the request with, to be
+   *         passed along in the API version header.
+   */
+  public int getComputeRequestVersion() {
+    return this.computeRequestVersion;
   }
 
   public int getValueSchemaID() {
@@ -62,7 +92,7 @@ public class ComputeRequestWrapper {
   }
 
   public List<ComputeOperation> getOperations() {
-    return (List) this.computeRequest.getOperations();
+    return this.operations;
   }
 
   public List<Schema.Field> getOperationResultFields() {
@@ -0,0 +1,121 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.TopK;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * Merges the partial results of a compute request, which each storage node computes for the keys it serves, so that
+ * the whole request returns no more records than a single storage node would. This is needed by two operations:
+ *
+ * 1. The count-group-by-value operations, whose partial counts are summed up into the first record carrying them,
+ *    see {@link ValueCountAggregator}, the other records being left out. They take precedence over the top-k
+ *    operation, like on the storage nodes.
+ * 2. The top-k operation, whose partial selections are merged with a {@link TopKSelector} in order to only keep the
+ *    k records with the highest scores among all the keys.
+ *
+ * This class is thread-safe, so that the partial results can be added as soon as they are received.
+ *
+ * @param <T> the type of the items carrying the result records, e.g. serialized compute response records.
+ */
+public class ComputeResultMerger<T> {
+  private final Schema resultSchema;
+  private final List<ValueCountAggregator> valueCountAggregators;
+  private final BiFunction<T, GenericRecord, T> resultRecordUpdater;
+  /** Null if the request has count-group-by-value operations. */
+  private final TopKSelector<T> topKSelector;
+  private final Schema.Field topKField;
+  private T carrierItem;
+  private GenericRecord carrierRecord;
+
+  private ComputeResultMerger(
+      List<ComputeOperation> operations,
+      Schema resultSchema,
+      BiFunction<T, GenericRecord, T> resultRecordUpdater) {
+    this.resultSchema = resultSchema;
+    this.valueCountAggregators = ValueCountAggregator.createAggregators(operations, resultSchema);
+    this.resultRecordUpdater = resultRecordUpdater;
+    TopK topK = ComputeUtils.getTopK(operations);
+    if (topK == null || !valueCountAggregators.isEmpty()) {
+      this.topKSelector = null;
+      this.topKField = null;
+    } else {
+      this.topKSelector = new TopKSelector<>(topK.k);
+      this.topKField = resultSchema.getField(topK.field.toString());
+    }
+  }
+
+  /**
+   * @return true if the partial results of a request with the given operations need to be merged, false otherwise.
+   */
+  public static boolean isMergeRequired(List<ComputeOperation> operations) {
+    for (ComputeOperation operation: operations) {
+      ComputeOperationType operationType = ComputeOperationType.valueOf(operation);
+      if (operationType == ComputeOperationType.TOP_K || operationType == ComputeOperationType.COUNT_GROUP_BY_VALUE) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param resultRecordUpdater updates an item with its result record, once the merged counts have been put into it,
+   *                            e.g. by serializing the record again.
+   * @return a merger of the partial results of a request with the given operations, or null if they need no merging.
+   */
+  public static <T> ComputeResultMerger<T> create(
+      List<ComputeOperation> operations,
+      Schema resultSchema,
+      BiFunction<T, GenericRecord, T> resultRecordUpdater) {
+    if (!isMergeRequired(operations)) {
+      return null;
+    }
+    return new ComputeResultMerger<>(operations, resultSchema, resultRecordUpdater);
+  }
+
+  public Schema getResultSchema() {
+    return resultSchema;
+  }
+
+  /**
+   * @param item the item carrying the result record, which is held until {@link #getResult()} unless it is left out.
+   * @param resultRecord the result record, which must not be reused since it may be updated by {@link #getResult()}.
+   * @return the item which is not, or no longer, part of the merged result, if any, or null otherwise.
+   */
+  public synchronized T add(T item, GenericRecord resultRecord) {
+    if (topKSelector != null) {
+      return topKSelector.offer(item, ComputeUtils.getTopKScore(resultRecord, topKField));
+    }
+    for (ValueCountAggregator aggregator: valueCountAggregators) {
+      aggregator.addResult(resultRecord);
+    }
+    if (carrierItem != null) {
+      return item;
+    }
+    carrierItem = item;
+    carrierRecord = resultRecord;
+    return null;
+  }
+
+  /**
+   * @return the items making up the merged result, from the highest top-k score to the lowest, if any.
+   */
+  public synchronized List<T> getResult() {
+    if (topKSelector != null) {
+      return topKSelector.getSelectedItems();
+    }
+    if (carrierItem == null) {
+      return Collections.emptyList();
+    }
+    for (ValueCountAggregator aggregator: valueCountAggregators) {
+      aggregator.putResult(carrierRecord);
+    }
+    return Collections.singletonList(resultRecordUpdater.apply(carrierItem, carrierRecord));
+  }
+}
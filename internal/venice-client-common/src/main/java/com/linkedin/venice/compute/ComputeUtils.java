@@ -6,11 +6,14 @@ import com.linkedin.avro.api.PrimitiveFloatList;
 import com.linkedin.venice.VeniceConstants;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequest;
-import com.linkedin.venice.compute.protocol.request.ComputeRequestV3;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV5;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.Count;
+import com.linkedin.venice.compute.protocol.request.CountGroupByValue;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.Filter;
 import com.linkedin.venice.compute.protocol.request.HadamardProduct;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.serializer.RecordDeserializer;
@@ -21,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +46,8 @@ import org.apache.logging.log4j.Logger;
 public class ComputeUtils {
   private static final Logger LOGGER = LogManager.getLogger(ComputeUtils.class);
   public static final String CACHED_SQUARED_L2_NORM_KEY = "CACHED_SQUARED_L2_NORM_KEY";
+  public static final String CACHED_FLOAT_ARRAY_PARAM_KEY = "CACHED_FLOAT_ARRAY_PARAM_KEY";
+  public static final String REUSABLE_FLOAT_ARRAY_KEY = "REUSABLE_FLOAT_ARRAY_KEY";
   public static final Pattern VALID_AVRO_NAME_PATTERN = Pattern.compile("\\A[A-Za-z_][A-Za-z0-9_]*\\z");
   public static final String ILLEGAL_AVRO_CHARACTER = "[^A-Za-z0-9_]";
   public static final String ILLEGAL_AVRO_CHARACTER_REPLACEMENT = "_";
@@ -49,7 +55,7 @@ public class ComputeUtils {
       RedundantExceptionFilter.getRedundantExceptionFilter();
 
   /**
-   * N.B.: This deserializer performs an evolution from the schema of {@link ComputeRequestV3} to that of
+   * N.B.: This deserializer performs an evolution from the schema of {@link ComputeRequestV5} to that of
    * {@link ComputeRequest}, with the only difference between the two being that the items of the operations list
    * in the former are defined as a union of one type, which unfortunately results in the SpecificRecord typing this
    * as a {@link List<Object>}. This is a design shortcoming, but which we cannot easily fix, since there are already
@@ -57,7 +63,7 @@ public class ComputeUtils {
    * which we can achieve by letting Avro do the evolution.
    */
   private static final RecordDeserializer<ComputeRequest> DESERIALIZER =
-      getFastAvroSpecificDeserializer(ComputeRequestV3.SCHEMA$, ComputeRequest.class);
+      getFastAvroSpecificDeserializer(ComputeRequestV5.SCHEMA$, ComputeRequest.class);
 
   public static ComputeRequest deserializeComputeRequest(BinaryDecoder decoder, ComputeRequest reuse) {
     return DESERIALIZER.deserialize(reuse, decoder);
@@ -71,6 +77,8 @@ public class ComputeUtils {
     final Map<String, Schema> valueFieldSchemaMap = new HashMap<>(valueSchema.getFields().size());
     valueSchema.getFields().forEach(f -> valueFieldSchemaMap.put(f.name(), f.schema()));
     Set<Pair<String, Schema.Type>> operationResultFields = new HashSet<>();
+    Set<String> selectionFields = new HashSet<>();
+    int topKCount = 0;
 
     for (ComputeOperation operation: operations) {
       switch (ComputeOperationType.valueOf(operation)) {
@@ -106,10 +114,38 @@ public class ComputeUtils {
           }
           operationResultFields.add(new Pair<>(count.resultFieldName.toString(), Schema.Type.UNION));
           break;
+        case TOP_K:
+          TopK topK = (TopK) operation.operation;
+          if (topK.k <= 0) {
+            throw new VeniceException("The k of the top-k operation must be positive, got: " + topK.k);
+          }
+          if (++topKCount > 1) {
+            throw new VeniceException("At most one top-k operation is supported per compute request");
+          }
+          selectionFields.add(topK.field.toString());
+          break;
+        case FILTER:
+          selectionFields.add(((Filter) operation.operation).field.toString());
+          break;
+        case COUNT_GROUP_BY_VALUE:
+          CountGroupByValue countGroupByValue = (CountGroupByValue) operation.operation;
+          if (!valueFieldSchemaMap.containsKey(countGroupByValue.field.toString())) {
+            throw new VeniceException(
+                "The field " + countGroupByValue.field.toString() + " being operated on is not in value schema");
+          }
+          // The values are read from the result record, in which the field must then be projected
+          selectionFields.add(countGroupByValue.field.toString());
+          operationResultFields.add(new Pair<>(countGroupByValue.resultFieldName.toString(), Schema.Type.UNION));
+          break;
         default:
           throw new VeniceException("Compute operation type " + operation.operationType + " not supported");
       }
     }
+    for (String selectionField: selectionFields) {
+      if (resultSchema.getField(selectionField) == null) {
+        throw new VeniceException("The field " + selectionField + " being selected on is not in result schema");
+      }
+    }
     for (Schema.Field resultField: resultSchema.getFields()) {
       /**
        * There is no need to compare whether the 'resultField' is exactly same as the corresponding one in the value schema,
@@ -198,11 +234,38 @@ public class ComputeUtils {
     for (int i = 0; i < operations.size(); i++) {
       computeOperation = operations.get(i);
       operator = ComputeOperationType.valueOf(computeOperation).getOperator();
-      operationResultFields.add(resultSchema.getField(operator.getResultFieldName(computeOperation)));
+      // Keep the result fields aligned with the operations, even though result selections have no result field
+      operationResultFields
+          .add(operator == null ? null : resultSchema.getField(operator.getResultFieldName(computeOperation)));
     }
     return operationResultFields;
   }
 
+  /**
+   * @return the top-k operation of the request, or null if there is none.
+   */
+  public static TopK getTopK(List<ComputeOperation> operations) {
+    for (ComputeOperation operation: operations) {
+      if (ComputeOperationType.valueOf(operation) == ComputeOperationType.TOP_K) {
+        return (TopK) operation.operation;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the score of the result record which the top-k operation ranks it by. A missing score, e.g. due to a
+   *         computation error, ranks below any other.
+   */
+  public static double getTopKScore(GenericRecord resultRecord, Schema.Field field) {
+    Object score = resultRecord.get(field.pos());
+    if (score instanceof Number) {
+      double value = ((Number) score).doubleValue();
+      return Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
+    }
+    return Double.NEGATIVE_INFINITY;
+  }
+
   private interface FloatSupplierByIndex {
     float get(int index);
   }
@@ -271,6 +334,97 @@ public class ComputeUtils {
     }
   }
 
+  /**
+   * The functions below are the primitive counterparts of the ones above, which read-compute operators use once their
+   * operands have been copied into primitive arrays, so that the hot loops neither box nor go through a virtual call
+   * per element, and can be unrolled and vectorized by the JIT compiler. They add up the products in the same order as
+   * the functions above, so that both return exactly the same results.
+   */
+  public static float dotProduct(float[] array1, float[] array2, int size) {
+    float dotProductResult = 0.0f;
+
+    int i = 0;
+    int limit = (size >> 2) << 2;
+    for (; i < limit; i += 4) {
+      float s0 = array1[i] * array2[i];
+      float s1 = array1[i + 1] * array2[i + 1];
+      float s2 = array1[i + 2] * array2[i + 2];
+      float s3 = array1[i + 3] * array2[i + 3];
+
+      dotProductResult += (s0 + s1 + s2 + s3);
+    }
+
+    for (; i < size; i++) {
+      dotProductResult += array1[i] * array2[i];
+    }
+    return dotProductResult;
+  }
+
+  public static float squaredL2Norm(float[] array, int size) {
+    return dotProduct(array, array, size);
+  }
+
+  public static List<Float> hadamardProduct(float[] array1, float[] array2, int size) {
+    float[] floats = new float[size];
+    // A plain element-wise loop, which the JIT compiler turns into SIMD instructions
+    for (int i = 0; i < size; i++) {
+      floats[i] = array1[i] * array2[i];
+    }
+    return CollectionUtils.asUnmodifiableList(floats);
+  }
+
+  /**
+   * Copies the elements of the {@param list} into {@param floats}, without boxing them if the list is a
+   * {@link PrimitiveFloatList}, which is what the deserializers produce for float arrays.
+   */
+  public static void copyToFloatArray(List<Float> list, float[] floats) {
+    int size = list.size();
+    if (list instanceof PrimitiveFloatList) {
+      PrimitiveFloatList primitiveFloatList = (PrimitiveFloatList) list;
+      for (int i = 0; i < size; i++) {
+        floats[i] = primitiveFloatList.getPrimitive(i);
+      }
+    } else {
+      for (int i = 0; i < size; i++) {
+        floats[i] = list.get(i);
+      }
+    }
+  }
+
+  /**
+   * @return the parameter of a compute operation as a primitive array. Since the same parameter is applied to every
+   *         key of the request, it is converted once, and cached in the {@param context} of the request.
+   */
+  public static float[] getParamAsFloatArray(List<Float> param, Map<String, Object> context) {
+    IdentityHashMap<List<Float>, float[]> cachedParams =
+        (IdentityHashMap<List<Float>, float[]>) context.get(CACHED_FLOAT_ARRAY_PARAM_KEY);
+    if (cachedParams == null) {
+      cachedParams = new IdentityHashMap<>();
+      context.put(CACHED_FLOAT_ARRAY_PARAM_KEY, cachedParams);
+    }
+    float[] floats = cachedParams.get(param);
+    if (floats == null) {
+      floats = new float[param.size()];
+      copyToFloatArray(param, floats);
+      cachedParams.put(param, floats);
+    }
+    return floats;
+  }
+
+  /**
+   * @return the value of a field as a primitive array, which is only valid until the next call, since it is reused
+   *         across all the keys sharing the same {@param context}. The array may be larger than the value.
+   */
+  public static float[] getValueAsReusableFloatArray(List<Float> value, Map<String, Object> context) {
+    float[] floats = (float[]) context.get(REUSABLE_FLOAT_ARRAY_KEY);
+    if (floats == null || floats.length < value.size()) {
+      floats = new float[value.size()];
+      context.put(REUSABLE_FLOAT_ARRAY_KEY, floats);
+    }
+    copyToFloatArray(value, floats);
+    return floats;
+  }
+
   /**
    *
    * @param record the record from which the value of the given field is extracted
@@ -355,6 +509,10 @@ public class ComputeUtils {
     for (int i = 0; i < operations.size(); i++) {
       computeOperation = operations.get(i);
       operator = ComputeOperationType.valueOf(computeOperation).getOperator();
+      if (operator == null) {
+        // Result selections are applied by the caller, once the result record is complete
+        continue;
+      }
       operatorFieldName = operator.getOperatorFieldName(computeOperation);
       operatorField = inputRecord.getSchema().getField(operatorFieldName);
       resultField = operationResultFields.get(i);
@@ -0,0 +1,64 @@
+package com.linkedin.venice.compute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+
+/**
+ * Keeps the k items with the highest scores among the ones offered to it, in order to execute the top-k compute
+ * operation. The same selection is applied by each storage node to the keys it serves, and then again to merge their
+ * partial results, which is correct since the global top k is necessarily made of partial top k items.
+ *
+ * This class is not thread-safe.
+ */
+public class TopKSelector<T> {
+  private final int k;
+  /** A min-heap, so that the lowest of the selected items is the first one to be evicted. */
+  private final PriorityQueue<ScoredItem<T>> selectedItems;
+
+  public TopKSelector(int k) {
+    this.k = k;
+    this.selectedItems = new PriorityQueue<>(Math.min(k, 1024), (a, b) -> Double.compare(a.score, b.score));
+  }
+
+  /**
+   * @return the item which is not, or no longer, among the top k, if any, or null otherwise.
+   */
+  public T offer(T item, double score) {
+    if (selectedItems.size() < k) {
+      selectedItems.add(new ScoredItem<>(item, score));
+      return null;
+    }
+    ScoredItem<T> lowest = selectedItems.peek();
+    if (score <= lowest.score) {
+      return item;
+    }
+    selectedItems.poll();
+    selectedItems.add(new ScoredItem<>(item, score));
+    return lowest.item;
+  }
+
+  /**
+   * @return the selected items, from the highest score to the lowest.
+   */
+  public List<T> getSelectedItems() {
+    List<ScoredItem<T>> sortedItems = new ArrayList<>(selectedItems);
+    sortedItems.sort((a, b) -> Double.compare(b.score, a.score));
+    List<T> items = new ArrayList<>(sortedItems.size());
+    for (ScoredItem<T> scoredItem: sortedItems) {
+      items.add(scoredItem.item);
+    }
+    return items;
+  }
+
+  private static class ScoredItem<T> {
+    private final T item;
+    private final double score;
+
+    ScoredItem(T item, double score) {
+      this.item = item;
+      this.score = score;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.CountGroupByValue;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+
+
+/**
+ * Executes the count-group-by-value compute operation, which counts the distinct values of a projected field among
+ * the records computed together, e.g. by a storage node for the keys of a request it serves. Rather than returning all
+ * these records, only one of them is, which carries the counts in the result field of the operation.
+ *
+ * The counts are keyed by the serialized values, which is what they are compared by, so that the counts of the
+ * partial aggregations can be merged by whoever receives them, without knowing the type of the values in advance, see
+ * {@link #addResult} and {@link ComputeResultMerger}.
+ *
+ * This class is not thread-safe.
+ */
+public class ValueCountAggregator {
+  private static final Schema VALUE_COUNT_SCHEMA = createValueCountSchema();
+  private static final int VALUE_POS = 0;
+  private static final int COUNT_POS = 1;
+
+  /**
+   * The schema of the result field of the operation. It is nullable since the records computed without aggregating
+   * them, e.g. by Da Vinci, do not carry any count.
+   */
+  public static final Schema RESULT_SCHEMA = Schema
+      .createUnion(Arrays.asList(Schema.create(Schema.Type.NULL), Schema.createArray(VALUE_COUNT_SCHEMA)));
+
+  private final Schema.Field field;
+  private final Schema.Field resultField;
+  private final RecordSerializer<Object> valueSerializer;
+  private final Map<ByteBuffer, Integer> valueToCount = new HashMap<>();
+
+  public ValueCountAggregator(CountGroupByValue countGroupByValue, Schema resultSchema) {
+    this.field = resultSchema.getField(countGroupByValue.field.toString());
+    this.resultField = resultSchema.getField(countGroupByValue.resultFieldName.toString());
+    this.valueSerializer = SerializerDeserializerFactory.getAvroGenericSerializer(field.schema());
+  }
+
+  /**
+   * @return an aggregator for each count-group-by-value operation of the request, which is empty if there is none.
+   */
+  public static List<ValueCountAggregator> createAggregators(List<ComputeOperation> operations, Schema resultSchema) {
+    List<ValueCountAggregator> aggregators = new ArrayList<>();
+    for (ComputeOperation operation: operations) {
+      if (ComputeOperationType.valueOf(operation) == ComputeOperationType.COUNT_GROUP_BY_VALUE) {
+        aggregators.add(new ValueCountAggregator((CountGroupByValue) operation.operation, resultSchema));
+      }
+    }
+    return aggregators;
+  }
+
+  public void add(GenericRecord resultRecord) {
+    // The value is serialized right away, since the record and its content may be reused for the next one
+    valueToCount.merge(ByteBuffer.wrap(valueSerializer.serialize(resultRecord.get(field.pos()))), 1, Integer::sum);
+  }
+
+  /**
+   * Adds the counts carried by the result field of a record, as put by {@link #putResult}, e.g. to merge the partial
+   * aggregations of several storage nodes.
+   */
+  @SuppressWarnings("unchecked")
+  public void addResult(GenericRecord resultRecord) {
+    List<GenericRecord> valueCounts = (List<GenericRecord>) resultRecord.get(resultField.pos());
+    if (valueCounts == null) {
+      return;
+    }
+    for (GenericRecord valueCount: valueCounts) {
+      valueToCount.merge((ByteBuffer) valueCount.get(VALUE_POS), (Integer) valueCount.get(COUNT_POS), Integer::sum);
+    }
+  }
+
+  /**
+   * Puts the counts of the values added so far into the result field of the given record.
+   */
+  public void putResult(GenericRecord resultRecord) {
+    List<GenericRecord> valueCounts = new ArrayList<>(valueToCount.size());
+    for (Map.Entry<ByteBuffer, Integer> entry: valueToCount.entrySet()) {
+      GenericRecord valueCount = new GenericData.Record(VALUE_COUNT_SCHEMA);
+      valueCount.put(VALUE_POS, entry.getKey());
+      valueCount.put(COUNT_POS, entry.getValue());
+      valueCounts.add(valueCount);
+    }
+    resultRecord.put(resultField.pos(), valueCounts);
+  }
+
+  /**
+   * Adds the counts carried by the result field of a record to the given map, keyed by the deserialized values, with
+   * {@link Utf8} converted to {@link String}.
+   *
+   * @param valueCounts the content of the result field, as returned by {@link #putResult}.
+   * @param valueDeserializer the deserializer of the schema of the field whose values were counted.
+   */
+  public static <T> void mergeResult(
+      List<GenericRecord> valueCounts,
+      RecordDeserializer<Object> valueDeserializer,
+      Map<T, Integer> valueToCount) {
+    for (GenericRecord valueCount: valueCounts) {
+      Object value = valueDeserializer.deserialize((ByteBuffer) valueCount.get(VALUE_POS));
+      if (value instanceof Utf8) {
+        value = value.toString();
+      }
+      @SuppressWarnings("unchecked")
+      T key = (T) value;
+      valueToCount.merge(key, (Integer) valueCount.get(COUNT_POS), Integer::sum);
+    }
+  }
+
+  private static Schema createValueCountSchema() {
+    Schema schema = Schema.createRecord("VeniceValueCount", "", "com.linkedin.venice.compute", false);
+    schema.setFields(
+        Arrays.asList(
+            AvroCompatibilityHelper.createSchemaField("value", Schema.create(Schema.Type.BYTES), "", null),
+            AvroCompatibilityHelper.createSchemaField("count", Schema.create(Schema.Type.INT), "", null)));
+    return schema;
+  }
+}
@@ -1,15 +1,22 @@
 package com.linkedin.venice.compute.protocol.request.enums;
 
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V3;
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V5;
+
 import com.linkedin.venice.compute.CosineSimilarityOperator;
 import com.linkedin.venice.compute.CountOperator;
 import com.linkedin.venice.compute.DotProductOperator;
 import com.linkedin.venice.compute.HadamardProductOperator;
 import com.linkedin.venice.compute.ReadComputeOperator;
+import com.linkedin.venice.compute.ValueCountAggregator;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.Count;
+import com.linkedin.venice.compute.protocol.request.CountGroupByValue;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.Filter;
 import com.linkedin.venice.compute.protocol.request.HadamardProduct;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.utils.EnumUtils;
 import com.linkedin.venice.utils.VeniceEnumValue;
@@ -17,16 +24,32 @@ import java.util.List;
 
 
 public enum ComputeOperationType implements VeniceEnumValue {
-  DOT_PRODUCT(0, new DotProductOperator()), COSINE_SIMILARITY(1, new CosineSimilarityOperator()),
-  HADAMARD_PRODUCT(2, new HadamardProductOperator()), COUNT(3, new CountOperator());
+  DOT_PRODUCT(0, new DotProductOperator(), COMPUTE_REQUEST_VERSION_V3),
+  COSINE_SIMILARITY(1, new CosineSimilarityOperator(), COMPUTE_REQUEST_VERSION_V3),
+  HADAMARD_PRODUCT(2, new HadamardProductOperator(), COMPUTE_REQUEST_VERSION_V3),
+  COUNT(3, new CountOperator(), COMPUTE_REQUEST_VERSION_V3),
+
+  /**
+   * The operations below do not compute a field of the result record, but select which of the result records are
+   * returned, once all the other operations have been computed. They have no {@link ReadComputeOperator}.
+   */
+  TOP_K(4, null, COMPUTE_REQUEST_VERSION_V5), FILTER(5, null, COMPUTE_REQUEST_VERSION_V5),
+
+  /**
+   * Aggregates the records computed together into a single result record, see {@link ValueCountAggregator}. It has no
+   * {@link ReadComputeOperator} either, and is applied after the filter operations.
+   */
+  COUNT_GROUP_BY_VALUE(6, null, COMPUTE_REQUEST_VERSION_V5);
 
   private final ReadComputeOperator operator;
   private final int value;
+  private final int computeRequestVersion;
   private static final List<ComputeOperationType> TYPES = EnumUtils.getEnumValuesList(ComputeOperationType.class);
 
-  ComputeOperationType(int value, ReadComputeOperator operator) {
+  ComputeOperationType(int value, ReadComputeOperator operator, int computeRequestVersion) {
     this.value = value;
     this.operator = operator;
+    this.computeRequestVersion = computeRequestVersion;
   }
 
   public Object getNewInstance() {
@@ -39,6 +62,12 @@ public enum ComputeOperationType implements VeniceEnumValue {
         return new HadamardProduct();
       case COUNT:
         return new Count();
+      case TOP_K:
+        return new TopK();
+      case FILTER:
+        return new Filter();
+      case COUNT_GROUP_BY_VALUE:
+        return new CountGroupByValue();
       default:
         throw new VeniceException("Unsupported " + getClass().getSimpleName() + " value: " + value);
     }
@@ -57,7 +86,22 @@ public enum ComputeOperationType implements VeniceEnumValue {
     return value;
   }
 
+  /**
+   * @return the operator computing the result field of the operation, or null for the operations selecting or
+   *         aggregating the result records, see {@link #isResultSelection()}.
+   */
   public ReadComputeOperator getOperator() {
     return operator;
   }
+
+  public boolean isResultSelection() {
+    return operator == null;
+  }
+
+  /**
+   * @return the lowest version of the compute request protocol which a request using the operation can be sent with.
+   */
+  public int getComputeRequestVersion() {
+    return computeRequestVersion;
+  }
 }
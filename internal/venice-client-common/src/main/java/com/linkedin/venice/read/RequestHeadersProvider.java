@@ -23,7 +23,7 @@ public class RequestHeadersProvider {
   private static final Logger LOGGER = LogManager.getLogger(RequestHeadersProvider.class);
   private static final Map<String, String> GET_HEADER_MAP = new HashMap<>();
   private static final Map<String, String> STREAMING_MULTI_GET_HEADER_MAP = new HashMap<>();
-  private static final Map<String, String> STREAMING_COMPUTE_HEADER_MAP_V3 = new HashMap<>();
+  private static final Map<String, String> STREAMING_COMPUTE_HEADER_MAP = new HashMap<>();
 
   static {
     /**
@@ -42,12 +42,10 @@ public class RequestHeadersProvider {
         Integer.toString(ReadAvroProtocolDefinition.MULTI_GET_CLIENT_REQUEST_V1.getProtocolVersion()));
 
     /**
-     * COMPUTE_REQUEST_V1 and V2 are deprecated.
+     * COMPUTE_REQUEST_V1 and V2 are deprecated. The API version of compute requests depends on the operations they
+     * use, see {@link #getStreamingComputeHeaderMap}.
      */
-    STREAMING_COMPUTE_HEADER_MAP_V3.put(
-        HttpConstants.VENICE_API_VERSION,
-        Integer.toString(ReadAvroProtocolDefinition.COMPUTE_REQUEST_V3.getProtocolVersion()));
-    STREAMING_COMPUTE_HEADER_MAP_V3.put(HttpConstants.VENICE_STREAMING, "1");
+    STREAMING_COMPUTE_HEADER_MAP.put(HttpConstants.VENICE_STREAMING, "1");
 
     AvroVersion version = AvroCompatibilityHelperCommon.getRuntimeAvroVersion();
     LOGGER.info("Detected: {} on the classpath.", version);
@@ -73,12 +71,18 @@ public class RequestHeadersProvider {
     return headers;
   }
 
+  /**
+   * @param computeRequestVersion the version of the compute request protocol the request is encoded with, see
+   *                              {@link com.linkedin.venice.compute.ComputeRequestWrapper#getComputeRequestVersion()}
+   */
   public static Map<String, String> getStreamingComputeHeaderMap(
       int keyCount,
       int computeValueSchemaId,
+      int computeRequestVersion,
       boolean isRemoteComputationOnly) {
-    Map<String, String> headers = new HashMap<>(STREAMING_COMPUTE_HEADER_MAP_V3.size() + 3);
-    headers.putAll(STREAMING_COMPUTE_HEADER_MAP_V3);
+    Map<String, String> headers = new HashMap<>(STREAMING_COMPUTE_HEADER_MAP.size() + 4);
+    headers.putAll(STREAMING_COMPUTE_HEADER_MAP);
+    headers.put(HttpConstants.VENICE_API_VERSION, Integer.toString(computeRequestVersion));
     headers.put(VENICE_KEY_COUNT, Integer.toString(keyCount));
     headers.put(VENICE_COMPUTE_VALUE_SCHEMA_ID, Integer.toString(computeValueSchemaId));
     if (!isRemoteComputationOnly) {
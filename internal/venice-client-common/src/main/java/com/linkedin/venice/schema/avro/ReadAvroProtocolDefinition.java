@@ -4,6 +4,7 @@ import com.linkedin.venice.compute.protocol.request.ComputeRequestV1;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV2;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV3;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV4;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV5;
 import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
 import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.exceptions.VeniceException;
@@ -76,6 +77,12 @@ public enum ReadAvroProtocolDefinition {
    */
   COMPUTE_REQUEST_V4(4, Optional.of(ComputeRequestV4.class), Optional.of(ComputeRequestV4.SCHEMA$)),
 
+  /**
+   * Compute request v5. It includes support for the top-k, filter and count-group-by-value operations, and is only
+   * sent by the clients for the requests using them.
+   */
+  COMPUTE_REQUEST_V5(5, Optional.of(ComputeRequestV5.class), Optional.of(ComputeRequestV5.SCHEMA$)),
+
   /**
    * Response record for compute v1
    */
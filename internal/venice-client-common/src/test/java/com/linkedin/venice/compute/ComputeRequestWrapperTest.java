@@ -0,0 +1,77 @@
+package com.linkedin.venice.compute;
+
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V3;
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V5;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.ComputeRequest;
+import com.linkedin.venice.compute.protocol.request.Count;
+import com.linkedin.venice.compute.protocol.request.CountGroupByValue;
+import com.linkedin.venice.compute.protocol.request.TopK;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class ComputeRequestWrapperTest {
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.record("Value")
+      .fields()
+      .name("list")
+      .type()
+      .array()
+      .items()
+      .intType()
+      .noDefault()
+      .endRecord();
+  private static final Schema RESULT_SCHEMA =
+      SchemaBuilder.record("Result").fields().name("list_count").type().intType().noDefault().endRecord();
+
+  @Test
+  public void testComputeRequestVersion() {
+    ComputeOperation count = new ComputeOperation();
+    count.setOperationType(ComputeOperationType.COUNT.getValue());
+    count.setOperation(new Count("list", "list_count"));
+    ComputeOperation topK = new ComputeOperation();
+    topK.setOperationType(ComputeOperationType.TOP_K.getValue());
+    topK.setOperation(new TopK("list_count", 10));
+
+    // Requests not using any of the newer operations are still sent with version 3
+    ComputeRequestWrapper countRequest = newComputeRequestWrapper(Collections.singletonList(count));
+    Assert.assertEquals(countRequest.getComputeRequestVersion(), COMPUTE_REQUEST_VERSION_V3);
+    ComputeRequest deserializedCountRequest = deserialize(countRequest);
+    Assert.assertEquals(deserializedCountRequest.getOperations().size(), 1);
+    Assert.assertEquals(deserializedCountRequest.getOperations().get(0).getOperation(), count.getOperation());
+
+    ComputeRequestWrapper topKRequest = newComputeRequestWrapper(Arrays.asList(count, topK));
+    Assert.assertEquals(topKRequest.getComputeRequestVersion(), COMPUTE_REQUEST_VERSION_V5);
+    ComputeRequest deserializedTopKRequest = deserialize(topKRequest);
+    Assert.assertEquals(deserializedTopKRequest.getOperations().size(), 2);
+    Assert.assertEquals(deserializedTopKRequest.getOperations().get(1).getOperation(), topK.getOperation());
+    Assert.assertEquals(deserializedTopKRequest.getResultSchemaStr().toString(), RESULT_SCHEMA.toString());
+
+    ComputeOperation countGroupByValue = new ComputeOperation();
+    countGroupByValue.setOperationType(ComputeOperationType.COUNT_GROUP_BY_VALUE.getValue());
+    countGroupByValue.setOperation(new CountGroupByValue("list_count", "list_count_counts"));
+    ComputeRequestWrapper countGroupByValueRequest =
+        newComputeRequestWrapper(Collections.singletonList(countGroupByValue));
+    Assert.assertEquals(countGroupByValueRequest.getComputeRequestVersion(), COMPUTE_REQUEST_VERSION_V5);
+    Assert.assertEquals(
+        deserialize(countGroupByValueRequest).getOperations().get(0).getOperation(),
+        countGroupByValue.getOperation());
+  }
+
+  private static ComputeRequestWrapper newComputeRequestWrapper(List<ComputeOperation> operations) {
+    return new ComputeRequestWrapper(1, VALUE_SCHEMA, RESULT_SCHEMA, RESULT_SCHEMA.toString(), operations, true);
+  }
+
+  private static ComputeRequest deserialize(ComputeRequestWrapper computeRequest) {
+    return ComputeUtils
+        .deserializeComputeRequest(AvroCompatibilityHelper.newBinaryDecoder(computeRequest.serialize()), null);
+  }
+}
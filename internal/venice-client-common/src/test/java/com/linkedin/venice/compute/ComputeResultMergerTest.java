@@ -0,0 +1,122 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.Count;
+import com.linkedin.venice.compute.protocol.request.CountGroupByValue;
+import com.linkedin.venice.compute.protocol.request.TopK;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class ComputeResultMergerTest {
+  private static final Schema RESULT_SCHEMA =
+      SchemaBuilder.record("Result").fields().name("list_count").type().intType().noDefault().endRecord();
+
+  @Test
+  public void testNoMergeWithoutTopK() {
+    List<ComputeOperation> operations = Collections.singletonList(newCountOperation());
+    Assert.assertFalse(ComputeResultMerger.isMergeRequired(operations));
+    Assert.assertNull(ComputeResultMerger.create(operations, RESULT_SCHEMA, (item, resultRecord) -> item));
+  }
+
+  @Test
+  public void testTopKMerge() {
+    ComputeOperation topK = new ComputeOperation();
+    topK.setOperationType(ComputeOperationType.TOP_K.getValue());
+    topK.setOperation(new TopK("list_count", 2));
+    ComputeResultMerger<String> merger =
+        ComputeResultMerger.create(Arrays.asList(newCountOperation(), topK), RESULT_SCHEMA, (item, record) -> item);
+    Assert.assertNotNull(merger);
+    Assert.assertEquals(merger.getResultSchema(), RESULT_SCHEMA);
+
+    // The partial selections of two storage nodes
+    Assert.assertNull(merger.add("a", newResultRecord(3)));
+    Assert.assertNull(merger.add("b", newResultRecord(1)));
+    Assert.assertEquals(merger.add("c", newResultRecord(5)), "b");
+    Assert.assertEquals(merger.add("d", newResultRecord(2)), "d");
+
+    List<String> result = merger.getResult();
+    Assert.assertEquals(result, Arrays.asList("c", "a"));
+  }
+
+  @Test
+  public void testValueCountMerge() {
+    Schema resultSchema = Schema.createRecord("Result", "", "", false);
+    resultSchema.setFields(
+        Arrays.asList(
+            AvroCompatibilityHelper.createSchemaField("color", Schema.create(Schema.Type.STRING), "", null),
+            AvroCompatibilityHelper.createSchemaField("color_counts", ValueCountAggregator.RESULT_SCHEMA, "", null)));
+    CountGroupByValue countGroupByValue = new CountGroupByValue("color", "color_counts");
+    ComputeOperation operation = new ComputeOperation();
+    operation.setOperationType(ComputeOperationType.COUNT_GROUP_BY_VALUE.getValue());
+    operation.setOperation(countGroupByValue);
+    ComputeOperation topK = new ComputeOperation();
+    topK.setOperationType(ComputeOperationType.TOP_K.getValue());
+    topK.setOperation(new TopK("color", 1));
+
+    // The partial counts of two storage nodes, each carried by one of their records
+    GenericRecord carrier1 = newColorRecord(resultSchema, "red");
+    ValueCountAggregator aggregator1 = new ValueCountAggregator(countGroupByValue, resultSchema);
+    aggregator1.add(newColorRecord(resultSchema, "red"));
+    aggregator1.add(newColorRecord(resultSchema, "blue"));
+    aggregator1.putResult(carrier1);
+    GenericRecord carrier2 = newColorRecord(resultSchema, "red");
+    ValueCountAggregator aggregator2 = new ValueCountAggregator(countGroupByValue, resultSchema);
+    aggregator2.add(newColorRecord(resultSchema, "red"));
+    aggregator2.putResult(carrier2);
+
+    // The value counts take precedence over the top-k operation, like on the storage nodes
+    List<String> updatedItems = new ArrayList<>();
+    ComputeResultMerger<String> merger =
+        ComputeResultMerger.create(Arrays.asList(operation, topK), resultSchema, (item, resultRecord) -> {
+          updatedItems.add(item);
+          return item;
+        });
+    Assert.assertNull(merger.add("a", carrier1));
+    Assert.assertEquals(merger.add("b", carrier2), "b");
+    Assert.assertEquals(merger.getResult(), Collections.singletonList("a"));
+    Assert.assertEquals(updatedItems, Collections.singletonList("a"));
+
+    Map<String, Integer> valueToCount = new HashMap<>();
+    ValueCountAggregator.mergeResult(
+        (List<GenericRecord>) carrier1.get("color_counts"),
+        SerializerDeserializerFactory.getAvroGenericDeserializer(Schema.create(Schema.Type.STRING)),
+        valueToCount);
+    Map<String, Integer> expectedValueToCount = new HashMap<>();
+    expectedValueToCount.put("red", 2);
+    expectedValueToCount.put("blue", 1);
+    Assert.assertEquals(valueToCount, expectedValueToCount);
+  }
+
+  private static GenericRecord newColorRecord(Schema resultSchema, String color) {
+    GenericRecord resultRecord = new GenericData.Record(resultSchema);
+    resultRecord.put("color", color);
+    return resultRecord;
+  }
+
+  private static ComputeOperation newCountOperation() {
+    ComputeOperation count = new ComputeOperation();
+    count.setOperationType(ComputeOperationType.COUNT.getValue());
+    count.setOperation(new Count("list", "list_count"));
+    return count;
+  }
+
+  private static GenericRecord newResultRecord(int count) {
+    GenericRecord resultRecord = new GenericData.Record(RESULT_SCHEMA);
+    resultRecord.put("list_count", count);
+    return resultRecord;
+  }
+}
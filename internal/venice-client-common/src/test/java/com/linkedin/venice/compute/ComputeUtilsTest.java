@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericData;
@@ -162,6 +163,98 @@ public class ComputeUtilsTest {
     Assert.assertEquals(result, expectedOutput);
   }
 
+  @Test
+  public void testPrimitiveArrayFunctionsMatchListFunctions() {
+    Random random = new Random(42);
+    // Sizes which are and are not multiples of the unrolling factor
+    for (int size: new int[] { 1, 3, 4, 17, 256 }) {
+      PrimitiveFloatList list1 = createPrimitiveFloatList(size, random);
+      PrimitiveFloatList list2 = createPrimitiveFloatList(size, random);
+      Map<String, Object> context = new HashMap<>();
+      float[] array1 = ComputeUtils.getParamAsFloatArray(list1, context);
+      float[] array2 = ComputeUtils.getValueAsReusableFloatArray(list2, context);
+
+      Assert.assertEquals(
+          Float.floatToIntBits(ComputeUtils.dotProduct(array1, array2, size)),
+          Float.floatToIntBits(ComputeUtils.dotProduct(list1, list2)));
+      Assert.assertEquals(
+          Float.floatToIntBits(ComputeUtils.squaredL2Norm(array2, size)),
+          Float.floatToIntBits(ComputeUtils.squaredL2Norm(list2)));
+      Assert.assertEquals(
+          ComputeUtils.hadamardProduct(array1, array2, size),
+          ComputeUtils.hadamardProduct(list1, list2));
+    }
+  }
+
+  @Test
+  public void testFloatArrayCaching() {
+    Map<String, Object> context = new HashMap<>();
+    List<Float> param = Arrays.asList(1.0f, 2.0f, 3.0f);
+    float[] paramArray = ComputeUtils.getParamAsFloatArray(param, context);
+    Assert.assertEquals(paramArray, new float[] { 1.0f, 2.0f, 3.0f });
+    // The parameter is only converted once per request
+    Assert.assertSame(ComputeUtils.getParamAsFloatArray(param, context), paramArray);
+
+    float[] valueArray = ComputeUtils.getValueAsReusableFloatArray(createPrimitiveFloatList(4.0f, 5.0f), context);
+    Assert.assertEquals(valueArray[0], 4.0f);
+    Assert.assertEquals(valueArray[1], 5.0f);
+    // The value array is reused by the following values which fit in it
+    Assert.assertSame(ComputeUtils.getValueAsReusableFloatArray(createPrimitiveFloatList(6.0f), context), valueArray);
+    Assert.assertEquals(valueArray[0], 6.0f);
+  }
+
+  @Test
+  public void testTopKSelector() {
+    TopKSelector<String> selector = new TopKSelector<>(2);
+    Assert.assertNull(selector.offer("a", 1.0));
+    Assert.assertNull(selector.offer("b", 3.0));
+    // The lowest item is evicted by a higher one, while a lower one is left out right away
+    Assert.assertEquals(selector.offer("c", 2.0), "a");
+    Assert.assertEquals(selector.offer("d", 0.5), "d");
+    Assert.assertEquals(selector.offer("e", Double.NEGATIVE_INFINITY), "e");
+    Assert.assertEquals(selector.getSelectedItems(), Arrays.asList("b", "c"));
+  }
+
+  @Test
+  public void testTopKSelectorMatchesSorting() {
+    Random random = new Random(0);
+    List<Double> scores = new ArrayList<>();
+    TopKSelector<Double> selector = new TopKSelector<>(10);
+    for (int i = 0; i < 1000; i++) {
+      double score = random.nextDouble();
+      scores.add(score);
+      selector.offer(score, score);
+    }
+    scores.sort(Collections.reverseOrder());
+    Assert.assertEquals(selector.getSelectedItems(), scores.subList(0, 10));
+  }
+
+  @Test
+  public void testGetTopKScore() {
+    Schema schema = SchemaBuilder.record("ResultSchema")
+        .fields()
+        .optionalDouble("score")
+        .requiredInt("count")
+        .endRecord();
+    GenericRecord record = new GenericData.Record(schema);
+    record.put("count", 3);
+    Assert.assertEquals(ComputeUtils.getTopKScore(record, schema.getField("count")), 3.0);
+    // Missing and NaN scores rank last
+    Assert.assertEquals(ComputeUtils.getTopKScore(record, schema.getField("score")), Double.NEGATIVE_INFINITY);
+    record.put("score", Double.NaN);
+    Assert.assertEquals(ComputeUtils.getTopKScore(record, schema.getField("score")), Double.NEGATIVE_INFINITY);
+    record.put("score", 0.5);
+    Assert.assertEquals(ComputeUtils.getTopKScore(record, schema.getField("score")), 0.5);
+  }
+
+  private static PrimitiveFloatList createPrimitiveFloatList(int size, Random random) {
+    PrimitiveFloatList list = new PrimitiveFloatArrayList(size);
+    for (int i = 0; i < size; i++) {
+      list.addPrimitive(random.nextFloat() * 2 - 1);
+    }
+    return list;
+  }
+
   private static GenericRecord createGetNullableFieldValueAsListRecord() {
     Schema schema = SchemaBuilder.record("SampleSchema")
         .fields()
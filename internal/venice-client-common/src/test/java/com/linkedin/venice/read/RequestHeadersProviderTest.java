@@ -45,15 +45,18 @@ public class RequestHeadersProviderTest {
   public void testStreamingComputeHeaders() {
     int keyCount = 100;
     int computeSchemaId = 3;
-    Map<String, String> headers = RequestHeadersProvider.getStreamingComputeHeaderMap(keyCount, computeSchemaId, false);
+    int computeRequestVersion = 5;
+    Map<String, String> headers =
+        RequestHeadersProvider.getStreamingComputeHeaderMap(keyCount, computeSchemaId, computeRequestVersion, false);
     Assert.assertEquals(headers.size(), 5);
-    Assert.assertTrue(headers.containsKey(VENICE_API_VERSION));
+    Assert.assertEquals(headers.get(VENICE_API_VERSION), Integer.toString(computeRequestVersion));
     Assert.assertTrue(headers.containsKey(VENICE_STREAMING));
     Assert.assertTrue(headers.containsKey(VENICE_CLIENT_COMPUTE));
     Assert.assertEquals(headers.get(VENICE_KEY_COUNT), Integer.toString(keyCount));
     Assert.assertEquals(headers.get(VENICE_COMPUTE_VALUE_SCHEMA_ID), Integer.toString(computeSchemaId));
 
-    headers = RequestHeadersProvider.getStreamingComputeHeaderMap(keyCount, computeSchemaId, true);
+    headers =
+        RequestHeadersProvider.getStreamingComputeHeaderMap(keyCount, computeSchemaId, computeRequestVersion, true);
     Assert.assertEquals(headers.size(), 4);
     Assert.assertFalse(headers.containsKey(VENICE_CLIENT_COMPUTE));
   }
@@ -881,6 +881,16 @@ public class ConfigKeys {
    */
   public static final String SERVER_KAFKA_MAX_POLL_RECORDS = "server.kafka.max.poll.records";
 
+  /**
+   * When enabled along with {@link #SERVER_ADAPTIVE_THROTTLER_ENABLED}, the consumers of a pool whose replicas are
+   * lagging behind, according to the heartbeat lag signals, poll up to {@link #SERVER_KAFKA_ADAPTIVE_POLL_MAX_FACTOR}
+   * times {@link #SERVER_KAFKA_MAX_POLL_RECORDS} records per cycle, and go back to
+   * {@link #SERVER_KAFKA_MAX_POLL_RECORDS} once they have caught up, or when the read latency suffers.
+   */
+  public static final String SERVER_KAFKA_ADAPTIVE_POLL_ENABLED = "server.kafka.adaptive.poll.enabled";
+
+  public static final String SERVER_KAFKA_ADAPTIVE_POLL_MAX_FACTOR = "server.kafka.adaptive.poll.max.factor";
+
   /**
    * This config is used to control how many times PubSub consumer would retry polling during ingestion
    * when RetriableException happens.
@@ -936,6 +946,81 @@ public class ConfigKeys {
    */
   public static final String SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE = "server.parallel.batch.get.chunk.size";
 
+  /**
+   * Whether the chunk size of the parallel lookup of batch-get and compute should adapt to the number of keys of each
+   * request, the queue depth of the thread pool and the recent per-key latency, rather than being fixed to
+   * {@link #SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE}, which then only applies until the per-key latency is known.
+   */
+  public static final String SERVER_PARALLEL_BATCH_GET_ADAPTIVE_CHUNK_SIZE_ENABLED =
+      "server.parallel.batch.get.adaptive.chunk.size.enabled";
+
+  /**
+   * The minimal expected processing time of each chunk of the parallel lookup of batch-get, when the adaptive chunk
+   * size is enabled, below which splitting a request further is not worth the cost of scheduling more chunks.
+   */
+  public static final String SERVER_PARALLEL_BATCH_GET_TARGET_CHUNK_LATENCY_US =
+      "server.parallel.batch.get.target.chunk.latency.us";
+
+  /**
+   * Whether batch-get and compute requests should look up the keys of each partition through a single batched
+   * storage engine lookup (e.g. RocksDB MultiGet), instead of one point lookup per key.
+   */
+  public static final String SERVER_BATCH_GET_STORAGE_MULTI_GET_ENABLED = "server.batch.get.storage.multi.get.enabled";
+
+  /**
+   * Whether the server should flush each chunk of the response of a streaming batch get or compute request as soon as
+   * it is ready, rather than after all the keys have been looked up. Only applies when
+   * {@link #SERVER_ENABLE_PARALLEL_BATCH_GET} is enabled. Router does not forward the chunks as they arrive yet, so
+   * this only cuts the time between the storage node and Router.
+   */
+  public static final String SERVER_STREAMING_BATCH_GET_EARLY_FLUSH_ENABLED =
+      "server.streaming.batch.get.early.flush.enabled";
+
+  /**
+   * Whether the storage and compute thread pools of the read path should be split into shards, each with its own queue,
+   * with all the reads of a given partition being executed on the same shard. This keeps the working set of a partition
+   * hot on the same threads, and removes the contention of all threads on a single queue.
+   */
+  public static final String SERVER_PARTITION_AFFINITY_READ_EXECUTOR_ENABLED =
+      "server.partition.affinity.read.executor.enabled";
+
+  /**
+   * The number of threads of each shard of the partition affinity read executors. The number of shards is the
+   * configured number of storage (resp. compute) threads divided by this value.
+   */
+  public static final String SERVER_PARTITION_AFFINITY_READ_EXECUTOR_THREADS_PER_SHARD =
+      "server.partition.affinity.read.executor.threads.per.shard";
+
+  /**
+   * The queue depth above which the idle threads of other shards of a partition affinity read executor start stealing
+   * tasks from a shard.
+   */
+  public static final String SERVER_PARTITION_AFFINITY_READ_EXECUTOR_WORK_STEALING_THRESHOLD =
+      "server.partition.affinity.read.executor.work.stealing.threshold";
+
+  /**
+   * Whether the server should keep the serialized values of the most frequently read keys in an off-heap cache, which
+   * single get and batch get requests are served from before falling back to the storage engine. The cache is kept
+   * consistent by the ingestion write path, so it is not used when ingestion runs in an isolated process.
+   */
+  public static final String SERVER_VALUE_CACHE_ENABLED = "server.value.cache.enabled";
+
+  /**
+   * The total size of the values held by the off-heap value cache, shared across all the stores using it.
+   */
+  public static final String SERVER_VALUE_CACHE_CAPACITY_IN_BYTES = "server.value.cache.capacity.in.bytes";
+
+  /**
+   * Values larger than this are never cached, so that a few large values cannot evict many hot small ones.
+   */
+  public static final String SERVER_VALUE_CACHE_MAX_VALUE_SIZE_IN_BYTES = "server.value.cache.max.value.size.in.bytes";
+
+  /**
+   * The comma-separated list of the stores using the off-heap value cache. The cache is used by all the stores if the
+   * list is empty.
+   */
+  public static final String SERVER_VALUE_CACHE_STORES = "server.value.cache.stores";
+
   /**
    * The request early termination threshold map:
    * The key will be store name, and the value will be the actual threshold.
@@ -1005,6 +1090,30 @@ public class ConfigKeys {
   public static final String SERVER_DEDICATED_DRAINER_FOR_SORTED_INPUT_ENABLED =
       "server.dedicated.drainer.queue.for.sorted.input.enabled";
 
+  /**
+   * Whether to let the store buffer service move a topic+partition to the least loaded drainer whenever it has no
+   * record left in flight, instead of always hashing it to the same drainer. This keeps the partitions sharing a
+   * drainer with a hot partition from waiting behind its backlog.
+   */
+  public static final String SERVER_STORE_BUFFER_DYNAMIC_DRAINER_ASSIGNMENT_ENABLED =
+      "server.store.buffer.dynamic.drainer.assignment.enabled";
+
+  /**
+   * The ratio of each drainer buffer reserved to the records of the current versions, which the records of the other
+   * versions cannot use, so that a large push landing on the host only gets the buffer capacity left over by the
+   * nearline writes of the current versions. 0 disables the reservation.
+   */
+  public static final String SERVER_STORE_BUFFER_CURRENT_VERSION_RESERVED_RATIO =
+      "server.store.buffer.current.version.reserved.ratio";
+
+  /**
+   * Whether the shared consumers hand the polled records of the current versions over to their ingestion tasks before
+   * the ones of the other versions, which matters when they share a consumer pool, see
+   * {@link #SERVER_CONSUMER_POOL_ALLOCATION_STRATEGY}.
+   */
+  public static final String SERVER_CONSUMER_CURRENT_VERSION_FIRST_DISPATCH_ENABLED =
+      "server.consumer.current.version.first.dispatch.enabled";
+
   /**
    * A boolean config to specify if we are using Da Vinci client for ingestion. This config will be parsed by
    * isDaVinciConfig variable in VeniceServerConfig. By default, it is false (use Venice Server)
@@ -1267,6 +1376,37 @@ public class ConfigKeys {
   public static final String ROUTER_LONG_TAIL_RETRY_MAX_ROUTE_FOR_MULTI_KEYS_REQ =
       "router.long.tail.retry.max.route.for.multi.keys.req";
 
+  /**
+   * Whether to derive the long-tail retry threshold of each request from the observed response waiting time of the
+   * storage nodes it is waiting for, instead of using the configured thresholds as is.
+   * The threshold becomes the {@link #ROUTER_ADAPTIVE_LONG_TAIL_RETRY_PERCENTILE} of the response waiting time of the
+   * slowest of those storage nodes, but never more than {@link #ROUTER_LONG_TAIL_RETRY_FOR_SINGLE_GET_THRESHOLD_MS} or
+   * {@link #ROUTER_LONG_TAIL_RETRY_FOR_BATCH_GET_THRESHOLD_MS}, and never less than
+   * {@link #ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_THRESHOLD_MS}.
+   */
+  public static final String ROUTER_ADAPTIVE_LONG_TAIL_RETRY_ENABLED = "router.adaptive.long.tail.retry.enabled";
+
+  /**
+   * The percentile of the response waiting time, in decimal, after which a request gets retried when
+   * {@link #ROUTER_ADAPTIVE_LONG_TAIL_RETRY_ENABLED} is set, e.g. 0.95 retries about 5% of the requests.
+   */
+  public static final String ROUTER_ADAPTIVE_LONG_TAIL_RETRY_PERCENTILE = "router.adaptive.long.tail.retry.percentile";
+
+  /**
+   * The lower bound of the long-tail retry threshold when {@link #ROUTER_ADAPTIVE_LONG_TAIL_RETRY_ENABLED} is set.
+   */
+  public static final String ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_THRESHOLD_MS =
+      "router.adaptive.long.tail.retry.min.threshold.ms";
+
+  /**
+   * Whether to abort the storage node request, which lost the race between the original request and its long-tail
+   * retry, so that the storage node stops working on a response which would be discarded anyway.
+   * Only the HTTP/2 client can abort a request without closing the connection, so this has no effect with the other
+   * clients.
+   */
+  public static final String ROUTER_LONG_TAIL_RETRY_ABORT_LOSING_REQUEST_ENABLED =
+      "router.long.tail.retry.abort.losing.request.enabled";
+
   /**
    * The max key count allowed in one multi-get request.
    * For now, it is configured in host level, and we could consider to configure it in store level.
@@ -1354,6 +1494,12 @@ public class ConfigKeys {
    */
   public static final String ROUTER_SOCKET_TIMEOUT = "router.socket.timeout";
 
+  /**
+   * Whether to pass {@link #ROUTER_SOCKET_TIMEOUT} to the servers along with each request, so that they stop working on
+   * the requests which router has already given up on.
+   */
+  public static final String ROUTER_PROPAGATE_REQUEST_TIMEOUT_ENABLED = "router.propagate.request.timeout.enabled";
+
   /**
    * Timeout for building a new connection from router to server
    */
@@ -1790,6 +1936,20 @@ public class ConfigKeys {
    */
   public static final String ROUTER_LATENCY_BASED_ROUTING_ENABLED = "router.latency.based.routing.enabled";
 
+  /**
+   * Enable power-of-two-choices routing for host selection, which takes precedence over
+   * {@link #ROUTER_LATENCY_BASED_ROUTING_ENABLED}. Two random hosts are picked among the healthy host list, and the
+   * one with the lower EWMA of its response waiting time multiplied by its pending request count + 1 is selected.
+   * It applies to single gets, to {@code LEAST_LOADED_ROUTING} and within the assigned group of
+   * {@code HELIX_ASSISTED_ROUTING}.
+   */
+  public static final String ROUTER_P2C_EWMA_ROUTING_ENABLED = "router.p2c.ewma.routing.enabled";
+
+  /**
+   * The decay time of the EWMA of the response waiting time of each host, see {@link #ROUTER_P2C_EWMA_ROUTING_ENABLED}.
+   */
+  public static final String ROUTER_P2C_EWMA_DECAY_TIME_MS = "router.p2c.ewma.decay.time.ms";
+
   /**
   * Maximum number of pending router request per storage node after which router concludes that host to be unhealthy
   * and stops sending further request to it..
@@ -2657,6 +2817,14 @@ public class ConfigKeys {
   public static final String ROUTER_LONG_TAIL_RETRY_BUDGET_ENFORCEMENT_WINDOW_MS =
       "router.long.tail.retry.budget.enforcement.window.ms";
 
+  /**
+   * Percentage of the requests to storage nodes across all the stores, in decimal, that are allowed for long tail
+   * retry, on top of the per-store budgets above. Since the traffic is spread evenly across the Routers, this bounds
+   * the retry load on the whole cluster, e.g. when all the stores retry more at once because of a slow storage node.
+   */
+  public static final String ROUTER_LONG_TAIL_RETRY_BUDGET_PERCENT_DECIMAL =
+      "router.long.tail.retry.budget.percent.decimal";
+
   /**
    * The core pool size for the thread pool executor which contains threads responsible for measuring and updating all
    * retry managers in router periodically to provide retry budget based on a percentage of the original requests.
@@ -2673,6 +2841,33 @@ public class ConfigKeys {
    */
   public static final String ROUTER_PARALLEL_ROUTING_CHUNK_SIZE = "router.parallel.routing.chunk.size";
 
+  /**
+   * The stores whose single-get and batch-get responses are cached in Router, keyed by store version and key. Only the
+   * versions which cannot change once current, i.e. neither hybrid nor incremental push enabled, are cached, and the
+   * cache of a store is dropped as a whole once Router serves another version of it. Empty by default, which disables
+   * the cache.
+   */
+  public static final String ROUTER_RESPONSE_CACHE_STORES = "router.response.cache.stores";
+
+  /**
+   * The off-heap memory the response cache of each store in {@link #ROUTER_RESPONSE_CACHE_STORES} can use.
+   */
+  public static final String ROUTER_RESPONSE_CACHE_CAPACITY_PER_STORE_IN_BYTES =
+      "router.response.cache.capacity.per.store.in.bytes";
+
+  /**
+   * Whether Router coalesces the concurrent single-get requests of the same key of the same store version, so that only
+   * the first one is sent to a storage node, and the others wait for its response.
+   */
+  public static final String ROUTER_SINGLE_GET_COALESCING_ENABLED = "router.single.get.coalescing.enabled";
+
+  /**
+   * The max number of keys whose single-get requests are being coalesced at once in Router, past which the requests of
+   * the other keys are sent as they are, see {@link #ROUTER_SINGLE_GET_COALESCING_ENABLED}.
+   */
+  public static final String ROUTER_SINGLE_GET_COALESCING_MAX_INFLIGHT_KEYS =
+      "router.single.get.coalescing.max.inflight.keys";
+
   /**
    * Server configs to enable the topic partition re-subscription during ingestion to let bottom ingestion service aware
    * of store version's ingestion context changed (workload type {#@link PartitionReplicaIngestionContext.WorkloadType} or
@@ -2723,6 +2918,47 @@ public class ConfigKeys {
 
   public static final String SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE =
       "server.aa.wc.workload.parallel.processing.thread.pool.size";
+
+  /**
+   * The number of records merged in parallel before being produced when
+   * {@link #SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_ENABLED} is enabled, and by default, it is the same as
+   * {@link #SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE}.
+   * With {@link #SERVER_AA_WC_WORKLOAD_PIPELINED_PRODUCE_ENABLED}, this also bounds how far the merge can run ahead of
+   * the produce.
+   */
+  public static final String SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_BATCH_SIZE =
+      "server.aa.wc.workload.parallel.processing.batch.size";
+
+  /**
+   * When enabled, the leader produces the records of a batch in order as soon as each of them has been merged, instead
+   * of waiting for the merge of the whole batch, so that the merge of the remaining records overlaps with the produce.
+   * Only applicable when {@link #SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_ENABLED} is enabled.
+   */
+  public static final String SERVER_AA_WC_WORKLOAD_PIPELINED_PRODUCE_ENABLED =
+      "server.aa.wc.workload.pipelined.produce.enabled";
+
+  /**
+   * When enabled, the values and RMDs of all the keys of an Active/Active batch are looked up with a single RocksDB
+   * MultiGet before the merge, instead of one key at a time by each merge.
+   * Only applicable when {@link #SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_ENABLED} is enabled.
+   */
+  public static final String SERVER_AA_WORKLOAD_BATCHED_STORAGE_LOOKUP_ENABLED =
+      "server.aa.workload.batched.storage.lookup.enabled";
+
+  /**
+   * The off-heap memory that the values of the transient records of a partition, which a leader keeps until they are
+   * persisted, can use before falling back to the heap. 0 keeps them on the heap.
+   */
+  public static final String SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_PER_PARTITION_IN_BYTES =
+      "server.transient.record.off.heap.capacity.per.partition.in.bytes";
+
+  /**
+   * The off-heap memory used to retain the RMDs of the Active/Active records of a partition once persisted, so that the
+   * leader does not look them up in the storage engine for hot keys. 0 disables the retention.
+   * Only applicable when {@link #SERVER_TRANSIENT_RECORD_OFF_HEAP_CAPACITY_PER_PARTITION_IN_BYTES} is positive.
+   */
+  public static final String SERVER_TRANSIENT_RECORD_RETAINED_RMD_CAPACITY_PER_PARTITION_IN_BYTES =
+      "server.transient.record.retained.rmd.capacity.per.partition.in.bytes";
   public static final String SERVER_GLOBAL_RT_DIV_ENABLED = "server.global.rt.div.enabled";
 
   /**
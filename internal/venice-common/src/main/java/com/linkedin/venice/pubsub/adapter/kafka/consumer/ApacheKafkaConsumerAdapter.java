@@ -10,6 +10,7 @@ import com.linkedin.venice.pubsub.PubSubUtil;
 import com.linkedin.venice.pubsub.adapter.kafka.TopicPartitionsOffsetsTracker;
 import com.linkedin.venice.pubsub.adapter.kafka.common.ApacheKafkaOffsetPosition;
 import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import com.linkedin.venice.pubsub.api.EmptyPubSubMessageHeaders;
 import com.linkedin.venice.pubsub.api.PubSubConsumerAdapter;
 import com.linkedin.venice.pubsub.api.PubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubMessageDeserializer;
@@ -761,9 +762,20 @@ public class ApacheKafkaConsumerAdapter implements PubSubConsumerAdapter {
   private DefaultPubSubMessage deserialize(
       ConsumerRecord<byte[], byte[]> consumerRecord,
       PubSubTopicPartition topicPartition) {
-    PubSubMessageHeaders pubSubMessageHeaders = new PubSubMessageHeaders();
-    for (Header header: consumerRecord.headers()) {
-      pubSubMessageHeaders.add(header.key(), header.value());
+    /**
+     * Most of the records don't have any header, so they share the immutable empty headers rather than each getting
+     * an empty map, which the ingestion path is expected to handle, as {@link com.linkedin.venice.writer.VeniceWriter}
+     * does.
+     */
+    Header[] headers = consumerRecord.headers().toArray();
+    PubSubMessageHeaders pubSubMessageHeaders;
+    if (headers.length == 0) {
+      pubSubMessageHeaders = EmptyPubSubMessageHeaders.SINGLETON;
+    } else {
+      pubSubMessageHeaders = new PubSubMessageHeaders();
+      for (Header header: headers) {
+        pubSubMessageHeaders.add(header.key(), header.value());
+      }
     }
     PubSubPosition pubSubPosition = ApacheKafkaOffsetPosition.of(consumerRecord.offset());
     return pubSubMessageDeserializer.deserialize(
@@ -92,6 +92,14 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
 
   @Override
   public void put(T record) throws InterruptedException {
+    put(record, 0);
+  }
+
+  /**
+   * Same as {@link #put(Measurable)}, but leaves {@param reservedMemoryInByte} of the capacity to the other puts, so
+   * that this record only gets queued once the rest of the capacity is enough for it.
+   */
+  public void put(T record, long reservedMemoryInByte) throws InterruptedException {
     long recordSize = getRecordSize(record);
     if (recordSize > notifyDeltaInByte) {
       LOGGER.warn(
@@ -100,7 +108,7 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
     }
     memoryLock.lock();
     try {
-      while (remainingMemoryCapacityInByte() < recordSize) {
+      while (remainingMemoryCapacityInByte() - reservedMemoryInByte < recordSize) {
         hasEnoughMemory.await();
       }
       queue.add(record);
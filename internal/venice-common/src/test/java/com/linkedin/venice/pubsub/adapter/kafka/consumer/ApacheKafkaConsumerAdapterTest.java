@@ -17,6 +17,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.expectThrows;
 
@@ -34,6 +35,7 @@ import com.linkedin.venice.pubsub.PubSubTopicRepository;
 import com.linkedin.venice.pubsub.adapter.kafka.TopicPartitionsOffsetsTracker;
 import com.linkedin.venice.pubsub.adapter.kafka.common.ApacheKafkaOffsetPosition;
 import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import com.linkedin.venice.pubsub.api.EmptyPubSubMessageHeaders;
 import com.linkedin.venice.pubsub.api.PubSubMessageDeserializer;
 import com.linkedin.venice.pubsub.api.PubSubPosition;
 import com.linkedin.venice.pubsub.api.PubSubPositionWireFormat;
@@ -365,6 +367,10 @@ public class ApacheKafkaConsumerAdapterTest {
     assertEquals(actualKey.getKeyHeaderByte(), key.getKeyHeaderByte());
     assertEquals(actualKey.getKey(), key.getKey());
     assertEquals(messages.get(pubSubTopicPartition).get(0).getValue(), value);
+    // A record without header gets the shared empty headers
+    assertSame(
+        messages.get(pubSubTopicPartition).get(0).getPubSubMessageHeaders(),
+        EmptyPubSubMessageHeaders.SINGLETON);
   }
 
   @Test
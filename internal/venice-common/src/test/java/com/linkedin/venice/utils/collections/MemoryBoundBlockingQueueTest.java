@@ -119,4 +119,37 @@ public class MemoryBoundBlockingQueueTest {
       TestUtils.shutdownThread(t);
     }
   }
+
+  @Test
+  public void testPutWithReservedMemory() throws InterruptedException {
+    int memoryCap = 5000;
+    int reservedMemory = 2000;
+    MemoryBoundBlockingQueue<MeasurableObject> queue = new MemoryBoundBlockingQueue<>(memoryCap, 1000);
+    int recordSize = MemoryBoundBlockingQueue.LINKED_LIST_NODE_SHALLOW_OVERHEAD + MeasurableObject.SIZE;
+    int objectCntAtMostWithReservation = (memoryCap - reservedMemory) / recordSize;
+    Thread t = new Thread(() -> {
+      while (true) {
+        try {
+          queue.put(new MeasurableObject(), reservedMemory);
+        } catch (InterruptedException e) {
+          break;
+        }
+      }
+    });
+    t.start();
+    try {
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertTrue(t.isAlive());
+        Assert.assertEquals(queue.size(), objectCntAtMostWithReservation);
+      });
+      // The reserved memory is still available to the puts without reservation
+      int objectCntAtMost = memoryCap / recordSize;
+      for (int i = objectCntAtMostWithReservation; i < objectCntAtMost; ++i) {
+        queue.put(new MeasurableObject());
+      }
+      Assert.assertEquals(queue.size(), objectCntAtMost);
+    } finally {
+      TestUtils.shutdownThread(t);
+    }
+  }
 }
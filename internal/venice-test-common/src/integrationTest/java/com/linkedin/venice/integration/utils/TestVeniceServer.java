@@ -6,11 +6,13 @@ import com.linkedin.davinci.storage.DiskHealthCheckService;
 import com.linkedin.davinci.storage.IngestionMetadataRetriever;
 import com.linkedin.davinci.storage.ReadMetadataRetriever;
 import com.linkedin.davinci.storage.StorageEngineRepository;
+import com.linkedin.davinci.store.cache.OffHeapValueCache;
 import com.linkedin.venice.acl.DynamicAccessController;
 import com.linkedin.venice.acl.StaticAccessController;
 import com.linkedin.venice.cleaner.ResourceReadUsageTracker;
 import com.linkedin.venice.helix.HelixCustomizedViewOfflinePushRepository;
 import com.linkedin.venice.listener.ListenerService;
+import com.linkedin.venice.listener.PartitionAffinityExecutor;
 import com.linkedin.venice.listener.StorageReadRequestHandler;
 import com.linkedin.venice.meta.ReadOnlySchemaRepository;
 import com.linkedin.venice.meta.ReadOnlyStoreRepository;
@@ -51,7 +53,8 @@ public class TestVeniceServer extends VeniceServer {
       Optional<DynamicAccessController> storeAccessController,
       DiskHealthCheckService diskHealthService,
       StorageEngineBackedCompressorFactory compressorFactory,
-      Optional<ResourceReadUsageTracker> resourceReadUsageTracker) {
+      Optional<ResourceReadUsageTracker> resourceReadUsageTracker,
+      Optional<OffHeapValueCache> valueCache) {
 
     return new ListenerService(
         storageEngineRepository,
@@ -67,7 +70,8 @@ public class TestVeniceServer extends VeniceServer {
         storeAccessController,
         diskHealthService,
         compressorFactory,
-        resourceReadUsageTracker) {
+        resourceReadUsageTracker,
+        valueCache) {
       @Override
       protected StorageReadRequestHandler createRequestHandler(
           ThreadPoolExecutor executor,
@@ -79,7 +83,10 @@ public class TestVeniceServer extends VeniceServer {
           ReadMetadataRetriever readMetadataRetriever,
           DiskHealthCheckService diskHealthService,
           StorageEngineBackedCompressorFactory compressorFactory,
-          Optional<ResourceReadUsageTracker> resourceReadUsageTracker) {
+          Optional<ResourceReadUsageTracker> resourceReadUsageTracker,
+          Optional<PartitionAffinityExecutor> partitionAffinityExecutor,
+          Optional<PartitionAffinityExecutor> partitionAffinityComputeExecutor,
+          Optional<OffHeapValueCache> valueCache) {
 
         return new StorageReadRequestHandler(
             serverConfig,
@@ -92,7 +99,10 @@ public class TestVeniceServer extends VeniceServer {
             readMetadataRetriever,
             diskHealthService,
             compressorFactory,
-            resourceReadUsageTracker) {
+            resourceReadUsageTracker,
+            partitionAffinityExecutor,
+            partitionAffinityComputeExecutor,
+            valueCache) {
           @Override
           public void channelRead(ChannelHandlerContext context, Object message) throws Exception {
             RequestHandler handler = requestHandler.get();
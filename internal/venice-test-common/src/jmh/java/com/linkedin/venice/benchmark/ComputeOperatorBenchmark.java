@@ -0,0 +1,113 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.avro.api.PrimitiveFloatList;
+import com.linkedin.avro.fastserde.primitive.PrimitiveFloatArrayList;
+import com.linkedin.venice.compute.ComputeUtils;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Benchmark of the vector compute operations on {@code List<Float>}, as the operators used to compute them, against
+ * their primitive float array counterparts, including the cost of copying the value vector into the reusable array.
+ *
+ * To run the test, build the project and run the following commands:
+ * ligradle jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+public class ComputeOperatorBenchmark {
+  @Param({ "32", "256", "1024" })
+  protected int vectorSize;
+
+  private PrimitiveFloatList param;
+  private PrimitiveFloatList value;
+  private Map<String, Object> context;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(0);
+    param = createVector(random);
+    value = createVector(random);
+    context = new HashMap<>();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    org.openjdk.jmh.runner.options.Options opt =
+        new OptionsBuilder().include(ComputeOperatorBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+
+  @Benchmark
+  public void dotProductOnList(Blackhole bh) {
+    bh.consume(ComputeUtils.dotProduct(param, value));
+  }
+
+  @Benchmark
+  public void dotProductOnArray(Blackhole bh) {
+    bh.consume(
+        ComputeUtils.dotProduct(
+            ComputeUtils.getParamAsFloatArray(param, context),
+            ComputeUtils.getValueAsReusableFloatArray(value, context),
+            vectorSize));
+  }
+
+  @Benchmark
+  public void cosineSimilarityOnList(Blackhole bh) {
+    bh.consume(
+        ComputeUtils.dotProduct(param, value)
+            / Math.sqrt(ComputeUtils.squaredL2Norm(param) * ComputeUtils.squaredL2Norm(value)));
+  }
+
+  @Benchmark
+  public void cosineSimilarityOnArray(Blackhole bh) {
+    float[] paramArray = ComputeUtils.getParamAsFloatArray(param, context);
+    float[] valueArray = ComputeUtils.getValueAsReusableFloatArray(value, context);
+    bh.consume(
+        ComputeUtils.dotProduct(paramArray, valueArray, vectorSize) / Math.sqrt(
+            ComputeUtils.squaredL2Norm(paramArray, vectorSize) * ComputeUtils.squaredL2Norm(valueArray, vectorSize)));
+  }
+
+  @Benchmark
+  public void hadamardProductOnList(Blackhole bh) {
+    bh.consume(ComputeUtils.hadamardProduct(param, value));
+  }
+
+  @Benchmark
+  public void hadamardProductOnArray(Blackhole bh) {
+    bh.consume(
+        ComputeUtils.hadamardProduct(
+            ComputeUtils.getParamAsFloatArray(param, context),
+            ComputeUtils.getValueAsReusableFloatArray(value, context),
+            vectorSize));
+  }
+
+  private PrimitiveFloatList createVector(Random random) {
+    PrimitiveFloatList vector = new PrimitiveFloatArrayList(vectorSize);
+    for (int i = 0; i < vectorSize; i++) {
+      vector.addPrimitive(random.nextFloat());
+    }
+    return vector;
+  }
+}
@@ -0,0 +1,82 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.davinci.kafka.consumer.KeyLevelLocksManager;
+import com.linkedin.davinci.utils.ByteArrayKey;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Measures the overhead of {@link KeyLevelLocksManager} for the leader ingestion threads of an Active/Active store,
+ * which acquire and release the lock of every key they process, as a complement to
+ * {@link IngestionBenchmarkInSingleProcess}.
+ *
+ * The key count controls the contention: a few keys simulate a hot key workload, where the threads mostly wait on the
+ * locks of the keys themselves, while many keys simulate a workload where the threads would only ever contend on the
+ * manager.
+ *
+ * To run the test, build the project and run the following commands:
+ * ligradle jmh
+ * If above command throws an error, you can try run `ligradle jmh --debug` first to clean up all the caches, then retry
+ * `ligradle jmh` again to run the results.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@Threads(8)
+public class KeyLevelLocksManagerBenchmark {
+  @Param({ "4", "100000" })
+  protected int keyCount;
+
+  private KeyLevelLocksManager keyLevelLocksManager;
+  private ByteArrayKey[] keys;
+
+  @Setup
+  public void setUp() {
+    // Same sizing as the Active/Active ingestion task: enough locks for every thread to hold one
+    this.keyLevelLocksManager = new KeyLevelLocksManager("benchmark_store_v1", 2, 64);
+    this.keys = new ByteArrayKey[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      keys[i] = ByteArrayKey.wrap(ByteBuffer.allocate(Integer.BYTES).putInt(i).array());
+    }
+  }
+
+  @Benchmark
+  public void acquireAndReleaseLock() {
+    ByteArrayKey key = keys[ThreadLocalRandom.current().nextInt(keyCount)];
+    ReentrantLock lock = keyLevelLocksManager.acquireLockByKey(key);
+    lock.lock();
+    try {
+      // The critical section is left empty to only measure the locking overhead
+    } finally {
+      lock.unlock();
+      keyLevelLocksManager.releaseLock(key);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    org.openjdk.jmh.runner.options.Options opt =
+        new OptionsBuilder().include(KeyLevelLocksManagerBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+}
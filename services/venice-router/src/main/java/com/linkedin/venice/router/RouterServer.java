@@ -42,9 +42,11 @@ import com.linkedin.venice.meta.Instance;
 import com.linkedin.venice.meta.NameRepository;
 import com.linkedin.venice.meta.ReadOnlySchemaRepository;
 import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.RetryManager;
 import com.linkedin.venice.pushstatushelper.PushStatusStoreReader;
 import com.linkedin.venice.read.RequestType;
 import com.linkedin.venice.router.acl.RouterStoreAclHandler;
+import com.linkedin.venice.router.api.AdaptiveLongTailRetrySupplier;
 import com.linkedin.venice.router.api.DictionaryRetrievalService;
 import com.linkedin.venice.router.api.MetaStoreShadowReader;
 import com.linkedin.venice.router.api.RouterExceptionAndTrackingUtils;
@@ -139,6 +141,7 @@ public class RouterServer extends AbstractVeniceService {
   private static final Logger LOGGER = LogManager.getLogger(RouterServer.class);
   public static final String DEFAULT_CLUSTER_DISCOVERY_D2_SERVICE_NAME = "venice-discovery";
   private static final String ROUTER_RETRY_MANAGER_THREAD_PREFIX = "Router-retry-manager-thread";
+  private static final String ROUTER_RETRY_MANAGER_STATS_NAME = "long-tail-retry-manager";
   // Immutable state
   private final List<ServiceDiscoveryAnnouncer> serviceDiscoveryAnnouncers;
   private final MetricsRepository metricsRepository;
@@ -517,7 +520,8 @@ public class RouterServer extends AbstractVeniceService {
             "Router client type " + config.getStorageNodeClientType().toString() + " is not supported!");
     }
 
-    RouteHttpRequestStats routeHttpRequestStats = new RouteHttpRequestStats(metricsRepository, storageNodeClient);
+    RouteHttpRequestStats routeHttpRequestStats =
+        new RouteHttpRequestStats(metricsRepository, storageNodeClient, config.getP2cEwmaDecayTimeMs());
 
     VeniceHostHealth healthMonitor =
         new VeniceHostHealth(liveInstanceMonitor, storageNodeClient, config, routeHttpRequestStats, aggHostHealthStats);
@@ -572,6 +576,16 @@ public class RouterServer extends AbstractVeniceService {
     retryManagerExecutorService = Executors.newScheduledThreadPool(
         config.getRetryManagerCorePoolSize(),
         new DaemonThreadFactory(ROUTER_RETRY_MANAGER_THREAD_PREFIX, config.getLogContext()));
+    // The retry budget across all the stores, on top of the per-store budgets of the path parser
+    scatterGatherMode.initRouterRetryManager(
+        new RetryManager(
+            metricsRepository,
+            ROUTER_RETRY_MANAGER_STATS_NAME,
+            config.getLongTailRetryBudgetEnforcementWindowInMs(),
+            config.getLongTailRetryBudgetPercentDecimal(),
+            retryManagerExecutorService,
+            null,
+            null));
 
     VenicePathParser pathParser = new VenicePathParser(
         versionFinder,
@@ -603,9 +617,13 @@ public class RouterServer extends AbstractVeniceService {
     // Setup stat tracking for exceptional case
     RouterExceptionAndTrackingUtils.setRouterStats(routerStats);
 
-    // Fixed retry future
-    LongTailRetrySupplier<VenicePath, RouterKey> retrySupplier =
-        (path, methodName) -> new SuccessAsyncFuture<>(path::getLongTailRetryThresholdMs);
+    LongTailRetrySupplier<VenicePath, RouterKey> retrySupplier;
+    if (config.isAdaptiveLongTailRetryEnabled()) {
+      retrySupplier = new AdaptiveLongTailRetrySupplier(config, routeHttpRequestStats);
+    } else {
+      // Fixed retry future
+      retrySupplier = (path, methodName) -> new SuccessAsyncFuture<>(path::getLongTailRetryThresholdMs);
+    }
 
     responseAggregator = new VeniceResponseAggregator(routerStats, metaStoreShadowReader);
     /**
@@ -19,6 +19,9 @@ import static com.linkedin.venice.ConfigKeys.MAX_READ_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.NAME_REPOSITORY_MAX_ENTRY_COUNT;
 import static com.linkedin.venice.ConfigKeys.REFRESH_ATTEMPTS_FOR_ZK_RECONNECT;
 import static com.linkedin.venice.ConfigKeys.REFRESH_INTERVAL_FOR_ZK_RECONNECT_MS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_ADAPTIVE_LONG_TAIL_RETRY_ENABLED;
+import static com.linkedin.venice.ConfigKeys.ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_THRESHOLD_MS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_ADAPTIVE_LONG_TAIL_RETRY_PERCENTILE;
 import static com.linkedin.venice.ConfigKeys.ROUTER_ASYNC_START_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_CLIENT_DECOMPRESSION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_CLIENT_IP_SPOOFING_CHECK_ENABLED;
@@ -62,7 +65,9 @@ import static com.linkedin.venice.ConfigKeys.ROUTER_IO_WORKER_COUNT;
 import static com.linkedin.venice.ConfigKeys.ROUTER_LATENCY_BASED_ROUTING_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_LEAKED_FUTURE_CLEANUP_POLL_INTERVAL_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_LEAKED_FUTURE_CLEANUP_THRESHOLD_MS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_LONG_TAIL_RETRY_ABORT_LOSING_REQUEST_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_LONG_TAIL_RETRY_BUDGET_ENFORCEMENT_WINDOW_MS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_LONG_TAIL_RETRY_BUDGET_PERCENT_DECIMAL;
 import static com.linkedin.venice.ConfigKeys.ROUTER_LONG_TAIL_RETRY_FOR_BATCH_GET_THRESHOLD_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_LONG_TAIL_RETRY_FOR_SINGLE_GET_THRESHOLD_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_LONG_TAIL_RETRY_MAX_ROUTE_FOR_MULTI_KEYS_REQ;
@@ -77,19 +82,26 @@ import static com.linkedin.venice.ConfigKeys.ROUTER_MULTIGET_TARDY_LATENCY_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_MULTI_KEY_LONG_TAIL_RETRY_BUDGET_PERCENT_DECIMAL;
 import static com.linkedin.venice.ConfigKeys.ROUTER_MULTI_KEY_ROUTING_STRATEGY;
 import static com.linkedin.venice.ConfigKeys.ROUTER_NETTY_GRACEFUL_SHUTDOWN_PERIOD_SECONDS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_P2C_EWMA_DECAY_TIME_MS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_P2C_EWMA_ROUTING_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_PARALLEL_ROUTING_CHUNK_SIZE;
 import static com.linkedin.venice.ConfigKeys.ROUTER_PARALLEL_ROUTING_THREAD_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.ROUTER_PENDING_CONNECTION_RESUME_THRESHOLD_PER_ROUTE;
 import static com.linkedin.venice.ConfigKeys.ROUTER_PER_NODE_CLIENT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_PER_NODE_CLIENT_THREAD_COUNT;
 import static com.linkedin.venice.ConfigKeys.ROUTER_PER_STORE_ROUTER_QUOTA_BUFFER;
+import static com.linkedin.venice.ConfigKeys.ROUTER_PROPAGATE_REQUEST_TIMEOUT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.ROUTER_QUOTA_CHECK_WINDOW;
 import static com.linkedin.venice.ConfigKeys.ROUTER_READ_QUOTA_THROTTLING_LEASE_TIMEOUT_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_RESOLVE_QUEUE_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.ROUTER_RESOLVE_THREADS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_RESPONSE_CACHE_CAPACITY_PER_STORE_IN_BYTES;
+import static com.linkedin.venice.ConfigKeys.ROUTER_RESPONSE_CACHE_STORES;
 import static com.linkedin.venice.ConfigKeys.ROUTER_RETRY_MANAGER_CORE_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.ROUTER_ROUTING_COMPUTATION_MODE;
 import static com.linkedin.venice.ConfigKeys.ROUTER_SINGLEGET_TARDY_LATENCY_MS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_SINGLE_GET_COALESCING_ENABLED;
+import static com.linkedin.venice.ConfigKeys.ROUTER_SINGLE_GET_COALESCING_MAX_INFLIGHT_KEYS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_SINGLE_KEY_LONG_TAIL_RETRY_BUDGET_PERCENT_DECIMAL;
 import static com.linkedin.venice.ConfigKeys.ROUTER_SMART_LONG_TAIL_RETRY_ABORT_THRESHOLD_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_SMART_LONG_TAIL_RETRY_ENABLED;
@@ -115,6 +127,7 @@ import com.linkedin.venice.router.api.RoutingComputationMode;
 import com.linkedin.venice.router.api.VeniceMultiKeyRoutingStrategy;
 import com.linkedin.venice.router.api.routing.helix.HelixGroupSelectionStrategyEnum;
 import com.linkedin.venice.router.httpclient.StorageNodeClientType;
+import com.linkedin.venice.router.stats.RouteHttpRequestStats;
 import com.linkedin.venice.utils.BatchGetConfigUtils;
 import com.linkedin.venice.utils.LogContext;
 import com.linkedin.venice.utils.RegionUtils;
@@ -123,7 +136,9 @@ import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
@@ -152,6 +167,10 @@ public class VeniceRouterConfig implements RouterRetryConfig {
   private final boolean smartLongTailRetryEnabled;
   private final int smartLongTailRetryAbortThresholdMs;
   private final int longTailRetryMaxRouteForMultiKeyReq;
+  private final boolean adaptiveLongTailRetryEnabled;
+  private final double adaptiveLongTailRetryPercentile;
+  private final int adaptiveLongTailRetryMinThresholdMs;
+  private final boolean longTailRetryAbortLosingRequestEnabled;
   private final int maxKeyCountInMultiGetReq;
   private final int connectionLimit;
   private final ConnectionHandleMode connectionHandleMode;
@@ -175,9 +194,12 @@ public class VeniceRouterConfig implements RouterRetryConfig {
   private final StorageNodeClientType storageNodeClientType;
   private final boolean decompressOnClient;
   private final int socketTimeout;
+  private final boolean propagateRequestTimeoutEnabled;
   private final int connectionTimeout;
   private final boolean statefulRouterHealthCheckEnabled;
   private final boolean latencyBasedRoutingEnabled;
+  private final boolean p2cEwmaRoutingEnabled;
+  private final long p2cEwmaDecayTimeMs;
   private final int routerUnhealthyPendingConnThresholdPerRoute;
   private final int routerPendingConnResumeThresholdPerRoute;
   private final boolean perNodeClientAllocationEnabled;
@@ -233,6 +255,7 @@ public class VeniceRouterConfig implements RouterRetryConfig {
   private final double singleKeyLongTailRetryBudgetPercentDecimal;
   private final double multiKeyLongTailRetryBudgetPercentDecimal;
   private final long longTailRetryBudgetEnforcementWindowInMs;
+  private final double longTailRetryBudgetPercentDecimal;
   private final int retryManagerCorePoolSize;
   private final int nameRepoMaxEntryCount;
   private final int aclInMemoryCacheTTLMs;
@@ -240,6 +263,10 @@ public class VeniceRouterConfig implements RouterRetryConfig {
   private final RoutingComputationMode routingComputationMode;
   private final int parallelRoutingThreadCount;
   private final int parallelRoutingChunkSize;;
+  private final Set<String> responseCacheStores;
+  private final long responseCacheCapacityPerStoreInBytes;
+  private final boolean singleGetCoalescingEnabled;
+  private final int singleGetCoalescingMaxInflightKeys;
 
   // MUTABLE CONFIGS
 
@@ -274,6 +301,11 @@ public class VeniceRouterConfig implements RouterRetryConfig {
       smartLongTailRetryAbortThresholdMs = props.getInt(ROUTER_SMART_LONG_TAIL_RETRY_ABORT_THRESHOLD_MS, 100);
       // Default: -1 means this feature is not enabled.
       longTailRetryMaxRouteForMultiKeyReq = props.getInt(ROUTER_LONG_TAIL_RETRY_MAX_ROUTE_FOR_MULTI_KEYS_REQ, 2);
+      adaptiveLongTailRetryEnabled = props.getBoolean(ROUTER_ADAPTIVE_LONG_TAIL_RETRY_ENABLED, false);
+      adaptiveLongTailRetryPercentile = props.getDouble(ROUTER_ADAPTIVE_LONG_TAIL_RETRY_PERCENTILE, 0.95);
+      adaptiveLongTailRetryMinThresholdMs = props.getInt(ROUTER_ADAPTIVE_LONG_TAIL_RETRY_MIN_THRESHOLD_MS, 2);
+      longTailRetryAbortLosingRequestEnabled =
+          props.getBoolean(ROUTER_LONG_TAIL_RETRY_ABORT_LOSING_REQUEST_ENABLED, false);
       maxKeyCountInMultiGetReq = props.getInt(ROUTER_MAX_KEY_COUNT_IN_MULTIGET_REQ, 500);
       connectionLimit = props.getInt(ROUTER_CONNECTION_LIMIT, 10000);
       // When connection limit is breached, fail fast to client request by default.
@@ -312,10 +344,15 @@ public class VeniceRouterConfig implements RouterRetryConfig {
       decompressOnClient = props.getBoolean(ROUTER_CLIENT_DECOMPRESSION_ENABLED, true);
 
       socketTimeout = props.getInt(ROUTER_SOCKET_TIMEOUT, 5000); // 5s
+      propagateRequestTimeoutEnabled = props.getBoolean(ROUTER_PROPAGATE_REQUEST_TIMEOUT_ENABLED, false);
       connectionTimeout = props.getInt(ROUTER_CONNECTION_TIMEOUT, 5000); // 5s
 
       statefulRouterHealthCheckEnabled = props.getBoolean(ROUTER_STATEFUL_HEALTHCHECK_ENABLED, true);
       latencyBasedRoutingEnabled = props.getBoolean(ROUTER_LATENCY_BASED_ROUTING_ENABLED, false);
+      p2cEwmaRoutingEnabled = props.getBoolean(ROUTER_P2C_EWMA_ROUTING_ENABLED, false);
+      p2cEwmaDecayTimeMs = props.getLong(
+          ROUTER_P2C_EWMA_DECAY_TIME_MS,
+          RouteHttpRequestStats.DEFAULT_RESPONSE_WAITING_TIME_EWMA_DECAY_TIME_MS);
       routerUnhealthyPendingConnThresholdPerRoute =
           props.getInt(ROUTER_UNHEALTHY_PENDING_CONNECTION_THRESHOLD_PER_ROUTE, 100);
       routerPendingConnResumeThresholdPerRoute = props.getInt(ROUTER_PENDING_CONNECTION_RESUME_THRESHOLD_PER_ROUTE, 15);
@@ -424,6 +461,7 @@ public class VeniceRouterConfig implements RouterRetryConfig {
           props.getDouble(ROUTER_MULTI_KEY_LONG_TAIL_RETRY_BUDGET_PERCENT_DECIMAL, 0.0);
       longTailRetryBudgetEnforcementWindowInMs =
           props.getLong(ROUTER_LONG_TAIL_RETRY_BUDGET_ENFORCEMENT_WINDOW_MS, Time.MS_PER_MINUTE);
+      longTailRetryBudgetPercentDecimal = props.getDouble(ROUTER_LONG_TAIL_RETRY_BUDGET_PERCENT_DECIMAL, 0.0);
       retryManagerCorePoolSize = props.getInt(ROUTER_RETRY_MANAGER_CORE_POOL_SIZE, 5);
       this.nameRepoMaxEntryCount =
           props.getInt(NAME_REPOSITORY_MAX_ENTRY_COUNT, NameRepository.DEFAULT_MAXIMUM_ENTRY_COUNT);
@@ -441,6 +479,11 @@ public class VeniceRouterConfig implements RouterRetryConfig {
       parallelRoutingThreadCount =
           props.getInt(ROUTER_PARALLEL_ROUTING_THREAD_POOL_SIZE, Runtime.getRuntime().availableProcessors());
       parallelRoutingChunkSize = props.getInt(ROUTER_PARALLEL_ROUTING_CHUNK_SIZE, 100);
+      responseCacheStores = new HashSet<>(props.getList(ROUTER_RESPONSE_CACHE_STORES, Collections.emptyList()));
+      responseCacheCapacityPerStoreInBytes =
+          props.getSizeInBytes(ROUTER_RESPONSE_CACHE_CAPACITY_PER_STORE_IN_BYTES, 64 * 1024 * 1024L);
+      singleGetCoalescingEnabled = props.getBoolean(ROUTER_SINGLE_GET_COALESCING_ENABLED, false);
+      singleGetCoalescingMaxInflightKeys = props.getInt(ROUTER_SINGLE_GET_COALESCING_MAX_INFLIGHT_KEYS, 10000);
       LOGGER.info("Loaded configuration");
     } catch (Exception e) {
       String errorMessage = "Can not load properties.";
@@ -597,6 +640,22 @@ public class VeniceRouterConfig implements RouterRetryConfig {
     return longTailRetryMaxRouteForMultiKeyReq;
   }
 
+  public boolean isAdaptiveLongTailRetryEnabled() {
+    return adaptiveLongTailRetryEnabled;
+  }
+
+  public double getAdaptiveLongTailRetryPercentile() {
+    return adaptiveLongTailRetryPercentile;
+  }
+
+  public int getAdaptiveLongTailRetryMinThresholdMs() {
+    return adaptiveLongTailRetryMinThresholdMs;
+  }
+
+  public boolean isLongTailRetryAbortLosingRequestEnabled() {
+    return longTailRetryAbortLosingRequestEnabled;
+  }
+
   public StorageNodeClientType getStorageNodeClientType() {
     return storageNodeClientType;
   }
@@ -609,6 +668,10 @@ public class VeniceRouterConfig implements RouterRetryConfig {
     return socketTimeout;
   }
 
+  public boolean isPropagateRequestTimeoutEnabled() {
+    return propagateRequestTimeoutEnabled;
+  }
+
   public int getConnectionTimeout() {
     return connectionTimeout;
   }
@@ -621,6 +684,14 @@ public class VeniceRouterConfig implements RouterRetryConfig {
     return latencyBasedRoutingEnabled;
   }
 
+  public boolean isP2cEwmaRoutingEnabled() {
+    return p2cEwmaRoutingEnabled;
+  }
+
+  public long getP2cEwmaDecayTimeMs() {
+    return p2cEwmaDecayTimeMs;
+  }
+
   public int getRouterUnhealthyPendingConnThresholdPerRoute() {
     return routerUnhealthyPendingConnThresholdPerRoute;
   }
@@ -845,6 +916,10 @@ public class VeniceRouterConfig implements RouterRetryConfig {
     return longTailRetryBudgetEnforcementWindowInMs;
   }
 
+  public double getLongTailRetryBudgetPercentDecimal() {
+    return longTailRetryBudgetPercentDecimal;
+  }
+
   public int getRetryManagerCorePoolSize() {
     return retryManagerCorePoolSize;
   }
@@ -876,4 +951,20 @@ public class VeniceRouterConfig implements RouterRetryConfig {
   public int getParallelRoutingChunkSize() {
     return parallelRoutingChunkSize;
   }
+
+  public Set<String> getResponseCacheStores() {
+    return responseCacheStores;
+  }
+
+  public long getResponseCacheCapacityPerStoreInBytes() {
+    return responseCacheCapacityPerStoreInBytes;
+  }
+
+  public boolean isSingleGetCoalescingEnabled() {
+    return singleGetCoalescingEnabled;
+  }
+
+  public int getSingleGetCoalescingMaxInflightKeys() {
+    return singleGetCoalescingMaxInflightKeys;
+  }
 }
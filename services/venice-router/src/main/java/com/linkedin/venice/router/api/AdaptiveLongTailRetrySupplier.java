@@ -0,0 +1,61 @@
+package com.linkedin.venice.router.api;
+
+import com.linkedin.alpini.base.concurrency.AsyncFuture;
+import com.linkedin.alpini.base.concurrency.impl.SuccessAsyncFuture;
+import com.linkedin.alpini.router.api.LongTailRetrySupplier;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.VeniceRouterConfig;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.router.stats.RouteHttpRequestStats;
+import java.util.function.LongSupplier;
+import javax.annotation.Nonnull;
+
+
+/**
+ * This {@link LongTailRetrySupplier} retries a request once it has been waiting for longer than the configured
+ * percentile of the response waiting time of the storage nodes it is waiting for, so that the retry threshold follows
+ * the latency of each route instead of being a fixed value, which is either too aggressive and adds load, or too lax
+ * and leaves the tail latency high.
+ *
+ * The configured thresholds are used as the upper bound, and as the threshold when there are not enough responses
+ * from any of the storage nodes to tell.
+ *
+ * The threshold is evaluated once the request got scattered, so that only the storage nodes, which are actually being
+ * waited for, matter, and the long tail retry will only resend the scattered parts which are still in flight.
+ */
+public class AdaptiveLongTailRetrySupplier implements LongTailRetrySupplier<VenicePath, RouterKey> {
+  private final RouteHttpRequestStats routeHttpRequestStats;
+  private final double percentile;
+  private final long minThresholdMs;
+
+  public AdaptiveLongTailRetrySupplier(VeniceRouterConfig config, RouteHttpRequestStats routeHttpRequestStats) {
+    this.routeHttpRequestStats = routeHttpRequestStats;
+    this.percentile = config.getAdaptiveLongTailRetryPercentile();
+    this.minThresholdMs = config.getAdaptiveLongTailRetryMinThresholdMs();
+  }
+
+  @Nonnull
+  @Override
+  public AsyncFuture<LongSupplier> getLongTailRetryMilliseconds(@Nonnull VenicePath path, @Nonnull String methodName) {
+    return new SuccessAsyncFuture<>(() -> getLongTailRetryThresholdMs(path));
+  }
+
+  long getLongTailRetryThresholdMs(VenicePath path) {
+    long configuredThresholdMs = path.getLongTailRetryThresholdMs();
+    RequestType requestType = path.getRequestType();
+    double thresholdMs = -1;
+    for (String storageNode: path.getSlowStorageNodes()) {
+      double responseWaitingTimeMs =
+          routeHttpRequestStats.getResponseWaitingTimePercentile(storageNode, requestType, percentile);
+      if (responseWaitingTimeMs < 0) {
+        // Not enough responses from this storage node to tell
+        return configuredThresholdMs;
+      }
+      thresholdMs = Math.max(thresholdMs, responseWaitingTimeMs);
+    }
+    if (thresholdMs < 0) {
+      return configuredThresholdMs;
+    }
+    return Math.min(configuredThresholdMs, Math.max(minThresholdMs, (long) Math.ceil(thresholdMs)));
+  }
+}
@@ -0,0 +1,248 @@
+package com.linkedin.venice.router.api;
+
+import com.linkedin.alpini.router.api.RouterException;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.VeniceRouterConfig;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.router.api.path.VeniceSingleGetPath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import com.linkedin.venice.router.stats.RouterRequestCoalescingStats;
+import com.linkedin.venice.stats.AbstractVeniceAggStats;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.tehuti.metrics.MetricsRepository;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Coalesces the concurrent single-get requests of the same key of the same store version, so that only the first one
+ * is sent to a storage node, and the others wait for its response instead, see {@link VeniceDispatcher#dispatch}. This
+ * cuts the storage node requests when a few keys get a large share of the requests.
+ *
+ * The number of keys being waited for is bounded by
+ * {@link com.linkedin.venice.ConfigKeys#ROUTER_SINGLE_GET_COALESCING_MAX_INFLIGHT_KEYS}, past which the requests of the
+ * other keys are sent as they are. The requests waiting for a request which fails are sent on their own, since the
+ * failure could be specific to the storage node the failed request was sent to. The long-tail retries are never
+ * coalesced, since they are meant to be sent to another storage node than the request being retried.
+ */
+public class RouterRequestCoalescer {
+  private final int maxInflightKeys;
+  private final MetricsRepository metricsRepository;
+  private final Map<InflightKey, CompletableFuture<CoalescedHttpResponse>> inflightRequests =
+      new VeniceConcurrentHashMap<>();
+  private final AtomicInteger inflightKeyCount = new AtomicInteger();
+  private final RouterRequestCoalescingStats totalStats;
+  private final Map<String, RouterRequestCoalescingStats> storeStatsMap = new VeniceConcurrentHashMap<>();
+
+  public RouterRequestCoalescer(VeniceRouterConfig config, MetricsRepository metricsRepository) {
+    this(config.getSingleGetCoalescingMaxInflightKeys(), metricsRepository);
+  }
+
+  RouterRequestCoalescer(int maxInflightKeys, MetricsRepository metricsRepository) {
+    this.maxInflightKeys = maxInflightKeys;
+    this.metricsRepository = metricsRepository;
+    this.totalStats = new RouterRequestCoalescingStats(
+        metricsRepository,
+        AbstractVeniceAggStats.STORE_NAME_FOR_TOTAL_STAT,
+        this::getInflightKeyCount);
+  }
+
+  /**
+   * Sends the request of the path with the given sender, unless the same key of the same store version is already
+   * being requested, in which case the response of that request is returned instead.
+   */
+  CompletableFuture<PortableHttpResponse> sendRequest(VenicePath path, RequestSender sender) throws RouterException {
+    if (path.getRequestType() != RequestType.SINGLE_GET || path.isRetryRequest()) {
+      return sender.send();
+    }
+    InflightKey key = new InflightKey(path.getResourceName(), ((VeniceSingleGetPath) path).getPartitionKey());
+    CompletableFuture<CoalescedHttpResponse> inflightRequest = inflightRequests.get(key);
+    if (inflightRequest != null) {
+      return waitFor(path.getStoreName(), inflightRequest, sender);
+    }
+
+    if (inflightKeyCount.incrementAndGet() > maxInflightKeys) {
+      inflightKeyCount.decrementAndGet();
+      totalStats.recordOverflowRequest();
+      getStats(path.getStoreName()).recordOverflowRequest();
+      return sender.send();
+    }
+    CompletableFuture<CoalescedHttpResponse> newRequest = new CompletableFuture<>();
+    inflightRequest = inflightRequests.putIfAbsent(key, newRequest);
+    if (inflightRequest != null) {
+      inflightKeyCount.decrementAndGet();
+      return waitFor(path.getStoreName(), inflightRequest, sender);
+    }
+
+    CompletableFuture<PortableHttpResponse> responseFuture;
+    try {
+      responseFuture = sender.send();
+    } catch (Throwable e) {
+      complete(key, newRequest, null, e);
+      throw e;
+    }
+    CompletableFuture<PortableHttpResponse> coalescedResponseFuture = new CompletableFuture<>();
+    responseFuture.whenComplete((response, throwable) -> {
+      CoalescedHttpResponse coalescedResponse = complete(key, newRequest, response, throwable);
+      if (throwable != null) {
+        coalescedResponseFuture.completeExceptionally(throwable);
+      } else {
+        coalescedResponseFuture.complete(coalescedResponse == null ? response : coalescedResponse.newResponse());
+      }
+    });
+    return coalescedResponseFuture;
+  }
+
+  /**
+   * @return the response to share with the requests waiting for this one, or null if the request failed, or if its
+   *         response could not be read, in which case the waiting requests are sent on their own.
+   */
+  private CoalescedHttpResponse complete(
+      InflightKey key,
+      CompletableFuture<CoalescedHttpResponse> request,
+      PortableHttpResponse response,
+      Throwable throwable) {
+    inflightRequests.remove(key, request);
+    inflightKeyCount.decrementAndGet();
+    if (throwable != null) {
+      request.completeExceptionally(throwable);
+      return null;
+    }
+    try {
+      CoalescedHttpResponse coalescedResponse = new CoalescedHttpResponse(response);
+      request.complete(coalescedResponse);
+      return coalescedResponse;
+    } catch (Throwable e) {
+      request.completeExceptionally(e);
+      return null;
+    }
+  }
+
+  private CompletableFuture<PortableHttpResponse> waitFor(
+      String storeName,
+      CompletableFuture<CoalescedHttpResponse> inflightRequest,
+      RequestSender sender) {
+    totalStats.recordCoalescedRequest();
+    getStats(storeName).recordCoalescedRequest();
+    CompletableFuture<PortableHttpResponse> responseFuture = new CompletableFuture<>();
+    inflightRequest.whenComplete((coalescedResponse, throwable) -> {
+      if (throwable == null) {
+        responseFuture.complete(coalescedResponse.newResponse());
+        return;
+      }
+      totalStats.recordFallbackRequest();
+      getStats(storeName).recordFallbackRequest();
+      try {
+        sender.send().whenComplete((response, sendThrowable) -> {
+          if (sendThrowable != null) {
+            responseFuture.completeExceptionally(sendThrowable);
+          } else {
+            responseFuture.complete(response);
+          }
+        });
+      } catch (Throwable e) {
+        responseFuture.completeExceptionally(e);
+      }
+    });
+    return responseFuture;
+  }
+
+  private RouterRequestCoalescingStats getStats(String storeName) {
+    return storeStatsMap.computeIfAbsent(
+        storeName,
+        ignored -> new RouterRequestCoalescingStats(metricsRepository, storeName, this::getInflightKeyCount));
+  }
+
+  long getInflightKeyCount() {
+    return inflightKeyCount.get();
+  }
+
+  @FunctionalInterface
+  interface RequestSender {
+    CompletableFuture<PortableHttpResponse> send() throws RouterException;
+  }
+
+  private static final class InflightKey {
+    private final String resourceName;
+    private final RouterKey key;
+
+    InflightKey(String resourceName, RouterKey key) {
+      this.resourceName = resourceName;
+      this.key = key;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * resourceName.hashCode() + key.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof InflightKey)) {
+        return false;
+      }
+      InflightKey other = (InflightKey) o;
+      return resourceName.equals(other.resourceName) && Objects.equals(key, other.key);
+    }
+  }
+
+  /**
+   * A response of a storage node shared by the coalesced requests. Each of them gets a buffer of its own, since the
+   * content is released once written to the client, or once decompressed, but all of them wrap the same bytes, which
+   * are only read.
+   */
+  private static final class CoalescedHttpResponse {
+    private final PortableHttpResponse serverResponse;
+    private final byte[] content;
+    private final int contentOffset;
+    private final int contentLength;
+
+    CoalescedHttpResponse(PortableHttpResponse serverResponse) throws IOException {
+      this.serverResponse = serverResponse;
+      ByteBuf content = serverResponse.getContentInByteBuf();
+      this.contentLength = content.readableBytes();
+      if (content.hasArray()) {
+        this.content = content.array();
+        this.contentOffset = content.arrayOffset() + content.readerIndex();
+      } else {
+        this.content = ByteBufUtil.getBytes(content);
+        this.contentOffset = 0;
+        content.release();
+      }
+    }
+
+    PortableHttpResponse newResponse() {
+      ByteBuf content = Unpooled.wrappedBuffer(this.content, contentOffset, contentLength);
+      return new PortableHttpResponse() {
+        @Override
+        public int getStatusCode() {
+          return serverResponse.getStatusCode();
+        }
+
+        @Override
+        public ByteBuf getContentInByteBuf() {
+          return content;
+        }
+
+        @Override
+        public boolean containsHeader(String headerName) {
+          return serverResponse.containsHeader(headerName);
+        }
+
+        @Override
+        public String getFirstHeader(String headerName) {
+          return serverResponse.getFirstHeader(headerName);
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,507 @@
+package com.linkedin.venice.router.api;
+
+import static com.linkedin.venice.HttpConstants.VENICE_COMPRESSION_STRATEGY;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_GATEWAY;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
+import com.linkedin.venice.router.VeniceRouterConfig;
+import com.linkedin.venice.router.api.path.VeniceMultiGetPath;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.router.api.path.VeniceSingleGetPath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import com.linkedin.venice.router.stats.RouterResponseCacheStats;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.IllegalReferenceCountException;
+import io.tehuti.metrics.MetricsRepository;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.avro.io.OptimizedBinaryDecoderFactory;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+
+
+/**
+ * Caches the values the storage nodes return for the single-get and the non-streaming batch-get requests of the stores
+ * in {@link com.linkedin.venice.ConfigKeys#ROUTER_RESPONSE_CACHE_STORES}, see {@link VeniceDispatcher#dispatch}.
+ *
+ * The values are cached per store version, as returned by the storage nodes, i.e. still compressed, in direct buffers
+ * rather than on the heap. Only the current version of a store is cached, and only if it is neither hybrid nor
+ * incremental push enabled, so that its values cannot change once it serves reads. Since the versions of the requests
+ * come from {@link VeniceVersionFinder}, the first request after a version swap drops the cache of the previous version
+ * as a whole.
+ */
+public class RouterResponseCache {
+  private static final RecordSerializer<MultiGetResponseRecordV1> RECORD_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(MultiGetResponseRecordV1.getClassSchema());
+  private static final RecordDeserializer<MultiGetResponseRecordV1> RECORD_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroSpecificDeserializer(MultiGetResponseRecordV1.getClassSchema(), MultiGetResponseRecordV1.class);
+  private static final String MULTI_GET_RESPONSE_SCHEMA_ID =
+      Integer.toString(ReadAvroProtocolDefinition.MULTI_GET_RESPONSE_V1.getProtocolVersion());
+
+  private final ReadOnlyStoreRepository storeRepository;
+  private final Set<String> cachedStores;
+  private final long capacityPerStoreInBytes;
+  private final MetricsRepository metricsRepository;
+  private final ByteBufAllocator allocator;
+  private final Map<String, VersionCache> versionCacheMap = new VeniceConcurrentHashMap<>();
+  private final Map<String, RouterResponseCacheStats> storeStatsMap = new VeniceConcurrentHashMap<>();
+
+  public RouterResponseCache(
+      VeniceRouterConfig config,
+      ReadOnlyStoreRepository storeRepository,
+      MetricsRepository metricsRepository) {
+    /**
+     * The buffers must not be pooled, since a cached value can live for as long as its version is current, which
+     * would pin the chunks of a pooled allocator. They are still backed by a cleaner, so that the memory of a buffer
+     * which missed its release gets freed once it's collected.
+     */
+    this(
+        storeRepository,
+        config.getResponseCacheStores(),
+        config.getResponseCacheCapacityPerStoreInBytes(),
+        metricsRepository,
+        new UnpooledByteBufAllocator(true, false, false));
+  }
+
+  RouterResponseCache(
+      ReadOnlyStoreRepository storeRepository,
+      Set<String> cachedStores,
+      long capacityPerStoreInBytes,
+      MetricsRepository metricsRepository,
+      ByteBufAllocator allocator) {
+    this.storeRepository = storeRepository;
+    this.cachedStores = cachedStores;
+    this.capacityPerStoreInBytes = capacityPerStoreInBytes;
+    this.metricsRepository = metricsRepository;
+    this.allocator = allocator;
+  }
+
+  /**
+   * @return the keys of the path which are cached, and the way to complete the response of the others, or null if the
+   *         responses of the path are not cached.
+   */
+  Lookup lookup(VenicePath path) {
+    RequestType requestType = path.getRequestType();
+    if (requestType != RequestType.SINGLE_GET && requestType != RequestType.MULTI_GET) {
+      // Compute requests are not cached, nor the streaming ones, whose records are written as they come
+      return null;
+    }
+    VersionCache versionCache = getVersionCache(path.getStoreName(), path.getVersionNumber());
+    if (versionCache == null) {
+      return null;
+    }
+    RouterResponseCacheStats stats = getStats(path.getStoreName());
+    Lookup lookup = requestType == RequestType.SINGLE_GET
+        ? new SingleGetLookup(versionCache, (VeniceSingleGetPath) path)
+        : new MultiGetLookup(versionCache, (VeniceMultiGetPath) path);
+    stats.recordHitKeys(lookup.getHitKeyCount());
+    stats.recordMissKeys(path.getPartitionKeys().size() - lookup.getHitKeyCount());
+    return lookup;
+  }
+
+  private VersionCache getVersionCache(String storeName, int versionNumber) {
+    if (!cachedStores.contains(storeName)) {
+      return null;
+    }
+    VersionCache versionCache = versionCacheMap.get(storeName);
+    if (versionCache == null || versionCache.versionNumber != versionNumber) {
+      versionCache = swapVersionCache(storeName, versionNumber);
+    }
+    return versionCache == null || versionCache.cache == null ? null : versionCache;
+  }
+
+  /**
+   * Invoked by the first request of a store, and by the first one of each version after a version swap, and by the
+   * requests of the previous version still in flight, which must not drop the cache of the current version.
+   */
+  private VersionCache swapVersionCache(String storeName, int versionNumber) {
+    Store store = storeRepository.getStore(storeName);
+    if (store == null || store.getCurrentVersion() != versionNumber) {
+      return null;
+    }
+    Version version = store.getVersion(versionNumber);
+    if (version == null) {
+      return null;
+    }
+    boolean cacheable = !version.isHybrid() && !version.isIncrementalPushEnabled();
+    return versionCacheMap.compute(storeName, (ignored, existingCache) -> {
+      if (existingCache != null) {
+        if (existingCache.versionNumber == versionNumber) {
+          return existingCache;
+        }
+        existingCache.invalidateAll();
+        getStats(storeName).recordInvalidation();
+      }
+      return new VersionCache(versionNumber, version.getCompressionStrategy(), cacheable);
+    });
+  }
+
+  private RouterResponseCacheStats getStats(String storeName) {
+    return storeStatsMap.computeIfAbsent(
+        storeName,
+        ignored -> new RouterResponseCacheStats(metricsRepository, storeName, () -> getUsedBytes(storeName)));
+  }
+
+  long getUsedBytes(String storeName) {
+    VersionCache versionCache = versionCacheMap.get(storeName);
+    return versionCache == null ? 0 : versionCache.usedBytes.sum();
+  }
+
+  /**
+   * The cache of a store version, whose entries hold the schema id of the value followed by the value, as returned by
+   * the storage nodes. A version which is not cacheable gets an empty cache, so that its requests do not look the store
+   * up again.
+   */
+  private final class VersionCache {
+    private final int versionNumber;
+    private final CompressionStrategy compressionStrategy;
+    private final Cache<ByteBuffer, ByteBuf> cache;
+    private final LongAdder usedBytes = new LongAdder();
+    /**
+     * Set once the version is swapped out, after which the lookups still in flight must not add any entry, since
+     * nothing would ever evict, nor release, it.
+     */
+    private volatile boolean closed = false;
+
+    VersionCache(int versionNumber, CompressionStrategy compressionStrategy, boolean cacheable) {
+      this.versionNumber = versionNumber;
+      this.compressionStrategy = compressionStrategy;
+      if (cacheable) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(capacityPerStoreInBytes)
+            .weigher((ByteBuffer key, ByteBuf entry) -> key.remaining() + entry.readableBytes())
+            // Release the evicted entries right away, rather than asynchronously in the common pool
+            .executor(Runnable::run)
+            .removalListener(this::onRemoval)
+            .build();
+      } else {
+        this.cache = null;
+      }
+    }
+
+    /**
+     * @return a record holding a copy of the cached value of the key, without key index, or null if it is not cached.
+     */
+    MultiGetResponseRecordV1 get(ByteBuffer key) {
+      ByteBuf entry = cache.getIfPresent(key);
+      if (entry == null) {
+        return null;
+      }
+      try {
+        entry.retain();
+      } catch (IllegalReferenceCountException e) {
+        // The entry got evicted, and released, between the lookup and now
+        return null;
+      }
+      try {
+        MultiGetResponseRecordV1 record = new MultiGetResponseRecordV1();
+        record.schemaId = entry.getInt(0);
+        byte[] value = new byte[entry.readableBytes() - Integer.BYTES];
+        entry.getBytes(Integer.BYTES, value);
+        record.value = ByteBuffer.wrap(value);
+        return record;
+      } finally {
+        entry.release();
+      }
+    }
+
+    void put(ByteBuffer key, int schemaId, ByteBuffer value) {
+      if (closed) {
+        return;
+      }
+      ByteBuf entry = allocator.directBuffer(Integer.BYTES + value.remaining());
+      entry.writeInt(schemaId);
+      entry.writeBytes(value.duplicate());
+      byte[] keyBytes = new byte[key.remaining()];
+      key.duplicate().get(keyBytes);
+      usedBytes.add(keyBytes.length + entry.readableBytes());
+      ByteBuffer cacheKey = ByteBuffer.wrap(keyBytes);
+      cache.put(cacheKey, entry);
+      if (closed) {
+        // Got swapped out meanwhile, after which invalidateAll might have missed this entry
+        cache.invalidate(cacheKey);
+      }
+    }
+
+    boolean isCachedCompression(PortableHttpResponse serverResponse) {
+      return compressionStrategy == VeniceResponseDecompressor
+          .getCompressionStrategy(serverResponse.getFirstHeader(VENICE_COMPRESSION_STRATEGY));
+    }
+
+    void invalidateAll() {
+      closed = true;
+      if (cache != null) {
+        cache.invalidateAll();
+        cache.cleanUp();
+      }
+    }
+
+    private void onRemoval(ByteBuffer key, ByteBuf entry, RemovalCause cause) {
+      if (entry != null) {
+        usedBytes.add(-key.remaining() - entry.readableBytes());
+        entry.release();
+      }
+    }
+  }
+
+  /**
+   * The outcome of looking the keys of a request up, see {@link #lookup}.
+   */
+  abstract static class Lookup {
+    final VersionCache versionCache;
+
+    Lookup(VersionCache versionCache) {
+      this.versionCache = versionCache;
+    }
+
+    abstract int getHitKeyCount();
+
+    /**
+     * @return whether all the keys of the request are cached, in which case {@link #getCachedResponse()} is its
+     *         response.
+     */
+    abstract boolean isComplete();
+
+    abstract PortableHttpResponse getCachedResponse();
+
+    /**
+     * @return the path of the keys of the request which are not cached.
+     */
+    abstract VenicePath getPathOfMissedKeys();
+
+    /**
+     * Caches the values of the response of {@link #getPathOfMissedKeys()}.
+     *
+     * @return the response of the request, including the cached values.
+     */
+    abstract PortableHttpResponse complete(PortableHttpResponse serverResponse) throws IOException;
+  }
+
+  private static final class SingleGetLookup extends Lookup {
+    private final VeniceSingleGetPath path;
+    private final MultiGetResponseRecordV1 cachedRecord;
+
+    SingleGetLookup(VersionCache versionCache, VeniceSingleGetPath path) {
+      super(versionCache);
+      this.path = path;
+      this.cachedRecord = versionCache.get(path.getPartitionKey().getKeyBuffer());
+    }
+
+    @Override
+    int getHitKeyCount() {
+      return cachedRecord == null ? 0 : 1;
+    }
+
+    @Override
+    boolean isComplete() {
+      return cachedRecord != null;
+    }
+
+    @Override
+    PortableHttpResponse getCachedResponse() {
+      return new CachedHttpResponse(
+          Unpooled.wrappedBuffer(cachedRecord.value),
+          Integer.toString(cachedRecord.schemaId),
+          versionCache.compressionStrategy);
+    }
+
+    @Override
+    VenicePath getPathOfMissedKeys() {
+      return path;
+    }
+
+    @Override
+    PortableHttpResponse complete(PortableHttpResponse serverResponse) throws IOException {
+      // Not found keys are not cached, for they are not expected to be looked up repeatedly
+      if (serverResponse.getStatusCode() != HttpStatus.SC_OK || !versionCache.isCachedCompression(serverResponse)) {
+        return serverResponse;
+      }
+      ByteBuf content = serverResponse.getContentInByteBuf();
+      int schemaId = Integer.parseInt(serverResponse.getFirstHeader(HttpConstants.VENICE_SCHEMA_ID));
+      versionCache.put(path.getPartitionKey().getKeyBuffer(), schemaId, content.nioBuffer());
+      return new MergedHttpResponse(serverResponse, content);
+    }
+  }
+
+  private static final class MultiGetLookup extends Lookup {
+    private final VeniceMultiGetPath path;
+    private final List<MultiGetResponseRecordV1> cachedRecords = new ArrayList<>();
+    private final List<RouterKey> missedKeys = new ArrayList<>();
+    private final Int2ObjectMap<ByteBuffer> missedKeyMap = new Int2ObjectOpenHashMap<>();
+
+    MultiGetLookup(VersionCache versionCache, VeniceMultiGetPath path) {
+      super(versionCache);
+      this.path = path;
+      for (RouterKey key: path.getPartitionKeys()) {
+        MultiGetResponseRecordV1 record = versionCache.get(key.getKeyBuffer());
+        int keyIndex = path.getKeyIndex(key);
+        if (record != null) {
+          record.keyIndex = keyIndex;
+          cachedRecords.add(record);
+        } else {
+          missedKeys.add(key);
+          missedKeyMap.put(keyIndex, key.getKeyBuffer());
+        }
+      }
+    }
+
+    @Override
+    int getHitKeyCount() {
+      return cachedRecords.size();
+    }
+
+    @Override
+    boolean isComplete() {
+      return missedKeys.isEmpty();
+    }
+
+    @Override
+    PortableHttpResponse getCachedResponse() {
+      return new CachedHttpResponse(
+          Unpooled.wrappedBuffer(RECORD_SERIALIZER.serializeObjects(cachedRecords)),
+          MULTI_GET_RESPONSE_SCHEMA_ID,
+          versionCache.compressionStrategy);
+    }
+
+    @Override
+    VenicePath getPathOfMissedKeys() {
+      return cachedRecords.isEmpty() ? path : path.substitutePartitionKey(missedKeys);
+    }
+
+    @Override
+    PortableHttpResponse complete(PortableHttpResponse serverResponse) throws IOException {
+      if (serverResponse.getStatusCode() != HttpStatus.SC_OK) {
+        // The whole request fails anyway
+        return serverResponse;
+      }
+      if (!versionCache.isCachedCompression(serverResponse)) {
+        if (cachedRecords.isEmpty()) {
+          return serverResponse;
+        }
+        throw RouterExceptionAndTrackingUtils.newVeniceExceptionAndTracking(
+            path.getStoreName(),
+            RequestType.MULTI_GET,
+            BAD_GATEWAY,
+            "Unexpected compression strategy: " + serverResponse.getFirstHeader(VENICE_COMPRESSION_STRATEGY)
+                + " of the batch-get response of " + path.getResourceName() + ", expected: "
+                + versionCache.compressionStrategy);
+      }
+      ByteBuf content = serverResponse.getContentInByteBuf();
+      byte[] bytes = content.hasArray() ? content.array() : ByteBufUtil.getBytes(content);
+      int offset = content.hasArray() ? content.arrayOffset() + content.readerIndex() : 0;
+      Iterable<MultiGetResponseRecordV1> records = RECORD_DESERIALIZER.deserializeObjects(
+          OptimizedBinaryDecoderFactory.defaultFactory()
+              .createOptimizedBinaryDecoder(bytes, offset, content.readableBytes()));
+      for (MultiGetResponseRecordV1 record: records) {
+        ByteBuffer key = missedKeyMap.get(record.keyIndex);
+        if (key != null) {
+          versionCache.put(key, record.schemaId, record.value);
+        }
+      }
+      if (cachedRecords.isEmpty()) {
+        return new MergedHttpResponse(serverResponse, content);
+      }
+      /**
+       * Each component is a whole sequence of records, so that the response can be decompressed component by
+       * component, as the ones aggregated by {@link VeniceResponseAggregator}.
+       */
+      ByteBuf cachedContent = Unpooled.wrappedBuffer(RECORD_SERIALIZER.serializeObjects(cachedRecords));
+      return new MergedHttpResponse(serverResponse, Unpooled.wrappedBuffer(cachedContent, content));
+    }
+  }
+
+  /**
+   * A response served from the cache only.
+   */
+  private static final class CachedHttpResponse implements PortableHttpResponse {
+    private final ByteBuf content;
+    private final Map<String, String> headers = new HashMap<>(4);
+
+    CachedHttpResponse(ByteBuf content, String schemaId, CompressionStrategy compressionStrategy) {
+      this.content = content;
+      headers.put(HttpHeaders.CONTENT_TYPE, HttpConstants.AVRO_BINARY);
+      headers.put(HttpConstants.VENICE_SCHEMA_ID, schemaId);
+      headers.put(VENICE_COMPRESSION_STRATEGY, Integer.toString(compressionStrategy.getValue()));
+    }
+
+    @Override
+    public int getStatusCode() {
+      return HttpStatus.SC_OK;
+    }
+
+    @Override
+    public ByteBuf getContentInByteBuf() {
+      return content;
+    }
+
+    @Override
+    public boolean containsHeader(String headerName) {
+      return headers.containsKey(headerName);
+    }
+
+    @Override
+    public String getFirstHeader(String headerName) {
+      return headers.get(headerName);
+    }
+  }
+
+  /**
+   * A response of a storage node, whose content was already read, and possibly merged with the cached values.
+   */
+  private static final class MergedHttpResponse implements PortableHttpResponse {
+    private final PortableHttpResponse serverResponse;
+    private final ByteBuf content;
+
+    MergedHttpResponse(PortableHttpResponse serverResponse, ByteBuf content) {
+      this.serverResponse = serverResponse;
+      this.content = content;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return serverResponse.getStatusCode();
+    }
+
+    @Override
+    public ByteBuf getContentInByteBuf() {
+      return content;
+    }
+
+    @Override
+    public boolean containsHeader(String headerName) {
+      return serverResponse.containsHeader(headerName);
+    }
+
+    @Override
+    public String getFirstHeader(String headerName) {
+      return serverResponse.getFirstHeader(headerName);
+    }
+  }
+}
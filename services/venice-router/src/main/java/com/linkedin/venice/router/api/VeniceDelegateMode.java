@@ -17,6 +17,7 @@ import com.linkedin.alpini.router.api.ScatterGatherRequest;
 import com.linkedin.venice.exceptions.QuotaExceededException;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.meta.Instance;
+import com.linkedin.venice.meta.RetryManager;
 import com.linkedin.venice.router.VeniceRouterConfig;
 import com.linkedin.venice.router.api.path.VenicePath;
 import com.linkedin.venice.router.api.routing.helix.HelixGroupSelector;
@@ -36,6 +37,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
@@ -101,6 +103,11 @@ public class VeniceDelegateMode extends ScatterGatherMode {
 
   private RouterThrottler readRequestThrottler;
   private RouteHttpRequestStats routeHttpRequestStats;
+  /**
+   * The retry budget across all the stores, on top of the per-store budget checked by
+   * {@link VenicePath#isLongTailRetryWithinBudget}.
+   */
+  private RetryManager routerRetryManager;
 
   private HelixGroupSelector helixGroupSelector;
 
@@ -109,6 +116,7 @@ public class VeniceDelegateMode extends ScatterGatherMode {
   private final RouterStats<AggRouterHttpRequestStats> routerStats;
   private final RouterStats<RouteHttpStats> perRouteStatsByType;
   private final boolean latencyBasedRoutingEnabled;
+  private final boolean p2cEwmaRoutingEnabled;
 
   private final RoutingComputationMode routingComputationMode;
   private final ThreadPoolExecutor parallelRoutingExecutor;
@@ -124,6 +132,7 @@ public class VeniceDelegateMode extends ScatterGatherMode {
     this.routeHttpRequestStats = routeHttpRequestStats;
     this.perRouteStatsByType = perRouteStatsByType;
     this.latencyBasedRoutingEnabled = config.isLatencyBasedRoutingEnabled();
+    this.p2cEwmaRoutingEnabled = config.isP2cEwmaRoutingEnabled();
     this.multiKeyRoutingStrategy = config.getMultiKeyRoutingStrategy();
     switch (this.multiKeyRoutingStrategy) {
       case GROUP_BY_PRIMARY_HOST_ROUTING:
@@ -175,6 +184,10 @@ public class VeniceDelegateMode extends ScatterGatherMode {
     this.readRequestThrottler = requestThrottler;
   }
 
+  public void initRouterRetryManager(RetryManager routerRetryManager) {
+    this.routerRetryManager = routerRetryManager;
+  }
+
   public void initHelixGroupSelector(HelixGroupSelector helixGroupSelector) {
     if (this.helixGroupSelector != null) {
       throw RouterExceptionAndTrackingUtils.newVeniceExceptionAndTracking(
@@ -340,14 +353,18 @@ public class VeniceDelegateMode extends ScatterGatherMode {
         }
         // Only record route(s) of the original request for retry manager purposes.
         venicePath.recordRequest();
+        if (routerRetryManager != null) {
+          routerRetryManager.recordRequest();
+        }
       }
     }
 
     if (venicePath.isRetryRequest()) {
-      // Check whether the retry request is allowed or not according to the max allowed retry route config and retry
-      // manager's retry budget. Retry is only allowed if both conditions are true.
+      // Check whether the retry request is allowed or not according to the max allowed retry route config and the
+      // retry budgets of the store and of the Router. Retry is only allowed if all the conditions are true.
       if (!venicePath.isLongTailRetryAllowedForNewRequest()
-          || !venicePath.isLongTailRetryWithinBudget(onlineRequestNum)) {
+          || !venicePath.isLongTailRetryWithinBudget(onlineRequestNum)
+          || (routerRetryManager != null && !routerRetryManager.isRetryAllowed(onlineRequestNum))) {
         routerStats.getStatsByType(venicePath.getRequestType()).recordDisallowedRetryRequest(storeName);
         throw RouterExceptionAndTrackingUtils.newRouterExceptionAndTracking(
             storeName,
@@ -365,9 +382,11 @@ public class VeniceDelegateMode extends ScatterGatherMode {
 
   /**
    * Select the least loaded host from the available healthy replicas.
-   * Behavior depends on the latencyBasedRoutingEnabled config flag:
+   * Behavior depends on the p2cEwmaRoutingEnabled and latencyBasedRoutingEnabled config flags:
+   *
+   * When p2cEwmaRoutingEnabled is enabled, see {@link #selectHostByPowerOfTwoChoices}.
    *
-   * When enabled, uses average response latency as the criterion with a 1.5x spectrum
+   * When latencyBasedRoutingEnabled is enabled, uses average response latency as the criterion with a 1.5x spectrum
    * threshold among the healthy host list. Ref {@link #AVG_LATENCY_SPECTRUM_FOR_HOST_SELECTION}.
    * Randomly selects within the latency spectrum to avoid skewed traffic.
    *
@@ -378,7 +397,9 @@ public class VeniceDelegateMode extends ScatterGatherMode {
    */
   private <H> H selectLeastLoadedHost(List<H> hosts, VenicePath path, RouteHttpStats routeHttpStats)
       throws RouterException {
-    if (latencyBasedRoutingEnabled) {
+    if (p2cEwmaRoutingEnabled) {
+      return selectHostByPowerOfTwoChoices(hosts, path);
+    } else if (latencyBasedRoutingEnabled) {
       return selectLeastLoadedHostByLatency(hosts, path, routeHttpStats);
     } else {
       return selectLeastLoadedHostByPendingCount(hosts, path);
@@ -469,6 +490,53 @@ public class VeniceDelegateMode extends ScatterGatherMode {
     return selectedHost;
   }
 
+  /**
+   * Select host by power of two choices:
+   * 1. Randomly pick two hosts among the eligible hosts (eligible = based on {@link VenicePath#canRequestStorageNode})
+   * 2. Select the one with the lower cost, which is the EWMA of its response waiting time, see
+   *    {@link RouteHttpRequestStats#getResponseWaitingTimeEwma}, multiplied by its pending request count + 1
+   *
+   * Comparing two random hosts rather than all of them avoids herding the traffic onto the single best host, while a
+   * slow or overloaded host still loses almost every comparison.
+   */
+  private <H> H selectHostByPowerOfTwoChoices(List<H> hosts, VenicePath path) throws RouterException {
+    List<H> eligibleHosts = new ArrayList<>(hosts.size());
+    for (H h: hosts) {
+      if (path.canRequestStorageNode(((Instance) h).getNodeId())) {
+        eligibleHosts.add(h);
+      }
+    }
+
+    if (eligibleHosts.isEmpty()) {
+      throwNoHostAvailableException(path);
+    }
+    H selectedHost = eligibleHosts.get(0);
+    int eligibleHostCount = eligibleHosts.size();
+    if (eligibleHostCount > 1) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      int firstIndex = random.nextInt(eligibleHostCount);
+      // Pick the second host among the other ones
+      int secondIndex = (firstIndex + 1 + random.nextInt(eligibleHostCount - 1)) % eligibleHostCount;
+      H firstHost = eligibleHosts.get(firstIndex);
+      H secondHost = eligibleHosts.get(secondIndex);
+      selectedHost = getHostCost((Instance) secondHost) < getHostCost((Instance) firstHost) ? secondHost : firstHost;
+    }
+    H finalHost = selectedHost;
+    hosts.removeIf(aHost -> !aHost.equals(finalHost));
+    return finalHost;
+  }
+
+  /**
+   * A host which hasn't responded so far, or not for a long time, has a low cost, so that it gets probed, but which
+   * still grows with its pending requests. A host which stops responding gets a cost growing with the time it has been
+   * stalled for, see {@link RouteHttpRequestStats#getResponseWaitingTimeEwma}.
+   */
+  private double getHostCost(Instance host) {
+    String nodeId = host.getNodeId();
+    return routeHttpRequestStats.getResponseWaitingTimeEwma(nodeId)
+        * (routeHttpRequestStats.getPendingRequestCount(nodeId) + 1);
+  }
+
   /**
    * Helper method to throw appropriate exception when no host is available.
    */
@@ -840,6 +908,8 @@ public class VeniceDelegateMode extends ScatterGatherMode {
         int assignedGroupId) throws RouterException {
       H selectedHost = null;
       int groupDistance = Integer.MAX_VALUE;
+      // With power of two choices, the host is selected among all the replicas of the assigned group
+      List<H> assignedGroupHosts = p2cEwmaRoutingEnabled ? new ArrayList<>(partitionReplicas.size()) : null;
 
       for (H host: partitionReplicas) {
         if (!(host instanceof Instance)) {
@@ -857,8 +927,12 @@ public class VeniceDelegateMode extends ScatterGatherMode {
         }
         int currentGroupId = helixGroupSelector.getInstanceGroupId(nodeId);
         if (assignedGroupId == currentGroupId) {
-          selectedHost = host;
-          break;
+          if (assignedGroupHosts == null) {
+            selectedHost = host;
+            break;
+          }
+          assignedGroupHosts.add(host);
+          continue;
         }
         int currentDistance = currentGroupId > assignedGroupId
             ? (currentGroupId - assignedGroupId)
@@ -868,6 +942,9 @@ public class VeniceDelegateMode extends ScatterGatherMode {
           selectedHost = host;
         }
       }
+      if (assignedGroupHosts != null && !assignedGroupHosts.isEmpty()) {
+        selectedHost = selectHostByPowerOfTwoChoices(assignedGroupHosts, venicePath);
+      }
       if (selectedHost == null) {
         if (venicePath.isRetryRequest()) {
           throw RouterExceptionAndTrackingUtils.newRouterExceptionAndTracking(
@@ -47,6 +47,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nonnull;
@@ -90,6 +91,12 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
 
   private final RouterStats<AggRouterHttpRequestStats> routerStats;
 
+  private final RouterResponseCache responseCache;
+
+  private final RouterRequestCoalescer requestCoalescer;
+
+  private final boolean longTailRetryAbortLosingRequestEnabled;
+
   public VeniceDispatcher(
       VeniceRouterConfig config,
       ReadOnlyStoreRepository storeRepository,
@@ -113,6 +120,12 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
     this.leakedCompletableFutureCleanupService = new LeakedCompletableFutureCleanupService();
     this.leakedCompletableFutureCleanupService.start();
     this.routerStats = routerStats;
+    this.responseCache = config.getResponseCacheStores().isEmpty()
+        ? null
+        : new RouterResponseCache(config, storeRepository, metricsRepository);
+    this.requestCoalescer =
+        config.isSingleGetCoalescingEnabled() ? new RouterRequestCoalescer(config, metricsRepository) : null;
+    this.longTailRetryAbortLosingRequestEnabled = config.isLongTailRetryAbortLosingRequestEnabled();
   }
 
   public RouterStats<RouteHttpStats> getPerRouteStatsByType() {
@@ -145,9 +158,37 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
     Instance storageNode = part.getHosts().get(0);
     hostSelected.setSuccess(storageNode);
 
+    RouterResponseCache.Lookup cacheLookup = responseCache == null ? null : responseCache.lookup(path);
+    if (cacheLookup != null && cacheLookup.isComplete()) {
+      // All the keys are cached, so there is nothing to send
+      try {
+        responseFuture.setSuccess(Collections.singletonList(buildResponse(path, cacheLookup.getCachedResponse())));
+      } catch (Throwable e) {
+        responseFuture.setFailure(e);
+      }
+      return;
+    }
+    VenicePath pathToSend = cacheLookup == null ? path : cacheLookup.getPathOfMissedKeys();
+
+    if (longTailRetryAbortLosingRequestEnabled && !path.isRetryRequest()) {
+      /**
+       * Either the original request or its long-tail retry completes this part of the request, and whichever one is
+       * still in flight by then lost the race.
+       */
+      responseFuture.addListener(ignored -> path.abortInflightStorageNodeRequests());
+    }
+
     // sendRequest completes future either immediately in the calling thread context or on the executor
-    sendRequest(storageNode, path, retryFuture).whenComplete((response, throwable) -> {
+    CompletableFuture<PortableHttpResponse> serverResponseFuture = requestCoalescer == null
+        ? sendRequest(storageNode, pathToSend, retryFuture)
+        : requestCoalescer.sendRequest(pathToSend, () -> sendRequest(storageNode, pathToSend, retryFuture));
+    serverResponseFuture.whenComplete((response, throwable) -> {
       try {
+        if (throwable != null && responseFuture.isDone()) {
+          // The request got aborted since its long-tail retry completed this part of the request already
+          return;
+        }
+
         int statusCode = response != null ? response.getStatusCode() : HttpStatus.SC_INTERNAL_SERVER_ERROR;
         if (!retryFuture.isCancelled() && RETRIABLE_ERROR_CODES.contains(statusCode)) {
           retryFuture.setSuccess(HttpResponseStatus.valueOf(statusCode));
@@ -165,7 +206,8 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
           path.markStorageNodeAsFast(storageNode.getNodeId());
         }
 
-        responseFuture.setSuccess(Collections.singletonList(buildResponse(path, response)));
+        PortableHttpResponse fullResponse = cacheLookup == null ? response : cacheLookup.complete(response);
+        responseFuture.setSuccess(Collections.singletonList(buildResponse(path, fullResponse)));
       } catch (Throwable e) {
         responseFuture.setFailure(e);
       }
@@ -235,19 +277,32 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
          * to decide whether a storage node is suitable for retry request.
          */
         path.requestStorageNode(storageNode.getNodeId());
-        storageNodeClient.query(
+        Future<?> storageNodeRequest = storageNodeClient.query(
             storageNode,
             path,
             responseFuture::complete,
             responseFuture::completeExceptionally,
             () -> responseFuture.cancel(false));
+        if (longTailRetryAbortLosingRequestEnabled && storageNodeRequest != null) {
+          path.addInflightStorageNodeRequest(storageNodeRequest);
+          responseFuture.whenComplete((ignored, ignoredThrowable) -> {
+            path.removeInflightStorageNodeRequest(storageNodeRequest);
+          });
+        }
       } catch (Throwable throwable) {
         responseFuture.completeExceptionally(throwable);
       }
       return responseFuture.whenComplete((response, throwable) -> {
+        double responseWaitingTimeMs = LatencyUtils.getElapsedTimeFromNSToMS(startTime);
         RouteHttpStats perRouteStats = perRouteStatsByType.getStatsByType(requestType);
-        perRouteStats
-            .recordResponseWaitingTime(storageNode.getHost(), LatencyUtils.getElapsedTimeFromNSToMS(startTime));
+        perRouteStats.recordResponseWaitingTime(storageNode.getHost(), responseWaitingTimeMs);
+        if (responseFuture.isCancelled()) {
+          // An aborted request was still pending after that long, which is a lower bound of its response waiting time
+          routeHttpRequestStats
+              .recordAbortedResponseWaitingTime(storageNode.getNodeId(), requestType, responseWaitingTimeMs);
+        } else {
+          routeHttpRequestStats.recordResponseWaitingTime(storageNode.getNodeId(), requestType, responseWaitingTimeMs);
+        }
         routeHttpRequestStats.recordFinishedRequest(storageNode.getNodeId());
         pendingRequestThrottler.take();
         responseFutureMap.remove(requestId);
@@ -280,7 +335,10 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
 
     if (statusCode == HttpStatus.SC_OK) {
       VeniceResponseDecompressor responseDecompressor = path.getResponseDecompressor();
-      if (path.isStreamingRequest()) {
+      if (path.isStreamingRequest() && path.isComputeResultMergeRequired()) {
+        // The partial results are merged by VeniceResponseAggregator, which writes them once all are received
+        contentCompression = CompressionStrategy.NO_OP;
+      } else if (path.isStreamingRequest()) {
         VeniceChunkedResponse chunkedResponse = path.getChunkedResponse();
         if (path.getRequestType().equals(RequestType.MULTI_GET_STREAMING)) {
           Pair<ByteBuf, CompressionStrategy> chunk =
@@ -22,6 +22,8 @@ import com.linkedin.alpini.router.api.ResponseAggregatorFactory;
 import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.common.VeniceSystemStoreType;
 import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compute.ComputeResultMerger;
+import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.exceptions.VeniceStoreIsMigratedException;
 import com.linkedin.venice.read.RequestType;
@@ -31,7 +33,13 @@ import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
 import com.linkedin.venice.router.stats.RouterStats;
 import com.linkedin.venice.router.streaming.SuccessfulStreamingResponse;
 import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.streaming.StreamingUtils;
 import com.linkedin.venice.utils.LatencyUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
@@ -42,6 +50,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -50,6 +59,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.logging.log4j.LogManager;
@@ -64,6 +74,12 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
 
   private static final Logger LOGGER = LogManager.getLogger(VeniceResponseAggregator.class);
 
+  private static final RecordDeserializer<ComputeResponseRecordV1> COMPUTE_RESPONSE_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroSpecificDeserializer(ComputeResponseRecordV1.getClassSchema(), ComputeResponseRecordV1.class);
+  private static final RecordSerializer<ComputeResponseRecordV1> COMPUTE_RESPONSE_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(ComputeResponseRecordV1.getClassSchema());
+
   private final RouterStats<AggRouterHttpRequestStats> routerStats;
   private final Optional<MetaStoreShadowReader> metaStoreShadowReaderOptional;
 
@@ -202,6 +218,11 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
        * will be handled here.
        */
       finalResponse = buildStreamingResponse(gatheredResponses, storeName, versionNumber);
+      if (finalResponse instanceof SuccessfulStreamingResponse && venicePath.isComputeResultMergeRequired()) {
+        // The partial results were held by VeniceDispatcher, instead of being written as soon as they were received
+        venicePath.getChunkedResponse()
+            .write(mergeComputeResponses(gatheredResponses, venicePath.createComputeResultMerger(), true));
+      }
     } else {
       switch (requestType) {
         case SINGLE_GET:
@@ -215,7 +236,11 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
               venicePath.getClientComputeHeader());
           break;
         case COMPUTE:
-          finalResponse = processComputeResponses(gatheredResponses, storeName, venicePath.getClientComputeHeader());
+          finalResponse = processComputeResponses(
+              gatheredResponses,
+              storeName,
+              venicePath.getClientComputeHeader(),
+              venicePath.createComputeResultMerger());
           break;
         default:
           throw RouterExceptionAndTrackingUtils
@@ -350,16 +375,20 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
     }
   }
 
+  /**
+   * @param merger the merger of the partial results returned by the storage nodes, or null if they are concatenated.
+   */
   protected FullHttpResponse processComputeResponses(
       List<FullHttpResponse> responses,
       String storeName,
-      String clientComputeHeader) {
+      String clientComputeHeader,
+      ComputeResultMerger<ComputeResponseRecordV1> merger) {
     /**
      * Here we will check the consistency of the following headers among all the responses:
      * 1. {@link HttpHeaderNames.CONTENT_TYPE}
      * 2. {@link HttpConstants.VENICE_SCHEMA_ID}
      */
-    CompositeByteBuf content = Unpooled.compositeBuffer();
+    CompositeByteBuf content = Unpooled.compositeBuffer(responses.size());
     int totalRequestRcu = 0;
     for (FullHttpResponse response: responses) {
       if (response.status() != OK) {
@@ -385,7 +414,12 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
       });
 
       totalRequestRcu += getRCU(response);
-      content.addComponent(true, response.content());
+      if (merger == null) {
+        content.addComponent(true, response.content());
+      }
+    }
+    if (merger != null) {
+      content.addComponent(true, mergeComputeResponses(responses, merger, false));
     }
 
     FullHttpResponse computeResponse = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, OK, content);
@@ -399,6 +433,40 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
     return computeResponse;
   }
 
+  /**
+   * Merges the partial results returned by the storage nodes for a compute request, e.g. so that only the top k records
+   * among all the keys are sent to the client, see {@link ComputeResultMerger}. The records left out are reported like
+   * non-existing keys to the streaming clients, in the same way as the storage nodes do.
+   */
+  static ByteBuf mergeComputeResponses(
+      List<FullHttpResponse> responses,
+      ComputeResultMerger<ComputeResponseRecordV1> merger,
+      boolean isStreaming) {
+    RecordDeserializer<GenericRecord> resultDeserializer = FastSerializerDeserializerFactory
+        .getFastAvroGenericDeserializer(merger.getResultSchema(), merger.getResultSchema());
+    List<ComputeResponseRecordV1> records = new ArrayList<>();
+    for (FullHttpResponse response: responses) {
+      List<ComputeResponseRecordV1> partialRecords =
+          COMPUTE_RESPONSE_DESERIALIZER.deserializeObjects(ByteBufUtil.getBytes(response.content()));
+      for (ComputeResponseRecordV1 record: partialRecords) {
+        if (record.keyIndex < 0 || !record.value.hasRemaining()) {
+          // Non-existing key, see StorageReadRequestHandler
+          records.add(record);
+          continue;
+        }
+        ComputeResponseRecordV1 leftOutRecord = merger.add(record, resultDeserializer.deserialize(record.value));
+        if (leftOutRecord != null && isStreaming) {
+          ComputeResponseRecordV1 nonExistingRecord = new ComputeResponseRecordV1();
+          nonExistingRecord.keyIndex = Math.negateExact(leftOutRecord.keyIndex);
+          nonExistingRecord.value = StreamingUtils.EMPTY_BYTE_BUFFER;
+          records.add(nonExistingRecord);
+        }
+      }
+    }
+    records.addAll(merger.getResult());
+    return Unpooled.wrappedBuffer(COMPUTE_RESPONSE_SERIALIZER.serializeObjects(records));
+  }
+
   private int getRCU(FullHttpResponse response) {
     String rcuHeader = response.headers().get(VENICE_REQUEST_RCU);
     if (NumberUtils.isCreatable(rcuHeader)) {
@@ -421,7 +489,12 @@ public class VeniceResponseAggregator implements ResponseAggregatorFactory<Basic
     long decompressedSize = 0;
     long decompressionTimeInNs = 0;
     int totalRequestRcu = 0;
-    CompositeByteBuf content = Unpooled.compositeBuffer();
+    /**
+     * The sub-responses are spliced into the response to the client as they are, and the max number of components
+     * is sized to hold all of them, since the composite buffer would otherwise consolidate them by copying once the
+     * default max number of components is exceeded.
+     */
+    CompositeByteBuf content = Unpooled.compositeBuffer(responses.size());
     CompressionStrategy compressionStrategy = null;
 
     for (FullHttpResponse response: responses) {
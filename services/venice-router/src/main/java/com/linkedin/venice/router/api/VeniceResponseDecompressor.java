@@ -13,9 +13,6 @@ import com.linkedin.venice.read.RequestType;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
 import com.linkedin.venice.router.stats.RouterStats;
-import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
-import com.linkedin.venice.serializer.RecordDeserializer;
-import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.Pair;
 import io.netty.buffer.ByteBuf;
@@ -23,6 +20,8 @@ import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import org.apache.avro.io.BinaryData;
+import org.apache.avro.io.OptimizedBinaryDecoder;
 import org.apache.avro.io.OptimizedBinaryDecoderFactory;
 
 
@@ -31,11 +30,10 @@ import org.apache.avro.io.OptimizedBinaryDecoderFactory;
  * {@link VeniceResponseAggregator} for regular requests and {@link VeniceDispatcher} for streaming requests.
  */
 public class VeniceResponseDecompressor {
-  private static final RecordSerializer<MultiGetResponseRecordV1> recordSerializer =
-      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(MultiGetResponseRecordV1.getClassSchema());
-  private static final RecordDeserializer<MultiGetResponseRecordV1> recordDeserializer =
-      FastSerializerDeserializerFactory
-          .getFastAvroSpecificDeserializer(MultiGetResponseRecordV1.getClassSchema(), MultiGetResponseRecordV1.class);
+  /**
+   * Max size of a zig-zag varint encoded int in Avro.
+   */
+  private static final int MAX_INT_ENCODED_SIZE = 5;
 
   private final CompressionStrategy clientCompression;
   private final RouterStats<AggRouterHttpRequestStats> routerStats;
@@ -96,8 +94,8 @@ public class VeniceResponseDecompressor {
   /**
    * Decompressing multi-get response in router side is a bit of overhead.
    * Since records could be concatenated within one response, we need to
-   * deserialize the records; decompress the records and then serialize
-   * them back.
+   * walk through the records and decompress the value of each of them.
+   * When the client can decompress the values by itself, the response is passed through as it is.
    */
   public ContentDecompressResult decompressMultiGetContent(CompressionStrategy compressionStrategy, ByteBuf content) {
     if (canPassThroughResponse(compressionStrategy)) {
@@ -175,19 +173,42 @@ public class VeniceResponseDecompressor {
     }
   }
 
+  /**
+   * The records are walked in place instead of being deserialized into {@link MultiGetResponseRecordV1} and serialized
+   * back, since only the value needs to change: the encoded key index and schema id are copied over as they are, and
+   * only the decompressed value is written along with its new length.
+   */
   private ByteBuf decompressMultiGetRecords(
       CompressionStrategy compressionStrategy,
       ByteBuf data,
       RequestType requestType) {
     ByteBuf copy = data.isReadOnly() ? data.copy() : data;
-    Iterable<MultiGetResponseRecordV1> records = recordDeserializer.deserializeObjects(
-        OptimizedBinaryDecoderFactory.defaultFactory()
-            .createOptimizedBinaryDecoder(copy.array(), 0, copy.readableBytes()));
+    byte[] input = copy.array();
+    int inputOffset = copy.arrayOffset() + copy.readerIndex();
+    int inputLength = copy.readableBytes();
+    OptimizedBinaryDecoder decoder =
+        OptimizedBinaryDecoderFactory.defaultFactory().createOptimizedBinaryDecoder(input, inputOffset, inputLength);
+    ByteBuf output = Unpooled.buffer(inputLength);
+    byte[] valueLengthBytes = new byte[MAX_INT_ENCODED_SIZE];
 
     try {
       VeniceCompressor compressor = getCompressor(compressionStrategy, requestType);
-      for (MultiGetResponseRecordV1 record: records) {
-        record.value = compressor.decompress(record.value);
+      int inputEnd = inputOffset + inputLength;
+      while (!decoder.isEnd()) {
+        int recordStart = getPosition(decoder, inputEnd);
+        // keyIndex
+        decoder.readInt();
+        int keyIndexEnd = getPosition(decoder, inputEnd);
+        ByteBuffer value = compressor.decompress(decoder.readBytes(null));
+        int schemaIdStart = getPosition(decoder, inputEnd);
+        // schemaId
+        decoder.readInt();
+        int recordEnd = getPosition(decoder, inputEnd);
+
+        output.writeBytes(input, recordStart, keyIndexEnd - recordStart);
+        output.writeBytes(valueLengthBytes, 0, BinaryData.encodeInt(value.remaining(), valueLengthBytes, 0));
+        output.writeBytes(value);
+        output.writeBytes(input, schemaIdStart, recordEnd - schemaIdStart);
       }
     } catch (IOException e) {
       String errorMsg = String.format(
@@ -199,7 +220,11 @@ public class VeniceResponseDecompressor {
           .newVeniceExceptionAndTracking(this.storeVersionName.getStoreName(), requestType, BAD_GATEWAY, errorMsg);
     }
 
-    return Unpooled.wrappedBuffer(recordSerializer.serializeObjects(records));
+    return output;
+  }
+
+  private static int getPosition(OptimizedBinaryDecoder decoder, int inputEnd) throws IOException {
+    return inputEnd - decoder.inputStream().available();
   }
 
   private VeniceCompressor getCompressor(CompressionStrategy compressionStrategy, RequestType requestType) {
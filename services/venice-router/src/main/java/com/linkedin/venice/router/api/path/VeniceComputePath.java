@@ -2,6 +2,7 @@ package com.linkedin.venice.router.api.path;
 
 import static com.linkedin.venice.HttpConstants.VENICE_CLIENT_COMPUTE_TRUE;
 import static com.linkedin.venice.HttpConstants.VENICE_COMPUTE_VALUE_SCHEMA_ID;
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V5;
 import static com.linkedin.venice.compute.ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST;
 import static com.linkedin.venice.router.api.VenicePathParser.TYPE_COMPUTE;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
@@ -9,8 +10,13 @@ import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
 import com.linkedin.alpini.router.api.RouterException;
 import com.linkedin.venice.HttpConstants;
-import com.linkedin.venice.compute.protocol.request.ComputeRequestV3;
+import com.linkedin.venice.compute.ComputeResultMerger;
+import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.ComputeRequest;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV5;
 import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
+import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.meta.RetryManager;
 import com.linkedin.venice.meta.StoreVersionName;
 import com.linkedin.venice.read.RequestType;
@@ -26,6 +32,7 @@ import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Collections;
@@ -35,6 +42,7 @@ import java.util.Map;
 import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
 import org.apache.avro.Schema;
+import org.apache.avro.SchemaParseException;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
@@ -43,16 +51,16 @@ import org.apache.avro.io.OptimizedBinaryDecoderFactory;
 
 public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKeyV1> {
   private static final Schema EMPTY_RECORD_SCHEMA = Schema.createRecord(
-      ComputeRequestV3.class.getSimpleName(),
+      ComputeRequestV5.class.getSimpleName(),
       "no-op",
-      ComputeRequestV3.class.getPackage().getName(),
+      ComputeRequestV5.class.getPackage().getName(),
       false,
       Collections.emptyList());
   private static final ThreadLocal<GenericRecord> EMPTY_COMPUTE_REQUEST_RECORD =
       ThreadLocal.withInitial(() -> new GenericData.Record(EMPTY_RECORD_SCHEMA));
 
   /**
-   * N.B. This deserializer takes V3 as the writer schema, but the reader schema is just an empty record.
+   * N.B. This deserializer takes V5 as the writer schema, but the reader schema is just an empty record.
    *
    * There are a few important details here:
    *
@@ -60,17 +68,18 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
    *    empty record. It cannot be any empty record though, it has to be one with the same FQCN, which is why we build
    *    it the way we do in {@link #EMPTY_RECORD_SCHEMA}.
    *
-   * 2. Historically, we've had three versions of the compute request used over the wire (V1 through V3), but in fact,
-   *    V3 is capable of deserializing the previous two as well. This is because these schemas have only ever added new
-   *    branches to the {@link com.linkedin.venice.compute.protocol.request.ComputeRequest#operations} union, and thus
-   *    the schema with all the branches can deserialize those with fewer branches. For this reason, it is not necessary
-   *    here to take the schema the client used to encode as the writer schema the router uses to decode. If, however,
-   *    in the future, we keep evolving the compute request protocol, we need to reevaluate if the evolution will
-   *    require passing in the precise writer schema used. For example, if adding a new field, we would need to start
-   *    using the correct writer schema (either V3 or the newer one).
+   * 2. Historically, we've had four versions of the compute request used over the wire (V1 through V3, and V5), but
+   *    in fact, V5 is capable of deserializing the previous ones as well. This is because these schemas have only ever
+   *    added new branches at the end of the
+   *    {@link com.linkedin.venice.compute.protocol.request.ComputeRequest#operations} union, and thus the schema with
+   *    all the branches can deserialize those with fewer branches. For this reason, it is not necessary here to take
+   *    the schema the client used to encode as the writer schema the router uses to decode. If, however, in the
+   *    future, we keep evolving the compute request protocol, we need to reevaluate if the evolution will require
+   *    passing in the precise writer schema used. For example, if adding a new field, we would need to start using the
+   *    correct writer schema (either V5 or the newer one).
    */
   private static final RecordDeserializer<GenericRecord> COMPUTE_REQUEST_NO_OP_DESERIALIZER =
-      FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(ComputeRequestV3.SCHEMA$, EMPTY_RECORD_SCHEMA);
+      FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(ComputeRequestV5.SCHEMA$, EMPTY_RECORD_SCHEMA);
   private static final RecordDeserializer<ByteBuffer> COMPUTE_REQUEST_CLIENT_KEY_V1_DESERIALIZER =
       FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(
           ReadAvroProtocolDefinition.COMPUTE_REQUEST_CLIENT_KEY_V1.getSchema(),
@@ -78,6 +87,8 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
   private static final RecordSerializer<ComputeRouterRequestKeyV1> COMPUTE_ROUTER_REQUEST_KEY_V1_SERIALIZER =
       FastSerializerDeserializerFactory.getFastAvroGenericSerializer(ComputeRouterRequestKeyV1.getClassSchema());
 
+  private static final Map<String, Schema> RESULT_SCHEMA_CACHE = new VeniceConcurrentHashMap<>();
+
   private static void skipOverComputeRequest(BinaryDecoder decoder) {
     COMPUTE_REQUEST_NO_OP_DESERIALIZER.deserialize(EMPTY_COMPUTE_REQUEST_RECORD.get(), decoder);
   }
@@ -86,6 +97,12 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
   private final int computeRequestLengthInBytes;
   private final String valueSchemaIdHeader;
   private final String computeRequestVersionHeader;
+  /**
+   * The operations and result schema of the request, which are only kept if the partial results returned by the
+   * storage nodes need to be merged, see {@link #isComputeResultMergeRequired()}, and null otherwise.
+   */
+  private final List<ComputeOperation> operations;
+  private final Schema resultSchema;
 
   public VeniceComputePath(
       StoreVersionName storeVersionName,
@@ -118,11 +135,25 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
     /**
      * The first part of the request content from client is the ComputeRequest which contains an array of operations
      * and the result schema string. Here, we deserialize the first part (but throw it away, as it is only to advance
-     * the internal state of the decoder) and record the length of the first part.
+     * the internal state of the decoder) and record the length of the first part. The only exception is a request
+     * using the operations added by V5, which is actually read if it has a top-k or count-group-by-value operation,
+     * since the router merges the partial results which each storage node returns for these.
      */
     BinaryDecoder decoder = OptimizedBinaryDecoderFactory.defaultFactory()
         .createOptimizedBinaryDecoder(requestContent, 0, requestContent.length);
-    skipOverComputeRequest(decoder);
+    List<ComputeOperation> operationsToMerge = null;
+    Schema resultSchemaToMerge = null;
+    if (computeRequestVersion >= COMPUTE_REQUEST_VERSION_V5) {
+      ComputeRequest computeRequest = ComputeUtils.deserializeComputeRequest(decoder, null);
+      if (ComputeResultMerger.isMergeRequired(computeRequest.getOperations())) {
+        operationsToMerge = computeRequest.getOperations();
+        resultSchemaToMerge = getResultSchema(computeRequest.getResultSchemaStr().toString());
+      }
+    } else {
+      skipOverComputeRequest(decoder);
+    }
+    this.operations = operationsToMerge;
+    this.resultSchema = resultSchemaToMerge;
     try {
       // record the length of the serialized ComputeRequest
       computeRequestLengthInBytes = requestContent.length - decoder.inputStream().available();
@@ -147,6 +178,8 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
       int computeRequestLengthInBytes,
       String valueSchemaIdHeader,
       String computeRequestVersionHeader,
+      List<ComputeOperation> operations,
+      Schema resultSchema,
       RouterRetryConfig retryConfig,
       RetryManager retryManager,
       VeniceResponseDecompressor responseDecompressor) {
@@ -155,9 +188,28 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
     this.valueSchemaIdHeader = valueSchemaIdHeader;
     this.computeRequestLengthInBytes = computeRequestLengthInBytes;
     this.computeRequestVersionHeader = computeRequestVersionHeader;
+    this.operations = operations;
+    this.resultSchema = resultSchema;
     setPartitionKeys(routerKeyMap.keySet());
   }
 
+  private Schema getResultSchema(String resultSchemaStr) throws RouterException {
+    Schema schema = RESULT_SCHEMA_CACHE.get(resultSchemaStr);
+    if (schema == null) {
+      try {
+        schema = new Schema.Parser().parse(resultSchemaStr);
+      } catch (SchemaParseException e) {
+        throw RouterExceptionAndTrackingUtils.newRouterExceptionAndTracking(
+            getStoreName(),
+            getRequestType(),
+            BAD_REQUEST,
+            "Invalid compute result schema: " + e.getMessage());
+      }
+      RESULT_SCHEMA_CACHE.putIfAbsent(resultSchemaStr, schema);
+    }
+    return schema;
+  }
+
   @Nonnull
   @Override
   public String getLocation() {
@@ -212,6 +264,8 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
         this.computeRequestLengthInBytes,
         this.valueSchemaIdHeader,
         this.computeRequestVersionHeader,
+        this.operations,
+        this.resultSchema,
         this.retryConfig,
         this.retryManager,
         getResponseDecompressor());
@@ -245,6 +299,25 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
     return computeRequestVersionHeader;
   }
 
+  @Override
+  public boolean isComputeResultMergeRequired() {
+    return resultSchema != null;
+  }
+
+  @Override
+  public ComputeResultMerger<ComputeResponseRecordV1> createComputeResultMerger() {
+    if (resultSchema == null) {
+      return null;
+    }
+    RecordSerializer<GenericRecord> resultSerializer =
+        FastSerializerDeserializerFactory.getFastAvroGenericSerializer(resultSchema);
+    return ComputeResultMerger.create(operations, resultSchema, (record, resultRecord) -> {
+      // The merged value counts were put into the result record
+      record.value = ByteBuffer.wrap(resultSerializer.serialize(resultRecord));
+      return record;
+    });
+  }
+
   // for testing
   protected int getComputeRequestLengthInBytes() {
     return computeRequestLengthInBytes;
@@ -137,6 +137,13 @@ public class VeniceMultiGetPath extends VeniceMultiKeyPath<MultiGetRouterRequest
     return routerRequestKey;
   }
 
+  /**
+   * @return the index of the key in the original request, which the storage nodes return along with its value.
+   */
+  public int getKeyIndex(RouterKey key) {
+    return routerKeyMap.get(key).keyIndex;
+  }
+
   @Override
   protected byte[] serializeRouterRequest() {
     return MULTI_GET_ROUTER_REQUEST_KEY_V1_SERIALIZER.serializeObjects(routerKeyMap.values());
@@ -2,6 +2,8 @@ package com.linkedin.venice.router.api.path;
 
 import com.linkedin.alpini.router.api.ResourcePath;
 import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compute.ComputeResultMerger;
+import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.meta.RetryManager;
 import com.linkedin.venice.meta.StoreVersionName;
 import com.linkedin.venice.read.RequestType;
@@ -14,12 +16,15 @@ import com.linkedin.venice.router.streaming.VeniceChunkedResponse;
 import com.linkedin.venice.router.streaming.VeniceChunkedWriteHandler;
 import com.linkedin.venice.utils.SystemTime;
 import com.linkedin.venice.utils.Time;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -46,6 +51,15 @@ public abstract class VenicePath implements ResourcePath<RouterKey> {
    */
   private Set<String> slowStorageNodeSet = new ConcurrentSkipListSet<>();
   private boolean ignoreSlowStorageNodes = false;
+  /**
+   * The in-flight storage node requests serving the same scattered part of the original request, i.e. the request of
+   * the part and the requests of its long-tail retries. Once the part completes, the ones still in flight lost the
+   * race, and get aborted, so that the storage nodes stop working on responses which would be discarded anyway.
+   *
+   * The scattered sub-paths of a multi-key request each have their own set, shared with the sub-paths of their retries.
+   */
+  private Set<Future<?>> inflightStorageNodeRequests = VeniceConcurrentHashMap.newKeySet();
+  private boolean scatteredSubPath = false;
 
   public VenicePath(
       StoreVersionName storeVersionName,
@@ -136,6 +150,11 @@ public abstract class VenicePath implements ResourcePath<RouterKey> {
     slowStorageNodeSet = originalPath.slowStorageNodeSet;
     ignoreSlowStorageNodes = originalPath.ignoreSlowStorageNodes;
     setOriginalRequestStartTs(originalPath.getOriginalRequestStartTs());
+
+    if (originalPath.scatteredSubPath) {
+      inflightStorageNodeRequests = originalPath.inflightStorageNodeRequests;
+    }
+    scatteredSubPath = true;
   }
 
   public boolean isRetryRequest() {
@@ -170,6 +189,31 @@ public abstract class VenicePath implements ResourcePath<RouterKey> {
     }
   }
 
+  /**
+   * @return the storage nodes which the original request is still waiting for.
+   */
+  public Set<String> getSlowStorageNodes() {
+    return Collections.unmodifiableSet(slowStorageNodeSet);
+  }
+
+  public void addInflightStorageNodeRequest(Future<?> request) {
+    inflightStorageNodeRequests.add(request);
+  }
+
+  public void removeInflightStorageNodeRequest(Future<?> request) {
+    inflightStorageNodeRequests.remove(request);
+  }
+
+  /**
+   * Aborts the storage node requests which are still in flight for the same part of the original request, see
+   * {@link #inflightStorageNodeRequests}.
+   */
+  public void abortInflightStorageNodeRequests() {
+    for (Future<?> request: inflightStorageNodeRequests) {
+      request.cancel(true);
+    }
+  }
+
   /**
    * This function is used to check whether Router could send retry request to the specified storage node.
    * It will return false if the requested storage node has been marked as slow.
@@ -241,6 +285,22 @@ public abstract class VenicePath implements ResourcePath<RouterKey> {
     return null;
   }
 
+  /**
+   * @return true if the partial results of a compute request, returned by each storage node, need to be merged before
+   *         being sent to the client, instead of being forwarded as they are received.
+   */
+  public boolean isComputeResultMergeRequired() {
+    return false;
+  }
+
+  /**
+   * @return a new merger of the partial results of a compute request, or null if they need no merging, see
+   *         {@link #isComputeResultMergeRequired()}.
+   */
+  public @Nullable ComputeResultMerger<ComputeResponseRecordV1> createComputeResultMerger() {
+    return null;
+  }
+
   public VeniceResponseDecompressor getResponseDecompressor() {
     if (responseDecompressor == null) {
       // Defensive code
@@ -1,6 +1,7 @@
 package com.linkedin.venice.router.httpclient;
 
 import com.linkedin.alpini.router.api.RouterException;
+import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.httpclient.CachedDnsResolver;
 import com.linkedin.venice.httpclient.HttpClientUtils;
@@ -71,6 +72,10 @@ public class ApacheHttpAsyncStorageNodeClient implements StorageNodeClient {
   private final VeniceRouterConfig routerConfig;
   private final boolean perNodeClientEnabled;
   private final int socketTimeout;
+  /**
+   * The value of the {@link HttpConstants#VENICE_REQUEST_TIMEOUT_MS} header, or null if it is not sent.
+   */
+  private final String requestTimeoutHeader;
   private final int connectionTimeout;
   private final Optional<SSLFactory> sslFactory;
 
@@ -93,6 +98,8 @@ public class ApacheHttpAsyncStorageNodeClient implements StorageNodeClient {
     this.liveInstanceMonitor = monitor;
     this.poolStats = new HttpConnectionPoolStats(metricsRepository, "connection_pool");
     this.socketTimeout = config.getSocketTimeout();
+    this.requestTimeoutHeader =
+        config.isPropagateRequestTimeoutEnabled() ? Integer.toString(config.getSocketTimeout()) : null;
     this.connectionTimeout = config.getConnectionTimeout();
     this.sslFactory = sslFactory;
     this.clientPoolSize = config.getHttpClientPoolSize();
@@ -568,7 +575,7 @@ public class ApacheHttpAsyncStorageNodeClient implements StorageNodeClient {
   }
 
   @Override
-  public void query(
+  public Future<?> query(
       Instance host,
       VenicePath path,
       Consumer<PortableHttpResponse> completedCallBack,
@@ -585,6 +592,9 @@ public class ApacheHttpAsyncStorageNodeClient implements StorageNodeClient {
     final HttpUriRequest routerRequest = path.composeRouterRequest(address);
     // set up header to pass map required by the Venice server
     path.setupVeniceHeaders((k, v) -> routerRequest.addHeader(k, v));
+    if (requestTimeoutHeader != null) {
+      routerRequest.addHeader(HttpConstants.VENICE_REQUEST_TIMEOUT_MS, requestTimeoutHeader);
+    }
     CloseableHttpAsyncClient selectedClient;
     if (perNodeClientEnabled) {
       // If all the pool are used up by the set of live instances, spawn new client
@@ -597,6 +607,8 @@ public class ApacheHttpAsyncStorageNodeClient implements StorageNodeClient {
     selectedClient.execute(
         routerRequest,
         new HttpAsyncClientFutureCallBack(completedCallBack, failedCallBack, cancelledCallBack));
+    // Aborting an HTTP/1.1 request closes its connection, which costs more than finishing the request
+    return null;
   }
 
   private static class HttpAsyncClientFutureCallBack implements FutureCallback<HttpResponse> {
@@ -1,6 +1,7 @@
 package com.linkedin.venice.router.httpclient;
 
 import com.linkedin.alpini.router.api.RouterException;
+import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.httpclient5.HttpClient5Utils;
 import com.linkedin.venice.meta.Instance;
@@ -16,6 +17,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -37,6 +39,10 @@ public class HttpClient5StorageNodeClient implements StorageNodeClient {
 
   private final Random random = new Random();
   private final List<CloseableHttpAsyncClient> clientList = new ArrayList<>();
+  /**
+   * The value of the {@link HttpConstants#VENICE_REQUEST_TIMEOUT_MS} header, or null if it is not sent.
+   */
+  private final String requestTimeoutHeader;
 
   public HttpClient5StorageNodeClient(Optional<SSLFactory> sslFactory, VeniceRouterConfig routerConfig) {
     sslFactory.orElseThrow(
@@ -49,6 +55,8 @@ public class HttpClient5StorageNodeClient implements StorageNodeClient {
           "To enable HTTP/2 with " + this.getClass().getSimpleName()
               + ", the current process needs to use JDK11 or above");
     }
+    this.requestTimeoutHeader =
+        routerConfig.isPropagateRequestTimeoutEnabled() ? Integer.toString(routerConfig.getSocketTimeout()) : null;
     int poolSize = routerConfig.getHttpClient5PoolSize();
     int totalIOThreadCount = routerConfig.getHttpClient5TotalIOThreadCount();
     int ioThreadCountPerClient = totalIOThreadCount / poolSize;
@@ -77,7 +85,7 @@ public class HttpClient5StorageNodeClient implements StorageNodeClient {
   }
 
   @Override
-  public void query(
+  public Future<?> query(
       Instance host,
       VenicePath path,
       Consumer<PortableHttpResponse> completedCallBack,
@@ -89,12 +97,16 @@ public class HttpClient5StorageNodeClient implements StorageNodeClient {
     SimpleRequestBuilder simpleRequestBuilder = SimpleRequestBuilder.create(method).setUri(uri);
     // Setup additional headers
     path.setupVeniceHeaders((k, v) -> simpleRequestBuilder.addHeader(k, v));
+    if (requestTimeoutHeader != null) {
+      simpleRequestBuilder.addHeader(HttpConstants.VENICE_REQUEST_TIMEOUT_MS, requestTimeoutHeader);
+    }
     byte[] body = path.getBody();
     if (body != null) {
       simpleRequestBuilder.setBody(body, ContentType.DEFAULT_BINARY);
     }
 
-    getRandomClient().execute(simpleRequestBuilder.build(), new FutureCallback<SimpleHttpResponse>() {
+    // Aborting the request resets its HTTP/2 stream, which tells the storage node to drop it
+    return getRandomClient().execute(simpleRequestBuilder.build(), new FutureCallback<SimpleHttpResponse>() {
       @Override
       public void completed(SimpleHttpResponse result) {
         completedCallBack.accept(new HttpClient5Response(result));
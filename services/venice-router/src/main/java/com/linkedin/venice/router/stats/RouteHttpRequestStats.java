@@ -1,5 +1,6 @@
 package com.linkedin.venice.router.stats;
 
+import com.linkedin.venice.read.RequestType;
 import com.linkedin.venice.router.httpclient.StorageNodeClient;
 import com.linkedin.venice.stats.AbstractVeniceStats;
 import com.linkedin.venice.stats.StatsUtils;
@@ -12,7 +13,9 @@ import io.tehuti.metrics.stats.Min;
 import io.tehuti.metrics.stats.OccurrenceRate;
 import io.tehuti.metrics.stats.SampledTotal;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 
 /**
@@ -20,13 +23,33 @@ import java.util.concurrent.atomic.AtomicLong;
  * to {@link RouteHttpStats} which stores only per type stats.
  */
 public class RouteHttpRequestStats {
+  public static final long DEFAULT_RESPONSE_WAITING_TIME_EWMA_DECAY_TIME_MS = TimeUnit.SECONDS.toMillis(1);
+  /**
+   * The response waiting time EWMA of a host which has not responded so far, which it also decays towards while it does
+   * not respond, so that the cost of a host always grows with its pending requests.
+   */
+  public static final double INITIAL_RESPONSE_WAITING_TIME_EWMA_MS = 1;
+  /**
+   * The response waiting time percentiles of a host are computed over the responses of the last complete window.
+   */
+  static final long RESPONSE_WAITING_TIME_HISTOGRAM_WINDOW_MS = TimeUnit.SECONDS.toMillis(10);
+
   private final MetricsRepository metricsRepository;
   private final StorageNodeClient storageNodeClient;
+  private final long responseWaitingTimeEwmaDecayTimeMs;
   private final Map<String, InternalHostStats> routeStatsMap = new VeniceConcurrentHashMap<>();
 
   public RouteHttpRequestStats(MetricsRepository metricsRepository, StorageNodeClient storageNodeClient) {
+    this(metricsRepository, storageNodeClient, DEFAULT_RESPONSE_WAITING_TIME_EWMA_DECAY_TIME_MS);
+  }
+
+  public RouteHttpRequestStats(
+      MetricsRepository metricsRepository,
+      StorageNodeClient storageNodeClient,
+      long responseWaitingTimeEwmaDecayTimeMs) {
     this.metricsRepository = metricsRepository;
     this.storageNodeClient = storageNodeClient;
+    this.responseWaitingTimeEwmaDecayTimeMs = responseWaitingTimeEwmaDecayTimeMs;
   }
 
   public MetricsRepository getMetricsRepository() {
@@ -35,12 +58,12 @@ public class RouteHttpRequestStats {
 
   public void recordPendingRequest(String hostName) {
     InternalHostStats stats = routeStatsMap.computeIfAbsent(hostName, h -> new InternalHostStats(metricsRepository, h));
-    stats.recordPendingRequestCount();
+    stats.recordPendingRequestCount(System.currentTimeMillis());
   }
 
   public void recordFinishedRequest(String hostName) {
     InternalHostStats stats = routeStatsMap.computeIfAbsent(hostName, h -> new InternalHostStats(metricsRepository, h));
-    stats.recordFinishedRequestCount();
+    stats.recordFinishedRequestCount(System.currentTimeMillis());
   }
 
   public void recordUnhealthyQueueDuration(String hostName, double duration) {
@@ -48,6 +71,26 @@ public class RouteHttpRequestStats {
     stats.recordUnhealthyQueueDuration(duration);
   }
 
+  public void recordResponseWaitingTime(String hostName, RequestType requestType, double waitingTimeMs) {
+    InternalHostStats stats = routeStatsMap.computeIfAbsent(hostName, h -> new InternalHostStats(metricsRepository, h));
+    long currentTimeMs = System.currentTimeMillis();
+    stats.recordResponseWaitingTime(waitingTimeMs, currentTimeMs, responseWaitingTimeEwmaDecayTimeMs);
+    stats.getResponseWaitingTimeHistogram(requestType).record(waitingTimeMs, currentTimeMs);
+  }
+
+  /**
+   * Records the waiting time of a request which got aborted before its response came in, e.g. because its long-tail
+   * retry won the race. It's only a lower bound of the actual response waiting time, so it's counted by the histogram
+   * as it is, since leaving the slowest requests out would bias the percentiles low, but it's only taken by the EWMA if
+   * it's above the EWMA, since it could not tell that the host got faster.
+   */
+  public void recordAbortedResponseWaitingTime(String hostName, RequestType requestType, double waitingTimeMs) {
+    InternalHostStats stats = routeStatsMap.computeIfAbsent(hostName, h -> new InternalHostStats(metricsRepository, h));
+    long currentTimeMs = System.currentTimeMillis();
+    stats.recordResponseWaitingTimeLowerBound(waitingTimeMs, currentTimeMs);
+    stats.getResponseWaitingTimeHistogram(requestType).record(waitingTimeMs, currentTimeMs);
+  }
+
   public long getPendingRequestCount(String hostName) {
     InternalHostStats stat = routeStatsMap.get(hostName);
     if (stat == null) {
@@ -56,12 +99,59 @@ public class RouteHttpRequestStats {
     return stat.pendingRequestCount.get();
   }
 
+  /**
+   * The EWMA of the response waiting time of a host weighs the samples by their age rather than by their count, and
+   * follows the peaks right away, so that a host which turns slow, e.g. because of a GC pause or a compaction, is
+   * avoided from its first slow response on. It keeps decaying towards {@link #INITIAL_RESPONSE_WAITING_TIME_EWMA_MS}
+   * while the host does not respond, so that a host which got avoided for being slow is tried again eventually.
+   *
+   * A host which stops responding altogether would look idle that way, so while it has pending requests, the EWMA is
+   * floored by how long it has gone without finishing any of them, which is a lower bound of the waiting time of its
+   * oldest pending request.
+   *
+   * @return the EWMA of the response waiting time of the host, or {@link #INITIAL_RESPONSE_WAITING_TIME_EWMA_MS} if it
+   *         has not been sent any request so far.
+   */
+  public double getResponseWaitingTimeEwma(String hostName) {
+    InternalHostStats stat = routeStatsMap.get(hostName);
+    if (stat == null) {
+      return INITIAL_RESPONSE_WAITING_TIME_EWMA_MS;
+    }
+    return stat.getResponseWaitingTimeEwma(System.currentTimeMillis(), responseWaitingTimeEwmaDecayTimeMs);
+  }
+
+  /**
+   * Single-get and multi-key requests are tracked apart since a multi-key request usually takes much longer.
+   *
+   * @return the given percentile of the response waiting time of the host for the given type of request over the last
+   *         complete window, or -1 if there are not enough responses to tell.
+   */
+  public double getResponseWaitingTimePercentile(String hostName, RequestType requestType, double percentile) {
+    InternalHostStats stat = routeStatsMap.get(hostName);
+    if (stat == null) {
+      return -1;
+    }
+    return stat.getResponseWaitingTimeHistogram(requestType).getPercentile(percentile, System.currentTimeMillis());
+  }
+
   static class InternalHostStats extends AbstractVeniceStats {
     // private final Sensor pendingRequestCountSensor;
     private final Sensor unhealthyPendingQueueDuration;
     private final Sensor unhealthyPendingRateSensor;
     private AtomicLong pendingRequestCount;
     private final Sensor pendingRequestCountSensor;
+    private double responseWaitingTimeEwma = INITIAL_RESPONSE_WAITING_TIME_EWMA_MS;
+    private long lastResponseTimeMs = System.currentTimeMillis();
+    /**
+     * When the host last got a request while having no other pending one, and when it last finished a request, so
+     * that the time since the later of both is how long the host has gone without finishing any pending request.
+     */
+    private volatile long pendingSinceMs;
+    private volatile long lastFinishedRequestTimeMs;
+    private final ResponseWaitingTimeHistogram singleGetResponseWaitingTimeHistogram =
+        new ResponseWaitingTimeHistogram(RESPONSE_WAITING_TIME_HISTOGRAM_WINDOW_MS);
+    private final ResponseWaitingTimeHistogram multiKeyResponseWaitingTimeHistogram =
+        new ResponseWaitingTimeHistogram(RESPONSE_WAITING_TIME_HISTOGRAM_WINDOW_MS);
 
     public InternalHostStats(MetricsRepository metricsRepository, String hostName) {
       super(metricsRepository, StatsUtils.convertHostnameToMetricName(hostName));
@@ -77,17 +167,157 @@ public class RouteHttpRequestStats {
       this.unhealthyPendingRateSensor = registerSensor("unhealthy_pending_queue_per_route", new OccurrenceRate());
     }
 
-    public void recordPendingRequestCount() {
-      pendingRequestCountSensor.record(pendingRequestCount.incrementAndGet());
+    public void recordPendingRequestCount(long currentTimeMs) {
+      long count = pendingRequestCount.incrementAndGet();
+      if (count == 1) {
+        pendingSinceMs = currentTimeMs;
+      }
+      pendingRequestCountSensor.record(count);
     }
 
-    public void recordFinishedRequestCount() {
+    public void recordFinishedRequestCount(long currentTimeMs) {
+      lastFinishedRequestTimeMs = currentTimeMs;
       pendingRequestCount.decrementAndGet();
     }
 
+    public synchronized void recordResponseWaitingTime(double waitingTimeMs, long currentTimeMs, long decayTimeMs) {
+      if (waitingTimeMs >= responseWaitingTimeEwma) {
+        responseWaitingTimeEwma = waitingTimeMs;
+      } else {
+        double weight = getDecayWeight(currentTimeMs, decayTimeMs);
+        responseWaitingTimeEwma = responseWaitingTimeEwma * weight + waitingTimeMs * (1 - weight);
+      }
+      lastResponseTimeMs = currentTimeMs;
+    }
+
+    public synchronized void recordResponseWaitingTimeLowerBound(double waitingTimeMs, long currentTimeMs) {
+      if (waitingTimeMs >= responseWaitingTimeEwma) {
+        responseWaitingTimeEwma = waitingTimeMs;
+        lastResponseTimeMs = currentTimeMs;
+      }
+    }
+
+    public double getResponseWaitingTimeEwma(long currentTimeMs, long decayTimeMs) {
+      double decayedEwma;
+      synchronized (this) {
+        double weight = getDecayWeight(currentTimeMs, decayTimeMs);
+        decayedEwma = INITIAL_RESPONSE_WAITING_TIME_EWMA_MS * (1 - weight) + responseWaitingTimeEwma * weight;
+      }
+      if (pendingRequestCount.get() <= 0) {
+        return decayedEwma;
+      }
+      long stalledTimeMs = currentTimeMs - Math.max(pendingSinceMs, lastFinishedRequestTimeMs);
+      return Math.max(decayedEwma, stalledTimeMs);
+    }
+
+    private double getDecayWeight(long currentTimeMs, long decayTimeMs) {
+      return Math.exp(-Math.max(0, currentTimeMs - lastResponseTimeMs) / (double) decayTimeMs);
+    }
+
+    public ResponseWaitingTimeHistogram getResponseWaitingTimeHistogram(RequestType requestType) {
+      return RequestType.isSingleGet(requestType)
+          ? singleGetResponseWaitingTimeHistogram
+          : multiKeyResponseWaitingTimeHistogram;
+    }
+
     public void recordUnhealthyQueueDuration(double duration) {
       unhealthyPendingRateSensor.record();
       unhealthyPendingQueueDuration.record(duration);
     }
   }
+
+  /**
+   * A lock-free histogram of the response waiting time with exponentially growing buckets, so that a percentile is
+   * accurate within {@link #BUCKET_GROWTH_FACTOR} at any scale. The samples are counted per window, and the percentiles
+   * are computed over the last complete window, so that they follow the changes of the latency of the host.
+   */
+  static class ResponseWaitingTimeHistogram {
+    private static final double MIN_BUCKET_UPPER_BOUND_MS = 0.1;
+    private static final double BUCKET_GROWTH_FACTOR = 1.2;
+    private static final double LOG_BUCKET_GROWTH_FACTOR = Math.log(BUCKET_GROWTH_FACTOR);
+    // The last bucket holds everything above ~5.6 seconds
+    private static final int BUCKET_COUNT = 61;
+    /**
+     * Below this many samples in a window, the high percentiles are too noisy to act upon.
+     */
+    static final long MIN_SAMPLE_COUNT = 100;
+
+    private final long windowMs;
+    private volatile AtomicLongArray currentWindowCounts = new AtomicLongArray(BUCKET_COUNT);
+    private volatile long currentWindowStartMs = -1;
+    private volatile long[] lastWindowCounts = null;
+
+    ResponseWaitingTimeHistogram(long windowMs) {
+      this.windowMs = windowMs;
+    }
+
+    void record(double waitingTimeMs, long currentTimeMs) {
+      maybeRotateWindow(currentTimeMs);
+      currentWindowCounts.incrementAndGet(getBucketIndex(waitingTimeMs));
+    }
+
+    /**
+     * @return the upper bound of the bucket holding the given percentile, or -1 if the last complete window does not
+     *         have enough samples.
+     */
+    double getPercentile(double percentile, long currentTimeMs) {
+      maybeRotateWindow(currentTimeMs);
+      long[] counts = lastWindowCounts;
+      if (counts == null) {
+        return -1;
+      }
+      long totalCount = 0;
+      for (long count: counts) {
+        totalCount += count;
+      }
+      if (totalCount < MIN_SAMPLE_COUNT) {
+        return -1;
+      }
+      long targetCount = (long) Math.ceil(totalCount * percentile);
+      long cumulativeCount = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        cumulativeCount += counts[i];
+        if (cumulativeCount >= targetCount) {
+          return getBucketUpperBound(i);
+        }
+      }
+      return getBucketUpperBound(BUCKET_COUNT - 1);
+    }
+
+    private void maybeRotateWindow(long currentTimeMs) {
+      if (currentTimeMs - currentWindowStartMs < windowMs) {
+        return;
+      }
+      synchronized (this) {
+        if (currentTimeMs - currentWindowStartMs < windowMs) {
+          return;
+        }
+        AtomicLongArray completeWindowCounts = currentWindowCounts;
+        currentWindowCounts = new AtomicLongArray(BUCKET_COUNT);
+        if (currentWindowStartMs >= 0 && currentTimeMs - currentWindowStartMs < 2 * windowMs) {
+          long[] counts = new long[BUCKET_COUNT];
+          for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = completeWindowCounts.get(i);
+          }
+          lastWindowCounts = counts;
+        } else {
+          // The host did not respond over the whole last window
+          lastWindowCounts = null;
+        }
+        currentWindowStartMs = currentTimeMs;
+      }
+    }
+
+    static int getBucketIndex(double waitingTimeMs) {
+      if (waitingTimeMs <= MIN_BUCKET_UPPER_BOUND_MS) {
+        return 0;
+      }
+      int index = (int) Math.ceil(Math.log(waitingTimeMs / MIN_BUCKET_UPPER_BOUND_MS) / LOG_BUCKET_GROWTH_FACTOR);
+      return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    static double getBucketUpperBound(int index) {
+      return MIN_BUCKET_UPPER_BOUND_MS * Math.pow(BUCKET_GROWTH_FACTOR, index);
+    }
+  }
 }
@@ -0,0 +1,45 @@
+package com.linkedin.venice.router.stats;
+
+import com.linkedin.venice.stats.AbstractVeniceAggStats;
+import com.linkedin.venice.stats.AbstractVeniceStats;
+import io.tehuti.metrics.MetricsRepository;
+import io.tehuti.metrics.Sensor;
+import io.tehuti.metrics.stats.AsyncGauge;
+import io.tehuti.metrics.stats.OccurrenceRate;
+import java.util.function.LongSupplier;
+
+
+public class RouterRequestCoalescingStats extends AbstractVeniceStats {
+  private final Sensor coalescedRequestSensor;
+  private final Sensor fallbackRequestSensor;
+  private final Sensor overflowRequestSensor;
+
+  public RouterRequestCoalescingStats(
+      MetricsRepository metricsRepository,
+      String name,
+      LongSupplier inflightKeyCountSupplier) {
+    super(metricsRepository, name);
+    this.coalescedRequestSensor = registerSensor("coalesced_request", new OccurrenceRate());
+    this.fallbackRequestSensor = registerSensor("coalescing_fallback_request", new OccurrenceRate());
+    this.overflowRequestSensor = registerSensor("coalescing_overflow_request", new OccurrenceRate());
+    if (name.equals(AbstractVeniceAggStats.STORE_NAME_FOR_TOTAL_STAT)) {
+      // The keys being waited for are bounded per router, not per store
+      registerSensor(
+          new AsyncGauge(
+              (ignored, ignored2) -> inflightKeyCountSupplier.getAsLong(),
+              "coalescing_inflight_key_count"));
+    }
+  }
+
+  public void recordCoalescedRequest() {
+    coalescedRequestSensor.record();
+  }
+
+  public void recordFallbackRequest() {
+    fallbackRequestSensor.record();
+  }
+
+  public void recordOverflowRequest() {
+    overflowRequestSensor.record();
+  }
+}
@@ -0,0 +1,37 @@
+package com.linkedin.venice.router.stats;
+
+import com.linkedin.venice.stats.AbstractVeniceStats;
+import io.tehuti.metrics.MetricsRepository;
+import io.tehuti.metrics.Sensor;
+import io.tehuti.metrics.stats.AsyncGauge;
+import io.tehuti.metrics.stats.OccurrenceRate;
+import io.tehuti.metrics.stats.Rate;
+import java.util.function.LongSupplier;
+
+
+public class RouterResponseCacheStats extends AbstractVeniceStats {
+  private final Sensor hitKeySensor;
+  private final Sensor missKeySensor;
+  private final Sensor invalidationSensor;
+
+  public RouterResponseCacheStats(MetricsRepository metricsRepository, String name, LongSupplier usedBytesSupplier) {
+    super(metricsRepository, name);
+    this.hitKeySensor = registerSensor("response_cache_hit_key", new Rate());
+    this.missKeySensor = registerSensor("response_cache_miss_key", new Rate());
+    this.invalidationSensor = registerSensor("response_cache_invalidation", new OccurrenceRate());
+    registerSensor(
+        new AsyncGauge((ignored, ignored2) -> usedBytesSupplier.getAsLong(), "response_cache_used_bytes"));
+  }
+
+  public void recordHitKeys(int keyCount) {
+    hitKeySensor.record(keyCount);
+  }
+
+  public void recordMissKeys(int keyCount) {
+    missKeySensor.record(keyCount);
+  }
+
+  public void recordInvalidation() {
+    invalidationSensor.record();
+  }
+}
@@ -66,6 +66,61 @@ public class RouteHttpRequestStatsTest {
     Assert.assertEquals(stats.getPendingRequestCount("my_host2"), 0);
   }
 
+  @Test
+  public void responseWaitingTimeEwmaTest() {
+    RouteHttpRequestStats ewmaStats = new RouteHttpRequestStats(metricsRepository, mock(StorageNodeClient.class), 100);
+    Assert.assertEquals(
+        ewmaStats.getResponseWaitingTimeEwma("my_host3"),
+        RouteHttpRequestStats.INITIAL_RESPONSE_WAITING_TIME_EWMA_MS);
+
+    ewmaStats.recordResponseWaitingTime("my_host3", RequestType.SINGLE_GET, 10);
+    double ewma = ewmaStats.getResponseWaitingTimeEwma("my_host3");
+    Assert.assertTrue(ewma > 0 && ewma <= 10, "Unexpected EWMA: " + ewma);
+
+    // The peaks are followed right away
+    ewmaStats.recordResponseWaitingTime("my_host3", RequestType.SINGLE_GET, 50);
+    ewma = ewmaStats.getResponseWaitingTimeEwma("my_host3");
+    Assert.assertTrue(ewma > 10 && ewma <= 50, "Unexpected EWMA: " + ewma);
+
+    // The EWMA keeps decaying towards the initial one while the host does not respond
+    waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, true, () -> {
+      Assert.assertTrue(
+          ewmaStats.getResponseWaitingTimeEwma("my_host3") < RouteHttpRequestStats.INITIAL_RESPONSE_WAITING_TIME_EWMA_MS
+              + 1);
+    });
+  }
+
+  @Test
+  public void abortedResponseWaitingTimeTest() {
+    RouteHttpRequestStats abortedStats =
+        new RouteHttpRequestStats(metricsRepository, mock(StorageNodeClient.class), TimeUnit.HOURS.toMillis(1));
+    abortedStats.recordResponseWaitingTime("my_host5", RequestType.SINGLE_GET, 10);
+
+    // An aborted request can't tell that the host got faster, but it can tell that it got slower
+    abortedStats.recordAbortedResponseWaitingTime("my_host5", RequestType.SINGLE_GET, 5);
+    Assert.assertTrue(abortedStats.getResponseWaitingTimeEwma("my_host5") > 9.9);
+    abortedStats.recordAbortedResponseWaitingTime("my_host5", RequestType.SINGLE_GET, 50);
+    Assert.assertTrue(abortedStats.getResponseWaitingTimeEwma("my_host5") > 49.9);
+  }
+
+  @Test
+  public void responseWaitingTimeEwmaOfStalledHostTest() {
+    RouteHttpRequestStats ewmaStats = new RouteHttpRequestStats(metricsRepository, mock(StorageNodeClient.class), 100);
+    ewmaStats.recordPendingRequest("my_host4");
+    ewmaStats.recordResponseWaitingTime("my_host4", RequestType.SINGLE_GET, 10);
+    ewmaStats.recordFinishedRequest("my_host4");
+
+    // A host which does not respond to its pending request looks slower and slower instead of decaying
+    ewmaStats.recordPendingRequest("my_host4");
+    waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, true, () -> {
+      Assert.assertTrue(ewmaStats.getResponseWaitingTimeEwma("my_host4") >= 200);
+    });
+
+    // Once the request is finished, the EWMA only tells about the responses again
+    ewmaStats.recordFinishedRequest("my_host4");
+    Assert.assertTrue(ewmaStats.getResponseWaitingTimeEwma("my_host4") < 10);
+  }
+
   @Test
   public void routerInFlightMetricTest() {
     routerHttpRequestStats.recordIncomingRequest();
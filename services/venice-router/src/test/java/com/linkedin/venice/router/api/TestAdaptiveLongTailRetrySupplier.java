@@ -0,0 +1,58 @@
+package com.linkedin.venice.router.api;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.VeniceRouterConfig;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.router.stats.RouteHttpRequestStats;
+import com.linkedin.venice.utils.Utils;
+import java.util.Collections;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestAdaptiveLongTailRetrySupplier {
+  @Test
+  public void testLongTailRetryThreshold() {
+    VeniceRouterConfig config = mock(VeniceRouterConfig.class);
+    doReturn(0.95).when(config).getAdaptiveLongTailRetryPercentile();
+    doReturn(2).when(config).getAdaptiveLongTailRetryMinThresholdMs();
+    RouteHttpRequestStats routeHttpRequestStats = mock(RouteHttpRequestStats.class);
+    doReturn(4.2).when(routeHttpRequestStats)
+        .getResponseWaitingTimePercentile(eq("fast_host"), eq(RequestType.SINGLE_GET), anyDouble());
+    doReturn(8.5).when(routeHttpRequestStats)
+        .getResponseWaitingTimePercentile(eq("slow_host"), eq(RequestType.SINGLE_GET), anyDouble());
+    doReturn(1000.0).when(routeHttpRequestStats)
+        .getResponseWaitingTimePercentile(eq("very_slow_host"), eq(RequestType.SINGLE_GET), anyDouble());
+    doReturn(0.3).when(routeHttpRequestStats)
+        .getResponseWaitingTimePercentile(eq("very_fast_host"), eq(RequestType.SINGLE_GET), anyDouble());
+    doReturn(-1.0).when(routeHttpRequestStats)
+        .getResponseWaitingTimePercentile(eq("new_host"), eq(RequestType.SINGLE_GET), anyDouble());
+    AdaptiveLongTailRetrySupplier retrySupplier = new AdaptiveLongTailRetrySupplier(config, routeHttpRequestStats);
+
+    VenicePath path = mock(VenicePath.class);
+    doReturn(15).when(path).getLongTailRetryThresholdMs();
+    doReturn(RequestType.SINGLE_GET).when(path).getRequestType();
+
+    // The slowest of the storage nodes being waited for decides
+    doReturn(Utils.setOf("fast_host", "slow_host")).when(path).getSlowStorageNodes();
+    Assert.assertEquals(retrySupplier.getLongTailRetryThresholdMs(path), 9);
+    Assert.assertEquals(retrySupplier.getLongTailRetryMilliseconds(path, "GET").getNow().getAsLong(), 9);
+
+    // Bounded by the configured threshold and the min threshold
+    doReturn(Utils.setOf("fast_host", "very_slow_host")).when(path).getSlowStorageNodes();
+    Assert.assertEquals(retrySupplier.getLongTailRetryThresholdMs(path), 15);
+    doReturn(Collections.singleton("very_fast_host")).when(path).getSlowStorageNodes();
+    Assert.assertEquals(retrySupplier.getLongTailRetryThresholdMs(path), 2);
+
+    // Falls back to the configured threshold when it cannot tell
+    doReturn(Utils.setOf("fast_host", "new_host")).when(path).getSlowStorageNodes();
+    Assert.assertEquals(retrySupplier.getLongTailRetryThresholdMs(path), 15);
+    doReturn(Collections.emptySet()).when(path).getSlowStorageNodes();
+    Assert.assertEquals(retrySupplier.getLongTailRetryThresholdMs(path), 15);
+  }
+}
@@ -0,0 +1,115 @@
+package com.linkedin.venice.router.api;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.api.path.VeniceSingleGetPath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.tehuti.metrics.MetricsRepository;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.HttpStatus;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestRouterRequestCoalescer {
+  private static final String STORE_NAME = "test_store";
+
+  @Test
+  public void testCoalescing() throws Exception {
+    RouterRequestCoalescer coalescer = new RouterRequestCoalescer(10, new MetricsRepository());
+    AtomicInteger sentRequestCount = new AtomicInteger();
+    CompletableFuture<PortableHttpResponse> serverResponse = new CompletableFuture<>();
+    RouterRequestCoalescer.RequestSender sender = () -> {
+      sentRequestCount.incrementAndGet();
+      return serverResponse;
+    };
+
+    CompletableFuture<PortableHttpResponse> response1 = coalescer.sendRequest(mockSingleGetPath(1, "key"), sender);
+    CompletableFuture<PortableHttpResponse> response2 = coalescer.sendRequest(mockSingleGetPath(1, "key"), sender);
+    Assert.assertEquals(sentRequestCount.get(), 1);
+    Assert.assertEquals(coalescer.getInflightKeyCount(), 1);
+
+    // Neither another version nor another key nor a retry wait for the request
+    CompletableFuture<PortableHttpResponse> otherResponse = new CompletableFuture<>();
+    Assert.assertSame(coalescer.sendRequest(mockSingleGetPath(2, "key"), () -> otherResponse), otherResponse);
+    Assert.assertSame(coalescer.sendRequest(mockSingleGetPath(1, "other_key"), () -> otherResponse), otherResponse);
+    VeniceSingleGetPath retryPath = mockSingleGetPath(1, "key");
+    doReturn(true).when(retryPath).isRetryRequest();
+    Assert.assertSame(coalescer.sendRequest(retryPath, () -> otherResponse), otherResponse);
+    Assert.assertEquals(coalescer.getInflightKeyCount(), 3);
+
+    serverResponse.complete(mockResponse(HttpStatus.SC_OK, "value"));
+    Assert.assertEquals(coalescer.getInflightKeyCount(), 2);
+    ByteBuf content1 = response1.get().getContentInByteBuf();
+    ByteBuf content2 = response2.get().getContentInByteBuf();
+    Assert.assertNotSame(content1, content2);
+    Assert.assertEquals(new String(ByteBufUtil.getBytes(content1)), "value");
+    Assert.assertEquals(new String(ByteBufUtil.getBytes(content2)), "value");
+    Assert.assertEquals(response2.get().getStatusCode(), HttpStatus.SC_OK);
+    Assert.assertEquals(response2.get().getFirstHeader(HttpConstants.VENICE_SCHEMA_ID), "1");
+
+    // The key is requested again once the response got returned
+    coalescer.sendRequest(mockSingleGetPath(1, "key"), sender);
+    Assert.assertEquals(sentRequestCount.get(), 2);
+  }
+
+  @Test
+  public void testWaitingRequestsAreSentOnFailure() throws Exception {
+    RouterRequestCoalescer coalescer = new RouterRequestCoalescer(10, new MetricsRepository());
+    CompletableFuture<PortableHttpResponse> failedResponse = new CompletableFuture<>();
+    CompletableFuture<PortableHttpResponse> response1 =
+        coalescer.sendRequest(mockSingleGetPath(1, "key"), () -> failedResponse);
+    PortableHttpResponse serverResponse = mockResponse(HttpStatus.SC_OK, "value");
+    CompletableFuture<PortableHttpResponse> response2 =
+        coalescer.sendRequest(mockSingleGetPath(1, "key"), () -> CompletableFuture.completedFuture(serverResponse));
+
+    failedResponse.completeExceptionally(new IllegalStateException());
+    Assert.assertTrue(response1.isCompletedExceptionally());
+    Assert.assertEquals(new String(ByteBufUtil.getBytes(response2.get().getContentInByteBuf())), "value");
+    Assert.assertEquals(coalescer.getInflightKeyCount(), 0);
+  }
+
+  @Test
+  public void testMaxInflightKeys() throws Exception {
+    RouterRequestCoalescer coalescer = new RouterRequestCoalescer(1, new MetricsRepository());
+    AtomicInteger sentRequestCount = new AtomicInteger();
+    RouterRequestCoalescer.RequestSender sender = () -> {
+      sentRequestCount.incrementAndGet();
+      return new CompletableFuture<>();
+    };
+    coalescer.sendRequest(mockSingleGetPath(1, "key1"), sender);
+    coalescer.sendRequest(mockSingleGetPath(1, "key1"), sender);
+    Assert.assertEquals(sentRequestCount.get(), 1);
+
+    // Sent as they are, since another key is being waited for already
+    coalescer.sendRequest(mockSingleGetPath(1, "key2"), sender);
+    coalescer.sendRequest(mockSingleGetPath(1, "key2"), sender);
+    Assert.assertEquals(sentRequestCount.get(), 3);
+    Assert.assertEquals(coalescer.getInflightKeyCount(), 1);
+  }
+
+  private static VeniceSingleGetPath mockSingleGetPath(int version, String key) {
+    VeniceSingleGetPath path = mock(VeniceSingleGetPath.class);
+    doReturn(RequestType.SINGLE_GET).when(path).getRequestType();
+    doReturn(STORE_NAME).when(path).getStoreName();
+    doReturn(Version.composeKafkaTopic(STORE_NAME, version)).when(path).getResourceName();
+    doReturn(RouterKey.fromString(key)).when(path).getPartitionKey();
+    return path;
+  }
+
+  private static PortableHttpResponse mockResponse(int statusCode, String value) throws Exception {
+    PortableHttpResponse response = mock(PortableHttpResponse.class);
+    doReturn(statusCode).when(response).getStatusCode();
+    doReturn(Unpooled.wrappedBuffer(value.getBytes())).when(response).getContentInByteBuf();
+    doReturn("1").when(response).getFirstHeader(HttpConstants.VENICE_SCHEMA_ID);
+    return response;
+  }
+}
@@ -0,0 +1,240 @@
+package com.linkedin.venice.router.api;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
+import com.linkedin.venice.router.api.path.VeniceMultiGetPath;
+import com.linkedin.venice.router.api.path.VeniceSingleGetPath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.tehuti.metrics.MetricsRepository;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.avro.io.OptimizedBinaryDecoderFactory;
+import org.apache.http.HttpStatus;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestRouterResponseCache {
+  private static final String STORE_NAME = "test_store";
+  private static final RecordSerializer<MultiGetResponseRecordV1> RECORD_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(MultiGetResponseRecordV1.getClassSchema());
+  private static final RecordDeserializer<MultiGetResponseRecordV1> RECORD_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroSpecificDeserializer(MultiGetResponseRecordV1.getClassSchema(), MultiGetResponseRecordV1.class);
+
+  @Test
+  public void testSingleGet() throws Exception {
+    Store store = mockStore(1, false);
+    RouterResponseCache responseCache = createResponseCache(store);
+
+    VeniceSingleGetPath path = mockSingleGetPath(1, "key");
+    RouterResponseCache.Lookup lookup = responseCache.lookup(path);
+    Assert.assertNotNull(lookup);
+    Assert.assertFalse(lookup.isComplete());
+    Assert.assertSame(lookup.getPathOfMissedKeys(), path);
+    PortableHttpResponse response = lookup.complete(mockSingleGetResponse(HttpStatus.SC_OK, "value"));
+    Assert.assertEquals(new String(ByteBufUtil.getBytes(response.getContentInByteBuf())), "value");
+    Assert.assertTrue(responseCache.getUsedBytes(STORE_NAME) > 0);
+
+    lookup = responseCache.lookup(mockSingleGetPath(1, "key"));
+    Assert.assertTrue(lookup.isComplete());
+    response = lookup.getCachedResponse();
+    Assert.assertEquals(response.getStatusCode(), HttpStatus.SC_OK);
+    Assert.assertEquals(new String(ByteBufUtil.getBytes(response.getContentInByteBuf())), "value");
+    Assert.assertEquals(response.getFirstHeader(HttpConstants.VENICE_SCHEMA_ID), "2");
+    Assert.assertEquals(
+        response.getFirstHeader(HttpConstants.VENICE_COMPRESSION_STRATEGY),
+        Integer.toString(CompressionStrategy.NO_OP.getValue()));
+
+    // Not found keys are not cached
+    lookup = responseCache.lookup(mockSingleGetPath(1, "missing_key"));
+    lookup.complete(mockSingleGetResponse(HttpStatus.SC_NOT_FOUND, ""));
+    Assert.assertFalse(responseCache.lookup(mockSingleGetPath(1, "missing_key")).isComplete());
+  }
+
+  @Test
+  public void testVersionSwapInvalidatesCache() throws Exception {
+    Store store = mockStore(1, false);
+    RouterResponseCache responseCache = createResponseCache(store);
+    responseCache.lookup(mockSingleGetPath(1, "key")).complete(mockSingleGetResponse(HttpStatus.SC_OK, "value"));
+    Assert.assertTrue(responseCache.lookup(mockSingleGetPath(1, "key")).isComplete());
+
+    // Requests of the previous version still in flight must not drop the cache of the current version
+    Assert.assertNull(responseCache.lookup(mockSingleGetPath(0, "key")));
+    Assert.assertTrue(responseCache.lookup(mockSingleGetPath(1, "key")).isComplete());
+
+    Version newVersion = mockVersion(false);
+    doReturn(2).when(store).getCurrentVersion();
+    doReturn(newVersion).when(store).getVersion(2);
+    RouterResponseCache.Lookup lookup = responseCache.lookup(mockSingleGetPath(2, "key"));
+    Assert.assertFalse(lookup.isComplete());
+    Assert.assertEquals(responseCache.getUsedBytes(STORE_NAME), 0);
+    Assert.assertNull(responseCache.lookup(mockSingleGetPath(1, "key")));
+  }
+
+  @Test
+  public void testLookupsInFlightDuringVersionSwapAreNotCached() throws Exception {
+    Store store = mockStore(1, false);
+    UnpooledByteBufAllocator allocator = new UnpooledByteBufAllocator(true, false, false);
+    RouterResponseCache responseCache = createResponseCache(store, allocator);
+    RouterResponseCache.Lookup lookup = responseCache.lookup(mockSingleGetPath(1, "key"));
+
+    Version newVersion = mockVersion(false);
+    doReturn(2).when(store).getCurrentVersion();
+    doReturn(newVersion).when(store).getVersion(2);
+    Assert.assertFalse(responseCache.lookup(mockSingleGetPath(2, "key")).isComplete());
+
+    // The response of the previous version is still returned, but not kept by its cache, which nothing would release
+    PortableHttpResponse response = lookup.complete(mockSingleGetResponse(HttpStatus.SC_OK, "value"));
+    Assert.assertEquals(new String(ByteBufUtil.getBytes(response.getContentInByteBuf())), "value");
+    Assert.assertEquals(allocator.metric().usedDirectMemory(), 0);
+    Assert.assertEquals(responseCache.getUsedBytes(STORE_NAME), 0);
+  }
+
+  @Test
+  public void testHybridVersionIsNotCached() {
+    Store store = mockStore(1, true);
+    RouterResponseCache responseCache = createResponseCache(store);
+    Assert.assertNull(responseCache.lookup(mockSingleGetPath(1, "key")));
+  }
+
+  @Test
+  public void testMultiGetIsPartiallyServedFromCache() throws Exception {
+    Store store = mockStore(1, false);
+    RouterResponseCache responseCache = createResponseCache(store);
+    responseCache.lookup(mockSingleGetPath(1, "key_0")).complete(mockSingleGetResponse(HttpStatus.SC_OK, "value_0"));
+
+    RouterKey key0 = RouterKey.fromString("key_0");
+    RouterKey key1 = RouterKey.fromString("key_1");
+    VeniceMultiGetPath path = mock(VeniceMultiGetPath.class);
+    doReturn(RequestType.MULTI_GET).when(path).getRequestType();
+    doReturn(STORE_NAME).when(path).getStoreName();
+    doReturn(1).when(path).getVersionNumber();
+    doReturn(Arrays.asList(key0, key1)).when(path).getPartitionKeys();
+    doReturn(0).when(path).getKeyIndex(key0);
+    doReturn(1).when(path).getKeyIndex(key1);
+    VeniceMultiGetPath pathOfMissedKeys = mock(VeniceMultiGetPath.class);
+    doReturn(pathOfMissedKeys).when(path).substitutePartitionKey(anyCollection());
+
+    RouterResponseCache.Lookup lookup = responseCache.lookup(path);
+    Assert.assertFalse(lookup.isComplete());
+    Assert.assertSame(lookup.getPathOfMissedKeys(), pathOfMissedKeys);
+
+    MultiGetResponseRecordV1 serverRecord = new MultiGetResponseRecordV1();
+    serverRecord.keyIndex = 1;
+    serverRecord.schemaId = 2;
+    serverRecord.value = ByteBuffer.wrap("value_1".getBytes());
+    PortableHttpResponse serverResponse = mockResponse(
+        HttpStatus.SC_OK,
+        RECORD_SERIALIZER.serializeObjects(Collections.singletonList(serverRecord)),
+        "1");
+    List<MultiGetResponseRecordV1> records = deserialize(lookup.complete(serverResponse).getContentInByteBuf());
+    Assert.assertEquals(records.size(), 2);
+    for (MultiGetResponseRecordV1 record: records) {
+      Assert.assertEquals(toString(record.value), "value_" + record.keyIndex);
+    }
+
+    // The missed key got cached, so the whole request is served from the cache now
+    lookup = responseCache.lookup(path);
+    Assert.assertTrue(lookup.isComplete());
+    PortableHttpResponse cachedResponse = lookup.getCachedResponse();
+    Assert.assertEquals(
+        cachedResponse.getFirstHeader(HttpConstants.VENICE_SCHEMA_ID),
+        VeniceResponseAggregator.MULTI_GET_VALID_HEADER_MAP.get(HttpConstants.VENICE_SCHEMA_ID));
+    records = deserialize(cachedResponse.getContentInByteBuf());
+    Assert.assertEquals(records.size(), 2);
+    for (MultiGetResponseRecordV1 record: records) {
+      Assert.assertEquals(toString(record.value), "value_" + record.keyIndex);
+      Assert.assertEquals(record.schemaId, 2);
+    }
+  }
+
+  private static RouterResponseCache createResponseCache(Store store) {
+    return createResponseCache(store, new UnpooledByteBufAllocator(true));
+  }
+
+  private static RouterResponseCache createResponseCache(Store store, ByteBufAllocator allocator) {
+    ReadOnlyStoreRepository storeRepository = mock(ReadOnlyStoreRepository.class);
+    doReturn(store).when(storeRepository).getStore(STORE_NAME);
+    return new RouterResponseCache(
+        storeRepository,
+        Collections.singleton(STORE_NAME),
+        1024 * 1024,
+        new MetricsRepository(),
+        allocator);
+  }
+
+  private static Store mockStore(int currentVersion, boolean hybrid) {
+    Store store = mock(Store.class);
+    doReturn(currentVersion).when(store).getCurrentVersion();
+    Version version = mockVersion(hybrid);
+    doReturn(version).when(store).getVersion(currentVersion);
+    return store;
+  }
+
+  private static Version mockVersion(boolean hybrid) {
+    Version version = mock(Version.class);
+    doReturn(hybrid).when(version).isHybrid();
+    doReturn(CompressionStrategy.NO_OP).when(version).getCompressionStrategy();
+    return version;
+  }
+
+  private static VeniceSingleGetPath mockSingleGetPath(int version, String key) {
+    VeniceSingleGetPath path = mock(VeniceSingleGetPath.class);
+    RouterKey routerKey = RouterKey.fromString(key);
+    doReturn(RequestType.SINGLE_GET).when(path).getRequestType();
+    doReturn(STORE_NAME).when(path).getStoreName();
+    doReturn(version).when(path).getVersionNumber();
+    doReturn(routerKey).when(path).getPartitionKey();
+    doReturn(Collections.singletonList(routerKey)).when(path).getPartitionKeys();
+    return path;
+  }
+
+  private static PortableHttpResponse mockSingleGetResponse(int statusCode, String value) throws Exception {
+    return mockResponse(statusCode, value.getBytes(), "2");
+  }
+
+  private static PortableHttpResponse mockResponse(int statusCode, byte[] content, String schemaId)
+      throws Exception {
+    PortableHttpResponse response = mock(PortableHttpResponse.class);
+    doReturn(statusCode).when(response).getStatusCode();
+    doReturn(Unpooled.wrappedBuffer(content)).when(response).getContentInByteBuf();
+    doReturn(schemaId).when(response).getFirstHeader(HttpConstants.VENICE_SCHEMA_ID);
+    doReturn(Integer.toString(CompressionStrategy.NO_OP.getValue())).when(response)
+        .getFirstHeader(HttpConstants.VENICE_COMPRESSION_STRATEGY);
+    return response;
+  }
+
+  private static List<MultiGetResponseRecordV1> deserialize(ByteBuf content) {
+    byte[] bytes = ByteBufUtil.getBytes(content);
+    return new ArrayList<>(
+        RECORD_DESERIALIZER.deserializeObjects(
+            OptimizedBinaryDecoderFactory.defaultFactory().createOptimizedBinaryDecoder(bytes, 0, bytes.length)));
+  }
+
+  private static String toString(ByteBuffer value) {
+    byte[] bytes = new byte[value.remaining()];
+    value.duplicate().get(bytes);
+    return new String(bytes);
+  }
+}
@@ -45,6 +45,7 @@ import com.linkedin.venice.utils.HelixUtils;
 import com.linkedin.venice.utils.Utils;
 import io.netty.handler.codec.http.HttpMethod;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -1257,4 +1258,76 @@ public class TestVeniceDelegateMode {
     // Should select the only available host
     Assert.assertEquals(requests.iterator().next().getHosts().get(0), instance1);
   }
+
+  @Test
+  public void testSelectHostByPowerOfTwoChoices() throws RouterException {
+    String storeName = Utils.getUniqueString("test_store");
+    int version = 1;
+    String resourceName = storeName + "_v" + version;
+    String requestMethod = "GET";
+
+    Instance instance1 = Instance.fromNodeId("host1_1234");
+    Instance instance2 = Instance.fromNodeId("host2_1234");
+    Instance instance3 = Instance.fromNodeId("host3_1234");
+    String p1 = resourceName + "_0";
+
+    RouterKey key1 = new RouterKey("key1".getBytes());
+    key1.setPartitionId(0);
+    List<RouterKey> keys = new ArrayList<>();
+    keys.add(key1);
+
+    Map<RouterKey, String> keyPartitionMap = new HashMap<>();
+    keyPartitionMap.put(key1, p1);
+
+    VenicePath path = getVenicePath(resourceName, RequestType.SINGLE_GET, keys);
+    PartitionFinder<RouterKey> partitionFinder = getPartitionFinder(keyPartitionMap);
+    HostHealthMonitor monitor = getHostHealthMonitor();
+    ReadRequestThrottler throttler = getReadRequestThrottle(false);
+
+    VeniceRouterConfig config = mock(VeniceRouterConfig.class);
+    doReturn(LEAST_LOADED_ROUTING).when(config).getMultiKeyRoutingStrategy();
+    doReturn(RoutingComputationMode.SEQUENTIAL).when(config).getRoutingComputationMode();
+    doReturn(true).when(config).isLatencyBasedRoutingEnabled();
+    doReturn(true).when(config).isP2cEwmaRoutingEnabled(); // Takes precedence
+
+    // host1: 100ms EWMA with 3 pending requests, host2: 10ms EWMA with none, host3: 12ms EWMA with 1 pending request
+    RouteHttpRequestStats routeHttpRequestStats = mock(RouteHttpRequestStats.class);
+    doReturn(100.0).when(routeHttpRequestStats).getResponseWaitingTimeEwma(instance1.getNodeId());
+    doReturn(3L).when(routeHttpRequestStats).getPendingRequestCount(instance1.getNodeId());
+    doReturn(10.0).when(routeHttpRequestStats).getResponseWaitingTimeEwma(instance2.getNodeId());
+    doReturn(0L).when(routeHttpRequestStats).getPendingRequestCount(instance2.getNodeId());
+    doReturn(12.0).when(routeHttpRequestStats).getResponseWaitingTimeEwma(instance3.getNodeId());
+    doReturn(1L).when(routeHttpRequestStats).getPendingRequestCount(instance3.getNodeId());
+    RouterStats<com.linkedin.venice.router.stats.RouteHttpStats> perRouteStatsByType = mock(RouterStats.class);
+
+    VeniceDelegateMode scatterMode =
+        new VeniceDelegateMode(config, mock(RouterStats.class), routeHttpRequestStats, perRouteStatsByType);
+    scatterMode.initReadRequestThrottler(throttler);
+
+    Set<Instance> selectedHosts = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      Map<String, List<Instance>> partitionInstanceMap = new HashMap<>();
+      partitionInstanceMap.put(p1, new ArrayList<>(Arrays.asList(instance1, instance2, instance3)));
+      Scatter<Instance, VenicePath, RouterKey> scatter = new Scatter(
+          path,
+          getPathParser(),
+          VeniceRole.REPLICA,
+          RoutingComputationMode.SEQUENTIAL.getRequestCollectionSupplier());
+      Scatter<Instance, VenicePath, RouterKey> finalScatter = scatterMode.scatter(
+          scatter,
+          requestMethod,
+          resourceName,
+          partitionFinder,
+          getHostFinder(partitionInstanceMap),
+          monitor,
+          VeniceRole.REPLICA);
+
+      Collection<ScatterGatherRequest<Instance, RouterKey>> requests = finalScatter.getOnlineRequests();
+      Assert.assertEquals(requests.size(), 1);
+      selectedHosts.add(requests.iterator().next().getHosts().get(0));
+    }
+    // host1 loses every comparison, while host3 wins the ones against host1
+    Assert.assertFalse(selectedHosts.contains(instance1), "Should NOT select host1 with the highest cost");
+    Assert.assertTrue(selectedHosts.contains(instance2));
+  }
 }
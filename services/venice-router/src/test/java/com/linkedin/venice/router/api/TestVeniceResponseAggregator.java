@@ -20,6 +20,11 @@ import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
 import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.CompressorFactory;
+import com.linkedin.venice.compute.ComputeResultMerger;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.TopK;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.meta.NameRepository;
 import com.linkedin.venice.meta.StoreVersionName;
@@ -30,8 +35,10 @@ import com.linkedin.venice.router.stats.RouterStats;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.streaming.StreamingUtils;
 import com.linkedin.venice.utils.Utils;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
@@ -40,6 +47,7 @@ import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -51,6 +59,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -353,4 +364,64 @@ public class TestVeniceResponseAggregator {
         routerResponse.headers().get(VENICE_COMPRESSION_STRATEGY),
         String.valueOf(CompressionStrategy.NO_OP.getValue()));
   }
+
+  @Test
+  public void testMergeComputeResponsesForTopK() {
+    Schema resultSchema =
+        SchemaBuilder.record("Result").fields().name("score").type().floatType().noDefault().endRecord();
+    ComputeOperation topK = new ComputeOperation();
+    topK.setOperationType(ComputeOperationType.TOP_K.getValue());
+    topK.setOperation(new TopK("score", 2));
+
+    // Each storage node returns its own top 2, and the first one also a non-existing key
+    List<FullHttpResponse> responses = Arrays.asList(
+        buildComputeResponse(
+            newComputeRecord(resultSchema, 0, 1f),
+            newComputeRecord(resultSchema, 1, 4f),
+            newNonExistingRecord(4)),
+        buildComputeResponse(newComputeRecord(resultSchema, 2, 3f), newComputeRecord(resultSchema, 3, 2f)));
+
+    for (boolean isStreaming: new boolean[] { true, false }) {
+      ComputeResultMerger<ComputeResponseRecordV1> merger =
+          ComputeResultMerger.create(Collections.singletonList(topK), resultSchema, (record, resultRecord) -> record);
+      ByteBuf mergedContent = VeniceResponseAggregator.mergeComputeResponses(responses, merger, isStreaming);
+      List<ComputeResponseRecordV1> mergedRecords =
+          SerializerDeserializerFactory.getAvroSpecificDeserializer(ComputeResponseRecordV1.class)
+              .deserializeObjects(ByteBufUtil.getBytes(mergedContent));
+
+      List<Integer> keyIndexes = new ArrayList<>();
+      mergedRecords.forEach(record -> keyIndexes.add(record.keyIndex));
+      if (isStreaming) {
+        // The non-existing key is passed through, and the keys left out are reported like non-existing ones
+        Assert.assertEquals(keyIndexes, Arrays.asList(-4, 0, -3, 1, 2));
+        Assert.assertFalse(mergedRecords.get(1).value.hasRemaining());
+      } else {
+        Assert.assertEquals(keyIndexes, Arrays.asList(-4, 1, 2));
+      }
+    }
+  }
+
+  private static ComputeResponseRecordV1 newComputeRecord(Schema resultSchema, int keyIndex, float score) {
+    GenericRecord resultRecord = new GenericData.Record(resultSchema);
+    resultRecord.put("score", score);
+    ComputeResponseRecordV1 record = new ComputeResponseRecordV1();
+    record.keyIndex = keyIndex;
+    record.value =
+        ByteBuffer.wrap(SerializerDeserializerFactory.getAvroGenericSerializer(resultSchema).serialize(resultRecord));
+    return record;
+  }
+
+  private static ComputeResponseRecordV1 newNonExistingRecord(int keyIndex) {
+    ComputeResponseRecordV1 record = new ComputeResponseRecordV1();
+    record.keyIndex = Math.negateExact(keyIndex);
+    record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
+    return record;
+  }
+
+  private static FullHttpResponse buildComputeResponse(ComputeResponseRecordV1... records) {
+    RecordSerializer<ComputeResponseRecordV1> serializer =
+        SerializerDeserializerFactory.getAvroGenericSerializer(ComputeResponseRecordV1.getClassSchema());
+    byte[] content = serializer.serializeObjects(Arrays.asList(records));
+    return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, OK, Unpooled.wrappedBuffer(content));
+  }
 }
@@ -9,19 +9,37 @@ import static org.mockito.Mockito.mock;
 import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.CompressorFactory;
+import com.linkedin.venice.compression.VeniceCompressor;
 import com.linkedin.venice.meta.NameRepository;
 import com.linkedin.venice.meta.StoreVersionName;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.router.stats.AggRouterHttpRequestStats;
 import com.linkedin.venice.router.stats.RouterStats;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang.StringUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 
 public class TestVeniceResponseDecompressor {
+  private static final RecordSerializer<MultiGetResponseRecordV1> RECORD_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(MultiGetResponseRecordV1.getClassSchema());
+  private static final RecordDeserializer<MultiGetResponseRecordV1> RECORD_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroSpecificDeserializer(MultiGetResponseRecordV1.getClassSchema(), MultiGetResponseRecordV1.class);
+
   private final NameRepository nameRepository = new NameRepository();
 
   /**
@@ -129,4 +147,55 @@ public class TestVeniceResponseDecompressor {
       Assert.assertEquals(result.getCompressionStrategy(), CompressionStrategy.NO_OP);
     }
   }
+
+  @Test
+  public void testRouterDecompressesMultiGetRecordsIfClientDoesntSupportsDecompression() throws IOException {
+    StoreVersionName storeVersionName = nameRepository.getStoreVersionName("test-store", 1);
+    BasicFullHttpRequest request = new BasicFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.POST,
+        "storage/test-store",
+        System.currentTimeMillis(),
+        100000);
+
+    RouterStats<AggRouterHttpRequestStats> routerStats = mock(RouterStats.class);
+    doReturn(mock(AggRouterHttpRequestStats.class)).when(routerStats).getStatsByType(any());
+    RouterExceptionAndTrackingUtils.setRouterStats(routerStats);
+
+    try (CompressorFactory compressorFactory = new CompressorFactory()) {
+      VeniceCompressor compressor = compressorFactory.getCompressor(CompressionStrategy.GZIP);
+      VenicePathParser pathParser = getVenicePathParser(compressorFactory, true);
+      VeniceResponseDecompressor responseDecompressor = pathParser.getDecompressor(storeVersionName, request);
+
+      // Values compress well, so that the decompressed response is larger than the compressed one
+      List<String> values = new ArrayList<>();
+      List<MultiGetResponseRecordV1> records = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        String value = StringUtils.repeat("value_" + i, i * 10);
+        values.add(value);
+        MultiGetResponseRecordV1 record = new MultiGetResponseRecordV1();
+        record.keyIndex = i * 1000;
+        record.value = ByteBuffer.wrap(compressor.compress(value.getBytes()));
+        record.schemaId = i;
+        records.add(record);
+      }
+      CompositeByteBuf content = Unpooled.compositeBuffer();
+      content.addComponent(true, Unpooled.wrappedBuffer(RECORD_SERIALIZER.serializeObjects(records.subList(0, 50))));
+      content.addComponent(true, Unpooled.wrappedBuffer(RECORD_SERIALIZER.serializeObjects(records.subList(50, 100))));
+
+      ContentDecompressResult result =
+          responseDecompressor.decompressMultiGetContent(CompressionStrategy.GZIP, content);
+      Assert.assertEquals(result.getCompressionStrategy(), CompressionStrategy.NO_OP);
+
+      List<MultiGetResponseRecordV1> decompressedRecords =
+          RECORD_DESERIALIZER.deserializeObjects(ByteBufUtil.getBytes(result.getContent()));
+      Assert.assertEquals(decompressedRecords.size(), 100);
+      for (int i = 0; i < 100; i++) {
+        MultiGetResponseRecordV1 record = decompressedRecords.get(i);
+        Assert.assertEquals(record.keyIndex, i * 1000);
+        Assert.assertEquals(StandardCharsets.UTF_8.decode(record.value).toString(), values.get(i));
+        Assert.assertEquals(record.schemaId, i);
+      }
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package com.linkedin.venice.router.api.path;
 
+import static com.linkedin.venice.VeniceConstants.COMPUTE_REQUEST_VERSION_V5;
 import static com.linkedin.venice.compute.ComputeRequestWrapper.LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
@@ -10,12 +11,16 @@ import static org.mockito.Mockito.when;
 import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
 import com.linkedin.alpini.router.api.RouterException;
 import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compute.ComputeResultMerger;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV1;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV2;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV5;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.meta.NameRepository;
 import com.linkedin.venice.meta.RetryManager;
 import com.linkedin.venice.partitioner.VenicePartitioner;
@@ -33,6 +38,7 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -139,9 +145,47 @@ public class TestVeniceComputePath {
           mock(RetryManager.class),
           mock(VeniceResponseDecompressor.class));
       Assert.assertEquals(computePath.getComputeRequestLengthInBytes(), expectedLength);
+      Assert.assertFalse(computePath.isComputeResultMergeRequired());
     }
   }
 
+  @Test
+  public void testTopKRequestRequiresResultMerge() throws RouterException {
+    String resourceName = Utils.getUniqueString("test_store") + "_v1";
+    List<ByteBuffer> keys = Collections.singletonList(ByteBuffer.wrap("key_0".getBytes()));
+
+    ComputeOperation topK = new ComputeOperation();
+    topK.operationType = ComputeOperationType.TOP_K.getValue();
+    topK.operation = new TopK("member_score", 10);
+    ComputeRequestV5 computeRequest = new ComputeRequestV5();
+    computeRequest.operations = new ArrayList<>(getComputeRequest().operations);
+    computeRequest.operations.add(topK);
+    computeRequest.resultSchemaStr = resultSchemaStr;
+    RecordSerializer<ComputeRequestV5> computeRequestSerializer =
+        SerializerDeserializerFactory.getAvroGenericSerializer(ComputeRequestV5.getClassSchema());
+    RecordSerializer<ByteBuffer> keySerializer = SerializerDeserializerFactory
+        .getAvroGenericSerializer(ReadAvroProtocolDefinition.COMPUTE_REQUEST_CLIENT_KEY_V1.getSchema());
+    byte[] content =
+        ArrayUtils.addAll(computeRequestSerializer.serialize(computeRequest), keySerializer.serializeObjects(keys));
+
+    RouterRetryConfig retryConfig = mock(RouterRetryConfig.class);
+    when(retryConfig.getLongTailRetryMaxRouteForMultiKeyReq()).thenReturn(1);
+    VeniceComputePath computePath = new VeniceComputePath(
+        nameRepository.getStoreVersionName(resourceName),
+        getComputeHttpRequest(resourceName, content, COMPUTE_REQUEST_VERSION_V5),
+        getVenicePartitionFinder(-1),
+        10,
+        mock(AggRouterHttpRequestStats.class),
+        retryConfig,
+        mock(RetryManager.class),
+        mock(VeniceResponseDecompressor.class));
+    Assert.assertEquals(computePath.getPartitionKeys().size(), 1);
+    Assert.assertTrue(computePath.isComputeResultMergeRequired());
+    ComputeResultMerger<ComputeResponseRecordV1> merger = computePath.createComputeResultMerger();
+    Assert.assertNotNull(merger);
+    Assert.assertEquals(merger.getResultSchema().getName(), "MemberFeature");
+  }
+
   @Test
   public void testComputeRequestVersionBackwardCompatible() {
     // generate a version 1 record
@@ -0,0 +1,57 @@
+package com.linkedin.venice.router.stats;
+
+import static com.linkedin.venice.router.stats.RouteHttpRequestStats.ResponseWaitingTimeHistogram.getBucketIndex;
+import static com.linkedin.venice.router.stats.RouteHttpRequestStats.ResponseWaitingTimeHistogram.getBucketUpperBound;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class ResponseWaitingTimeHistogramTest {
+  private static final long WINDOW_MS = 1000;
+
+  @Test
+  public void testPercentileOfLastCompleteWindow() {
+    RouteHttpRequestStats.ResponseWaitingTimeHistogram histogram =
+        new RouteHttpRequestStats.ResponseWaitingTimeHistogram(WINDOW_MS);
+    long currentTimeMs = 10000;
+    Assert.assertEquals(histogram.getPercentile(0.95, currentTimeMs), -1.0);
+
+    // 1ms to 100ms
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i, currentTimeMs);
+    }
+    // Nothing is known until the window completes
+    Assert.assertEquals(histogram.getPercentile(0.95, currentTimeMs + 1), -1.0);
+
+    currentTimeMs += WINDOW_MS;
+    double p95 = histogram.getPercentile(0.95, currentTimeMs);
+    Assert.assertTrue(p95 >= 95 && p95 <= 95 * 1.2, "Unexpected p95: " + p95);
+    double p50 = histogram.getPercentile(0.5, currentTimeMs);
+    Assert.assertTrue(p50 >= 50 && p50 <= 50 * 1.2, "Unexpected p50: " + p50);
+
+    // Too few samples in the next window
+    histogram.record(1, currentTimeMs);
+    currentTimeMs += WINDOW_MS;
+    Assert.assertEquals(histogram.getPercentile(0.95, currentTimeMs), -1.0);
+
+    // The host did not respond over the whole last window
+    for (int i = 0; i < RouteHttpRequestStats.ResponseWaitingTimeHistogram.MIN_SAMPLE_COUNT; i++) {
+      histogram.record(1, currentTimeMs);
+    }
+    currentTimeMs += 3 * WINDOW_MS;
+    Assert.assertEquals(histogram.getPercentile(0.95, currentTimeMs), -1.0);
+  }
+
+  @Test
+  public void testBucketIndex() {
+    Assert.assertEquals(getBucketIndex(0), 0);
+    for (double waitingTimeMs: new double[] { 0.5, 1, 3.7, 42, 999, 5000 }) {
+      int index = getBucketIndex(waitingTimeMs);
+      Assert.assertTrue(getBucketUpperBound(index) >= waitingTimeMs);
+      Assert.assertTrue(getBucketUpperBound(index - 1) < waitingTimeMs);
+    }
+    // Everything above the last bucket goes to the last bucket
+    Assert.assertEquals(getBucketIndex(Double.MAX_VALUE), getBucketIndex(1000000));
+  }
+}
@@ -0,0 +1,94 @@
+package com.linkedin.venice.listener;
+
+/**
+ * Picks the number of keys of each chunk of the batch get and compute requests processed in parallel by
+ * {@link StorageReadRequestHandler}, depending on the size of the request and on how busy the thread pool executing
+ * the chunks is, rather than using a fixed chunk size:
+ *
+ *  - When the pool has no backlog, the keys are spread across its threads, so that a large request completes as fast
+ *    as possible, but without making chunks so small that scheduling them costs more than looking up their keys. The
+ *    smallest worthwhile chunk is derived from the recent latency of a key, so that a chunk takes at least the target
+ *    chunk latency.
+ *  - As the queue of the pool builds up, extra chunks would mostly wait behind other requests' tasks, and then add to
+ *    the tail latency of the request, so requests are split into fewer chunks, down to a single one.
+ *
+ * The queue depth is used as the load signal, since it is cheap to read, unlike the active thread count of a
+ * {@link java.util.concurrent.ThreadPoolExecutor}, which takes the lock of the pool.
+ *
+ * The per-key latency is a moving average shared by all the requests, whose concurrent updates may occasionally get
+ * lost, which does not matter for a heuristic.
+ */
+public class AdaptiveChunkSizer {
+  /**
+   * The weight of the latest sample in the moving average of the per-key latency.
+   */
+  private static final double LATENCY_SMOOTHING_FACTOR = 0.1;
+
+  private final int initialChunkSize;
+  private final long targetChunkLatencyNs;
+  /**
+   * The moving average of the time to process a key, or NaN until the first chunk is processed.
+   */
+  private volatile double perKeyLatencyNs = Double.NaN;
+
+  /**
+   * @param initialChunkSize the smallest chunk size until the per-key latency is known.
+   * @param targetChunkLatencyNs the minimal expected processing time of a chunk, below which the cost of scheduling it
+   *                             is not worth it.
+   */
+  public AdaptiveChunkSizer(int initialChunkSize, long targetChunkLatencyNs) {
+    if (initialChunkSize <= 0) {
+      throw new IllegalArgumentException("Initial chunk size must be positive, got: " + initialChunkSize);
+    }
+    this.initialChunkSize = initialChunkSize;
+    this.targetChunkLatencyNs = targetChunkLatencyNs;
+  }
+
+  /**
+   * @param keyCount the number of keys of the request.
+   * @param poolSize the number of threads of the pool executing the chunks.
+   * @param queueDepth the number of tasks currently queued in the pool.
+   * @return the number of keys of each chunk, but the last one.
+   */
+  public int getChunkSize(int keyCount, int poolSize, int queueDepth) {
+    if (keyCount <= 1) {
+      return 1;
+    }
+    // The threads which the chunks could run on without waiting behind the tasks already queued
+    int parallelism = Math.max(1, poolSize / (1 + Math.max(0, queueDepth)));
+    int minChunkSize = getMinChunkSize();
+    int chunkCount = Math.max(1, Math.min(parallelism, ceilDiv(keyCount, minChunkSize)));
+    return ceilDiv(keyCount, chunkCount);
+  }
+
+  /**
+   * Records the time it took to process a chunk, excluding the time it was queued.
+   */
+  public void recordChunkLatency(int keyCount, long latencyNs) {
+    if (keyCount <= 0) {
+      return;
+    }
+    double sample = (double) latencyNs / keyCount;
+    double average = perKeyLatencyNs;
+    perKeyLatencyNs = Double.isNaN(average) ? sample : average + LATENCY_SMOOTHING_FACTOR * (sample - average);
+  }
+
+  double getPerKeyLatencyNs() {
+    return perKeyLatencyNs;
+  }
+
+  private int getMinChunkSize() {
+    double latency = perKeyLatencyNs;
+    if (Double.isNaN(latency)) {
+      return initialChunkSize;
+    }
+    if (latency <= 0) {
+      return Integer.MAX_VALUE;
+    }
+    return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.ceil(targetChunkLatencyNs / latency)));
+  }
+
+  private static int ceilDiv(int dividend, int divisor) {
+    return (int) ((dividend + (long) divisor - 1) / divisor);
+  }
+}
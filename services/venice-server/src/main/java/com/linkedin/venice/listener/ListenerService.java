@@ -6,6 +6,7 @@ import com.linkedin.davinci.storage.DiskHealthCheckService;
 import com.linkedin.davinci.storage.IngestionMetadataRetriever;
 import com.linkedin.davinci.storage.ReadMetadataRetriever;
 import com.linkedin.davinci.storage.StorageEngineRepository;
+import com.linkedin.davinci.store.cache.OffHeapValueCache;
 import com.linkedin.venice.acl.DynamicAccessController;
 import com.linkedin.venice.acl.StaticAccessController;
 import com.linkedin.venice.cleaner.ResourceReadUsageTracker;
@@ -18,6 +19,7 @@ import com.linkedin.venice.meta.ReadOnlySchemaRepository;
 import com.linkedin.venice.meta.ReadOnlyStoreRepository;
 import com.linkedin.venice.security.SSLFactory;
 import com.linkedin.venice.service.AbstractVeniceService;
+import com.linkedin.venice.stats.PartitionAffinityExecutorStats;
 import com.linkedin.venice.stats.ThreadPoolStats;
 import com.linkedin.venice.utils.concurrent.ThreadPoolFactory;
 import io.grpc.ServerInterceptor;
@@ -59,6 +61,8 @@ public class ListenerService extends AbstractVeniceService {
   private final ThreadPoolExecutor executor;
   private final ThreadPoolExecutor computeExecutor;
   private final ThreadPoolExecutor grpcExecutor;
+  private final Optional<PartitionAffinityExecutor> partitionAffinityExecutor;
+  private final Optional<PartitionAffinityExecutor> partitionAffinityComputeExecutor;
   private ThreadPoolExecutor sslHandshakeExecutor;
 
   // TODO: move netty config to a config file
@@ -78,24 +82,54 @@ public class ListenerService extends AbstractVeniceService {
       Optional<DynamicAccessController> storeAccessController,
       DiskHealthCheckService diskHealthService,
       StorageEngineBackedCompressorFactory compressorFactory,
-      Optional<ResourceReadUsageTracker> resourceReadUsageTracker) {
+      Optional<ResourceReadUsageTracker> resourceReadUsageTracker,
+      Optional<OffHeapValueCache> valueCache) {
 
     this.serverConfig = serverConfig;
     this.port = serverConfig.getListenerPort();
     this.isGrpcEnabled = serverConfig.isGrpcEnabled();
     this.grpcPort = serverConfig.getGrpcPort();
 
-    executor = createThreadPool(
-        serverConfig.getRestServiceStorageThreadNum(),
-        "StorageExecutionThread",
-        serverConfig.getDatabaseLookupQueueCapacity());
-    new ThreadPoolStats(metricsRepository, executor, "storage_execution_thread_pool");
+    if (serverConfig.isPartitionAffinityReadExecutorEnabled()) {
+      /**
+       * The shards take the threads of the shared storage and compute thread pools, which are then not needed, since
+       * all the reads are executed on the shard of their partition.
+       */
+      executor = null;
+      computeExecutor = null;
+      PartitionAffinityExecutor storageAffinityExecutor = createPartitionAffinityExecutor(
+          serverConfig.getRestServiceStorageThreadNum(),
+          "StorageExecutionShardThread",
+          serverConfig.getDatabaseLookupQueueCapacity());
+      new PartitionAffinityExecutorStats(
+          metricsRepository,
+          storageAffinityExecutor,
+          "storage_execution_partition_affinity_executor");
+      PartitionAffinityExecutor computeAffinityExecutor = createPartitionAffinityExecutor(
+          serverConfig.getServerComputeThreadNum(),
+          "StorageComputeShardThread",
+          serverConfig.getComputeQueueCapacity());
+      new PartitionAffinityExecutorStats(
+          metricsRepository,
+          computeAffinityExecutor,
+          "storage_compute_partition_affinity_executor");
+      this.partitionAffinityExecutor = Optional.of(storageAffinityExecutor);
+      this.partitionAffinityComputeExecutor = Optional.of(computeAffinityExecutor);
+    } else {
+      executor = createThreadPool(
+          serverConfig.getRestServiceStorageThreadNum(),
+          "StorageExecutionThread",
+          serverConfig.getDatabaseLookupQueueCapacity());
+      new ThreadPoolStats(metricsRepository, executor, "storage_execution_thread_pool");
 
-    computeExecutor = createThreadPool(
-        serverConfig.getServerComputeThreadNum(),
-        "StorageComputeThread",
-        serverConfig.getComputeQueueCapacity());
-    new ThreadPoolStats(metricsRepository, computeExecutor, "storage_compute_thread_pool");
+      computeExecutor = createThreadPool(
+          serverConfig.getServerComputeThreadNum(),
+          "StorageComputeThread",
+          serverConfig.getComputeQueueCapacity());
+      new ThreadPoolStats(metricsRepository, computeExecutor, "storage_compute_thread_pool");
+      this.partitionAffinityExecutor = Optional.empty();
+      this.partitionAffinityComputeExecutor = Optional.empty();
+    }
 
     if (sslFactory.isPresent() && serverConfig.getSslHandshakeThreadPoolSize() > 0) {
       this.sslHandshakeExecutor = createThreadPool(
@@ -114,7 +148,10 @@ public class ListenerService extends AbstractVeniceService {
         readMetadataRetriever,
         diskHealthService,
         compressorFactory,
-        resourceReadUsageTracker);
+        resourceReadUsageTracker,
+        partitionAffinityExecutor,
+        partitionAffinityComputeExecutor,
+        valueCache);
 
     HttpChannelInitializer channelInitializer = new HttpChannelInitializer(
         storeMetadataRepository,
@@ -215,6 +252,9 @@ public class ListenerService extends AbstractVeniceService {
       LOGGER.info("Stopping gRPC service on port {}", grpcPort);
       grpcServer.stop();
     }
+
+    partitionAffinityExecutor.ifPresent(PartitionAffinityExecutor::shutdown);
+    partitionAffinityComputeExecutor.ifPresent(PartitionAffinityExecutor::shutdown);
   }
 
   protected ThreadPoolExecutor createThreadPool(int threadCount, String threadNamePrefix, int capacity) {
@@ -226,6 +266,26 @@ public class ListenerService extends AbstractVeniceService {
         serverConfig.getBlockingQueueType());
   }
 
+  /**
+   * Splits the given number of threads into shards of
+   * {@link VeniceServerConfig#getPartitionAffinityReadExecutorThreadsPerShard()} threads, with the queue capacity being
+   * split likewise.
+   */
+  protected PartitionAffinityExecutor createPartitionAffinityExecutor(
+      int threadCount,
+      String threadNamePrefix,
+      int capacity) {
+    int threadsPerShard = Math.min(threadCount, serverConfig.getPartitionAffinityReadExecutorThreadsPerShard());
+    int shardCount = Math.max(1, threadCount / threadsPerShard);
+    return new PartitionAffinityExecutor(
+        shardCount,
+        threadsPerShard,
+        threadNamePrefix,
+        serverConfig.getLogContext(),
+        Math.max(1, capacity / shardCount),
+        serverConfig.getPartitionAffinityReadExecutorWorkStealingThreshold());
+  }
+
   protected StorageReadRequestHandler createRequestHandler(
       ThreadPoolExecutor executor,
       ThreadPoolExecutor computeExecutor,
@@ -236,7 +296,10 @@ public class ListenerService extends AbstractVeniceService {
       ReadMetadataRetriever readMetadataRetriever,
       DiskHealthCheckService diskHealthService,
       StorageEngineBackedCompressorFactory compressorFactory,
-      Optional<ResourceReadUsageTracker> resourceReadUsageTracker) {
+      Optional<ResourceReadUsageTracker> resourceReadUsageTracker,
+      Optional<PartitionAffinityExecutor> partitionAffinityExecutor,
+      Optional<PartitionAffinityExecutor> partitionAffinityComputeExecutor,
+      Optional<OffHeapValueCache> valueCache) {
     return new StorageReadRequestHandler(
         serverConfig,
         executor,
@@ -248,6 +311,9 @@ public class ListenerService extends AbstractVeniceService {
         readMetadataRetriever,
         diskHealthService,
         compressorFactory,
-        resourceReadUsageTracker);
+        resourceReadUsageTracker,
+        partitionAffinityExecutor,
+        partitionAffinityComputeExecutor,
+        valueCache);
   }
 }
@@ -17,7 +17,9 @@ import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.listener.response.AbstractReadResponse;
 import com.linkedin.venice.listener.response.BinaryResponse;
+import com.linkedin.venice.listener.response.EarlyFlushedResponseChunk;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
+import com.linkedin.venice.listener.response.ParallelMultiKeyResponseWrapper;
 import com.linkedin.venice.utils.ExceptionUtils;
 import com.linkedin.venice.utils.ObjectMapperFactory;
 import io.netty.buffer.ByteBuf;
@@ -26,8 +28,13 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
 import java.nio.charset.StandardCharsets;
 
 
@@ -46,6 +53,16 @@ public class OutboundHttpWrapperHandler extends ChannelOutboundHandlerAdapter {
 
   @Override
   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+    if (msg instanceof EarlyFlushedResponseChunk) {
+      writeEarlyFlushedChunk(ctx, (EarlyFlushedResponseChunk) msg);
+      return;
+    }
+    if (msg instanceof ParallelMultiKeyResponseWrapper
+        && ((ParallelMultiKeyResponseWrapper) msg).isEarlyFlushStarted()) {
+      completeEarlyFlushedResponse(ctx, (ParallelMultiKeyResponseWrapper) msg);
+      return;
+    }
+
     ByteBuf body;
     String contentType = HttpConstants.AVRO_BINARY;
     HttpResponseStatus responseStatus = OK;
@@ -208,6 +225,40 @@ public class OutboundHttpWrapperHandler extends ChannelOutboundHandlerAdapter {
     ctx.writeAndFlush(response);
   }
 
+  /**
+   * Writes a chunk of a response ahead of the rest of it, preceded by the response headers if it is the first chunk.
+   * Since the size of the response is not known yet, it uses the chunked transfer encoding.
+   */
+  private void writeEarlyFlushedChunk(ChannelHandlerContext ctx, EarlyFlushedResponseChunk chunk) {
+    ParallelMultiKeyResponseWrapper<?> response = chunk.getResponse();
+    ByteBuf body = chunk.getBody();
+    response.addEarlyFlushedBytes(body.readableBytes());
+    statsHandler.getServerStatsContext().setPartialResponseInProgress(true);
+    if (chunk.isFirst()) {
+      HttpResponse headers = new DefaultHttpResponse(HTTP_1_1, OK);
+      headers.headers().set(CONTENT_TYPE, HttpConstants.AVRO_BINARY);
+      HttpUtil.setTransferEncodingChunked(headers, true);
+      headers.headers().set(HttpConstants.VENICE_COMPRESSION_STRATEGY, response.getCompressionStrategy().getValue());
+      headers.headers().set(HttpConstants.VENICE_SCHEMA_ID, response.getResponseSchemaIdHeader());
+      headers.headers().set(HttpConstants.VENICE_REQUEST_RCU, response.getRCU());
+      headers.headers().set(HttpConstants.VENICE_STREAMING_RESPONSE, "1");
+      ctx.write(headers);
+    }
+    ctx.writeAndFlush(new DefaultHttpContent(body));
+  }
+
+  /**
+   * Terminates a response whose chunks have all been flushed already, and records its stats.
+   */
+  private void completeEarlyFlushedResponse(ChannelHandlerContext ctx, ParallelMultiKeyResponseWrapper<?> response) {
+    ServerStatsContext statsContext = statsHandler.getServerStatsContext();
+    setStats(statsContext, response);
+    statsContext.setResponseSize(response.getEarlyFlushedBytes());
+    statsHandler.setResponseStatus(OK);
+    statsContext.setPartialResponseInProgress(false);
+    ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+  }
+
   public void setStats(ServerStatsContext statsContext, AbstractReadResponse obj) {
     statsContext.setReadResponseStats(obj.getStatsRecorder());
   }
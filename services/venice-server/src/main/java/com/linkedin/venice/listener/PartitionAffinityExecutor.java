@@ -0,0 +1,257 @@
+package com.linkedin.venice.listener;
+
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import com.linkedin.venice.utils.LogContext;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * An executor made of several independent shards, each with its own queue and a small, fixed group of threads. All the
+ * reads of a given store-version partition are pinned to the same shard, so that the block cache pages, thread-local
+ * reusable objects and deserializer caches it uses stay hot on the same threads, and so that the threads of a large
+ * host do not all contend on a single shared queue.
+ *
+ * In order to prevent a hot partition from building up latency on its shard while other shards are idle, an idle
+ * thread steals the most recently queued tasks of any other shard whose queue is deeper than the work stealing
+ * threshold.
+ */
+public class PartitionAffinityExecutor {
+  private final ThreadPoolExecutor[] shards;
+  private final WorkStealingQueue[] queues;
+  private final int workStealingThreshold;
+  private final LongAdder stolenTaskCount = new LongAdder();
+
+  /**
+   * Idle threads park on the condition of their shard, and are signaled either when a task is queued in their shard,
+   * or when a task is queued in another shard whose queue is deeper than the work stealing threshold.
+   */
+  private final ReentrantLock idleLock = new ReentrantLock();
+  private final Condition[] workAvailable;
+  // Guarded by idleLock
+  private final int[] idleThreadCounts;
+  private final AtomicInteger idleThreadCount = new AtomicInteger();
+
+  public PartitionAffinityExecutor(
+      int shardCount,
+      int threadsPerShard,
+      String threadNamePrefix,
+      LogContext logContext,
+      int capacityPerShard,
+      int workStealingThreshold) {
+    if (shardCount <= 0 || threadsPerShard <= 0) {
+      throw new IllegalArgumentException(
+          "Shard count and threads per shard must be positive, got: " + shardCount + " and " + threadsPerShard);
+    }
+    this.workStealingThreshold = workStealingThreshold;
+    this.queues = new WorkStealingQueue[shardCount];
+    this.shards = new ThreadPoolExecutor[shardCount];
+    this.workAvailable = new Condition[shardCount];
+    this.idleThreadCounts = new int[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      this.queues[i] = new WorkStealingQueue(i, capacityPerShard);
+      this.workAvailable[i] = idleLock.newCondition();
+    }
+    for (int i = 0; i < shardCount; i++) {
+      this.shards[i] = new ThreadPoolExecutor(
+          threadsPerShard,
+          threadsPerShard,
+          0,
+          TimeUnit.MILLISECONDS,
+          this.queues[i],
+          new DaemonThreadFactory(threadNamePrefix + "-s" + i, logContext));
+      /**
+       * Same back pressure policy as {@link com.linkedin.venice.utils.concurrent.ThreadPoolFactory}: when a shard is
+       * saturated, the task is executed in the caller thread.
+       */
+      this.shards[i].setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+      // All threads must be up, even in an idle shard, for them to steal from the other shards
+      this.shards[i].prestartAllCoreThreads();
+    }
+  }
+
+  /**
+   * @return the shard which all the reads of the given store-version partition should be executed on.
+   */
+  public ThreadPoolExecutor getExecutor(String resourceName, int partition) {
+    return shards[Math.floorMod(31 * resourceName.hashCode() + partition, shards.length)];
+  }
+
+  public int getShardCount() {
+    return shards.length;
+  }
+
+  /**
+   * @return the approximate number of tasks queued across all shards.
+   */
+  public int getQueuedTaskCount() {
+    int count = 0;
+    for (WorkStealingQueue queue: queues) {
+      count += queue.getApproximateSize();
+    }
+    return count;
+  }
+
+  /**
+   * @return the approximate number of tasks queued in the most loaded shard.
+   */
+  public int getMaxShardQueuedTaskCount() {
+    int max = 0;
+    for (WorkStealingQueue queue: queues) {
+      max = Math.max(max, queue.getApproximateSize());
+    }
+    return max;
+  }
+
+  public long getStolenTaskCount() {
+    return stolenTaskCount.sum();
+  }
+
+  public void shutdown() {
+    for (ThreadPoolExecutor shard: shards) {
+      shard.shutdown();
+    }
+  }
+
+  private Runnable steal(int thiefIndex) {
+    WorkStealingQueue victim;
+    Runnable task;
+    for (int i = 1; i < queues.length; i++) {
+      victim = queues[(thiefIndex + i) % queues.length];
+      if (victim.getApproximateSize() > workStealingThreshold) {
+        task = victim.pollNewest();
+        if (task != null) {
+          stolenTaskCount.increment();
+          return task;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Wakes up an idle thread of the given shard, or of any other shard if the task can be stolen.
+   */
+  private void wakeUpIdleThread(int shardIndex, boolean stealable) {
+    idleLock.lock();
+    try {
+      if (idleThreadCounts[shardIndex] > 0) {
+        workAvailable[shardIndex].signal();
+        return;
+      }
+      if (stealable) {
+        for (int i = 1; i < shards.length; i++) {
+          int thiefIndex = (shardIndex + i) % shards.length;
+          if (idleThreadCounts[thiefIndex] > 0) {
+            workAvailable[thiefIndex].signal();
+            return;
+          }
+        }
+      }
+    } finally {
+      idleLock.unlock();
+    }
+  }
+
+  /**
+   * The queue of a single shard. Its owner threads consume it in FIFO order, while the threads of other shards steal
+   * from its tail, which holds the tasks that would otherwise wait the longest.
+   *
+   * N.B.: {@link LinkedBlockingDeque#size()} takes a lock, so an approximate size is tracked separately in order for
+   * idle threads to cheaply find a shard worth stealing from. It is only a hint, and may drift on the rarely used
+   * removal paths of {@link ThreadPoolExecutor} (e.g. when shutting down).
+   */
+  private class WorkStealingQueue extends LinkedBlockingDeque<Runnable> {
+    private static final long serialVersionUID = 1L;
+
+    private final int shardIndex;
+    private final AtomicInteger approximateSize = new AtomicInteger();
+
+    WorkStealingQueue(int shardIndex, int capacity) {
+      super(capacity);
+      this.shardIndex = shardIndex;
+    }
+
+    int getApproximateSize() {
+      return approximateSize.get();
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+      if (!super.offer(task)) {
+        return false;
+      }
+      int size = approximateSize.incrementAndGet();
+      if (idleThreadCount.get() > 0) {
+        wakeUpIdleThread(shardIndex, size > workStealingThreshold);
+      }
+      return true;
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+      return pollOrPark(-1);
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+      return pollOrPark(unit.toNanos(timeout));
+    }
+
+    /**
+     * @param timeoutNs how long to wait for a task, or a negative value to wait for as long as it takes.
+     */
+    private Runnable pollOrPark(long timeoutNs) throws InterruptedException {
+      Runnable task;
+      while ((task = pollOrSteal()) == null) {
+        idleLock.lockInterruptibly();
+        try {
+          idleThreadCount.incrementAndGet();
+          idleThreadCounts[shardIndex]++;
+          try {
+            // Checked again once registered as idle, so that a task queued in the meantime is not missed
+            task = pollOrSteal();
+            if (task != null) {
+              return task;
+            }
+            if (timeoutNs < 0) {
+              workAvailable[shardIndex].await();
+            } else if (timeoutNs == 0) {
+              return null;
+            } else {
+              timeoutNs = Math.max(0, workAvailable[shardIndex].awaitNanos(timeoutNs));
+            }
+          } finally {
+            idleThreadCounts[shardIndex]--;
+            idleThreadCount.decrementAndGet();
+          }
+        } finally {
+          idleLock.unlock();
+        }
+      }
+      return task;
+    }
+
+    private Runnable pollOrSteal() {
+      Runnable task = super.pollFirst();
+      if (task != null) {
+        approximateSize.decrementAndGet();
+        return task;
+      }
+      return steal(shardIndex);
+    }
+
+    Runnable pollNewest() {
+      Runnable task = super.pollLast();
+      if (task != null) {
+        approximateSize.decrementAndGet();
+      }
+      return task;
+    }
+  }
+}
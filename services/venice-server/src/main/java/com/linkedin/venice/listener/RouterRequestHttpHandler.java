@@ -1,5 +1,6 @@
 package com.linkedin.venice.listener;
 
+import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.listener.request.AdminRequest;
 import com.linkedin.venice.listener.request.ComputeRouterRequestWrapper;
@@ -64,15 +65,38 @@ public class RouterRequestHttpHandler extends SimpleChannelInboundHandler<FullHt
     ctx.flush();
   }
 
-  private void setupRequestTimeout(RouterRequest routerRequest) {
+  /**
+   * The request times out after the early termination threshold of the store, if any, or after the timeout passed by
+   * the sender in the {@link HttpConstants#VENICE_REQUEST_TIMEOUT_MS} header, whichever comes first.
+   */
+  private void setupRequestTimeout(RouterRequest routerRequest, HttpRequest request) {
     String storeName = routerRequest.getStoreName();
     Integer timeoutThresholdInMS = storeToEarlyTerminationThresholdMSMap.get(storeName);
+    int senderTimeoutInMS = getSenderTimeoutInMS(request);
+    if (senderTimeoutInMS > 0 && (timeoutThresholdInMS == null || senderTimeoutInMS < timeoutThresholdInMS)) {
+      timeoutThresholdInMS = senderTimeoutInMS;
+    }
     if (timeoutThresholdInMS != null) {
       routerRequest.setRequestTimeoutInNS(
           statsHandler.getRequestStartTimeInNS() + TimeUnit.MILLISECONDS.toNanos(timeoutThresholdInMS));
     }
   }
 
+  /**
+   * @return the timeout passed by the sender, or -1 if it is absent or invalid.
+   */
+  static int getSenderTimeoutInMS(HttpRequest request) {
+    String timeoutHeader = request.headers().get(HttpConstants.VENICE_REQUEST_TIMEOUT_MS);
+    if (timeoutHeader == null) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(timeoutHeader);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
   @Override
   protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest req) throws Exception {
     try {
@@ -86,14 +110,14 @@ public class RouterRequestHttpHandler extends SimpleChannelInboundHandler<FullHt
           if (requestMethod.equals(HttpMethod.GET)) {
             // TODO: evaluate whether we can replace single-get by multi-get
             GetRouterRequest getRouterRequest = GetRouterRequest.parseGetHttpRequest(req, requestParts);
-            setupRequestTimeout(getRouterRequest);
+            setupRequestTimeout(getRouterRequest, req);
             statsHandler.setRequestInfo(getRouterRequest);
             ctx.fireChannelRead(getRouterRequest);
           } else if (requestMethod.equals(HttpMethod.POST)) {
             // Multi-get
             MultiGetRouterRequestWrapper multiGetRouterReq =
                 MultiGetRouterRequestWrapper.parseMultiGetHttpRequest(req, requestParts);
-            setupRequestTimeout(multiGetRouterReq);
+            setupRequestTimeout(multiGetRouterReq, req);
             statsHandler.setRequestInfo(multiGetRouterReq);
             ctx.fireChannelRead(multiGetRouterReq);
           } else {
@@ -104,7 +128,7 @@ public class RouterRequestHttpHandler extends SimpleChannelInboundHandler<FullHt
           if (req.method().equals(HttpMethod.POST)) {
             ComputeRouterRequestWrapper computeRouterReq =
                 ComputeRouterRequestWrapper.parseComputeRequest(req, requestParts);
-            setupRequestTimeout(computeRouterReq);
+            setupRequestTimeout(computeRouterReq, req);
             statsHandler.setRequestInfo(computeRouterReq);
             ctx.fireChannelRead(computeRouterReq);
           } else {
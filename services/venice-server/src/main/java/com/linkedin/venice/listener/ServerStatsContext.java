@@ -44,6 +44,12 @@ public class ServerStatsContext {
    */
   private boolean statCallbackExecuted = false;
 
+  /**
+   * To indicate that the response is being flushed in several parts, in which case the stats should only be recorded
+   * once its last part is written.
+   */
+  private boolean partialResponseInProgress = false;
+
   /**
    * Normally, one multi-get request will be split into two parts, and it means
    * {@link StatsHandler#channelRead(ChannelHandlerContext, Object)} will be invoked twice.
@@ -90,6 +96,7 @@ public class ServerStatsContext {
     isMetadataRequest = false;
     responseStatus = null;
     statCallbackExecuted = false;
+    partialResponseInProgress = false;
     requestKeyCount = -1;
     requestSizeInBytes = -1;
     isRequestTerminatedEarly = false;
@@ -120,6 +127,14 @@ public class ServerStatsContext {
     this.statCallbackExecuted = statCallbackExecuted;
   }
 
+  public boolean isPartialResponseInProgress() {
+    return partialResponseInProgress;
+  }
+
+  public void setPartialResponseInProgress(boolean partialResponseInProgress) {
+    this.partialResponseInProgress = partialResponseInProgress;
+  }
+
   public void setResponseStatus(HttpResponseStatus status) {
     this.responseStatus = status;
   }
@@ -91,6 +91,11 @@ public class StatsHandler extends ChannelDuplexHandler {
 
   @Override
   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws VeniceException {
+    if (serverStatsContext.isPartialResponseInProgress()) {
+      // The stats of a response flushed in several parts are recorded when its last part is written
+      ctx.writeAndFlush(msg, promise);
+      return;
+    }
     ChannelFuture future = ctx.writeAndFlush(msg);
     long beforeFlushTimestampNs = System.nanoTime();
     future.addListener((result) -> {
@@ -20,13 +20,19 @@ import com.linkedin.davinci.storage.chunking.BatchGetChunkingAdapter;
 import com.linkedin.davinci.storage.chunking.GenericRecordChunkingAdapter;
 import com.linkedin.davinci.storage.chunking.SingleGetChunkingAdapter;
 import com.linkedin.davinci.store.StorageEngine;
+import com.linkedin.davinci.store.cache.OffHeapValueCache;
 import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.cleaner.ResourceReadUsageTracker;
+import com.linkedin.venice.client.store.predicate.ComputeFilterPredicates;
+import com.linkedin.venice.client.store.predicate.Predicate;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.VeniceCompressor;
 import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.TopKSelector;
+import com.linkedin.venice.compute.ValueCountAggregator;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequest;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
 import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
 import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
@@ -49,6 +55,7 @@ import com.linkedin.venice.listener.request.StorePropertiesFetchRequest;
 import com.linkedin.venice.listener.request.TopicPartitionIngestionContextRequest;
 import com.linkedin.venice.listener.response.BinaryResponse;
 import com.linkedin.venice.listener.response.ComputeResponseWrapper;
+import com.linkedin.venice.listener.response.EarlyFlushedResponseChunk;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
 import com.linkedin.venice.listener.response.MultiGetResponseWrapper;
 import com.linkedin.venice.listener.response.MultiKeyResponseWrapper;
@@ -78,11 +85,16 @@ import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.RedundantExceptionFilter;
 import com.linkedin.venice.utils.StoreVersionStateUtils;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -91,9 +103,11 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -105,8 +119,10 @@ import org.apache.logging.log4j.Logger;
 
 /***
  * {@link StorageReadRequestHandler} will take the incoming read requests from router{@link RouterRequest}, and delegate
- * the lookup request to a thread pool {@link #executor}, which is being shared by all the requests. Especially, this
- * handler will execute parallel lookups for {@link MultiGetRouterRequestWrapper}.
+ * the lookup request to a thread pool, which is either {@link #executor} (resp. {@link #computeExecutor}), shared by all
+ * the requests, or, when partition affinity is enabled, the shard of a {@link PartitionAffinityExecutor} owning the
+ * partition of the request, see {@link #storageExecutorSelector}. Especially, this handler will execute parallel
+ * lookups for {@link MultiGetRouterRequestWrapper}.
  */
 @ChannelHandler.Sharable
 public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
@@ -125,12 +141,20 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
   private final boolean fastAvroEnabled;
   private final Function<Schema, RecordSerializer<GenericRecord>> genericSerializerGetter;
   private final int parallelBatchGetChunkSize;
+  /**
+   * The chunk sizers of the parallel batch get and compute requests, which are null if the chunk size is fixed.
+   */
+  private final AdaptiveChunkSizer multiGetChunkSizer;
+  private final AdaptiveChunkSizer computeChunkSizer;
+  private final boolean storageMultiGetEnabled;
+  private final boolean streamingEarlyFlushEnabled;
   private final VeniceServerConfig serverConfig;
   private final Map<String, PerStoreVersionState> perStoreVersionStateMap = new VeniceConcurrentHashMap<>();
   private final Map<String, StoreDeserializerCache<GenericRecord>> storeDeserializerCacheMap =
       new VeniceConcurrentHashMap<>();
   private final StorageEngineBackedCompressorFactory compressorFactory;
   private final Consumer<String> resourceReadUsageTracker;
+  private final Optional<OffHeapValueCache> valueCache;
 
   /**
    * The function handles below are used to drive the K/V size profiling, which is enabled (or not) by an immutable
@@ -142,15 +166,31 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
   private final Function<MultiGetRouterRequestWrapper, CompletableFuture<ReadResponse>> multiGetHandler;
   private final Function<ComputeRouterRequestWrapper, CompletableFuture<ReadResponse>> computeHandler;
 
+  /**
+   * Likewise, these select the executor of a given partition, which is either the shared {@link #executor} (resp.
+   * {@link #computeExecutor}) or the partition's shard of a {@link PartitionAffinityExecutor}, if configured, in which
+   * case there is no shared executor.
+   */
+  private final ExecutorSelector storageExecutorSelector;
+  private final ExecutorSelector computeExecutorSelector;
+
+  private interface ExecutorSelector {
+    ThreadPoolExecutor select(String resourceName, int partition);
+  }
+
   private static class PerStoreVersionState {
     final StoreDeserializerCache<GenericRecord> storeDeserializerCache;
+    /** Null if the store does not use the {@link OffHeapValueCache}. */
+    final OffHeapValueCache valueCache;
     StorageEngine storageEngine;
 
     public PerStoreVersionState(
         StorageEngine storageEngine,
-        StoreDeserializerCache<GenericRecord> storeDeserializerCache) {
+        StoreDeserializerCache<GenericRecord> storeDeserializerCache,
+        OffHeapValueCache valueCache) {
       this.storageEngine = storageEngine;
       this.storeDeserializerCache = storeDeserializerCache;
+      this.valueCache = valueCache;
     }
   }
 
@@ -202,7 +242,10 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       ReadMetadataRetriever readMetadataRetriever,
       DiskHealthCheckService healthCheckService,
       StorageEngineBackedCompressorFactory compressorFactory,
-      Optional<ResourceReadUsageTracker> optionalResourceReadUsageTracker) {
+      Optional<ResourceReadUsageTracker> optionalResourceReadUsageTracker,
+      Optional<PartitionAffinityExecutor> partitionAffinityExecutor,
+      Optional<PartitionAffinityExecutor> partitionAffinityComputeExecutor,
+      Optional<OffHeapValueCache> valueCache) {
     this(
         serverConfig,
         executor,
@@ -215,6 +258,9 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         healthCheckService,
         compressorFactory,
         optionalResourceReadUsageTracker,
+        partitionAffinityExecutor,
+        partitionAffinityComputeExecutor,
+        valueCache,
         serverConfig.isKeyValueProfilingEnabled()
             ? s -> new MultiGetResponseWrapper(s, new MultiGetResponseStatsWithSizeProfiling(s))
             : MultiGetResponseWrapper::new,
@@ -238,6 +284,9 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       DiskHealthCheckService healthCheckService,
       StorageEngineBackedCompressorFactory compressorFactory,
       Optional<ResourceReadUsageTracker> optionalResourceReadUsageTracker,
+      Optional<PartitionAffinityExecutor> partitionAffinityExecutor,
+      Optional<PartitionAffinityExecutor> partitionAffinityComputeExecutor,
+      Optional<OffHeapValueCache> valueCache,
       IntFunction<MultiGetResponseWrapper> multiGetResponseProvider,
       IntFunction<ComputeResponseWrapper> computeResponseProvider) {
     this.executor = executor;
@@ -254,6 +303,18 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         : SerializerDeserializerFactory::getAvroGenericSerializer;
     this.computeResultSchemaCache = new VeniceConcurrentHashMap<>();
     this.parallelBatchGetChunkSize = serverConfig.getParallelBatchGetChunkSize();
+    if (serverConfig.isParallelBatchGetAdaptiveChunkSizeEnabled()) {
+      long targetChunkLatencyNs =
+          TimeUnit.MICROSECONDS.toNanos(serverConfig.getParallelBatchGetTargetChunkLatencyUs());
+      this.multiGetChunkSizer = new AdaptiveChunkSizer(this.parallelBatchGetChunkSize, targetChunkLatencyNs);
+      this.computeChunkSizer = new AdaptiveChunkSizer(this.parallelBatchGetChunkSize, targetChunkLatencyNs);
+    } else {
+      this.multiGetChunkSizer = null;
+      this.computeChunkSizer = null;
+    }
+    this.storageMultiGetEnabled = serverConfig.isBatchGetStorageMultiGetEnabled();
+    this.streamingEarlyFlushEnabled =
+        serverConfig.isEnableParallelBatchGet() && serverConfig.isStreamingBatchGetEarlyFlushEnabled();
     if (serverConfig.isEnableParallelBatchGet()) {
       this.multiGetHandler = this::handleMultiGetRequestInParallel;
       this.computeHandler = this::handleComputeRequestInParallel;
@@ -271,6 +332,17 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     } else {
       this.resourceReadUsageTracker = ignored -> {};
     }
+    if (partitionAffinityExecutor.isPresent()) {
+      this.storageExecutorSelector = partitionAffinityExecutor.get()::getExecutor;
+    } else {
+      this.storageExecutorSelector = (resourceName, partition) -> executor;
+    }
+    if (partitionAffinityComputeExecutor.isPresent()) {
+      this.computeExecutorSelector = partitionAffinityComputeExecutor.get()::getExecutor;
+    } else {
+      this.computeExecutorSelector = (resourceName, partition) -> computeExecutor;
+    }
+    this.valueCache = valueCache;
   }
 
   @Override
@@ -289,21 +361,43 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       }
 
       CompletableFuture<ReadResponse> responseFuture;
-      switch (request.getRequestType()) {
-        case SINGLE_GET:
-          responseFuture = handleSingleGetRequest((GetRouterRequest) request);
-          break;
-        case MULTI_GET:
-          responseFuture = this.multiGetHandler.apply((MultiGetRouterRequestWrapper) request);
-          break;
-        case COMPUTE:
-          responseFuture = this.computeHandler.apply((ComputeRouterRequestWrapper) request);
-          break;
-        default:
-          throw new VeniceException("Unknown request type: " + request.getRequestType());
+      EarlyChunkFlusher earlyChunkFlusher = this.streamingEarlyFlushEnabled && request.isStreamingRequest()
+          ? new EarlyChunkFlusher(context, request)
+          : null;
+
+      /**
+       * Stop working on the request as soon as nobody can receive its response. The listener is removed once the
+       * request completes, or fails to be dispatched, since the channel outlives it.
+       */
+      ChannelFuture closeFuture = context.channel().closeFuture();
+      ChannelFutureListener cancellationListener = future -> request.cancel();
+      closeFuture.addListener(cancellationListener);
+      try {
+        switch (request.getRequestType()) {
+          case SINGLE_GET:
+            responseFuture = handleSingleGetRequest((GetRouterRequest) request);
+            break;
+          case MULTI_GET:
+            responseFuture = earlyChunkFlusher == null
+                ? this.multiGetHandler.apply((MultiGetRouterRequestWrapper) request)
+                : handleMultiGetRequestInParallel((MultiGetRouterRequestWrapper) request, earlyChunkFlusher);
+            break;
+          case COMPUTE:
+            responseFuture = earlyChunkFlusher == null
+                ? this.computeHandler.apply((ComputeRouterRequestWrapper) request)
+                : handleComputeRequestInParallel((ComputeRouterRequestWrapper) request, earlyChunkFlusher);
+            break;
+          default:
+            throw new VeniceException("Unknown request type: " + request.getRequestType());
+        }
+      } catch (Throwable e) {
+        // The request failed before being dispatched, so it will not complete to remove the listener
+        closeFuture.removeListener(cancellationListener);
+        throw e;
       }
 
       responseFuture.whenComplete((response, throwable) -> {
+        closeFuture.removeListener(cancellationListener);
         if (throwable == null) {
           response.setRCU(ReadQuotaEnforcementHandler.getRcu(request));
           if (request.isStreamingRequest()) {
@@ -315,7 +409,23 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         if (throwable instanceof CompletionException && throwable.getCause() != null) {
           throwable = throwable.getCause();
         }
-        if (throwable instanceof VeniceNoStoreException) {
+        if (request.isCancelled()) {
+          // The channel is closed, so there is nobody left to report the failure to
+          return;
+        }
+        if (earlyChunkFlusher != null && earlyChunkFlusher.hasStarted()) {
+          /**
+           * The headers and part of the body have already been sent, so the only way left to signal the failure is to
+           * abort the response, which the router will treat as a failed request.
+           */
+          LOGGER.error(
+              "Exception thrown for {} request from: {} {} after part of the response was flushed, closing the channel",
+              request.getResourceName(),
+              context.channel(),
+              extractClientPrincipal(context),
+              throwable);
+          context.close();
+        } else if (throwable instanceof VeniceNoStoreException) {
           VeniceNoStoreException e = (VeniceNoStoreException) throwable;
           String msg = "No storage exists for store: " + e.getStoreName();
           if (!REDUNDANT_LOGGING_FILTER.isRedundantException(msg)) {
@@ -456,7 +566,10 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     StoreDeserializerCache<GenericRecord> storeDeserializerCache = storeDeserializerCacheMap.computeIfAbsent(
         storeName,
         s -> new AvroStoreDeserializerCache<>(this.schemaRepository, s, this.fastAvroEnabled));
-    return new PerStoreVersionState(storageEngine, storeDeserializerCache);
+    return new PerStoreVersionState(
+        storageEngine,
+        storeDeserializerCache,
+        this.valueCache.filter(cache -> cache.isEnabledForStore(storeName)).orElse(null));
   }
 
   private StorageEngine getStorageEngineOrThrow(String storeVersion) {
@@ -468,7 +581,9 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
   }
 
   public CompletableFuture<ReadResponse> handleSingleGetRequest(GetRouterRequest request) {
-    final int queueLen = this.executor.getQueue().size();
+    final ThreadPoolExecutor executor =
+        this.storageExecutorSelector.select(request.getResourceName(), request.getPartition());
+    final int queueLen = executor.getQueue().size();
     final long preSubmissionTimeNs = System.nanoTime();
     return CompletableFuture.supplyAsync(() -> {
       if (request.shouldRequestBeTerminatedEarly()) {
@@ -481,14 +596,18 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       PerStoreVersionState perStoreVersionState = getPerStoreVersionState(topic);
       byte[] key = request.getKeyBytes();
 
-      StorageEngine storageEngine = perStoreVersionState.storageEngine;
       StoreVersionState svs = perStoreVersionState.storageEngine.getStoreVersionState();
       boolean isChunked = StoreVersionStateUtils.isChunked(svs);
       SingleGetResponseWrapper response = new SingleGetResponseWrapper();
       response.setCompressionStrategy(StoreVersionStateUtils.getCompressionStrategy(svs));
 
-      ValueRecord valueRecord =
-          SingleGetChunkingAdapter.get(storageEngine, request.getPartition(), key, isChunked, response.getStats());
+      ValueRecord valueRecord = getValueRecord(
+          perStoreVersionState,
+          topic,
+          request.getPartition(),
+          key,
+          isChunked,
+          response.getStats());
       response.setValueRecord(valueRecord);
 
       response.getStats().addKeySize(key.length);
@@ -499,7 +618,47 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     }, executor);
   }
 
+  /**
+   * Looks up the value of the key in the {@link OffHeapValueCache}, if the store uses it, before the storage engine,
+   * and caches the value read from the storage engine on a miss.
+   */
+  private static ValueRecord getValueRecord(
+      PerStoreVersionState storeVersion,
+      String resourceName,
+      int partition,
+      byte[] key,
+      boolean isChunked,
+      ReadResponseStats stats) {
+    // Chunked values are too large to be worth caching
+    OffHeapValueCache valueCache = isChunked ? null : storeVersion.valueCache;
+    if (valueCache == null) {
+      return SingleGetChunkingAdapter.get(storeVersion.storageEngine, partition, key, isChunked, stats);
+    }
+    byte[] cachedValue = valueCache.get(resourceName, partition, key);
+    if (cachedValue != null) {
+      return ValueRecord.parseAndCreate(cachedValue);
+    }
+    long invalidationStamp = valueCache.getInvalidationStamp(key);
+    ValueRecord valueRecord = SingleGetChunkingAdapter.get(storeVersion.storageEngine, partition, key, false, stats);
+    if (valueRecord != null) {
+      valueCache.put(
+          resourceName,
+          partition,
+          key,
+          valueRecord.getSchemaId(),
+          valueRecord.getData().nioBuffer(),
+          invalidationStamp);
+    }
+    return valueRecord;
+  }
+
   private CompletableFuture<ReadResponse> handleMultiGetRequestInParallel(MultiGetRouterRequestWrapper request) {
+    return handleMultiGetRequestInParallel(request, NO_OP_CHUNK_FLUSHER);
+  }
+
+  private CompletableFuture<ReadResponse> handleMultiGetRequestInParallel(
+      MultiGetRouterRequestWrapper request,
+      ChunkFlusher chunkFlusher) {
     List<MultiGetRouterRequestKeyV1> keys = request.getKeys();
     RequestContext requestContext = new RequestContext(request, this);
 
@@ -509,9 +668,12 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         request,
         ParallelMultiKeyResponseWrapper::multiGet,
         this.multiGetResponseProvider,
-        this.executor,
+        this.storageExecutorSelector,
+        MultiGetRouterRequestKeyV1::getPartitionId,
         requestContext,
-        this::processMultiGet);
+        this::processMultiGet,
+        this.multiGetChunkSizer,
+        chunkFlusher);
   }
 
   private interface ParallelResponseProvider<T extends MultiKeyResponseWrapper> {
@@ -522,27 +684,88 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     void process(int startPos, int endPos, List<K> keys, C requestContext, R chunkOfResponse);
   }
 
+  /**
+   * Called by {@link #processBatchInParallel} as soon as each chunk of the response is ready.
+   */
+  private interface ChunkFlusher {
+    void flush(ParallelMultiKeyResponseWrapper<?> response, int chunkIndex);
+  }
+
+  private static final ChunkFlusher NO_OP_CHUNK_FLUSHER = (response, chunkIndex) -> {};
+
+  /**
+   * Writes each chunk of the response of a streaming request to the channel as soon as it is ready, so that the router
+   * can start receiving results as soon as the fastest chunk is done, rather than the slowest one.
+   */
+  private static class EarlyChunkFlusher implements ChunkFlusher {
+    private final ChannelHandlerContext context;
+    private final RouterRequest request;
+    private volatile boolean started = false;
+
+    EarlyChunkFlusher(ChannelHandlerContext context, RouterRequest request) {
+      this.context = context;
+      this.request = request;
+    }
+
+    @Override
+    public void flush(ParallelMultiKeyResponseWrapper<?> response, int chunkIndex) {
+      /**
+       * The writes are submitted to the event loop in the order in which they are issued, so synchronizing guarantees
+       * that the chunk carrying the headers is written first.
+       */
+      synchronized (response) {
+        boolean first = response.startEarlyFlush();
+        if (first) {
+          response.setRCU(ReadQuotaEnforcementHandler.getRcu(this.request));
+          response.setStreamingResponse();
+          this.started = true;
+        }
+        this.context.writeAndFlush(new EarlyFlushedResponseChunk(response, chunkIndex, first));
+      }
+    }
+
+    boolean hasStarted() {
+      return this.started;
+    }
+  }
+
   private <K, C extends RequestContext, R extends MultiKeyResponseWrapper> CompletableFuture<ReadResponse> processBatchInParallel(
       List<K> keys,
       CompressionStrategy compressionStrategy,
       MultiKeyRouterRequestWrapper request,
       ParallelResponseProvider<R> parallelResponseProvider,
       IntFunction<R> individualResponseProvider,
-      ThreadPoolExecutor threadPoolExecutor,
+      ExecutorSelector executorSelector,
+      ToIntFunction<K> partitionGetter,
       C requestContext,
-      SingleBatchProcessor<K, C, R> batchProcessor) {
+      SingleBatchProcessor<K, C, R> batchProcessor,
+      AdaptiveChunkSizer chunkSizer,
+      ChunkFlusher chunkFlusher) {
     int totalKeyNum = keys.size();
-    int chunkCount = (int) Math.ceil((double) totalKeyNum / this.parallelBatchGetChunkSize);
+    final String resourceName = request.getResourceName();
+    final ThreadPoolExecutor firstExecutor =
+        totalKeyNum == 0 ? null : executorSelector.select(resourceName, partitionGetter.applyAsInt(keys.get(0)));
+    final int queueLen = firstExecutor == null ? 0 : firstExecutor.getQueue().size();
+    final int chunkSize = chunkSizer == null || firstExecutor == null
+        ? this.parallelBatchGetChunkSize
+        : chunkSizer.getChunkSize(totalKeyNum, firstExecutor.getMaximumPoolSize(), queueLen);
+    int chunkCount = (int) Math.ceil((double) totalKeyNum / chunkSize);
     ParallelMultiKeyResponseWrapper<R> responseWrapper =
-        parallelResponseProvider.get(chunkCount, this.parallelBatchGetChunkSize, individualResponseProvider);
+        parallelResponseProvider.get(chunkCount, chunkSize, individualResponseProvider);
     responseWrapper.setCompressionStrategy(compressionStrategy);
 
     CompletableFuture<Void>[] chunkFutures = new CompletableFuture[chunkCount];
 
-    final int queueLen = threadPoolExecutor.getQueue().size();
+    /**
+     * Each chunk is executed on the executor of the partition of its first key, which, since the router sorts the keys
+     * by partition, is usually the partition of most keys of the chunk.
+     */
+    ThreadPoolExecutor chunkExecutor;
     final long preSubmissionTimeNs = System.nanoTime();
     for (int cur = 0; cur < chunkCount; ++cur) {
       final int finalCur = cur;
+      chunkExecutor = executorSelector
+          .select(resourceName, partitionGetter.applyAsInt(keys.get(finalCur * chunkSize)));
       chunkFutures[cur] = CompletableFuture.runAsync(() -> {
         double submissionWaitTime = LatencyUtils.getElapsedTimeFromNSToMS(preSubmissionTimeNs);
 
@@ -550,13 +773,18 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
           throw new VeniceRequestEarlyTerminationException(request.getStoreName());
         }
 
-        int startPos = finalCur * this.parallelBatchGetChunkSize;
-        int endPos = Math.min((finalCur + 1) * this.parallelBatchGetChunkSize, totalKeyNum);
+        int startPos = finalCur * chunkSize;
+        int endPos = Math.min((finalCur + 1) * chunkSize, totalKeyNum);
         R chunkOfResponse = responseWrapper.getChunk(finalCur);
+        long processingStartTimeNs = System.nanoTime();
         batchProcessor.process(startPos, endPos, keys, requestContext, chunkOfResponse);
+        if (chunkSizer != null) {
+          chunkSizer.recordChunkLatency(endPos - startPos, System.nanoTime() - processingStartTimeNs);
+        }
 
         chunkOfResponse.getStats().setStorageExecutionSubmissionWaitTime(submissionWaitTime);
-      }, threadPoolExecutor);
+        chunkFlusher.flush(responseWrapper, finalCur);
+      }, chunkExecutor);
     }
 
     return CompletableFuture.allOf(chunkFutures).handle((v, e) -> {
@@ -575,40 +803,199 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       List<MultiGetRouterRequestKeyV1> keys,
       RequestContext requestContext,
       MultiGetResponseWrapper response) {
-    MultiGetRouterRequestKeyV1 key;
-    MultiGetResponseRecordV1 record;
-    for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
-      key = keys.get(subChunkCur);
-      response.getStats().addKeySize(key.getKeyBytes().remaining());
-      record = BatchGetChunkingAdapter.get(
+    if (this.storageMultiGetEnabled) {
+      processMultiGetWithStorageMultiGet(startPos, endPos, keys, requestContext, response);
+    } else {
+      MultiGetRouterRequestKeyV1 key;
+      MultiGetResponseRecordV1 record;
+      for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
+        requestContext.throwIfTerminatedEarly();
+        key = keys.get(subChunkCur);
+        response.getStats().addKeySize(key.getKeyBytes().remaining());
+        record = getMultiGetRecord(key, requestContext, response.getStats());
+        addMultiGetRecord(record, key.keyIndex, requestContext, response);
+      }
+    }
+
+    // Trigger serialization
+    response.getResponseBody();
+  }
+
+  /**
+   * Looks up the value of the key in the {@link OffHeapValueCache}, if the store uses it, before the storage engine,
+   * and caches the value read from the storage engine on a miss.
+   */
+  private static MultiGetResponseRecordV1 getMultiGetRecord(
+      MultiGetRouterRequestKeyV1 key,
+      RequestContext requestContext,
+      ReadResponseStats stats) {
+    OffHeapValueCache valueCache = requestContext.valueCache;
+    if (valueCache == null) {
+      return BatchGetChunkingAdapter.get(
           requestContext.storeVersion.storageEngine,
           key.partitionId,
           key.keyBytes,
           requestContext.isChunked,
-          response.getStats());
-      if (record == null) {
-        if (requestContext.isStreaming) {
-          // For streaming, we would like to send back non-existing keys since the end-user won't know the status of
-          // non-existing keys in the response if the response is partial.
-          record = new MultiGetResponseRecordV1();
-          // Negative key index to indicate the non-existing keys
-          record.keyIndex = Math.negateExact(key.keyIndex);
-          record.schemaId = StreamingConstants.NON_EXISTING_KEY_SCHEMA_ID;
-          record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
-          response.addRecord(record);
+          stats);
+    }
+    byte[] keyBytes = ByteUtils.extractByteArray(key.keyBytes);
+    MultiGetResponseRecordV1 record = getCachedMultiGetRecord(keyBytes, key.partitionId, requestContext);
+    if (record != null) {
+      return record;
+    }
+    long invalidationStamp = valueCache.getInvalidationStamp(keyBytes);
+    record = BatchGetChunkingAdapter
+        .get(requestContext.storeVersion.storageEngine, key.partitionId, key.keyBytes, false, stats);
+    cacheMultiGetRecord(record, keyBytes, key.partitionId, invalidationStamp, requestContext);
+    return record;
+  }
+
+  /**
+   * Looks up the keys of each partition with a single batched call to the storage engine, rather than one lookup per
+   * key, in order to amortize the per-lookup overhead (JNI crossing, block cache access, etc.). The keys found in the
+   * {@link OffHeapValueCache}, if the store uses it, are left out of the batch.
+   */
+  private void processMultiGetWithStorageMultiGet(
+      int startPos,
+      int endPos,
+      List<MultiGetRouterRequestKeyV1> keys,
+      RequestContext requestContext,
+      MultiGetResponseWrapper response) {
+    OffHeapValueCache valueCache = requestContext.valueCache;
+    Int2ObjectMap<List<MultiGetRouterRequestKeyV1>> keysByPartition =
+        groupKeysByPartition(keys, startPos, endPos, MultiGetRouterRequestKeyV1::getPartitionId);
+    for (Int2ObjectMap.Entry<List<MultiGetRouterRequestKeyV1>> entry: keysByPartition.int2ObjectEntrySet()) {
+      requestContext.throwIfTerminatedEarly();
+      int partition = entry.getIntKey();
+      List<MultiGetRouterRequestKeyV1> keysOfPartition = entry.getValue();
+      List<MultiGetRouterRequestKeyV1> keysToLookUp =
+          valueCache == null ? keysOfPartition : new ArrayList<>(keysOfPartition.size());
+      List<byte[]> keyBytesList = new ArrayList<>(keysOfPartition.size());
+      byte[] keyBytes;
+      MultiGetResponseRecordV1 cachedRecord;
+      for (MultiGetRouterRequestKeyV1 key: keysOfPartition) {
+        response.getStats().addKeySize(key.getKeyBytes().remaining());
+        keyBytes = ByteUtils.extractByteArray(key.getKeyBytes());
+        if (valueCache != null) {
+          cachedRecord = getCachedMultiGetRecord(keyBytes, partition, requestContext);
+          if (cachedRecord != null) {
+            addMultiGetRecord(cachedRecord, key.keyIndex, requestContext, response);
+            continue;
+          }
+          keysToLookUp.add(key);
         }
+        keyBytesList.add(keyBytes);
+      }
+      if (keyBytesList.isEmpty()) {
+        continue;
+      }
+      final long[] invalidationStamps;
+      if (valueCache == null) {
+        invalidationStamps = null;
       } else {
-        record.keyIndex = key.keyIndex;
+        invalidationStamps = new long[keyBytesList.size()];
+        for (int i = 0; i < invalidationStamps.length; i++) {
+          invalidationStamps[i] = valueCache.getInvalidationStamp(keyBytesList.get(i));
+        }
+      }
+      BatchGetChunkingAdapter.getInBatch(
+          requestContext.storeVersion.storageEngine,
+          partition,
+          keyBytesList,
+          requestContext.isChunked,
+          response.getStats(),
+          (record, i) -> {
+            if (invalidationStamps != null) {
+              cacheMultiGetRecord(record, keyBytesList.get(i), partition, invalidationStamps[i], requestContext);
+            }
+            addMultiGetRecord(record, keysToLookUp.get(i).keyIndex, requestContext, response);
+          });
+    }
+  }
+
+  private static MultiGetResponseRecordV1 getCachedMultiGetRecord(
+      byte[] keyBytes,
+      int partition,
+      RequestContext requestContext) {
+    byte[] cachedValue = requestContext.valueCache.get(requestContext.resourceName, partition, keyBytes);
+    if (cachedValue == null) {
+      return null;
+    }
+    MultiGetResponseRecordV1 record = new MultiGetResponseRecordV1();
+    record.schemaId = ValueRecord.parseSchemaId(cachedValue);
+    record.value = ValueRecord.parseDataAsNIOByteBuffer(cachedValue);
+    return record;
+  }
+
+  private static void cacheMultiGetRecord(
+      MultiGetResponseRecordV1 record,
+      byte[] keyBytes,
+      int partition,
+      long invalidationStamp,
+      RequestContext requestContext) {
+    if (record != null) {
+      requestContext.valueCache.put(
+          requestContext.resourceName,
+          partition,
+          keyBytes,
+          record.schemaId,
+          record.value,
+          invalidationStamp);
+    }
+  }
+
+  private static void addMultiGetRecord(
+      MultiGetResponseRecordV1 record,
+      int keyIndex,
+      RequestContext requestContext,
+      MultiGetResponseWrapper response) {
+    if (record == null) {
+      if (requestContext.isStreaming) {
+        // For streaming, we would like to send back non-existing keys since the end-user won't know the status of
+        // non-existing keys in the response if the response is partial.
+        record = new MultiGetResponseRecordV1();
+        // Negative key index to indicate the non-existing keys
+        record.keyIndex = Math.negateExact(keyIndex);
+        record.schemaId = StreamingConstants.NON_EXISTING_KEY_SCHEMA_ID;
+        record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
         response.addRecord(record);
       }
+    } else {
+      record.keyIndex = keyIndex;
+      response.addRecord(record);
     }
+  }
 
-    // Trigger serialization
-    response.getResponseBody();
+  /**
+   * Groups the keys within [startPos, endPos) by partition, preserving their relative order within each partition.
+   */
+  private static <K> Int2ObjectMap<List<K>> groupKeysByPartition(
+      List<K> keys,
+      int startPos,
+      int endPos,
+      ToIntFunction<K> partitionGetter) {
+    Int2ObjectMap<List<K>> keysByPartition = new Int2ObjectOpenHashMap<>();
+    K key;
+    List<K> keysOfPartition;
+    int partition;
+    for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
+      key = keys.get(subChunkCur);
+      partition = partitionGetter.applyAsInt(key);
+      keysOfPartition = keysByPartition.get(partition);
+      if (keysOfPartition == null) {
+        keysOfPartition = new ArrayList<>();
+        keysByPartition.put(partition, keysOfPartition);
+      }
+      keysOfPartition.add(key);
+    }
+    return keysByPartition;
   }
 
   public CompletableFuture<ReadResponse> handleMultiGetRequest(MultiGetRouterRequestWrapper request) {
-    final int queueLen = this.executor.getQueue().size();
+    List<MultiGetRouterRequestKeyV1> keys = request.getKeys();
+    final ThreadPoolExecutor executor = this.storageExecutorSelector
+        .select(request.getResourceName(), keys.isEmpty() ? 0 : keys.get(0).getPartitionId());
+    final int queueLen = executor.getQueue().size();
     final long preSubmissionTimeNs = System.nanoTime();
     return CompletableFuture.supplyAsync(() -> {
       double submissionWaitTime = LatencyUtils.getElapsedTimeFromNSToMS(preSubmissionTimeNs);
@@ -617,7 +1004,6 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         throw new VeniceRequestEarlyTerminationException(request.getStoreName());
       }
 
-      List<MultiGetRouterRequestKeyV1> keys = request.getKeys();
       MultiGetResponseWrapper responseWrapper = this.multiGetResponseProvider.apply(request.getKeyCount());
       RequestContext requestContext = new RequestContext(request, this);
       responseWrapper.setCompressionStrategy(requestContext.compressionStrategy);
@@ -639,7 +1025,10 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       return failFast;
     }
 
-    final int queueLen = this.computeExecutor.getQueue().size();
+    List<ComputeRouterRequestKeyV1> keys = request.getKeys();
+    final ThreadPoolExecutor computeExecutor = this.computeExecutorSelector
+        .select(request.getResourceName(), keys.isEmpty() ? 0 : keys.get(0).getPartitionId());
+    final int queueLen = computeExecutor.getQueue().size();
     final long preSubmissionTimeNs = System.nanoTime();
     return CompletableFuture.supplyAsync(() -> {
       if (request.shouldRequestBeTerminatedEarly()) {
@@ -652,7 +1041,7 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       int keyCount = request.getKeyCount();
       ComputeResponseWrapper response = this.computeResponseProvider.apply(keyCount);
 
-      processCompute(0, keyCount, request.getKeys(), computeRequestContext, response);
+      processCompute(0, keyCount, keys, computeRequestContext, response);
 
       response.getStats().setStorageExecutionSubmissionWaitTime(submissionWaitTime);
       response.getStats().setStorageExecutionQueueLen(queueLen);
@@ -661,6 +1050,12 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
   }
 
   private CompletableFuture<ReadResponse> handleComputeRequestInParallel(ComputeRouterRequestWrapper request) {
+    return handleComputeRequestInParallel(request, NO_OP_CHUNK_FLUSHER);
+  }
+
+  private CompletableFuture<ReadResponse> handleComputeRequestInParallel(
+      ComputeRouterRequestWrapper request,
+      ChunkFlusher chunkFlusher) {
     if (!metadataRepository.isReadComputationEnabled(request.getStoreName())) {
       CompletableFuture failFast = new CompletableFuture();
       failFast.completeExceptionally(
@@ -669,6 +1064,11 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       return failFast;
     }
 
+    if (ComputeUtils.getTopK(request.getComputeRequest().getOperations()) != null) {
+      // The top k must be selected among all the keys, which cannot be split into chunks flushed independently
+      return handleComputeRequest(request);
+    }
+
     List<ComputeRouterRequestKeyV1> keys = request.getKeys();
     ComputeRequestContext requestContext = new ComputeRequestContext(request, this);
 
@@ -678,9 +1078,12 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         request,
         ParallelMultiKeyResponseWrapper::compute,
         this.computeResponseProvider,
-        this.computeExecutor,
+        this.computeExecutorSelector,
+        ComputeRouterRequestKeyV1::getPartitionId,
         requestContext,
-        this::processCompute);
+        this::processCompute,
+        this.computeChunkSizer,
+        chunkFlusher);
   }
 
   /**
@@ -688,17 +1091,34 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
    * subtasks of the same query, as is the case when executing batch get and compute requests in parallel chunks.
    */
   private static class RequestContext {
+    final MultiKeyRouterRequestWrapper request;
+    final String resourceName;
     final PerStoreVersionState storeVersion;
     final boolean isChunked;
     final boolean isStreaming;
     final CompressionStrategy compressionStrategy;
+    /** Null if the store does not use the {@link OffHeapValueCache}, or if its values are chunked. */
+    final OffHeapValueCache valueCache;
 
     RequestContext(MultiKeyRouterRequestWrapper request, StorageReadRequestHandler handler) {
-      this.storeVersion = handler.getPerStoreVersionState(request.getResourceName());
+      this.request = request;
+      this.resourceName = request.getResourceName();
+      this.storeVersion = handler.getPerStoreVersionState(this.resourceName);
       StoreVersionState svs = storeVersion.storageEngine.getStoreVersionState();
       this.isChunked = StoreVersionStateUtils.isChunked(svs);
       this.compressionStrategy = StoreVersionStateUtils.getCompressionStrategy(svs);
       this.isStreaming = request.isStreamingRequest();
+      this.valueCache = this.isChunked ? null : storeVersion.valueCache;
+    }
+
+    /**
+     * Checked between keys, so that the rest of a request which timed out or whose sender went away gets dropped
+     * rather than computed for nobody.
+     */
+    void throwIfTerminatedEarly() {
+      if (request.shouldRequestBeTerminatedEarly()) {
+        throw new VeniceRequestEarlyTerminationException(request.getStoreName());
+      }
     }
   }
 
@@ -709,6 +1129,14 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     final RecordSerializer<GenericRecord> resultSerializer;
     final List<ComputeOperation> operations;
     final List<Schema.Field> operationResultFields;
+    /** Null if the request has no filter operation. */
+    final Predicate<GenericRecord> filter;
+    /**
+     * Null if the request has no top-k operation, in which case it is never processed in parallel chunks, see
+     * {@link #handleComputeRequestInParallel}.
+     */
+    final TopK topK;
+    final Schema.Field topKField;
 
     ComputeRequestContext(ComputeRouterRequestWrapper request, StorageReadRequestHandler handler) {
       super(request, handler);
@@ -721,6 +1149,9 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
           handler.serverConfig.getZstdDictCompressionLevel());
       this.operations = request.getComputeRequest().getOperations();
       this.operationResultFields = ComputeUtils.getOperationResultFields(operations, resultSchema);
+      this.filter = ComputeFilterPredicates.getResultRecordPredicate(operations);
+      this.topK = ComputeUtils.getTopK(operations);
+      this.topKField = this.topK == null ? null : resultSchema.getField(this.topK.field.toString());
     }
   }
 
@@ -740,63 +1171,250 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     GenericRecord reusableResultRecord =
         reusableObjects.resultRecordMap.computeIfAbsent(requestContext.resultSchema, GenericData.Record::new);
     reusableObjects.computeContext.clear();
+    TopKSelector<ComputeResponseRecordV1> topKSelector =
+        requestContext.topK == null ? null : new TopKSelector<>(requestContext.topK.k);
+    List<ValueCountAggregator> valueCountAggregators =
+        ValueCountAggregator.createAggregators(requestContext.operations, requestContext.resultSchema);
+    ValueCountAggregation valueCountAggregation =
+        valueCountAggregators.isEmpty() ? null : new ValueCountAggregation(valueCountAggregators);
 
     int hits = 0;
-    long serializeStartTimeInNS, computeStartTimeInNS;
-    ComputeRouterRequestKeyV1 key;
-    ComputeResponseRecordV1 record;
-    for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
-      key = keys.get(subChunkCur);
-      response.getStats().addKeySize(key.getKeyBytes().remaining());
-      AvroRecordUtils.clearRecord(reusableResultRecord);
-      reusableValueRecord = GenericRecordChunkingAdapter.INSTANCE.get(
+    if (this.storageMultiGetEnabled) {
+      hits = processComputeWithStorageMultiGet(
+          startPos,
+          endPos,
+          keys,
+          requestContext,
+          response,
+          reusableObjects,
+          reusableValueRecord,
+          reusableResultRecord,
+          topKSelector,
+          valueCountAggregation);
+    } else {
+      ComputeRouterRequestKeyV1 key;
+      for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
+        requestContext.throwIfTerminatedEarly();
+        key = keys.get(subChunkCur);
+        response.getStats().addKeySize(key.getKeyBytes().remaining());
+        reusableValueRecord = GenericRecordChunkingAdapter.INSTANCE.get(
+            requestContext.storeVersion.storageEngine,
+            key.getPartitionId(),
+            ByteUtils.extractByteArray(key.getKeyBytes()),
+            reusableObjects.byteBuffer,
+            reusableValueRecord,
+            reusableObjects.binaryDecoder,
+            requestContext.isChunked,
+            response.getStats(),
+            requestContext.valueSchemaEntry.getId(),
+            requestContext.storeVersion.storeDeserializerCache,
+            requestContext.compressor);
+        if (addComputeRecord(
+            key.getKeyIndex(),
+            reusableValueRecord,
+            reusableResultRecord,
+            reusableObjects,
+            requestContext,
+            response,
+            topKSelector,
+            valueCountAggregation)) {
+          hits++;
+        }
+      }
+    }
+    if (topKSelector != null) {
+      for (ComputeResponseRecordV1 record: topKSelector.getSelectedItems()) {
+        response.addRecord(record);
+      }
+    }
+    if (valueCountAggregation != null && valueCountAggregation.carrierRecord != null) {
+      ComputeResponseRecordV1 record = new ComputeResponseRecordV1();
+      record.keyIndex = valueCountAggregation.carrierKeyIndex;
+      record.value = ByteBuffer.wrap(requestContext.resultSerializer.serialize(valueCountAggregation.getResult()));
+      response.getStats().addReadComputeOutputSize(record.value.remaining());
+      response.addRecord(record);
+    }
+
+    // Trigger serialization
+    response.getResponseBody();
+
+    incrementOperatorCounters(response.getStats(), requestContext.operations, hits);
+  }
+
+  /**
+   * Compute counterpart of {@link #processMultiGetWithStorageMultiGet}.
+   *
+   * @return the number of keys which were found.
+   */
+  private int processComputeWithStorageMultiGet(
+      int startPos,
+      int endPos,
+      List<ComputeRouterRequestKeyV1> keys,
+      ComputeRequestContext requestContext,
+      ComputeResponseWrapper response,
+      ReusableObjects reusableObjects,
+      GenericRecord reusableValueRecord,
+      GenericRecord reusableResultRecord,
+      TopKSelector<ComputeResponseRecordV1> topKSelector,
+      ValueCountAggregation valueCountAggregation) {
+    int hits = 0;
+    Int2ObjectMap<List<ComputeRouterRequestKeyV1>> keysByPartition =
+        groupKeysByPartition(keys, startPos, endPos, ComputeRouterRequestKeyV1::getPartitionId);
+    for (Int2ObjectMap.Entry<List<ComputeRouterRequestKeyV1>> entry: keysByPartition.int2ObjectEntrySet()) {
+      requestContext.throwIfTerminatedEarly();
+      List<ComputeRouterRequestKeyV1> keysOfPartition = entry.getValue();
+      List<byte[]> keyBytesList = new ArrayList<>(keysOfPartition.size());
+      for (ComputeRouterRequestKeyV1 key: keysOfPartition) {
+        response.getStats().addKeySize(key.getKeyBytes().remaining());
+        keyBytesList.add(ByteUtils.extractByteArray(key.getKeyBytes()));
+      }
+      boolean[] found = new boolean[keysOfPartition.size()];
+      GenericRecordChunkingAdapter.INSTANCE.getInBatch(
           requestContext.storeVersion.storageEngine,
-          key.getPartitionId(),
-          ByteUtils.extractByteArray(key.getKeyBytes()),
-          reusableObjects.byteBuffer,
+          entry.getIntKey(),
+          keyBytesList,
           reusableValueRecord,
           reusableObjects.binaryDecoder,
           requestContext.isChunked,
           response.getStats(),
           requestContext.valueSchemaEntry.getId(),
           requestContext.storeVersion.storeDeserializerCache,
-          requestContext.compressor);
-      if (reusableValueRecord != null) {
-        computeStartTimeInNS = System.nanoTime();
-        reusableResultRecord = ComputeUtils.computeResult(
-            requestContext.operations,
-            requestContext.operationResultFields,
-            reusableObjects.computeContext,
-            reusableValueRecord,
-            reusableResultRecord);
-
-        serializeStartTimeInNS = System.nanoTime(); // N.B. This clock call is also used as the end of the compute time
-        record = new ComputeResponseRecordV1();
-        record.keyIndex = key.getKeyIndex();
-        record.value = ByteBuffer.wrap(requestContext.resultSerializer.serialize(reusableResultRecord));
+          requestContext.compressor,
+          (valueRecord, i) -> found[i] = addComputeRecord(
+              keysOfPartition.get(i).getKeyIndex(),
+              valueRecord,
+              reusableResultRecord,
+              reusableObjects,
+              requestContext,
+              response,
+              topKSelector,
+              valueCountAggregation));
+      for (boolean isFound: found) {
+        if (isFound) {
+          hits++;
+        }
+      }
+    }
+    return hits;
+  }
 
+  /**
+   * Computes the result of a single key and adds it to the response, unless it is left out by the filter operation, or
+   * it is held by the {@param topKSelector} or aggregated by the {@param valueCountAggregation}, if any, in which case
+   * the caller adds the selected or aggregated records at the end. The keys left out are reported like non-existing
+   * keys.
+   *
+   * @return true if the key was found, false otherwise.
+   */
+  private static boolean addComputeRecord(
+      int keyIndex,
+      GenericRecord valueRecord,
+      GenericRecord reusableResultRecord,
+      ReusableObjects reusableObjects,
+      ComputeRequestContext requestContext,
+      ComputeResponseWrapper response,
+      TopKSelector<ComputeResponseRecordV1> topKSelector,
+      ValueCountAggregation valueCountAggregation) {
+    ComputeResponseRecordV1 record;
+    if (valueRecord != null) {
+      AvroRecordUtils.clearRecord(reusableResultRecord);
+      long computeStartTimeInNS = System.nanoTime();
+      GenericRecord resultRecord = ComputeUtils.computeResult(
+          requestContext.operations,
+          requestContext.operationResultFields,
+          reusableObjects.computeContext,
+          valueRecord,
+          reusableResultRecord);
+
+      // N.B. This clock call is also used as the end of the compute time
+      long serializeStartTimeInNS = System.nanoTime();
+      if (requestContext.filter != null && !requestContext.filter.evaluate(resultRecord)) {
         response.getStats()
-            .addReadComputeSerializationLatency(LatencyUtils.getElapsedTimeFromNSToMS(serializeStartTimeInNS));
+            .addReadComputeLatency(LatencyUtils.convertNSToMS(serializeStartTimeInNS - computeStartTimeInNS));
+        addNonExistingComputeRecord(keyIndex, requestContext, response);
+        return true;
+      }
+      if (valueCountAggregation != null) {
         response.getStats()
             .addReadComputeLatency(LatencyUtils.convertNSToMS(serializeStartTimeInNS - computeStartTimeInNS));
-        response.getStats().addReadComputeOutputSize(record.value.remaining());
+        if (!valueCountAggregation.add(keyIndex, resultRecord)) {
+          addNonExistingComputeRecord(keyIndex, requestContext, response);
+        }
+        return true;
+      }
+      record = new ComputeResponseRecordV1();
+      record.keyIndex = keyIndex;
+      record.value = ByteBuffer.wrap(requestContext.resultSerializer.serialize(resultRecord));
+
+      response.getStats()
+          .addReadComputeSerializationLatency(LatencyUtils.getElapsedTimeFromNSToMS(serializeStartTimeInNS));
+      response.getStats()
+          .addReadComputeLatency(LatencyUtils.convertNSToMS(serializeStartTimeInNS - computeStartTimeInNS));
+      response.getStats().addReadComputeOutputSize(record.value.remaining());
+
+      if (topKSelector != null) {
+        record = topKSelector.offer(record, ComputeUtils.getTopKScore(resultRecord, requestContext.topKField));
+        if (record != null) {
+          addNonExistingComputeRecord(record.keyIndex, requestContext, response);
+        }
+        return true;
+      }
+      response.addRecord(record);
+      return true;
+    }
+    addNonExistingComputeRecord(keyIndex, requestContext, response);
+    return false;
+  }
 
-        response.addRecord(record);
-        hits++;
-      } else if (requestContext.isStreaming) {
-        // For streaming, we need to send back non-existing keys
-        record = new ComputeResponseRecordV1();
-        // Negative key index to indicate non-existing key
-        record.keyIndex = Math.negateExact(key.getKeyIndex());
-        record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
-        response.addRecord(record);
+  /**
+   * The count-group-by-value operations of the keys computed together, which are returned as the result record of the
+   * first of these keys, see {@link ValueCountAggregator}.
+   */
+  private static class ValueCountAggregation {
+    final List<ValueCountAggregator> aggregators;
+    GenericRecord carrierRecord;
+    int carrierKeyIndex;
+
+    ValueCountAggregation(List<ValueCountAggregator> aggregators) {
+      this.aggregators = aggregators;
+    }
+
+    /**
+     * @return true if the result record is the one carrying the counts, false if it is left out.
+     */
+    boolean add(int keyIndex, GenericRecord resultRecord) {
+      for (ValueCountAggregator aggregator: aggregators) {
+        aggregator.add(resultRecord);
+      }
+      if (carrierRecord != null) {
+        return false;
       }
+      // The result record is reused for the next key
+      carrierRecord = GenericData.get().deepCopy(resultRecord.getSchema(), resultRecord);
+      carrierKeyIndex = keyIndex;
+      return true;
     }
 
-    // Trigger serialization
-    response.getResponseBody();
+    GenericRecord getResult() {
+      for (ValueCountAggregator aggregator: aggregators) {
+        aggregator.putResult(carrierRecord);
+      }
+      return carrierRecord;
+    }
+  }
 
-    incrementOperatorCounters(response.getStats(), requestContext.operations, hits);
+  private static void addNonExistingComputeRecord(
+      int keyIndex,
+      ComputeRequestContext requestContext,
+      ComputeResponseWrapper response) {
+    if (requestContext.isStreaming) {
+      // For streaming, we need to send back non-existing keys
+      ComputeResponseRecordV1 record = new ComputeResponseRecordV1();
+      // Negative key index to indicate non-existing key
+      record.keyIndex = Math.negateExact(keyIndex);
+      record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
+      response.addRecord(record);
+    }
   }
 
   private BinaryResponse handleDictionaryFetchRequest(DictionaryFetchRequest request) {
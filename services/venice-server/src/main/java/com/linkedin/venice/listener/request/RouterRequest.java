@@ -17,6 +17,10 @@ public abstract class RouterRequest {
   public static final long NO_REQUEST_TIMEOUT = -1;
 
   private long requestTimeoutInNS = NO_REQUEST_TIMEOUT;
+  /**
+   * Set once the sender can no longer receive the response, e.g. when the channel got closed.
+   */
+  private volatile boolean cancelled = false;
   private final boolean isRetryRequest;
   private final String resourceName;
   private final String storeName;
@@ -64,7 +68,15 @@ public abstract class RouterRequest {
     return request.headers().contains(HttpConstants.VENICE_RETRY);
   }
 
+  public void cancel() {
+    this.cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
   public boolean shouldRequestBeTerminatedEarly() {
-    return requestTimeoutInNS != NO_REQUEST_TIMEOUT && System.nanoTime() > requestTimeoutInNS;
+    return cancelled || (requestTimeoutInNS != NO_REQUEST_TIMEOUT && System.nanoTime() > requestTimeoutInNS);
   }
 }
@@ -8,6 +8,9 @@ import com.linkedin.venice.serializer.RecordSerializer;
 
 
 public class ComputeResponseWrapper extends MultiKeyResponseWrapper<ComputeResponseRecordV1> {
+  /**
+   * Not used on the read path, but defines the binary format which {@link #writeRecord} must be equivalent to.
+   */
   static final RecordSerializer<ComputeResponseRecordV1> SERIALIZER =
       FastSerializerDeserializerFactory.getFastAvroGenericSerializer(ComputeResponseRecordV1.getClassSchema());
 
@@ -16,7 +19,13 @@ public class ComputeResponseWrapper extends MultiKeyResponseWrapper<ComputeRespo
   }
 
   public ComputeResponseWrapper(int maxKeyCount, ComputeResponseStats responseStats) {
-    super(maxKeyCount, responseStats, SERIALIZER);
+    super(maxKeyCount, responseStats);
+  }
+
+  @Override
+  void writeRecord(ComputeResponseRecordV1 record, MultiKeyResponseBodyWriter bodyWriter) {
+    bodyWriter.writeInt(record.keyIndex);
+    bodyWriter.writeBytes(record.value);
   }
 
   @Override
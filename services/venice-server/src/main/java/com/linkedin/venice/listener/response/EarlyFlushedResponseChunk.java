@@ -0,0 +1,33 @@
+package com.linkedin.venice.listener.response;
+
+import io.netty.buffer.ByteBuf;
+
+
+/**
+ * A chunk of a {@link ParallelMultiKeyResponseWrapper} which is written to the channel as soon as its keys have been
+ * looked up, ahead of the rest of the response. The first chunk flushed also carries the response headers, and the
+ * response is terminated by writing the {@link ParallelMultiKeyResponseWrapper} itself, once all chunks are done.
+ */
+public class EarlyFlushedResponseChunk {
+  private final ParallelMultiKeyResponseWrapper<?> response;
+  private final int chunkIndex;
+  private final boolean first;
+
+  public EarlyFlushedResponseChunk(ParallelMultiKeyResponseWrapper<?> response, int chunkIndex, boolean first) {
+    this.response = response;
+    this.chunkIndex = chunkIndex;
+    this.first = first;
+  }
+
+  public ParallelMultiKeyResponseWrapper<?> getResponse() {
+    return this.response;
+  }
+
+  public ByteBuf getBody() {
+    return this.response.getChunk(this.chunkIndex).getResponseBody();
+  }
+
+  public boolean isFirst() {
+    return this.first;
+  }
+}
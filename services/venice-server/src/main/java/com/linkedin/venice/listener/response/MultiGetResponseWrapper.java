@@ -8,6 +8,9 @@ import com.linkedin.venice.serializer.RecordSerializer;
 
 
 public class MultiGetResponseWrapper extends MultiKeyResponseWrapper<MultiGetResponseRecordV1> {
+  /**
+   * Not used on the read path, but defines the binary format which {@link #writeRecord} must be equivalent to.
+   */
   static final RecordSerializer<MultiGetResponseRecordV1> SERIALIZER =
       FastSerializerDeserializerFactory.getFastAvroGenericSerializer(MultiGetResponseRecordV1.getClassSchema());
 
@@ -16,7 +19,14 @@ public class MultiGetResponseWrapper extends MultiKeyResponseWrapper<MultiGetRes
   }
 
   public MultiGetResponseWrapper(int maxKeyCount, MultiKeyResponseStats responseStats) {
-    super(maxKeyCount, responseStats, SERIALIZER);
+    super(maxKeyCount, responseStats);
+  }
+
+  @Override
+  void writeRecord(MultiGetResponseRecordV1 record, MultiKeyResponseBodyWriter bodyWriter) {
+    bodyWriter.writeInt(record.keyIndex);
+    bodyWriter.writeBytes(record.value);
+    bodyWriter.writeInt(record.schemaId);
   }
 
   @Override
@@ -0,0 +1,106 @@
+package com.linkedin.venice.listener.response;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Writes the Avro binary encoding of the records of a multi-key response directly into a {@link ByteBuf}, as each
+ * record is added, instead of accumulating the records and serializing them all at once with a
+ * {@link com.linkedin.venice.serializer.RecordSerializer}, which copies every value into an intermediate byte array,
+ * and then copies that array once more.
+ *
+ * The body is made of fixed-size segments, so that it never needs to be copied in order to grow, and large values are
+ * not copied at all: the body references them as additional components of a {@link CompositeByteBuf}. This is safe
+ * since the values handed over by the read path are freshly allocated, and never modified after being added.
+ *
+ * N.B.: The buffers are allocated on the heap and are not pooled, since the response of a failed request gets dropped
+ * without its body being released, which would otherwise leak pooled buffers.
+ */
+final class MultiKeyResponseBodyWriter {
+  /**
+   * Values of at least this size are referenced by the response body rather than copied into it. Below that, the
+   * overhead of an additional component outweighs the cost of the copy.
+   */
+  static final int ZERO_COPY_VALUE_SIZE_THRESHOLD = 4 * 1024;
+  static final int SEGMENT_SIZE = 16 * 1024;
+  private static final int MIN_FIRST_SEGMENT_SIZE = 256;
+  private static final int ESTIMATED_RECORD_SIZE = 128;
+  private static final int MAX_VAR_INT_SIZE = 5;
+
+  private ByteBuf segment;
+  private CompositeByteBuf body;
+
+  MultiKeyResponseBodyWriter(int maxRecordCount) {
+    this.segment = Unpooled.buffer(
+        (int) Math.min(SEGMENT_SIZE, Math.max(MIN_FIRST_SEGMENT_SIZE, (long) maxRecordCount * ESTIMATED_RECORD_SIZE)));
+  }
+
+  /**
+   * Writes an Avro int, i.e. a zig-zag encoded variable-length integer.
+   */
+  void writeInt(int value) {
+    ensureWritable(MAX_VAR_INT_SIZE);
+    writeVarInt((value << 1) ^ (value >> 31));
+  }
+
+  /**
+   * Writes Avro bytes, i.e. the length of the value followed by its content, without changing the position of the
+   * {@param value}.
+   */
+  void writeBytes(ByteBuffer value) {
+    int length = value.remaining();
+    if (length >= ZERO_COPY_VALUE_SIZE_THRESHOLD) {
+      writeInt(length);
+      appendToBody(this.segment);
+      appendToBody(Unpooled.wrappedBuffer(value));
+      this.segment = Unpooled.buffer(SEGMENT_SIZE);
+      return;
+    }
+    ensureWritable(MAX_VAR_INT_SIZE + length);
+    writeVarInt(length << 1);
+    if (value.hasArray()) {
+      this.segment.writeBytes(value.array(), value.arrayOffset() + value.position(), length);
+    } else {
+      this.segment.writeBytes(value.duplicate());
+    }
+  }
+
+  /**
+   * @return the whole body. Nothing should be written after calling this function.
+   */
+  ByteBuf build() {
+    if (this.body == null) {
+      return this.segment;
+    }
+    if (this.segment.isReadable()) {
+      appendToBody(this.segment);
+    }
+    return this.body;
+  }
+
+  private void writeVarInt(int unsignedValue) {
+    while ((unsignedValue & ~0x7F) != 0) {
+      this.segment.writeByte((unsignedValue & 0x7F) | 0x80);
+      unsignedValue >>>= 7;
+    }
+    this.segment.writeByte(unsignedValue);
+  }
+
+  private void ensureWritable(int size) {
+    if (this.segment.writableBytes() < size) {
+      appendToBody(this.segment);
+      this.segment = Unpooled.buffer(Math.max(SEGMENT_SIZE, size));
+    }
+  }
+
+  private void appendToBody(ByteBuf buffer) {
+    if (this.body == null) {
+      this.body = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+    }
+    // Increase the writer index, so that the readable bytes of the body account for the added component
+    this.body.addComponent(true, buffer);
+  }
+}
@@ -3,13 +3,8 @@ package com.linkedin.venice.listener.response;
 import com.linkedin.davinci.listener.response.ReadResponseStats;
 import com.linkedin.venice.listener.response.stats.MultiKeyResponseStats;
 import com.linkedin.venice.listener.response.stats.ReadResponseStatsRecorder;
-import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.utils.lazy.Lazy;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
 
 public abstract class MultiKeyResponseWrapper<K> extends AbstractReadResponse {
@@ -17,40 +12,47 @@ public abstract class MultiKeyResponseWrapper<K> extends AbstractReadResponse {
   private final Lazy<ByteBuf> responseBody;
 
   /**
-   * Mutable because we want {@link #getResponseBody()} to "freeze" this list.
+   * Mutable because we want {@link #getResponseBody()} to "freeze" the response, by setting this to null.
    */
-  private List<K> records;
+  private MultiKeyResponseBodyWriter bodyWriter;
+  private int recordCount = 0;
 
-  MultiKeyResponseWrapper(int maxKeyCount, MultiKeyResponseStats responseStats, RecordSerializer<K> recordSerializer) {
-    this.records = new ArrayList<>(maxKeyCount);
+  MultiKeyResponseWrapper(int maxKeyCount, MultiKeyResponseStats responseStats) {
+    this.bodyWriter = new MultiKeyResponseBodyWriter(maxKeyCount);
     this.responseStats = responseStats;
     this.responseBody = Lazy.of(() -> {
-      ByteBuf responseBodyByteBuf = Unpooled.wrappedBuffer(recordSerializer.serializeObjects(records));
-      this.responseStats.setRecordCount(this.records.size());
+      ByteBuf responseBodyByteBuf = this.bodyWriter.build();
+      this.responseStats.setRecordCount(this.recordCount);
 
       /**
        * This re-assignment prevents additional records from being added after the response body is generated.
-       * It can also potentially help GC by allowing these references which are no longer needed to be collected sooner.
        */
-      this.records = Collections.emptyList();
+      this.bodyWriter = null;
       return responseBodyByteBuf;
     });
   }
 
   /**
+   * Serializes the record into the response body right away, so that the response does not need to hold on to it.
+   *
    * @param record to be added into the container.
    * @throws IllegalStateException if called after {@link #getResponseBody()}
    */
   public void addRecord(K record) {
-    try {
-      records.add(record);
-    } catch (UnsupportedOperationException e) {
+    if (this.bodyWriter == null) {
       // Defensive code, should never happen unless we have a regression.
       throw new IllegalStateException(
           this.getClass().getSimpleName() + ".addRecord() cannot be called after getResponseBody().");
     }
+    writeRecord(record, this.bodyWriter);
+    this.recordCount++;
   }
 
+  /**
+   * Writes the record with the same binary encoding as the Avro serializer of its protocol record.
+   */
+  abstract void writeRecord(K record, MultiKeyResponseBodyWriter bodyWriter);
+
   public abstract int getResponseSchemaIdHeader();
 
   @Override
@@ -66,8 +68,7 @@ public abstract class MultiKeyResponseWrapper<K> extends AbstractReadResponse {
   /**
    * N.B.: This function is backed by a {@link Lazy} property. The first time it is called, the response is recorded and
    * will therefore not be regenerated even if the more records are added. To make this behavior unambiguous, it is no
-   * longer possible to add records after calling this function, as the {@link #records} property then becomes an empty
-   * list.
+   * longer possible to add records after calling this function.
    *
    * @return the serialized response as a {@link ByteBuf}
    */
@@ -78,6 +79,6 @@ public abstract class MultiKeyResponseWrapper<K> extends AbstractReadResponse {
 
   @Override
   public String toString() {
-    return this.getClass().getSimpleName() + "(" + this.records.size() + " records)";
+    return this.getClass().getSimpleName() + "(" + this.recordCount + " records)";
   }
 }
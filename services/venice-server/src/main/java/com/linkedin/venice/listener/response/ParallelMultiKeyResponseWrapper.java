@@ -11,6 +11,15 @@ import java.util.function.IntFunction;
 public class ParallelMultiKeyResponseWrapper<T extends MultiKeyResponseWrapper> extends AbstractReadResponse {
   private final T[] chunks;
 
+  /**
+   * Set when the chunks of the response body are flushed one by one as soon as they are ready, in which case
+   * {@link #getResponseBody()} must not be used, since the body has already been sent.
+   */
+  private volatile boolean earlyFlushStarted = false;
+
+  /** Only accessed by the event loop of the channel the response is written to. */
+  private int earlyFlushedBytes = 0;
+
   private ParallelMultiKeyResponseWrapper(
       int chunkCount,
       int chunkSize,
@@ -48,6 +57,32 @@ public class ParallelMultiKeyResponseWrapper<T extends MultiKeyResponseWrapper>
     return this.chunks[chunkIndex];
   }
 
+  /**
+   * Marks the response as being flushed one chunk at a time. Callers must synchronize on the response so that the
+   * first chunk, which is preceded by the response headers, is also the first one to be written.
+   *
+   * @return true if this is the first chunk being flushed
+   */
+  public boolean startEarlyFlush() {
+    if (this.earlyFlushStarted) {
+      return false;
+    }
+    this.earlyFlushStarted = true;
+    return true;
+  }
+
+  public boolean isEarlyFlushStarted() {
+    return this.earlyFlushStarted;
+  }
+
+  public void addEarlyFlushedBytes(int bytes) {
+    this.earlyFlushedBytes += bytes;
+  }
+
+  public int getEarlyFlushedBytes() {
+    return this.earlyFlushedBytes;
+  }
+
   /**
    * N.B.: Only the individual chunks should be passed into code paths that require this API. If some refactoring causes
    *       that assumption to change, then we have a regression.
@@ -30,6 +30,7 @@ import com.linkedin.davinci.storage.StorageEngineMetadataService;
 import com.linkedin.davinci.storage.StorageEngineRepository;
 import com.linkedin.davinci.storage.StorageMetadataService;
 import com.linkedin.davinci.storage.StorageService;
+import com.linkedin.davinci.store.cache.OffHeapValueCache;
 import com.linkedin.venice.acl.DynamicAccessController;
 import com.linkedin.venice.acl.StaticAccessController;
 import com.linkedin.venice.cleaner.BackupVersionOptimizationService;
@@ -477,7 +478,8 @@ public class VeniceServer {
         storeAccessController,
         diskHealthCheckService,
         compressorFactory,
-        resourceReadUsageTracker);
+        resourceReadUsageTracker,
+        kafkaStoreIngestionService.getValueCache());
     services.add(listenerService);
 
     /**
@@ -812,7 +814,8 @@ public class VeniceServer {
       Optional<DynamicAccessController> storeAccessController,
       DiskHealthCheckService diskHealthService,
       StorageEngineBackedCompressorFactory compressorFactory,
-      Optional<ResourceReadUsageTracker> resourceReadUsageTracker) {
+      Optional<ResourceReadUsageTracker> resourceReadUsageTracker,
+      Optional<OffHeapValueCache> valueCache) {
     return new ListenerService(
         storageEngineRepository,
         storeMetadataRepository,
@@ -827,7 +830,8 @@ public class VeniceServer {
         storeAccessController,
         diskHealthService,
         compressorFactory,
-        resourceReadUsageTracker);
+        resourceReadUsageTracker,
+        valueCache);
   }
 
   public static void main(String args[]) throws Exception {
@@ -0,0 +1,28 @@
+package com.linkedin.venice.stats;
+
+import com.linkedin.venice.listener.PartitionAffinityExecutor;
+import io.tehuti.metrics.MetricsRepository;
+import io.tehuti.metrics.stats.AsyncGauge;
+
+
+/**
+ * {@code PartitionAffinityExecutorStats} measures the load of a {@link PartitionAffinityExecutor}: the number of tasks
+ * queued across all its shards and in its most loaded shard, which together show how skewed the load of the shards is,
+ * as well as the number of tasks which had to be stolen from an overloaded shard.
+ */
+public class PartitionAffinityExecutorStats extends AbstractVeniceStats {
+  public PartitionAffinityExecutorStats(
+      MetricsRepository metricsRepository,
+      PartitionAffinityExecutor executor,
+      String name) {
+    super(metricsRepository, name);
+
+    registerSensor(new AsyncGauge((ignored, ignored2) -> executor.getShardCount(), "shard_count"));
+    registerSensor(new AsyncGauge((ignored, ignored2) -> executor.getQueuedTaskCount(), "queued_task_count_gauge"));
+    registerSensor(
+        new AsyncGauge(
+            (ignored, ignored2) -> executor.getMaxShardQueuedTaskCount(),
+            "max_shard_queued_task_count_gauge"));
+    registerSensor(new AsyncGauge((ignored, ignored2) -> executor.getStolenTaskCount(), "stolen_task_count"));
+  }
+}
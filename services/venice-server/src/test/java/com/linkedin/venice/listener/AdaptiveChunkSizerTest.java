@@ -0,0 +1,58 @@
+package com.linkedin.venice.listener;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+
+public class AdaptiveChunkSizerTest {
+  private static final long TARGET_CHUNK_LATENCY_NS = TimeUnit.MICROSECONDS.toNanos(200);
+
+  @Test
+  public void testIdlePoolSpreadsKeysAcrossThreads() {
+    AdaptiveChunkSizer chunkSizer = new AdaptiveChunkSizer(5, TARGET_CHUNK_LATENCY_NS);
+    // Until the per-key latency is known, chunks are at least as large as the initial chunk size
+    assertEquals(chunkSizer.getChunkSize(100, 16, 0), 7);
+    assertEquals(chunkSizer.getChunkSize(20, 16, 0), 5);
+    assertEquals(chunkSizer.getChunkSize(3, 16, 0), 3);
+    assertEquals(chunkSizer.getChunkSize(1, 16, 0), 1);
+    assertEquals(chunkSizer.getChunkSize(0, 16, 0), 1);
+  }
+
+  @Test
+  public void testQueuedPoolSplitsIntoFewerChunks() {
+    AdaptiveChunkSizer chunkSizer = new AdaptiveChunkSizer(5, TARGET_CHUNK_LATENCY_NS);
+    assertEquals(chunkSizer.getChunkSize(100, 16, 1), 13);
+    assertEquals(chunkSizer.getChunkSize(100, 16, 3), 25);
+    // A saturated pool processes the whole request in a single chunk
+    assertEquals(chunkSizer.getChunkSize(100, 16, 100), 100);
+    // A small request does not get split under load
+    assertEquals(chunkSizer.getChunkSize(5, 16, 3), 5);
+  }
+
+  @Test
+  public void testPerKeyLatencyDrivesMinChunkSize() {
+    AdaptiveChunkSizer chunkSizer = new AdaptiveChunkSizer(5, TARGET_CHUNK_LATENCY_NS);
+    // 10us per key, so that a chunk needs 20 keys to reach the target latency
+    chunkSizer.recordChunkLatency(10, TimeUnit.MICROSECONDS.toNanos(100));
+    assertEquals(chunkSizer.getPerKeyLatencyNs(), 10_000.0);
+    assertEquals(chunkSizer.getChunkSize(100, 16, 0), 20);
+    assertEquals(chunkSizer.getChunkSize(30, 16, 0), 15);
+    assertEquals(chunkSizer.getChunkSize(20, 16, 0), 20);
+
+    // Slow keys are worth spreading across more threads
+    for (int i = 0; i < 100; i++) {
+      chunkSizer.recordChunkLatency(10, TimeUnit.MICROSECONDS.toNanos(1000));
+    }
+    assertTrue(chunkSizer.getPerKeyLatencyNs() > 90_000.0);
+    assertEquals(chunkSizer.getChunkSize(100, 16, 0), 7);
+  }
+
+  @Test
+  public void testInvalidInitialChunkSize() {
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveChunkSizer(0, TARGET_CHUNK_LATENCY_NS));
+  }
+}
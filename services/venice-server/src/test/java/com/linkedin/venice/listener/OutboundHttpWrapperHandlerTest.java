@@ -6,6 +6,7 @@ import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,7 +22,11 @@ import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.listener.grpc.GrpcRequestContext;
 import com.linkedin.venice.listener.grpc.handlers.GrpcOutboundResponseHandler;
+import com.linkedin.venice.listener.response.EarlyFlushedResponseChunk;
+import com.linkedin.venice.listener.response.MultiGetResponseWrapper;
+import com.linkedin.venice.listener.response.ParallelMultiKeyResponseWrapper;
 import com.linkedin.venice.protocols.VeniceServerResponse;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.systemstore.schemas.StoreMetaValue;
 import com.linkedin.venice.utils.ObjectMapperFactory;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
@@ -31,9 +36,15 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import org.mockito.ArgumentCaptor;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -296,4 +307,49 @@ public class OutboundHttpWrapperHandlerTest {
       }
     };
   }
+
+  @Test
+  public void testWriteEarlyFlushedResponse() {
+    StatsHandler statsHandler = mock(StatsHandler.class);
+    ServerStatsContext statsContext = mock(ServerStatsContext.class);
+    when(statsHandler.getServerStatsContext()).thenReturn(statsContext);
+    ChannelHandlerContext mockCtx = mock(ChannelHandlerContext.class);
+    OutboundHttpWrapperHandler outboundHttpWrapperHandler = new OutboundHttpWrapperHandler(statsHandler);
+
+    ParallelMultiKeyResponseWrapper<MultiGetResponseWrapper> response =
+        ParallelMultiKeyResponseWrapper.multiGet(2, 1, MultiGetResponseWrapper::new);
+    response.getChunk(0).addRecord(new MultiGetResponseRecordV1(0, ByteBuffer.wrap(new byte[] { 1, 2 }), 1));
+    response.getChunk(1).addRecord(new MultiGetResponseRecordV1(1, ByteBuffer.wrap(new byte[] { 3 }), 1));
+    response.setRCU(2);
+    int firstChunkSize = response.getChunk(1).getResponseBody().readableBytes();
+    int secondChunkSize = response.getChunk(0).getResponseBody().readableBytes();
+    Assert.assertTrue(response.startEarlyFlush());
+
+    // The first chunk to be flushed is preceded by the headers, which cannot carry a content length
+    outboundHttpWrapperHandler.write(mockCtx, new EarlyFlushedResponseChunk(response, 1, true), null);
+    ArgumentCaptor<Object> headersCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(mockCtx).write(headersCaptor.capture());
+    HttpResponse headers = (HttpResponse) headersCaptor.getValue();
+    Assert.assertFalse(headers instanceof FullHttpResponse);
+    Assert.assertEquals(headers.status(), HttpResponseStatus.OK);
+    Assert.assertTrue(HttpUtil.isTransferEncodingChunked(headers));
+    Assert.assertFalse(headers.headers().contains(CONTENT_LENGTH));
+    Assert.assertEquals(headers.headers().get(HttpConstants.VENICE_REQUEST_RCU), "2");
+    Assert.assertEquals(headers.headers().get(HttpConstants.VENICE_STREAMING_RESPONSE), "1");
+    verify(statsContext).setPartialResponseInProgress(true);
+
+    outboundHttpWrapperHandler.write(mockCtx, new EarlyFlushedResponseChunk(response, 0, false), null);
+    verify(mockCtx, times(1)).write(any());
+    ArgumentCaptor<Object> contentCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(mockCtx, times(2)).writeAndFlush(contentCaptor.capture());
+    Assert.assertEquals(((HttpContent) contentCaptor.getAllValues().get(0)).content().readableBytes(), firstChunkSize);
+    Assert.assertEquals(((HttpContent) contentCaptor.getAllValues().get(1)).content().readableBytes(), secondChunkSize);
+
+    // Writing the response itself terminates it, and records its stats
+    outboundHttpWrapperHandler.write(mockCtx, response, null);
+    verify(mockCtx).writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    verify(statsContext).setResponseSize(firstChunkSize + secondChunkSize);
+    verify(statsContext).setPartialResponseInProgress(false);
+    verify(statsHandler).setResponseStatus(HttpResponseStatus.OK);
+  }
 }
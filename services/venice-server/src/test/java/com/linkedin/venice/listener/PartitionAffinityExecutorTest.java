@@ -0,0 +1,71 @@
+package com.linkedin.venice.listener;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.venice.utils.TestUtils;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+
+public class PartitionAffinityExecutorTest {
+  @Test
+  public void testPartitionAffinity() {
+    PartitionAffinityExecutor executor = new PartitionAffinityExecutor(4, 1, "test", null, 100, 4);
+    try {
+      assertEquals(executor.getShardCount(), 4);
+      Set<ThreadPoolExecutor> shards = new HashSet<>();
+      for (int partition = 0; partition < 4; partition++) {
+        ThreadPoolExecutor shard = executor.getExecutor("store_v1", partition);
+        assertSame(executor.getExecutor("store_v1", partition), shard);
+        shards.add(shard);
+      }
+      // Consecutive partitions of the same resource are spread across all the shards
+      assertEquals(shards.size(), 4);
+      assertNotSame(executor.getExecutor("store_v1", 0), executor.getExecutor("store_v1", 1));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test(timeOut = 60 * 1000)
+  public void testWorkStealing() throws InterruptedException {
+    int workStealingThreshold = 2;
+    PartitionAffinityExecutor executor = new PartitionAffinityExecutor(2, 1, "test", null, 100, workStealingThreshold);
+    try {
+      ThreadPoolExecutor hotShard = executor.getExecutor("store_v1", 0);
+      CountDownLatch blockingLatch = new CountDownLatch(1);
+      hotShard.execute(() -> {
+        try {
+          blockingLatch.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+
+      // The only thread of the hot shard is blocked, so these tasks can only complete if stolen by the other shard
+      int taskCount = 10;
+      CountDownLatch completionLatch = new CountDownLatch(taskCount);
+      for (int i = 0; i < taskCount; i++) {
+        hotShard.execute(completionLatch::countDown);
+      }
+      TestUtils.waitForNonDeterministicAssertion(
+          30,
+          TimeUnit.SECONDS,
+          () -> assertTrue(executor.getQueuedTaskCount() <= workStealingThreshold));
+      assertTrue(executor.getStolenTaskCount() >= taskCount - workStealingThreshold);
+
+      blockingLatch.countDown();
+      assertTrue(completionLatch.await(30, TimeUnit.SECONDS));
+      assertEquals(executor.getQueuedTaskCount(), 0);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.linkedin.venice.listener;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -30,6 +31,7 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import org.mockito.ArgumentCaptor;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -169,6 +171,37 @@ public class RouterRequestHttpHandlerTest {
     GetRouterRequest.verifyApiVersion(headers, "1");
   }
 
+  @Test
+  public void testRequestTimeoutFromHeader() throws Exception {
+    StatsHandler statsHandler = mock(StatsHandler.class);
+    // The request was received long enough ago for a 1ms timeout to have expired, but not a 1 minute one
+    doReturn(System.nanoTime() - TimeUnit.SECONDS.toNanos(1)).when(statsHandler).getRequestStartTimeInNS();
+    RouterRequestHttpHandler handler =
+        new RouterRequestHttpHandler(statsHandler, Collections.singletonMap("store", 60000));
+
+    Assert.assertFalse(readGetRequest(handler, null).shouldRequestBeTerminatedEarly());
+    Assert.assertFalse(readGetRequest(handler, "120000").shouldRequestBeTerminatedEarly());
+    Assert.assertFalse(readGetRequest(handler, "invalid").shouldRequestBeTerminatedEarly());
+    Assert.assertTrue(readGetRequest(handler, "1").shouldRequestBeTerminatedEarly());
+
+    GetRouterRequest request = readGetRequest(handler, null);
+    request.cancel();
+    Assert.assertTrue(request.isCancelled());
+    Assert.assertTrue(request.shouldRequestBeTerminatedEarly());
+  }
+
+  private GetRouterRequest readGetRequest(RouterRequestHttpHandler handler, String timeoutHeader) throws Exception {
+    ChannelHandlerContext mockContext = mock(ChannelHandlerContext.class);
+    HttpRequest msg = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/storage/store_v1/1/key");
+    if (timeoutHeader != null) {
+      msg.headers().add(HttpConstants.VENICE_REQUEST_TIMEOUT_MS, timeoutHeader);
+    }
+    handler.channelRead(mockContext, msg);
+    ArgumentCaptor<GetRouterRequest> argumentCaptor = ArgumentCaptor.forClass(GetRouterRequest.class);
+    verify(mockContext).fireChannelRead(argumentCaptor.capture());
+    return argumentCaptor.getValue();
+  }
+
   @Test
   public void testGrpcRead() {
     VeniceClientRequest request =
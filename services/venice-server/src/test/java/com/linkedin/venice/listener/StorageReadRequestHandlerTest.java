@@ -5,10 +5,12 @@ import static com.linkedin.venice.router.api.VenicePathParser.TYPE_STORAGE;
 import static com.linkedin.venice.utils.TestUtils.DEFAULT_PUBSUB_CONTEXT_FOR_UNIT_TESTING;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.intThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -22,6 +24,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
@@ -35,6 +38,7 @@ import com.linkedin.davinci.storage.IngestionMetadataRetriever;
 import com.linkedin.davinci.storage.ReadMetadataRetriever;
 import com.linkedin.davinci.storage.StorageEngineRepository;
 import com.linkedin.davinci.store.StorageEngine;
+import com.linkedin.davinci.store.cache.OffHeapValueCache;
 import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.davinci.store.rocksdb.RocksDBServerConfig;
 import com.linkedin.venice.HttpConstants;
@@ -66,8 +70,10 @@ import com.linkedin.venice.listener.request.RouterRequest;
 import com.linkedin.venice.listener.request.TopicPartitionIngestionContextRequest;
 import com.linkedin.venice.listener.response.AbstractReadResponse;
 import com.linkedin.venice.listener.response.ComputeResponseWrapper;
+import com.linkedin.venice.listener.response.EarlyFlushedResponseChunk;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
 import com.linkedin.venice.listener.response.MultiGetResponseWrapper;
+import com.linkedin.venice.listener.response.ParallelMultiKeyResponseWrapper;
 import com.linkedin.venice.listener.response.SingleGetResponseWrapper;
 import com.linkedin.venice.listener.response.stats.MultiKeyResponseStats;
 import com.linkedin.venice.listener.response.stats.ReadResponseStatsRecorder;
@@ -116,7 +122,11 @@ import com.linkedin.venice.utils.DataProviderUtils;
 import com.linkedin.venice.utils.ValueSize;
 import com.linkedin.venice.utils.concurrent.BlockingQueueType;
 import com.linkedin.venice.utils.concurrent.ThreadPoolFactory;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpRequest;
@@ -170,6 +180,8 @@ public class StorageReadRequestHandlerTest {
   }
 
   private final ChannelHandlerContext context = mock(ChannelHandlerContext.class);
+  private final Channel channel = mock(Channel.class);
+  private final ChannelFuture closeFuture = mock(ChannelFuture.class);
   private final ArgumentCaptor<Object> argumentCaptor = ArgumentCaptor.forClass(Object.class);
   private final ThreadPoolExecutor executor = new InlineExecutor();
   private final int numberOfExecutionThreads = Runtime.getRuntime().availableProcessors();
@@ -215,6 +227,9 @@ public class StorageReadRequestHandlerTest {
     RocksDBServerConfig rocksDBServerConfig = mock(RocksDBServerConfig.class);
     doReturn(rocksDBServerConfig).when(serverConfig).getRocksDBServerConfig();
     pubSubContext = DEFAULT_PUBSUB_CONTEXT_FOR_UNIT_TESTING;
+
+    doReturn(channel).when(context).channel();
+    doReturn(closeFuture).when(channel).closeFuture();
   }
 
   @AfterMethod
@@ -229,7 +244,9 @@ public class StorageReadRequestHandlerTest {
         ingestionMetadataRetriever,
         readMetadataRetriever,
         serverConfig,
-        context);
+        context,
+        channel,
+        closeFuture);
   }
 
   private enum ParallelQueryProcessing {
@@ -263,6 +280,13 @@ public class StorageReadRequestHandlerTest {
   private StorageReadRequestHandler createStorageReadRequestHandler(
       boolean parallelBatchGetEnabled,
       IntFunction<MultiGetResponseWrapper> multiGetResponseProvider) {
+    return createStorageReadRequestHandler(parallelBatchGetEnabled, multiGetResponseProvider, Optional.empty());
+  }
+
+  private StorageReadRequestHandler createStorageReadRequestHandler(
+      boolean parallelBatchGetEnabled,
+      IntFunction<MultiGetResponseWrapper> multiGetResponseProvider,
+      Optional<OffHeapValueCache> valueCache) {
     return new StorageReadRequestHandler(
         serverConfig,
         parallelBatchGetEnabled ? parallelExecutor : executor,
@@ -275,6 +299,9 @@ public class StorageReadRequestHandlerTest {
         healthCheckService,
         compressorFactory,
         Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        valueCache,
         multiGetResponseProvider,
         ComputeResponseWrapper::new);
   }
@@ -303,6 +330,49 @@ public class StorageReadRequestHandlerTest {
     assertEquals(responseObject.getValueRecord().getSchemaId(), schemaId);
   }
 
+  @Test
+  public void testSingleGetWithValueCache() throws Exception {
+    String keyString = "test-key";
+    int schemaId = 1;
+    int partition = 2;
+    ByteBuffer key = ByteBuffer.wrap(keyString.getBytes());
+    doReturn(ValueRecord.create(schemaId, "value-1".getBytes()).serialize()).when(storageEngine).get(partition, key);
+
+    String uri = "/" + TYPE_STORAGE + "/test-topic_v1/" + partition + "/" + keyString;
+    HttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    GetRouterRequest request =
+        GetRouterRequest.parseGetHttpRequest(httpRequest, RequestHelper.getRequestParts(URI.create(httpRequest.uri())));
+
+    OffHeapValueCache valueCache = new OffHeapValueCache(1024 * 1024, 1024, Collections.emptySet());
+    try {
+      StorageReadRequestHandler requestHandler =
+          createStorageReadRequestHandler(false, MultiGetResponseWrapper::new, Optional.of(valueCache));
+
+      // The second read is served by the cache
+      requestHandler.channelRead(context, request);
+      requestHandler.channelRead(context, request);
+      verify(storageEngine, times(1)).get(partition, key);
+      verify(context, times(2)).writeAndFlush(argumentCaptor.capture());
+      for (Object response: argumentCaptor.getAllValues()) {
+        ValueRecord valueRecord = ((SingleGetResponseWrapper) response).getValueRecord();
+        assertEquals(valueRecord.getDataInBytes(), "value-1".getBytes());
+        assertEquals(valueRecord.getSchemaId(), schemaId);
+      }
+      assertEquals(valueCache.getHitCount(), 1);
+
+      // Once invalidated by the ingestion of a new value, the next read goes to the storage engine again
+      doReturn(ValueRecord.create(schemaId, "value-2".getBytes()).serialize()).when(storageEngine).get(partition, key);
+      valueCache.invalidate("test-topic_v1", partition, keyString.getBytes());
+      requestHandler.channelRead(context, request);
+      verify(storageEngine, times(2)).get(partition, key);
+      verify(context, times(3)).writeAndFlush(argumentCaptor.capture());
+      SingleGetResponseWrapper response = (SingleGetResponseWrapper) argumentCaptor.getValue();
+      assertEquals(response.getValueRecord().getDataInBytes(), "value-2".getBytes());
+    } finally {
+      valueCache.close();
+    }
+  }
+
   @Test
   public void testDiskHealthCheckService() throws Exception {
     doReturn(true).when(healthCheckService).isDiskHealthy();
@@ -495,6 +565,154 @@ public class StorageReadRequestHandlerTest {
     }
   }
 
+  @Test(dataProvider = "True-and-False", dataProviderClass = DataProviderUtils.class)
+  public void testMultiGetWithStorageMultiGet(boolean parallelBatchGetEnabled) throws Exception {
+    doReturn(parallelBatchGetEnabled).when(serverConfig).isEnableParallelBatchGet();
+    int recordCount = 10;
+    MultiGetRouterRequestWrapper request = createStorageMultiGetRequest(recordCount, false);
+
+    StorageReadRequestHandler requestHandler =
+        createStorageReadRequestHandler(parallelBatchGetEnabled, MultiGetResponseWrapper::new);
+    requestHandler.channelRead(context, request);
+    verify(context, timeout(10000)).writeAndFlush(argumentCaptor.capture());
+
+    AbstractReadResponse response = (AbstractReadResponse) argumentCaptor.getValue();
+    verifyStorageMultiGetResponse(recordCount, response.getResponseBody());
+    verify(storageEngine, never()).get(anyInt(), any(ByteBuffer.class));
+  }
+
+  @Test
+  public void testMultiGetDroppedOnceChannelIsClosed() throws Exception {
+    MultiGetRouterRequestWrapper request = createStorageMultiGetRequest(10, false);
+    // The channel got closed before the request was processed, so the listener is notified as soon as it is added
+    ArgumentCaptor<ChannelFutureListener> listenerCaptor = ArgumentCaptor.forClass(ChannelFutureListener.class);
+    doAnswer(invocation -> {
+      ChannelFutureListener listener = invocation.getArgument(0);
+      listener.operationComplete(closeFuture);
+      return closeFuture;
+    }).when(closeFuture).addListener(listenerCaptor.capture());
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler();
+    requestHandler.channelRead(context, request);
+
+    Assert.assertTrue(request.isCancelled());
+    verify(closeFuture).removeListener(listenerCaptor.getValue());
+    verify(context, never()).writeAndFlush(any());
+    verify(storageEngine, never()).get(anyInt(), any(ByteBuffer.class));
+    verify(storageEngine, never()).multiGet(anyInt(), anyList());
+  }
+
+  @Test
+  public void testCancellationListenerRemovedWhenDispatchFails() throws Exception {
+    RouterRequest request = mock(RouterRequest.class);
+    doReturn(RequestType.MULTI_GET_STREAMING).when(request).getRequestType();
+    ArgumentCaptor<ChannelFutureListener> listenerCaptor = ArgumentCaptor.forClass(ChannelFutureListener.class);
+    doReturn(closeFuture).when(closeFuture).addListener(listenerCaptor.capture());
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler();
+    Assert.assertThrows(VeniceException.class, () -> requestHandler.channelRead(context, request));
+    verify(closeFuture).removeListener(listenerCaptor.getValue());
+  }
+
+  @Test
+  public void testStreamingMultiGetWithEarlyFlush() throws Exception {
+    doReturn(true).when(serverConfig).isEnableParallelBatchGet();
+    doReturn(true).when(serverConfig).isStreamingBatchGetEarlyFlushEnabled();
+    int recordCount = 10;
+    int chunkCount = 3;
+    MultiGetRouterRequestWrapper request = createStorageMultiGetRequest(recordCount, true);
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler(true, MultiGetResponseWrapper::new);
+    requestHandler.channelRead(context, request);
+    // Each chunk is flushed on its own, followed by the whole response once all chunks are done
+    verify(context, timeout(10000).times(chunkCount + 1)).writeAndFlush(argumentCaptor.capture());
+
+    List<Object> writtenMessages = argumentCaptor.getAllValues();
+    ParallelMultiKeyResponseWrapper response = (ParallelMultiKeyResponseWrapper) writtenMessages.get(chunkCount);
+    assertTrue(response.isEarlyFlushStarted());
+    assertTrue(response.isStreamingResponse());
+    ByteBuf[] chunkBodies = new ByteBuf[chunkCount];
+    for (int i = 0; i < chunkCount; i++) {
+      EarlyFlushedResponseChunk chunk = (EarlyFlushedResponseChunk) writtenMessages.get(i);
+      // Only the first chunk written carries the response headers
+      assertEquals(chunk.isFirst(), i == 0);
+      assertSame(chunk.getResponse(), response);
+      chunkBodies[i] = chunk.getBody();
+    }
+    verifyStorageMultiGetResponse(recordCount, Unpooled.wrappedBuffer(chunkBodies));
+  }
+
+  /**
+   * Creates a batch get request of {@param recordCount} keys spread across several partitions, all of which are found
+   * through {@link StorageEngine#multiGet} except for the last one.
+   */
+  private MultiGetRouterRequestWrapper createStorageMultiGetRequest(int recordCount, boolean streaming) {
+    StoreVersionState svs = mock(StoreVersionState.class);
+    doReturn(false).when(svs).getChunked();
+    doReturn(svs).when(storageEngine).getStoreVersionState();
+    doReturn(true).when(serverConfig).isBatchGetStorageMultiGetEnabled();
+    doReturn(4).when(serverConfig).getParallelBatchGetChunkSize();
+
+    int schemaId = 1;
+    int partitionCount = 3;
+    Map<ByteBuffer, byte[]> storage = new HashMap<>();
+    List<MultiGetRouterRequestKeyV1> keys = new ArrayList<>();
+    for (int i = 0; i < recordCount; ++i) {
+      MultiGetRouterRequestKeyV1 requestKey = new MultiGetRouterRequestKeyV1();
+      byte[] keyBytes = ("key_" + i).getBytes();
+      requestKey.keyBytes = ByteBuffer.wrap(keyBytes);
+      requestKey.keyIndex = i;
+      requestKey.partitionId = i % partitionCount;
+      keys.add(requestKey);
+      // Leave out the last key to cover the missing key case
+      if (i < recordCount - 1) {
+        storage.put(ByteBuffer.wrap(keyBytes), ValueRecord.create(schemaId, ("value_" + i).getBytes()).serialize());
+      }
+    }
+    doAnswer(invocation -> {
+      List<byte[]> keysOfPartition = invocation.getArgument(1);
+      List<byte[]> values = new ArrayList<>(keysOfPartition.size());
+      for (byte[] key: keysOfPartition) {
+        values.add(storage.get(ByteBuffer.wrap(key)));
+      }
+      return values;
+    }).when(storageEngine).multiGet(anyInt(), anyList());
+
+    RecordSerializer<MultiGetRouterRequestKeyV1> serializer =
+        SerializerDeserializerFactory.getAvroGenericSerializer(MultiGetRouterRequestKeyV1.SCHEMA$);
+    FullHttpRequest httpRequest = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.GET,
+        "/" + TYPE_STORAGE + "/test-topic_v1",
+        Unpooled.wrappedBuffer(serializer.serializeObjects(keys)));
+    httpRequest.headers()
+        .set(
+            HttpConstants.VENICE_API_VERSION,
+            ReadAvroProtocolDefinition.MULTI_GET_ROUTER_REQUEST_V1.getProtocolVersion());
+    if (streaming) {
+      httpRequest.headers().set(HttpConstants.VENICE_STREAMING, "1");
+    }
+    return MultiGetRouterRequestWrapper
+        .parseMultiGetHttpRequest(httpRequest, RequestHelper.getRequestParts(URI.create(httpRequest.uri())));
+  }
+
+  private void verifyStorageMultiGetResponse(int recordCount, ByteBuf responseBody) {
+    byte[] responseBytes = new byte[responseBody.readableBytes()];
+    responseBody.getBytes(responseBody.readerIndex(), responseBytes);
+    Map<Integer, String> results = new HashMap<>();
+    SerializerDeserializerFactory.getAvroSpecificDeserializer(MultiGetResponseRecordV1.class)
+        .deserializeObjects(responseBytes)
+        .forEach(record -> {
+          if (record.keyIndex >= 0) {
+            results.put(record.keyIndex, new String(record.value.array(), StandardCharsets.UTF_8));
+          }
+        });
+    assertEquals(results.size(), recordCount - 1);
+    for (int i = 0; i < recordCount - 1; i++) {
+      assertEquals(results.get(i), "value_" + i);
+    }
+  }
+
   @Test
   public void storageExecutionHandlerLogsExceptions() throws Exception {
     String topic = "temp-test-topic_v1";
@@ -755,8 +973,9 @@ public class StorageReadRequestHandlerTest {
       int expectedReadComputeOutputSize = 0;
       RecordDeserializer<ComputeResponseRecordV1> responseDeserializer =
           SerializerDeserializerFactory.getAvroSpecificDeserializer(ComputeResponseRecordV1.class);
-      for (ComputeResponseRecordV1 record: responseDeserializer
-          .deserializeObjects(computeResponse.getResponseBody().array())) {
+      byte[] responseBytes = new byte[computeResponse.getResponseBody().readableBytes()];
+      computeResponse.getResponseBody().getBytes(0, responseBytes);
+      for (ComputeResponseRecordV1 record: responseDeserializer.deserializeObjects(responseBytes)) {
         if (record.getKeyIndex() < 0) {
           assertEquals(record.getValue(), StreamingUtils.EMPTY_BYTE_BUFFER);
         } else {
@@ -2,6 +2,7 @@ package com.linkedin.venice.listener.response;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertThrows;
 
 import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.listener.response.stats.ComputeResponseStatsWithSizeProfiling;
@@ -9,6 +10,9 @@ import com.linkedin.venice.listener.response.stats.MultiGetResponseStatsWithSize
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import io.netty.buffer.ByteBuf;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -98,4 +102,47 @@ public class MultiKeyResponseWrapperTest {
     assertNotNull(responseBody);
     assertEquals(responseBody.readableBytes(), expectedSerializedSize);
   }
+
+  /**
+   * The response body is written by hand, so it must be byte-for-byte identical to what the Avro serializer of the
+   * response protocol generates, including for the large values which the body references rather than copies.
+   */
+  @Test
+  public void testResponseBodyMatchesAvroSerialization() {
+    int[] valueSizes = { 0, 1, 127, 128, MultiKeyResponseBodyWriter.ZERO_COPY_VALUE_SIZE_THRESHOLD - 1,
+        MultiKeyResponseBodyWriter.ZERO_COPY_VALUE_SIZE_THRESHOLD, MultiKeyResponseBodyWriter.SEGMENT_SIZE + 1, 10, 3 };
+    List<MultiGetResponseRecordV1> multiGetRecords = new ArrayList<>();
+    List<ComputeResponseRecordV1> computeRecords = new ArrayList<>();
+    MultiGetResponseWrapper multiGetResponseWrapper = new MultiGetResponseWrapper(valueSizes.length);
+    ComputeResponseWrapper computeResponseWrapper = new ComputeResponseWrapper(valueSizes.length);
+    for (int i = 0; i < valueSizes.length; i++) {
+      byte[] valueBytes = new byte[valueSizes[i] + 2];
+      ThreadLocalRandom.current().nextBytes(valueBytes);
+      // Offset the value within its backing array, like the values read from the storage engine
+      ByteBuffer value = ByteBuffer.wrap(valueBytes, 2, valueSizes[i]);
+      int keyIndex = i % 2 == 0 ? i * 1000 : -i;
+      MultiGetResponseRecordV1 multiGetRecord = new MultiGetResponseRecordV1(keyIndex, value, i);
+      ComputeResponseRecordV1 computeRecord = new ComputeResponseRecordV1(keyIndex, value);
+      multiGetRecords.add(multiGetRecord);
+      computeRecords.add(computeRecord);
+      multiGetResponseWrapper.addRecord(multiGetRecord);
+      computeResponseWrapper.addRecord(computeRecord);
+      assertEquals(value.position(), 2);
+      assertEquals(value.remaining(), valueSizes[i]);
+    }
+
+    assertEquals(
+        getBytes(multiGetResponseWrapper.getResponseBody()),
+        MultiGetResponseWrapper.SERIALIZER.serializeObjects(multiGetRecords));
+    assertEquals(
+        getBytes(computeResponseWrapper.getResponseBody()),
+        ComputeResponseWrapper.SERIALIZER.serializeObjects(computeRecords));
+    assertThrows(IllegalStateException.class, () -> multiGetResponseWrapper.addRecord(multiGetRecords.get(0)));
+  }
+
+  private static byte[] getBytes(ByteBuf byteBuf) {
+    byte[] bytes = new byte[byteBuf.readableBytes()];
+    byteBuf.getBytes(byteBuf.readerIndex(), bytes);
+    return bytes;
+  }
 }